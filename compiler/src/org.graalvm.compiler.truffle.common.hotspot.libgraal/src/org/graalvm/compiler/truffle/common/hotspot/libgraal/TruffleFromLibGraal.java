@@ -78,6 +78,7 @@ public @interface TruffleFromLibGraal {
         GetConstantFieldInfo(int.class, Object.class, long.class, boolean.class, int.class),
         GetCurrentCallTarget(Object.class, Object.class),
         GetDescription(String.class, Object.class),
+        GetExpandedGraphSize(int.class, Object.class),
         GetFailedSpeculationsAddress(long.class, Object.class),
         GetFrameSlotKindTagForJavaKind(int.class, Object.class, int.class),
         GetFrameSlotKindTagsCount(int.class, Object.class),
@@ -120,6 +121,7 @@ public @interface TruffleFromLibGraal {
         OnTruffleTierFinished(void.class, Object.class, Object.class, Object.class, long.class),
         RegisterOptimizedAssumptionDependency(Consumer.class, Object.class, long.class),
         SetCallCount(void.class, Object.class, int.class),
+        SetExpandedGraphSize(void.class, Object.class, int.class),
         SetInlinedCallCount(void.class, Object.class, int.class);
         // @formatter:on
 
@@ -109,6 +109,18 @@ public interface CompilableTruffleAST {
      */
     int getKnownCallSiteCount();
 
+    /**
+     * Returns the number of graph nodes this AST was partially evaluated to the last time it was
+     * expanded by the inliner, or {@code -1} if it was never expanded.
+     */
+    int getExpandedGraphSize();
+
+    /**
+     * Records the number of graph nodes this AST was partially evaluated to, to be used as a size
+     * prediction by subsequent compilations.
+     */
+    void setExpandedGraphSize(int size);
+
     /**
      * @return A {@link JavaConstant} representing the assumption that the nodes of the AST were not
      *         rewritten.
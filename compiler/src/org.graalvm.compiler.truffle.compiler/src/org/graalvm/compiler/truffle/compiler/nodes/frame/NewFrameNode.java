@@ -161,6 +161,16 @@ public final class NewFrameNode extends FixedWithNextNode implements IterableNod
 
         JavaKind[] frameSlotKindsCandidate = new JavaKind[frameLength];
         int limit = -1;
+        /*
+         * Indexed slots are fixed when the FrameDescriptor is built and occupy the first indices of
+         * the frame, so the size read above always covers them.
+         */
+        JavaConstant indexedSlotTags = constantReflection.readFieldValue(types.fieldFrameDescriptorIndexedSlotTags, frameDescriptor);
+        final int indexedSlotCount = constantReflection.readArrayLength(indexedSlotTags);
+        for (int i = 0; i < indexedSlotCount; i++) {
+            frameSlotKindsCandidate[i] = asJavaKind(constantReflection.readArrayElement(indexedSlotTags, i));
+            limit = i;
+        }
         for (int i = 0; i < slotsArrayLength; i++) {
             JavaConstant slot = constantReflection.readArrayElement(slotArray, i);
             if (slot.isNonNull()) {
@@ -54,10 +54,14 @@ import org.graalvm.compiler.truffle.options.PolyglotCompilerOptions;
 public final class CallNode extends Node implements Comparable<CallNode> {
 
     private static final NodeClass<CallNode> TYPE = NodeClass.create(CallNode.class);
+    private static final int PREDICTED_IR_SIZE_NOT_READ = -2;
     private final TruffleCallNode truffleCaller;
     private final CompilableTruffleAST truffleAST;
     private final TruffleCallNode[] truffleCallees;
     private final double rootRelativeFrequency;
+    // Size of the graph the truffleAST was expanded to in a previous compilation, -1 if unknown.
+    // Read lazily, since it is only needed for candidates the policy considers expanding.
+    private int predictedIRSize = PREDICTED_IR_SIZE_NOT_READ;
     private final int depth;
     private final int id;
     // Should be final, but needs to be mutable to be corrected if the language marks a non-trivial
@@ -107,6 +111,7 @@ public final class CallNode extends Node implements Comparable<CallNode> {
         final GraphManager.Entry entry = callTree.getGraphManager().peRoot(callTree.truffleTierOnExpand);
         EconomicMap<Invoke, TruffleCallNode> invokeToTruffleCallNode = entry.invokeToTruffleCallNode;
         root.verifyTrivial(entry);
+        root.truffleAST.setExpandedGraphSize(root.ir.getNodeCount());
         addChildren(root, invokeToTruffleCallNode);
         root.state = State.Inlined;
         callTree.getPolicy().afterExpand(root);
@@ -146,6 +151,10 @@ public final class CallNode extends Node implements Comparable<CallNode> {
         properties.put("Frequency", rootRelativeFrequency);
         properties.put("Recursion Depth", getRecursionDepth());
         properties.put("IR Nodes", ir == null ? 0 : ir.getNodeCount());
+        // only shown for call nodes the policy asked for a prediction
+        if (predictedIRSize >= 0) {
+            properties.put("Predicted IR Nodes", predictedIRSize);
+        }
         properties.put("Truffle Callees", truffleCallees.length);
         properties.put("Explore/inline ratio", exploreInlineRatio());
         properties.put("Depth", depth);
@@ -230,6 +239,7 @@ public final class CallNode extends Node implements Comparable<CallNode> {
         }
         verifyTrivial(entry);
         ir = copyGraphAndAddChildren(entry);
+        truffleAST.setExpandedGraphSize(ir.getNodeCount());
         addIndirectChildren(entry);
         getPolicy().afterExpand(this);
     }
@@ -358,6 +368,18 @@ public final class CallNode extends Node implements Comparable<CallNode> {
         return trivial;
     }
 
+    /**
+     * Returns the number of IR nodes the {@link #getTruffleAST() truffle AST} of this call node
+     * expanded to in a previous compilation, or {@code -1} if it was not expanded before. Must be
+     * called before this call node is expanded, since expanding records the new size.
+     */
+    public int getPredictedIRSize() {
+        if (predictedIRSize == PREDICTED_IR_SIZE_NOT_READ) {
+            predictedIRSize = truffleAST == null ? -1 : truffleAST.getExpandedGraphSize();
+        }
+        return predictedIRSize;
+    }
+
     public Object getPolicyData() {
         return policyData;
     }
@@ -119,7 +119,8 @@ final class DefaultInliningPolicy implements InliningPolicy {
                 continue;
             }
             if (tree.getRoot().getIR().getNodeCount() + candidate.getIR().getNodeCount() > inliningBudget) {
-                break;
+                // a smaller, less frequent candidate may still fit
+                continue;
             }
             if (data(candidate).callDiff <= 0) {
                 candidate.inline();
@@ -133,9 +134,28 @@ final class DefaultInliningPolicy implements InliningPolicy {
         final int maximumRecursiveInliningValue = options.get(PolyglotCompilerOptions.InliningRecursionDepth);
         expandedCount = tree.getRoot().getIR().getNodeCount();
         final PriorityQueue<CallNode> expandQueue = getQueue(tree, CallNode.State.Cutoff);
-        CallNode candidate;
-        while ((candidate = expandQueue.poll()) != null && expandedCount < expansionBudget) {
+        final PriorityQueue<CallNode> skippedQueue = new PriorityQueue<>(CALL_NODE_COMPARATOR);
+        while (expandedCount < expansionBudget) {
+            CallNode candidate = expandQueue.poll();
+            if (candidate == null) {
+                // Predictions come from earlier compilations and can be stale. Spend the budget
+                // that is left on the skipped candidates, which also measures them again.
+                candidate = skippedQueue.poll();
+                if (candidate == null) {
+                    break;
+                }
+                data(candidate).expansionSkipped = false;
+                expand(candidate, expandQueue);
+                continue;
+            }
             if (candidate.getRecursionDepth() <= maximumRecursiveInliningValue && candidate.getDepth() <= MAX_DEPTH) {
+                if (expandedCount + candidate.getPredictedIRSize() > expansionBudget) {
+                    // a previous compilation showed this candidate does not fit, try the
+                    // candidates that do first
+                    data(candidate).expansionSkipped = true;
+                    skippedQueue.add(candidate);
+                    continue;
+                }
                 expand(candidate, expandQueue);
             }
         }
@@ -161,9 +181,13 @@ final class DefaultInliningPolicy implements InliningPolicy {
     @Override
     public void putProperties(CallNode callNode, Map<Object, Object> properties) {
         properties.put("call diff", data(callNode).callDiff);
+        if (data(callNode).expansionSkipped) {
+            properties.put("expansion skipped", "predicted size exceeds budget");
+        }
     }
 
     private static final class Data {
         double callDiff;
+        boolean expansionSkipped;
     }
 }
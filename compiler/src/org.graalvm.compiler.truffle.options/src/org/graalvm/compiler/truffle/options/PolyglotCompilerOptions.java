@@ -274,6 +274,9 @@ public final class PolyglotCompilerOptions {
     @Option(help = "Delay compilation after a node replacement. Deprecated: no longer has any effect.", category = OptionCategory.EXPERT, deprecated =  true)
     public static final OptionKey<Integer> ReplaceReprofileCount = new OptionKey<>(3);
 
+    @Option(help = "Number of recompilations of a call target after which its argument and return type speculations are disabled and every further recompilation is delayed exponentially (0 disables the backoff).", category = OptionCategory.EXPERT)
+    public static final OptionKey<Integer> RecompilationBackoffThreshold = new OptionKey<>(10);
+
     @Option(help = "Speculate on arguments types at call sites", category = OptionCategory.INTERNAL)
     public static final OptionKey<Boolean> ArgumentTypeSpeculation = new OptionKey<>(true);
 
@@ -410,6 +413,9 @@ public final class PolyglotCompilerOptions {
     @Option(help = "Disable call target splitting if the number of nodes created by splitting exceeds this factor times node count", category = OptionCategory.INTERNAL)
     public static final OptionKey<Double> SplittingGrowthLimit = new OptionKey<>(1.5);
 
+    @Option(help = "Disable call target splitting if number of nodes created by splitting exceeds this limit", category = OptionCategory.INTERNAL)
+    public static final OptionKey<Integer> SplittingMaxNumberOfSplitNodes = new OptionKey<>(500_000);
+
     @Option(help = "Propagate info about a polymorphic specialize through maximum this many call targets", category = OptionCategory.INTERNAL)
     public static final OptionKey<Integer> SplittingMaxPropagationDepth = new OptionKey<>(5);
 
@@ -48,6 +48,7 @@ import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLi
 import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.GetConstantFieldInfo;
 import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.GetCurrentCallTarget;
 import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.GetDescription;
+import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.GetExpandedGraphSize;
 import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.GetFailedSpeculationsAddress;
 import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.GetFrameSlotKindTagForJavaKind;
 import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.GetInlineKind;
@@ -88,6 +89,7 @@ import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLi
 import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.OnTruffleTierFinished;
 import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.RegisterOptimizedAssumptionDependency;
 import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.SetCallCount;
+import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.SetExpandedGraphSize;
 import static org.graalvm.compiler.truffle.common.hotspot.libgraal.TruffleFromLibGraal.Id.SetInlinedCallCount;
 
 import java.lang.reflect.Method;
@@ -470,6 +472,16 @@ final class TruffleFromLibGraalEntryPoints {
         return ((CompilableTruffleAST) compilableTruffleAST).getKnownCallSiteCount();
     }
 
+    @TruffleFromLibGraal(GetExpandedGraphSize)
+    static int getExpandedGraphSize(Object compilableTruffleAST) {
+        return ((CompilableTruffleAST) compilableTruffleAST).getExpandedGraphSize();
+    }
+
+    @TruffleFromLibGraal(SetExpandedGraphSize)
+    static void setExpandedGraphSize(Object compilableTruffleAST, int size) {
+        ((CompilableTruffleAST) compilableTruffleAST).setExpandedGraphSize(size);
+    }
+
     @TruffleFromLibGraal(IsSameOrSplit)
     static boolean isSameOrSplit(Object compilableTruffleAST1, Object compilableTruffleAST2) {
         return ((CompilableTruffleAST) compilableTruffleAST1).isSameOrSplit((CompilableTruffleAST) compilableTruffleAST2);
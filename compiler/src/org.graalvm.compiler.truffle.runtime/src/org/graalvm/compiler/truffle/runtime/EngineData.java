@@ -47,6 +47,7 @@ import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.Multi
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.PerformanceWarningsAreFatal;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.PriorityQueue;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.Profiling;
+import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.RecompilationBackoffThreshold;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.ReturnTypeSpeculation;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.SingleTierCompilationThreshold;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.Splitting;
@@ -54,6 +55,7 @@ import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.Split
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.SplittingDumpDecisions;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.SplittingGrowthLimit;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.SplittingMaxCalleeSize;
+import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.SplittingMaxNumberOfSplitNodes;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.SplittingMaxPropagationDepth;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.SplittingTraceEvents;
 import static org.graalvm.compiler.truffle.options.PolyglotCompilerOptions.TraceCompilation;
@@ -114,6 +116,7 @@ public final class EngineData {
     @CompilationFinal public boolean traceSplittingSummary;
     @CompilationFinal public boolean traceSplits;
     @CompilationFinal public int splittingMaxCalleeSize;
+    @CompilationFinal public int splittingMaxNumberOfSplitNodes;
     @CompilationFinal public int splittingMaxPropagationDepth;
     @CompilationFinal public double splittingGrowthLimit;
 
@@ -126,6 +129,7 @@ public final class EngineData {
     @CompilationFinal public boolean multiTier;
     @CompilationFinal public boolean returnTypeSpeculation;
     @CompilationFinal public boolean argumentTypeSpeculation;
+    @CompilationFinal public int recompilationBackoffThreshold;
     @CompilationFinal public boolean traceCompilation;
     @CompilationFinal public boolean traceCompilationDetails;
     @CompilationFinal public boolean backgroundCompilation;
@@ -247,6 +251,7 @@ public final class EngineData {
         this.splittingAllowForcedSplits = options.get(SplittingAllowForcedSplits);
         this.splittingDumpDecisions = options.get(SplittingDumpDecisions);
         this.splittingMaxCalleeSize = options.get(SplittingMaxCalleeSize);
+        this.splittingMaxNumberOfSplitNodes = options.get(SplittingMaxNumberOfSplitNodes);
         this.splittingMaxPropagationDepth = options.get(SplittingMaxPropagationDepth);
         this.splittingTraceEvents = options.get(SplittingTraceEvents);
         this.traceSplittingSummary = options.get(TraceSplittingSummary);
@@ -269,6 +274,7 @@ public final class EngineData {
         traversingFirstTierPriority = options.get(TraversingQueueFirstTierPriority);
 
         this.returnTypeSpeculation = options.get(ReturnTypeSpeculation);
+        this.recompilationBackoffThreshold = options.get(RecompilationBackoffThreshold);
         this.argumentTypeSpeculation = options.get(ArgumentTypeSpeculation);
         this.traceCompilation = options.get(TraceCompilation);
         this.traceCompilationDetails = options.get(TraceCompilationDetails);
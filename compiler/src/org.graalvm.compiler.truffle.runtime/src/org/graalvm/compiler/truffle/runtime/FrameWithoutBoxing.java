@@ -63,6 +63,13 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
     private static final long[] EMPTY_LONG_ARRAY = {};
     private static final byte[] EMPTY_BYTE_ARRAY = {};
 
+    /*
+     * Location identities of indexed slot accesses. Indexed slots never overlap with FrameSlot
+     * based slots, which use the FrameSlot itself as location identity.
+     */
+    private static final Object OBJECT_LOCATION = new Object();
+    private static final Object PRIMITIVE_LOCATION = new Object();
+
     private static final Unsafe UNSAFE = initUnsafe();
 
     static {
@@ -438,6 +445,218 @@ public final class FrameWithoutBoxing implements VirtualFrame, MaterializedFrame
         setLongUnsafe(slotIndex, slot, 0L);
     }
 
+    @Override
+    public Object getObject(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, OBJECT_TAG);
+        return getObjectUnsafe(slot, condition);
+    }
+
+    private Object getObjectUnsafe(int slot, boolean condition) {
+        return unsafeGetObject(getLocals(), getObjectOffset(slot), condition, OBJECT_LOCATION);
+    }
+
+    @Override
+    public void setObject(int slot, Object value) {
+        verifyIndexedSet(slot, OBJECT_TAG);
+        unsafePutObject(getLocals(), getObjectOffset(slot), value, OBJECT_LOCATION);
+    }
+
+    @Override
+    public boolean isObject(int slot) {
+        return getIndexedTag(slot) == OBJECT_TAG;
+    }
+
+    @Override
+    public byte getByte(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, BYTE_TAG);
+        return getByteUnsafe(slot, condition);
+    }
+
+    private byte getByteUnsafe(int slot, boolean condition) {
+        return (byte) unsafeGetInt(getPrimitiveLocals(), getPrimitiveOffset(slot), condition, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public void setByte(int slot, byte value) {
+        verifyIndexedSet(slot, BYTE_TAG);
+        unsafePutInt(getPrimitiveLocals(), getPrimitiveOffset(slot), value, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public boolean isByte(int slot) {
+        return getIndexedTag(slot) == BYTE_TAG;
+    }
+
+    @Override
+    public boolean getBoolean(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, BOOLEAN_TAG);
+        return getBooleanUnsafe(slot, condition);
+    }
+
+    private boolean getBooleanUnsafe(int slot, boolean condition) {
+        return unsafeGetInt(getPrimitiveLocals(), getPrimitiveOffset(slot), condition, PRIMITIVE_LOCATION) != 0;
+    }
+
+    @Override
+    public void setBoolean(int slot, boolean value) {
+        verifyIndexedSet(slot, BOOLEAN_TAG);
+        unsafePutInt(getPrimitiveLocals(), getPrimitiveOffset(slot), value ? 1 : 0, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public boolean isBoolean(int slot) {
+        return getIndexedTag(slot) == BOOLEAN_TAG;
+    }
+
+    @Override
+    public int getInt(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, INT_TAG);
+        return getIntUnsafe(slot, condition);
+    }
+
+    private int getIntUnsafe(int slot, boolean condition) {
+        return unsafeGetInt(getPrimitiveLocals(), getPrimitiveOffset(slot), condition, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public void setInt(int slot, int value) {
+        verifyIndexedSet(slot, INT_TAG);
+        unsafePutInt(getPrimitiveLocals(), getPrimitiveOffset(slot), value, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public boolean isInt(int slot) {
+        return getIndexedTag(slot) == INT_TAG;
+    }
+
+    @Override
+    public long getLong(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, LONG_TAG);
+        return getLongUnsafe(slot, condition);
+    }
+
+    private long getLongUnsafe(int slot, boolean condition) {
+        return unsafeGetLong(getPrimitiveLocals(), getPrimitiveOffset(slot), condition, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public void setLong(int slot, long value) {
+        verifyIndexedSet(slot, LONG_TAG);
+        unsafePutLong(getPrimitiveLocals(), getPrimitiveOffset(slot), value, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public boolean isLong(int slot) {
+        return getIndexedTag(slot) == LONG_TAG;
+    }
+
+    @Override
+    public float getFloat(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, FLOAT_TAG);
+        return getFloatUnsafe(slot, condition);
+    }
+
+    private float getFloatUnsafe(int slot, boolean condition) {
+        return unsafeGetFloat(getPrimitiveLocals(), getPrimitiveOffset(slot), condition, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public void setFloat(int slot, float value) {
+        verifyIndexedSet(slot, FLOAT_TAG);
+        unsafePutFloat(getPrimitiveLocals(), getPrimitiveOffset(slot), value, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public boolean isFloat(int slot) {
+        return getIndexedTag(slot) == FLOAT_TAG;
+    }
+
+    @Override
+    public double getDouble(int slot) throws FrameSlotTypeException {
+        boolean condition = verifyIndexedGet(slot, DOUBLE_TAG);
+        return getDoubleUnsafe(slot, condition);
+    }
+
+    private double getDoubleUnsafe(int slot, boolean condition) {
+        return unsafeGetDouble(getPrimitiveLocals(), getPrimitiveOffset(slot), condition, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public void setDouble(int slot, double value) {
+        verifyIndexedSet(slot, DOUBLE_TAG);
+        unsafePutDouble(getPrimitiveLocals(), getPrimitiveOffset(slot), value, PRIMITIVE_LOCATION);
+    }
+
+    @Override
+    public boolean isDouble(int slot) {
+        return getIndexedTag(slot) == DOUBLE_TAG;
+    }
+
+    @Override
+    public Object getValue(int slot) {
+        byte tag = getIndexedTag(slot);
+        boolean condition = (tag == BOOLEAN_TAG);
+        if (condition) {
+            return getBooleanUnsafe(slot, condition);
+        }
+        condition = (tag == BYTE_TAG);
+        if (condition) {
+            return getByteUnsafe(slot, condition);
+        }
+        condition = (tag == INT_TAG);
+        if (condition) {
+            return getIntUnsafe(slot, condition);
+        }
+        condition = (tag == DOUBLE_TAG);
+        if (condition) {
+            return getDoubleUnsafe(slot, condition);
+        }
+        condition = (tag == LONG_TAG);
+        if (condition) {
+            return getLongUnsafe(slot, condition);
+        }
+        condition = (tag == FLOAT_TAG);
+        if (condition) {
+            return getFloatUnsafe(slot, condition);
+        }
+        condition = tag == OBJECT_TAG;
+        assert condition;
+        return getObjectUnsafe(slot, condition);
+    }
+
+    @Override
+    public void clear(int slot) {
+        verifyIndexedSet(slot, ILLEGAL_TAG);
+        unsafePutObject(getLocals(), getObjectOffset(slot), null, OBJECT_LOCATION);
+        unsafePutLong(getPrimitiveLocals(), getPrimitiveOffset(slot), 0L, PRIMITIVE_LOCATION);
+    }
+
+    /*
+     * Indexed slots are part of the frame from its allocation on, so unlike FrameSlot accesses the
+     * indexed accesses never need to resize the frame. The bounds check of the tags array also
+     * guards the unchecked accesses of the locals and primitiveLocals arrays of the same length.
+     */
+    private byte getIndexedTag(int slot) {
+        return getTags()[slot];
+    }
+
+    private void verifyIndexedSet(int slot, byte tag) {
+        getTags()[slot] = tag;
+    }
+
+    private boolean verifyIndexedGet(int slot, byte tag) throws FrameSlotTypeException {
+        boolean condition = getTags()[slot] == tag;
+        if (!condition) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw new FrameSlotTypeException();
+        }
+        return condition;
+    }
+
+    private static long getObjectOffset(int slotIndex) {
+        return Unsafe.ARRAY_OBJECT_BASE_OFFSET + slotIndex * (long) Unsafe.ARRAY_OBJECT_INDEX_SCALE;
+    }
+
     @SuppressWarnings({"unchecked", "unused"})
     private static <T> T unsafeCast(Object value, Class<T> type, boolean condition, boolean nonNull, boolean exact) {
         return (T) value;
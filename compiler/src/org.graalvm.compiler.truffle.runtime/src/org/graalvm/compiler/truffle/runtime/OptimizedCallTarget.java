@@ -125,6 +125,7 @@ public abstract class OptimizedCallTarget implements CompilableTruffleAST, RootC
     private static final WeakReference<OptimizedDirectCallNode> MULTIPLE_CALLS = null;
     private static final String SPLIT_LOG_FORMAT = "[poly-event] %-70s %s";
     private static final int MAX_PROFILED_ARGUMENTS = 256;
+    private static final int MAX_RECOMPILATION_BACKOFF_SHIFT = 16;
 
     /** The AST to be executed when this call target is called. */
     private final RootNode rootNode;
@@ -151,6 +152,19 @@ public abstract class OptimizedCallTarget implements CompilableTruffleAST, RootC
     private int callAndLoopCount;
     private int highestCompiledTier = 0;
 
+    /**
+     * Number of compilations of a tier this call target was already compiled in. Only updated
+     * while holding the lock of this call target.
+     */
+    private volatile int recompilationCount;
+
+    /**
+     * The {@link #callCount} this call target must reach before it is compiled again. Set once the
+     * call target was recompiled {@link EngineData#recompilationBackoffThreshold too often}, so
+     * that it cannot keep the compiler threads busy with invalidate-recompile cycles.
+     */
+    private int compilationBackoffCallCount;
+
     public void compiledTier(int tier) {
         highestCompiledTier = Math.max(highestCompiledTier, tier);
     }
@@ -282,6 +296,12 @@ public abstract class OptimizedCallTarget implements CompilableTruffleAST, RootC
 
     private volatile boolean needsSplit;
 
+    /**
+     * Number of graph nodes this target was partially evaluated to the last time the inliner
+     * expanded it, used to predict the size of later expansions. {@code -1} if never expanded.
+     */
+    private volatile int expandedGraphSize = -1;
+
     /**
      * The engine data associated with this call target. Used to cache option lookups and to gather
      * engine specific statistics.
@@ -555,6 +575,7 @@ public abstract class OptimizedCallTarget implements CompilableTruffleAST, RootC
     private boolean shouldCompileImpl(int intCallCount, int intLoopCallCount) {
         return intCallCount >= engine.callThresholdInInterpreter //
                         && intLoopCallCount >= engine.callAndLoopThresholdInInterpreter //
+                        && intCallCount >= compilationBackoffCallCount //
                         && !compilationFailed //
                         && !isSubmittedForCompilation()
                         /*
@@ -595,6 +616,7 @@ public abstract class OptimizedCallTarget implements CompilableTruffleAST, RootC
         this.callAndLoopCount = firstTierLoopCallCount == Integer.MAX_VALUE ? firstTierLoopCallCount : ++firstTierLoopCallCount;
         if (firstTierCallCount >= engine.callThresholdInFirstTier //
                         && firstTierLoopCallCount >= engine.callAndLoopThresholdInFirstTier //
+                        && firstTierCallCount >= compilationBackoffCallCount //
                         && !compilationFailed //
                         && !isSubmittedForCompilation()) {
             return lastTierCompile();
@@ -713,6 +735,7 @@ public abstract class OptimizedCallTarget implements CompilableTruffleAST, RootC
                     if (!wasExecuted() && !engine.backgroundCompilation) {
                         prepareForAOTImpl();
                     }
+                    recordRecompilation(lastTierCompilation);
 
                     try {
                         assert compilationTask == null;
@@ -889,6 +912,52 @@ public abstract class OptimizedCallTarget implements CompilableTruffleAST, RootC
         return cancelCompilation(reason) || wasActive;
     }
 
+    /**
+     * Counts compilations of a tier this call target was already compiled in, i.e. the
+     * recompilations after an invalidation. Once there were
+     * {@link EngineData#recompilationBackoffThreshold too many}, the profiles are demoted and the
+     * next recompilation is delayed by twice as many calls as the previous one.
+     */
+    private void recordRecompilation(boolean lastTierCompilation) {
+        int threshold = engine.recompilationBackoffThreshold;
+        if (threshold <= 0 || highestCompiledTier < (lastTierCompilation ? 2 : 1)) {
+            return;
+        }
+        int count = ++recompilationCount;
+        if (count >= threshold) {
+            demoteProfiles();
+            int shift = Math.min(count - threshold, MAX_RECOMPILATION_BACKOFF_SHIFT);
+            long delay = (long) Math.max(1, engine.callThresholdInInterpreter) << shift;
+            compilationBackoffCallCount = (int) Math.min(Integer.MAX_VALUE, callCount + delay);
+        }
+    }
+
+    /**
+     * Stops speculating on argument and return types after repeated recompilations. The generic
+     * code is slower, but does not deoptimize when the speculation fails again. Language
+     * assumptions cannot be demoted here, the compilation backoff limits their cost instead.
+     */
+    private void demoteProfiles() {
+        if (!callProfiled) {
+            transitionToInvalidArgumentsProfile();
+        }
+        ReturnProfile profile = returnProfile;
+        if (profile != ReturnProfile.INVALID) {
+            if (profile != null) {
+                profile.assumption.invalidate();
+            }
+            RETURN_PROFILE_UPDATER.set(this, ReturnProfile.INVALID);
+        }
+    }
+
+    /**
+     * Returns how many times this call target was compiled again in a tier it was already compiled
+     * in, if {@link EngineData#recompilationBackoffThreshold recompilation backoff} is enabled.
+     */
+    public final int getRecompilationCount() {
+        return recompilationCount;
+    }
+
     @Override
     public final void onCompilationFailed(Supplier<String> serializedException, boolean silent, boolean bailout, boolean permanentBailout, boolean graphTooBig) {
         if (graphTooBig) {
@@ -944,6 +1013,21 @@ public abstract class OptimizedCallTarget implements CompilableTruffleAST, RootC
         return callSitesKnown;
     }
 
+    @Override
+    public final int getExpandedGraphSize() {
+        int size = expandedGraphSize;
+        if (size < 0 && sourceCallTarget != null) {
+            // a split partially evaluates to roughly the same graph as its source
+            return sourceCallTarget.expandedGraphSize;
+        }
+        return size;
+    }
+
+    @Override
+    public final void setExpandedGraphSize(int size) {
+        this.expandedGraphSize = size;
+    }
+
     public final OptimizedCallTarget getSourceCallTarget() {
         return sourceCallTarget;
     }
@@ -49,6 +49,13 @@ public final class OptimizedDirectCallNode extends DirectCallNode implements Tru
     @CompilationFinal private Class<? extends Throwable> exceptionProfile;
     @CompilationFinal private OptimizedCallTarget splitCallTarget;
     private volatile boolean splitDecided;
+    /*
+     * Written by the interpreter without invalidating compiled code. A stale value is harmless:
+     * compiled code that still sees false makes no deferred decision until it is recompiled, and
+     * compiled code that still sees true compares against a call count that is read on every call.
+     */
+    @CompilationFinal private boolean splitDeferred;
+    private int splitDeferredCallCount = Integer.MAX_VALUE;
 
     /*
      * Should be instantiated with the runtime.
@@ -63,6 +70,8 @@ public final class OptimizedDirectCallNode extends DirectCallNode implements Tru
         OptimizedCallTarget target = getCurrentCallTarget();
         if (CompilerDirectives.inInterpreter()) {
             target = onInterpreterCall(target);
+        } else if (splitDeferred) {
+            target = onCompiledDeferredCall(target);
         }
         if (GraalCompilerDirectives.inFirstTier()) {
             incrementCallCount();
@@ -159,13 +168,45 @@ public final class OptimizedDirectCallNode extends DirectCallNode implements Tru
         if (target.isNeedsSplit() && !splitDecided) {
             // We intentionally avoid locking here because worst case is a double decision printed
             // and preventing that is not worth the performance impact of locking
+            if (splitDeferred && callCount < splitDeferredCallCount) {
+                return target;
+            }
             splitDecided = true;
-            TruffleSplittingStrategy.beforeCall(this, target);
+            int nextDecisionCallCount = TruffleSplittingStrategy.beforeCall(this, target);
+            if (nextDecisionCallCount > 0) {
+                // not hot enough for the remaining split budget yet, decide again on a later call
+                splitDeferredCallCount = nextDecisionCallCount;
+                splitDeferred = true;
+                splitDecided = false;
+            } else {
+                splitDeferred = false;
+                splitDeferredCallCount = Integer.MAX_VALUE;
+            }
             return getCurrentCallTarget();
         }
         return target;
     }
 
+    /**
+     * A call site whose split decision was deferred may have become hot only after its caller was
+     * compiled. Compiled code therefore keeps counting the calls and goes back to the interpreter
+     * to decide again once the call count asked for by the splitting strategy is reached.
+     */
+    private OptimizedCallTarget onCompiledDeferredCall(OptimizedCallTarget target) {
+        if (callCount >= splitDeferredCallCount) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            return onInterpreterCall(target);
+        }
+        if (!GraalCompilerDirectives.inFirstTier()) {
+            incrementCallCount();
+        }
+        return target;
+    }
+
+    boolean isSplitDeferred() {
+        return splitDeferred;
+    }
+
     private void incrementCallCount() {
         int calls = this.callCount;
         this.callCount = calls == Integer.MAX_VALUE ? calls : ++calls;
@@ -49,7 +49,20 @@ final class TruffleSplittingStrategy {
     private static final Set<OptimizedCallTarget> waste = Collections.synchronizedSet(new HashSet<>());
     private static final int RECURSIVE_SPLIT_DEPTH = 3;
 
-    static void beforeCall(OptimizedDirectCallNode call, OptimizedCallTarget currentTarget) {
+    /**
+     * Budget usage below which every split candidate is admitted as soon as it is called. Above it
+     * the remaining budget is reserved for call sites that were called often enough to pay for the
+     * nodes they would duplicate.
+     */
+    private static final double FREE_BUDGET_RATIO = 0.5;
+
+    /**
+     * Decides whether the call site should be split.
+     *
+     * @return {@code 0} if the decision is final, otherwise the call count of this call site at
+     *         which the deferred decision should be made again
+     */
+    static int beforeCall(OptimizedDirectCallNode call, OptimizedCallTarget currentTarget) {
         final EngineData engineData = currentTarget.engine;
         if (engineData.traceSplittingSummary) {
             if (currentTarget.getCallCount() == 0) {
@@ -58,12 +71,33 @@ final class TruffleSplittingStrategy {
                 }
             }
         }
-        if (shouldSplit(engineData, call)) {
-            engineData.splitCount += call.getCallTarget().getUninitializedNodeCount();
-            doSplit(engineData, call);
+        switch (shouldSplit(engineData, call)) {
+            case SPLIT:
+                engineData.splitCount += call.getCallTarget().getUninitializedNodeCount();
+                doSplit(engineData, call);
+                return 0;
+            case DEFER:
+                if (engineData.traceSplittingSummary && !call.isSplitDeferred()) {
+                    synchronized (engineData.splittingStatistics) {
+                        engineData.splittingStatistics.deferredSplitCount++;
+                    }
+                }
+                return nextDecisionCallCount(engineData, call);
+            default:
+                return 0;
         }
     }
 
+    /**
+     * The call count at which a deferred call site decides again. The count at least doubles
+     * between two decisions, which bounds the number of deoptimizations a deferred call site in
+     * compiled code causes.
+     */
+    private static int nextDecisionCallCount(EngineData engine, OptimizedDirectCallNode call) {
+        long next = Math.max(requiredCallCount(engine, call), 2L * Math.max(call.getCallCount(), 1));
+        return (int) Math.min(next, Integer.MAX_VALUE);
+    }
+
     private static void doSplit(EngineData engineData, OptimizedDirectCallNode call) {
         if (engineData.traceSplittingSummary) {
             synchronized (engineData.splittingStatistics) {
@@ -80,28 +114,64 @@ final class TruffleSplittingStrategy {
         }
     }
 
-    private static boolean shouldSplit(EngineData engine, OptimizedDirectCallNode call) {
+    private enum Decision {
+        SPLIT,
+        REJECT,
+        DEFER
+    }
+
+    private static Decision shouldSplit(EngineData engine, OptimizedDirectCallNode call) {
         OptimizedCallTarget callTarget = call.getCurrentCallTarget();
         if (!callTarget.isNeedsSplit()) {
-            return false;
+            return Decision.REJECT;
         }
         if (!canSplit(engine, call)) {
-            maybeTraceFail(engine, call, TruffleSplittingStrategy::splitNotPossibleMessageFactory);
-            return false;
+            reportSplitFailed(engine, call, TruffleSplittingStrategy::splitNotPossibleMessageFactory);
+            return Decision.REJECT;
         }
         if (isRecursiveSplit(call, RECURSIVE_SPLIT_DEPTH)) {
-            maybeTraceFail(engine, call, TruffleSplittingStrategy::recursiveSplitMessageFactory);
-            return false;
-        }
-        if (engine.splitCount + call.getCallTarget().getUninitializedNodeCount() >= engine.splitLimit) {
-            maybeTraceFail(engine, call, TruffleSplittingStrategy::notEnoughBudgetMessageFactory);
-            return false;
+            reportSplitFailed(engine, call, TruffleSplittingStrategy::recursiveSplitMessageFactory);
+            return Decision.REJECT;
         }
         if (callTarget.getUninitializedNodeCount() > engine.splittingMaxCalleeSize) {
-            maybeTraceFail(engine, call, TruffleSplittingStrategy::targetTooBigMessageFactory);
-            return false;
+            reportSplitFailed(engine, call, TruffleSplittingStrategy::targetTooBigMessageFactory);
+            return Decision.REJECT;
         }
-        return true;
+        if (engine.splitCount + call.getCallTarget().getUninitializedNodeCount() >= splitBudget(engine)) {
+            reportSplitFailed(engine, call, TruffleSplittingStrategy::notEnoughBudgetMessageFactory);
+            return Decision.REJECT;
+        }
+        if (call.getCallCount() < requiredCallCount(engine, call)) {
+            return Decision.DEFER;
+        }
+        return Decision.SPLIT;
+    }
+
+    /**
+     * The number of split nodes the engine may create, i.e. the growing split limit capped by
+     * {@link EngineData#splittingMaxNumberOfSplitNodes}.
+     */
+    private static int splitBudget(EngineData engine) {
+        return Math.min(engine.splitLimit, engine.splittingMaxNumberOfSplitNodes);
+    }
+
+    /**
+     * The number of calls a call site needs to have seen before it may use the remaining budget.
+     * While less than {@link #FREE_BUDGET_RATIO half} of the budget is used splitting is free. After
+     * that each split node costs an increasing number of calls, so that the last part of the budget
+     * goes to the hottest call sites instead of the ones that happened to be called first.
+     */
+    private static long requiredCallCount(EngineData engine, OptimizedDirectCallNode call) {
+        int budget = splitBudget(engine);
+        if (budget <= 0) {
+            return 0;
+        }
+        double usage = (double) engine.splitCount / budget;
+        if (usage <= FREE_BUDGET_RATIO) {
+            return 0;
+        }
+        double callsPerNode = (usage - FREE_BUDGET_RATIO) / (1 - usage);
+        return (long) (callsPerNode * call.getCallTarget().getUninitializedNodeCount());
     }
 
     private static String targetTooBigMessageFactory(OptimizedDirectCallNode call, EngineData engine) {
@@ -109,7 +179,7 @@ final class TruffleSplittingStrategy {
     }
 
     private static String notEnoughBudgetMessageFactory(OptimizedDirectCallNode call, EngineData engine) {
-        return "Not enough budget. " + (engine.splitCount + call.getCallTarget().getUninitializedNodeCount()) + " > " + engine.splitLimit;
+        return "Not enough budget. " + (engine.splitCount + call.getCallTarget().getUninitializedNodeCount()) + " > " + splitBudget(engine);
     }
 
     @SuppressWarnings("unused")
@@ -122,8 +192,12 @@ final class TruffleSplittingStrategy {
         return "Recursive split.";
     }
 
-    private static void maybeTraceFail(EngineData engine, OptimizedDirectCallNode call, BiFunction<OptimizedDirectCallNode, EngineData, String> messageFactory) {
-        if (engine.traceSplits) {
+    /**
+     * Reports a rejected split to the runtime listeners if splits are traced or compilation
+     * statistics are collected. The message is only built in that case.
+     */
+    private static void reportSplitFailed(EngineData engine, OptimizedDirectCallNode call, BiFunction<OptimizedDirectCallNode, EngineData, String> messageFactory) {
+        if (engine.traceSplits || engine.callTargetStatistics) {
             GraalTruffleRuntime.getRuntime().getListener().onCompilationSplitFailed(call, messageFactory.apply(call, engine));
         }
     }
@@ -235,6 +309,7 @@ final class TruffleSplittingStrategy {
         final Map<OptimizedCallTarget, Integer> splitTargets = new HashMap<>();
         int splitCount;
         int forcedSplitCount;
+        int deferredSplitCount;
         int splitNodeCount;
         int totalExecutedNodeCount;
         int totalCreatedNodeCount;
@@ -264,8 +339,10 @@ final class TruffleSplittingStrategy {
                     out.print("Splitting Statistics");
                     out.printf(D_FORMAT, "Split count", engineData.splitCount);
                     out.printf(D_FORMAT, "Split limit", engineData.splitLimit);
+                    out.printf(D_FORMAT, "Max number of split nodes", engineData.splittingMaxNumberOfSplitNodes);
                     out.printf(D_FORMAT, "Splits", stat.splitCount);
                     out.printf(D_FORMAT, "Forced splits", stat.forcedSplitCount);
+                    out.printf(D_FORMAT, "Deferred split call sites", stat.deferredSplitCount);
                     out.printf(D_FORMAT, "Nodes created through splitting", stat.splitNodeCount);
                     out.printf(D_FORMAT, "Nodes created without splitting", stat.totalCreatedNodeCount);
                     out.printf(P_FORMAT, "Increase in nodes", (stat.splitNodeCount * 100.0) / (stat.totalCreatedNodeCount));
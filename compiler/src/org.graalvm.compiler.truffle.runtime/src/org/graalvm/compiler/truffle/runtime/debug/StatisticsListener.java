@@ -26,12 +26,15 @@ package org.graalvm.compiler.truffle.runtime.debug;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.IntSummaryStatistics;
+import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Objects;
@@ -60,6 +63,8 @@ import com.oracle.truffle.api.nodes.NodeCost;
 
 public final class StatisticsListener extends AbstractGraalTruffleRuntimeListener {
 
+    private static final int MAX_INVALIDATED_TARGETS = 10;
+
     private long firstCompilation;
 
     private int compilations;
@@ -71,12 +76,18 @@ public final class StatisticsListener extends AbstractGraalTruffleRuntimeListene
     private int queues;
     private int dequeues;
     private int splits;
+    private int failedSplits;
 
     private final IdentityStatistics<String> temporaryBailoutReasons = new IdentityStatistics<>();
     private final IdentityStatistics<String> permanentBailoutReasons = new IdentityStatistics<>();
     private final IdentityStatistics<String> failureReasons = new IdentityStatistics<>();
     private final IdentityStatistics<String> invalidatedReasons = new IdentityStatistics<>();
     private final IdentityStatistics<String> dequeuedReasons = new IdentityStatistics<>();
+    /*
+     * Invalidation reasons by call target name. Keyed by name rather than by target, so that the
+     * statistics do not keep call targets and their ASTs alive until the engine is closed.
+     */
+    private final Map<String, Map<String, Integer>> invalidatedTargets = new HashMap<>();
 
     private final TargetLongStatistics timeToQueue = new TargetLongStatistics();
     private final TargetLongStatistics timeInQueue = new TargetLongStatistics();
@@ -140,6 +151,11 @@ public final class StatisticsListener extends AbstractGraalTruffleRuntimeListene
         splits++;
     }
 
+    @Override
+    public synchronized void onCompilationSplitFailed(OptimizedDirectCallNode callNode, CharSequence reason) {
+        failedSplits++;
+    }
+
     @Override
     public synchronized void onCompilationQueued(OptimizedCallTarget target, int tier) {
         queues++;
@@ -165,6 +181,7 @@ public final class StatisticsListener extends AbstractGraalTruffleRuntimeListene
     public synchronized void onCompilationInvalidated(OptimizedCallTarget target, Object source, CharSequence reason) {
         invalidations++;
         invalidatedReasons.accept(Arrays.asList(Objects.toString(reason)), target);
+        invalidatedTargets.computeIfAbsent(target.getName(), (t) -> new HashMap<>()).merge(Objects.toString(reason), 1, Integer::sum);
     }
 
     @Override
@@ -295,10 +312,12 @@ public final class StatisticsListener extends AbstractGraalTruffleRuntimeListene
             printStatistic(out, "  Interrupted", compilations - (success + failures + temporaryBailouts + permanentBailouts));
             printStatistic(out, "Invalidated", invalidations);
             invalidatedReasons.printStatistics(out, String::toString, true, false);
+            printMostInvalidatedTargets(out);
             printStatistic(out, "Queues", queues);
             printStatistic(out, "Dequeues", dequeues);
             dequeuedReasons.printStatistics(out, String::toString, true, false);
             printStatistic(out, "Splits", splits);
+            printStatistic(out, "Failed Splits", failedSplits);
             printStatistic(out, "Compilation Accuracy", 1.0 - invalidations / (double) compilations);
             printStatistic(out, "Queue Accuracy", 1.0 - dequeues / (double) queues);
             printStatistic(out, "Compilation Utilization", compilationTime.getSum() / (double) (endTime - firstCompilation));
@@ -361,6 +380,34 @@ public final class StatisticsListener extends AbstractGraalTruffleRuntimeListene
         out.printf("%n  %-50s: %d", label, value);
     }
 
+    /**
+     * Prints the call targets that were invalidated most often, each with its most frequent
+     * invalidation reason, to help finding invalidate-recompile cycles. Split targets share the
+     * name of their original target and are counted together.
+     */
+    private void printMostInvalidatedTargets(PrintWriter out) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Integer>> entry : invalidatedTargets.entrySet()) {
+            int count = 0;
+            for (int reasonCount : entry.getValue().values()) {
+                count += reasonCount;
+            }
+            if (count > 1) {
+                counts.add(new AbstractMap.SimpleEntry<>(entry.getKey(), count));
+            }
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+        counts.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        printStatistic(out, "  Most Invalidated Targets");
+        for (Map.Entry<String, Integer> entry : counts.subList(0, Math.min(MAX_INVALIDATED_TARGETS, counts.size()))) {
+            Map<String, Integer> reasons = invalidatedTargets.get(entry.getKey());
+            String topReason = Collections.max(reasons.entrySet(), Map.Entry.comparingByValue()).getKey();
+            printStatistic(out, String.format("    %s (%s)", entry.getKey(), topReason), entry.getValue());
+        }
+    }
+
     private static void printStatistic(PrintWriter out, String label, double value) {
         out.printf("%n  %-50s: %f", label, value);
     }
@@ -32,7 +32,9 @@ import org.graalvm.compiler.truffle.runtime.OptimizedCallTarget;
 import org.graalvm.compiler.truffle.runtime.OptimizedDirectCallNode;
 import org.graalvm.compiler.truffle.runtime.TruffleInlining;
 import org.graalvm.polyglot.Context;
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Test;
 
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
@@ -66,6 +68,27 @@ public class AgnosticInliningPhaseTest extends PartialEvaluationTest {
         return request.graph;
     }
 
+    @Test
+    public void testExpandedGraphSizeIsRecorded() {
+        final OptimizedCallTarget inner = createDummyNode();
+        final OptimizedCallTarget outer = (OptimizedCallTarget) runtime.createCallTarget(new CallsInnerNodeTwice(inner));
+        Assert.assertEquals(-1, inner.getExpandedGraphSize());
+        runLanguageAgnosticInliningPhase(outer);
+        Assert.assertTrue(outer.getExpandedGraphSize() > 0);
+        Assert.assertTrue(inner.getExpandedGraphSize() > 0);
+    }
+
+    @Test
+    public void testOverBudgetPredictionIsMeasuredAgain() {
+        final OptimizedCallTarget inner = createDummyNode();
+        final OptimizedCallTarget outer = (OptimizedCallTarget) runtime.createCallTarget(new CallsInnerNodeTwice(inner));
+        final int stalePrediction = Integer.MAX_VALUE / 2;
+        inner.setExpandedGraphSize(stalePrediction);
+        runLanguageAgnosticInliningPhase(outer);
+        Assert.assertTrue(inner.getExpandedGraphSize() > 0);
+        Assert.assertTrue(inner.getExpandedGraphSize() < stalePrediction);
+    }
+
     protected final OptimizedCallTarget createDummyNode() {
         return (OptimizedCallTarget) runtime.createCallTarget(new RootNode(null) {
             @Override
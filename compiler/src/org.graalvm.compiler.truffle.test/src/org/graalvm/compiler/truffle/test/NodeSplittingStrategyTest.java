@@ -25,6 +25,10 @@
 package org.graalvm.compiler.truffle.test;
 
 import com.oracle.truffle.api.CallTarget;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.compiler.truffle.runtime.GraalTruffleRuntimeListener;
 import org.graalvm.compiler.truffle.runtime.OptimizedCallTarget;
 import org.graalvm.compiler.truffle.runtime.OptimizedDirectCallNode;
 import org.junit.Assert;
@@ -514,4 +518,74 @@ public class NodeSplittingStrategyTest extends AbstractSplittingStrategyTest {
         callNode1.call(args[3]);
         Assert.assertTrue(callNode1.isCallTargetCloned());
     }
+
+    @Test
+    public void testMaxNumberOfSplitNodes() {
+        setupContext("engine.Compilation", "false",
+                        "engine.SplittingGrowthLimit", "2.0",
+                        "engine.SplittingMaxNumberOfSplitNodes", "1",
+                        "engine.TraceSplitting", "true");
+        createDummyTargetsToBoostGrowingSplitLimit();
+        List<CharSequence> failures = new ArrayList<>();
+        GraalTruffleRuntimeListener failureListener = new GraalTruffleRuntimeListener() {
+            @Override
+            public void onCompilationSplitFailed(OptimizedDirectCallNode callNode, CharSequence reason) {
+                failures.add(reason);
+            }
+        };
+        runtime.addListener(failureListener);
+        try {
+            OptimizedCallTarget callTarget = (OptimizedCallTarget) runtime.createCallTarget(
+                            new SplittingTestRootNode(NodeSplittingStrategyTestFactory.TurnsPolymorphicOnZeroNodeGen.create(new ReturnsFirstArgumentNode())));
+            runtime.createDirectCallNode(callTarget);
+            final DirectCallNode directCallNode = runtime.createDirectCallNode(callTarget);
+            directCallNode.call(new Object[]{1});
+            directCallNode.call(new Object[]{0});
+            Assert.assertTrue("Target does not need split after the node went polymorphic", getNeedsSplit(callTarget));
+            directCallNode.call(new Object[]{0});
+            Assert.assertFalse("Target split although the split node limit is exceeded", directCallNode.isCallTargetCloned());
+            Assert.assertEquals(1, failures.size());
+            Assert.assertTrue(failures.get(0).toString(), failures.get(0).toString().startsWith("Not enough budget."));
+        } finally {
+            runtime.removeListener(failureListener);
+        }
+    }
+
+    @Test
+    public void testDeferredSplit() throws NoSuchFieldException, IllegalAccessException {
+        setupContext("engine.Compilation", "false",
+                        "engine.SplittingGrowthLimit", "2.0",
+                        "engine.SplittingMaxNumberOfSplitNodes", "1000",
+                        "engine.TraceSplitting", "true");
+        List<CharSequence> failures = new ArrayList<>();
+        GraalTruffleRuntimeListener failureListener = new GraalTruffleRuntimeListener() {
+            @Override
+            public void onCompilationSplitFailed(OptimizedDirectCallNode callNode, CharSequence reason) {
+                failures.add(reason);
+            }
+        };
+        runtime.addListener(failureListener);
+        try {
+            OptimizedCallTarget callTarget = (OptimizedCallTarget) runtime.createCallTarget(
+                            new SplittingTestRootNode(NodeSplittingStrategyTestFactory.TurnsPolymorphicOnZeroNodeGen.create(new ReturnsFirstArgumentNode())));
+            // use most of the budget so that the rest is reserved for hot call sites
+            Object engineData = reflectivelyGetField(callTarget, "engine");
+            reflectivelySetField(engineData, "splitLimit", 1000);
+            reflectivelySetField(engineData, "splitCount", 900);
+            runtime.createDirectCallNode(callTarget);
+            final DirectCallNode directCallNode = runtime.createDirectCallNode(callTarget);
+            directCallNode.call(new Object[]{1});
+            directCallNode.call(new Object[]{0});
+            Assert.assertTrue("Target does not need split after the node went polymorphic", getNeedsSplit(callTarget));
+            directCallNode.call(new Object[]{0});
+            Assert.assertFalse("Target split before the call site was called often enough", directCallNode.isCallTargetCloned());
+            for (int i = 0; i < 1000 && !directCallNode.isCallTargetCloned(); i++) {
+                directCallNode.call(new Object[]{0});
+            }
+            Assert.assertTrue("Deferred split was never decided again", directCallNode.isCallTargetCloned());
+            Assert.assertTrue(failures.toString(), failures.isEmpty());
+        } finally {
+            runtime.removeListener(failureListener);
+        }
+    }
 }
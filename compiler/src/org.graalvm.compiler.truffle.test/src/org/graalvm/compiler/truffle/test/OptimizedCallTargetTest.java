@@ -544,4 +544,35 @@ public class OptimizedCallTargetTest extends TestWithSynchronousCompiling {
         ct.call(IntStream.range(0, 20).mapToObj(String::valueOf).toArray());
         assertCompiled(ct);
     }
+
+    @Test
+    public void testRecompilationBackoff() {
+        setupContext("engine.MultiTier", Boolean.FALSE.toString(), "engine.BackgroundCompilation", Boolean.FALSE.toString(),
+                        "engine.MinInvokeThreshold", "10", "engine.SingleTierCompilationThreshold", "10",
+                        "engine.RecompilationBackoffThreshold", "2");
+        OptimizedCallTarget target = (OptimizedCallTarget) runtime.createCallTarget(new RootTestNode(new FrameDescriptor(), "backoff", new ConstantTestNode(42)));
+        for (int i = 0; i <= 10; i++) {
+            assertNotCompiled(target);
+            target.call();
+        }
+        assertCompiled(target);
+        assertEquals(0, target.getRecompilationCount());
+
+        for (int i = 1; i <= 2; i++) {
+            target.invalidate("test");
+            target.compile(true);
+            assertCompiled(target);
+            assertEquals(i, target.getRecompilationCount());
+        }
+
+        // the call target reached its threshold long ago, but now has to wait for 10 more calls
+        target.invalidate("test");
+        for (int i = 0; i < 10; i++) {
+            target.call();
+            assertNotCompiled(target);
+        }
+        target.call();
+        assertCompiled(target);
+        assertEquals(3, target.getRecompilationCount());
+    }
 }
@@ -24,12 +24,17 @@
  */
 package micro.benchmarks;
 
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.Vector;
+
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 
 /**
- * Benchmarks cost of non-contended synchronization.
+ * Benchmarks cost of non-contended synchronization, including the synchronized legacy collections
+ * of the JDK. Also meant to be run as a native image, where uncontended monitors are thin locks.
  */
 public class SimpleSyncBenchmark extends BenchmarkBase {
 
@@ -59,6 +64,9 @@ public class SimpleSyncBenchmark extends BenchmarkBase {
     public static class ThreadState {
         Person person = new Person(22);
         int newAge = 45;
+        StringBuffer buffer = new StringBuffer();
+        Vector<Integer> vector = new Vector<>(Collections.nCopies(16, 42));
+        Hashtable<Integer, Integer> hashtable = new Hashtable<>(Collections.singletonMap(7, 42));
     }
 
     @Benchmark
@@ -80,4 +88,30 @@ public class SimpleSyncBenchmark extends BenchmarkBase {
         person.setAge(oldAge + 1);
         return oldAge;
     }
+
+    @Benchmark
+    public int stringBufferAppend(ThreadState state) {
+        StringBuffer buffer = state.buffer;
+        buffer.setLength(0);
+        buffer.append(state.newAge);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public int vectorGet(ThreadState state) {
+        return state.vector.get(state.newAge & 15);
+    }
+
+    @Benchmark
+    public Integer hashtableGet(ThreadState state) {
+        return state.hashtable.get(7);
+    }
+
+    @Benchmark
+    public int nestedSync(ThreadState state) {
+        Person person = state.person;
+        synchronized (person) {
+            return person.getAge();
+        }
+    }
 }
@@ -22,6 +22,8 @@
  */
 package com.oracle.truffle.espresso.ffi;
 
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.ReadOnlyBufferException;
@@ -181,6 +183,39 @@ public final class TruffleByteBuffer implements TruffleObject {
         }
     }
 
+    @ExportMessage
+    void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length, @Shared("error") @Cached BranchProfile error) throws InvalidBufferOffsetException {
+        if (byteOffset < 0 || length < 0 || byteOffset > getBufferSize() - length) {
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        try {
+            readBytes(this.byteBuffer, (int) byteOffset, destination, destinationOffset, length);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            // The range exceeds the limit of the buffer.
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+    }
+
+    @ExportMessage
+    void writeBuffer(long byteOffset, byte[] source, int sourceOffset, int length, @Shared("error") @Cached BranchProfile error) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (byteOffset < 0 || length < 0 || byteOffset > getBufferSize() - length) {
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        try {
+            writeBytes(this.byteBuffer, (int) byteOffset, source, sourceOffset, length);
+        } catch (IllegalArgumentException | BufferOverflowException e) {
+            // The range exceeds the limit of the buffer.
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        } catch (ReadOnlyBufferException e) {
+            error.enter();
+            throw UnsupportedMessageException.create();
+        }
+    }
+
     @ExportMessage
     short readBufferShort(ByteOrder order, long byteOffset, @Shared("error") @Cached BranchProfile error) throws InvalidBufferOffsetException {
         try {
@@ -311,6 +346,14 @@ public final class TruffleByteBuffer implements TruffleObject {
         return byteBuffer.get(index);
     }
 
+    @TruffleBoundary
+    private static void readBytes(ByteBuffer byteBuffer, int index, byte[] destination, int destinationOffset, int length) {
+        // The duplicate keeps the position of the shared buffer untouched.
+        ByteBuffer duplicate = byteBuffer.duplicate();
+        ((java.nio.Buffer) duplicate).position(index);
+        duplicate.get(destination, destinationOffset, length);
+    }
+
     @TruffleBoundary(allowInlining = true)
     private static short readShort(ByteBuffer byteBuffer, ByteOrder order, int index) {
         return byteBuffer.order(order).asShortBuffer().get(index);
@@ -341,6 +384,13 @@ public final class TruffleByteBuffer implements TruffleObject {
         byteBuffer.put(index, value);
     }
 
+    @TruffleBoundary
+    private static void writeBytes(ByteBuffer byteBuffer, int index, byte[] source, int sourceOffset, int length) {
+        ByteBuffer duplicate = byteBuffer.duplicate();
+        ((java.nio.Buffer) duplicate).position(index);
+        duplicate.put(source, sourceOffset, length);
+    }
+
     @TruffleBoundary(allowInlining = true)
     private static void writeShort(ByteBuffer byteBuffer, ByteOrder order, int index, short value) {
         byteBuffer.order(order).asShortBuffer().put(index, value);
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.graalvm.nativeimage;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+import org.graalvm.nativeimage.Isolates.CreateIsolateParameters;
+import org.graalvm.nativeimage.Isolates.IsolateException;
+import org.graalvm.word.WordFactory;
+
+/**
+ * A pool of isolates that are created ahead of time, so that short-lived tasks which each run in a
+ * fresh isolate (for example, one isolate per request for sandboxing) do not have to wait for the
+ * creation of an isolate.
+ * <p>
+ * An isolate is never handed out twice: when a task is done, its isolate is {@link #release
+ * released} and is torn down and replaced by a new isolate on a background thread of the pool. No
+ * state can therefore leak from one task to the next, and neither the creation nor the tear-down of
+ * an isolate is on the critical path of a task. All isolates share the read-only parts of the image
+ * heap with each other where the platform supports it, so idle isolates in the pool mostly use
+ * memory for their writable image heap pages and their thread.
+ * <p>
+ * Failures of the background thread to create or tear down an isolate are reported to the
+ * {@linkplain Thread#getUncaughtExceptionHandler() uncaught exception handler} of that thread, and
+ * the pool keeps working. After a failed creation, the pool creates new isolates only once an
+ * isolate is acquired again, and threads acquiring an isolate from an empty pool create it
+ * themselves and observe any error directly.
+ * <p>
+ * Example usage:
+ *
+ * <pre>
+ * try (IsolatePool pool = IsolatePool.create(4, CreateIsolateParameters.getDefault())) {
+ *     IsolateThread thread = pool.acquire();
+ *     try {
+ *         handleRequest(thread, request);
+ *     } finally {
+ *         pool.release(thread);
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 21.2
+ */
+public final class IsolatePool implements AutoCloseable {
+
+    private final int size;
+    private final CreateIsolateParameters parameters;
+    /** Isolates that are ready to be acquired, without any attached thread. */
+    private final ArrayDeque<Long> available = new ArrayDeque<>();
+    /** Released isolates that still need to be torn down, without any attached thread. */
+    private final ArrayDeque<Long> released = new ArrayDeque<>();
+    private final Thread worker;
+    private boolean closed;
+    private boolean workerExited;
+    /** Set when the creation of an isolate failed, until the next {@link #acquire}. */
+    private boolean creationFailed;
+
+    private IsolatePool(int size, CreateIsolateParameters parameters) {
+        this.size = size;
+        this.parameters = parameters;
+        this.worker = new Thread(this::run, "Isolate Pool");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Creates a new pool that keeps the given number of isolates ready. The isolates are created
+     * asynchronously on a background thread.
+     *
+     * @param size the number of isolates to keep ready, must not be negative.
+     * @param parameters the parameters for the creation of all isolates of the pool.
+     *
+     * @since 21.2
+     */
+    public static IsolatePool create(int size, CreateIsolateParameters parameters) {
+        Objects.requireNonNull(parameters);
+        if (size < 0) {
+            throw new IllegalArgumentException("Pool size must not be negative: " + size);
+        }
+        IsolatePool pool = new IsolatePool(size, parameters);
+        pool.worker.start();
+        return pool;
+    }
+
+    /**
+     * Returns the number of isolates that the pool keeps ready.
+     *
+     * @since 21.2
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Attaches the current thread to an isolate of the pool and returns the corresponding isolate
+     * thread. If no isolate is ready, a new isolate is created on the current thread. The isolate
+     * must be returned to the pool with {@link #release} when it is no longer needed.
+     *
+     * @throws IsolateException if an isolate cannot be created or attached to.
+     * @throws IllegalStateException if the pool is closed.
+     *
+     * @since 21.2
+     */
+    public IsolateThread acquire() throws IsolateException {
+        Long isolate;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Isolate pool is closed");
+            }
+            isolate = available.poll();
+            creationFailed = false;
+            notifyAll();
+        }
+        if (isolate == null) {
+            return Isolates.createIsolate(parameters);
+        }
+        return Isolates.attachCurrentThread(WordFactory.pointer(isolate));
+    }
+
+    /**
+     * Detaches the current thread from an isolate that was {@linkplain #acquire() acquired} from
+     * this pool. The isolate is then torn down asynchronously. At the time of the call, no other
+     * thread may be attached to the isolate and no code may still be executing in it.
+     *
+     * @param thread the isolate thread of the current thread that was returned by {@link #acquire}.
+     * @throws IsolateException if the thread cannot be detached.
+     *
+     * @since 21.2
+     */
+    public void release(IsolateThread thread) throws IsolateException {
+        Isolate isolate = Isolates.getIsolate(thread);
+        Isolates.detachThread(thread);
+        boolean tearDownNow;
+        synchronized (this) {
+            tearDownNow = workerExited;
+            if (!tearDownNow) {
+                released.add(isolate.rawValue());
+                notifyAll();
+            }
+        }
+        if (tearDownNow) {
+            Isolates.tearDownIsolate(Isolates.attachCurrentThread(isolate));
+        }
+    }
+
+    /**
+     * Stops creating new isolates and tears down all isolates that are not in use. Isolates that
+     * are still in use can be released afterwards and are torn down then. Failures to tear down an
+     * isolate are reported to the uncaught exception handler of the current thread.
+     *
+     * @since 21.2
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        boolean interrupted = false;
+        while (worker.isAlive()) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        /* Normally empty, unless the background thread was interrupted. */
+        while (true) {
+            Long isolate;
+            synchronized (this) {
+                isolate = released.poll();
+                if (isolate == null) {
+                    isolate = available.poll();
+                }
+            }
+            if (isolate == null) {
+                break;
+            }
+            tearDown(isolate);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Long toTearDown;
+                boolean refill;
+                synchronized (this) {
+                    while (released.isEmpty() && (closed ? available.isEmpty() : (available.size() >= size || creationFailed))) {
+                        if (closed) {
+                            return;
+                        }
+                        wait();
+                    }
+                    toTearDown = released.poll();
+                    if (toTearDown == null && closed) {
+                        toTearDown = available.poll();
+                    }
+                    refill = toTearDown == null;
+                }
+                if (refill) {
+                    refill();
+                } else {
+                    tearDown(toTearDown);
+                }
+            }
+        } catch (InterruptedException e) {
+            /*
+             * Stop refilling the pool. Threads acquiring an isolate then create it themselves, and
+             * released isolates are torn down by the releasing thread or by close().
+             */
+        } finally {
+            synchronized (this) {
+                workerExited = true;
+            }
+        }
+    }
+
+    private void refill() {
+        Long isolate = null;
+        try {
+            IsolateThread thread = Isolates.createIsolate(parameters);
+            isolate = Isolates.getIsolate(thread).rawValue();
+            Isolates.detachThread(thread);
+        } catch (IsolateException e) {
+            if (isolate != null) {
+                /* Detaching failed, so the isolate must not be handed out. */
+                tearDown(isolate);
+            }
+            synchronized (this) {
+                creationFailed = true;
+            }
+            reportFailure(e);
+            return;
+        }
+        synchronized (this) {
+            available.add(isolate);
+        }
+    }
+
+    private static void tearDown(long isolate) {
+        try {
+            Isolates.tearDownIsolate(Isolates.attachCurrentThread(WordFactory.pointer(isolate)));
+        } catch (IsolateException e) {
+            reportFailure(e);
+        }
+    }
+
+    private static void reportFailure(IsolateException e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+}
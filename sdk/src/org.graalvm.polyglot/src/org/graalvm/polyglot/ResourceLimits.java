@@ -138,6 +138,11 @@ public final class ResourceLimits {
          * The statement limit is applied to the context and all inner contexts it spawns.
          * Therefore, new inner contexts cannot be used to exceed the statement limit.
          * <p>
+         * The limit is exact also if multiple threads execute in the context at the same time: no
+         * thread executes a statement after the limit was exceeded. Threads that are in the
+         * middle of executing a statement when the limit is exceeded by another thread are
+         * cancelled, so fewer statements than the limit may complete.
+         * <p>
          * Note that attaching a statement limit to a context reduces the throughput of all guest
          * applications with the same engine. The statement counter needs to be updated with every
          * statement that is executed. It is recommended to benchmark the use of the statement limit
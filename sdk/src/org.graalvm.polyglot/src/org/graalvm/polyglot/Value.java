@@ -46,7 +46,10 @@ import org.graalvm.polyglot.proxy.Proxy;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -153,6 +156,9 @@ import java.util.function.Function;
  */
 public final class Value {
 
+    /** Size of the chunks in which byte buffers without an accessible array are copied. */
+    private static final int BUFFER_COPY_CHUNK_SIZE = 8192;
+
     final Object receiver;
     final AbstractValueImpl impl;
 
@@ -335,6 +341,65 @@ public final class Value {
         return impl.getArraySize(receiver);
     }
 
+    /**
+     * Reads {@code length} array elements starting at the given index into the destination array
+     * starting at {@code destinationOffset}. The destination must be an array of {@code boolean},
+     * {@code byte}, {@code short}, {@code int}, {@code long}, {@code float} or {@code double}. Each
+     * element is converted like with {@link #asBoolean()}, {@link #asByte()}, {@link #asShort()},
+     * {@link #asInt()}, {@link #asLong()}, {@link #asFloat()} or {@link #asDouble()}. This is
+     * equivalent to, but usually considerably faster than, calling {@link #getArrayElement(long)}
+     * and converting each element.
+     * <p>
+     * If an exception is thrown then the destination array may have been partially modified.
+     *
+     * @param index the index of the first array element to read.
+     * @param destination the primitive array into which the elements are copied.
+     * @param destinationOffset the index of the first element written to the destination array.
+     * @param length the number of elements to read.
+     * @throws ArrayIndexOutOfBoundsException if an array index of the range does not exist or if
+     *             the range is out of bounds of the destination array.
+     * @throws ClassCastException if an element does not fit into the component type of the
+     *             destination array.
+     * @throws IllegalArgumentException if the destination is not an array of one of the supported
+     *             primitive types.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 21.2
+     */
+    public void readArrayElements(long index, Object destination, int destinationOffset, int length) {
+        impl.readArrayElements(receiver, index, destination, destinationOffset, length);
+    }
+
+    /**
+     * Writes {@code length} elements of the source array starting at {@code sourceOffset} into
+     * the array elements starting at the given index. The source must be an array of
+     * {@code boolean}, {@code byte}, {@code short}, {@code int}, {@code long}, {@code float} or
+     * {@code double}. This is equivalent to, but usually considerably faster than, calling
+     * {@link #setArrayElement(long, Object)} for each element.
+     * <p>
+     * If an exception is thrown then the array elements may have been partially modified.
+     *
+     * @param index the index of the first array element to write.
+     * @param source the primitive array from which the elements are copied.
+     * @param sourceOffset the index of the first element read from the source array.
+     * @param length the number of elements to write.
+     * @throws ArrayIndexOutOfBoundsException if an array index of the range does not exist or if
+     *             the range is out of bounds of the source array.
+     * @throws ClassCastException if an element is not allowed to be written.
+     * @throws IllegalArgumentException if the source is not an array of one of the supported
+     *             primitive types.
+     * @throws UnsupportedOperationException if the value does not have any
+     *             {@link #hasArrayElements() array elements} or is not modifiable.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 21.2
+     */
+    public void writeArrayElements(long index, Object source, int sourceOffset, int length) {
+        impl.writeArrayElements(receiver, index, source, sourceOffset, length);
+    }
+
     // region Buffer Methods
 
     /**
@@ -438,6 +503,152 @@ public final class Value {
         impl.writeBufferByte(receiver, byteOffset, value);
     }
 
+    /**
+     * Reads {@code length} bytes starting at the given byte offset from the start of the buffer
+     * into the destination array starting at {@code destinationOffset}. This is equivalent to, but
+     * usually considerably faster than, calling {@link #readBufferByte(long)} for each byte.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this method is <em>not</em>
+     * thread-safe.
+     * <p>
+     * Invoking this method does not cause any observable side-effects.
+     *
+     * @param byteOffset the offset, in bytes, from the start of the buffer from which the bytes
+     *            will be read.
+     * @param destination the array into which the bytes are copied.
+     * @param destinationOffset the index of the first byte written to the destination array.
+     * @param length the number of bytes to read.
+     * @throws IndexOutOfBoundsException if
+     *             <code>byteOffset < 0 || length < 0 || byteOffset + length > </code>
+     *             {@link #getBufferSize()} or if the range is out of bounds of the destination
+     *             array.
+     * @throws UnsupportedOperationException if the value does not have {@link #hasBufferElements
+     *             buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 21.2
+     */
+    public void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedOperationException, IndexOutOfBoundsException {
+        impl.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
+    }
+
+    /**
+     * Writes {@code length} bytes of the source array starting at {@code sourceOffset} into the
+     * buffer at the given byte offset from the start of the buffer. This is equivalent to, but
+     * usually considerably faster than, calling {@link #writeBufferByte(long, byte)} for each byte.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this method is <em>not</em>
+     * thread-safe.
+     *
+     * @param byteOffset the offset, in bytes, from the start of the buffer at which the bytes will
+     *            be written.
+     * @param source the array from which the bytes are copied.
+     * @param sourceOffset the index of the first byte read from the source array.
+     * @param length the number of bytes to write.
+     * @throws IndexOutOfBoundsException if
+     *             <code>byteOffset < 0 || length < 0 || byteOffset + length > </code>
+     *             {@link #getBufferSize()} or if the range is out of bounds of the source array.
+     * @throws UnsupportedOperationException if the value does not have {@link #hasBufferElements
+     *             buffer elements} or is not {@link #isBufferWritable() modifiable}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 21.2
+     */
+    public void writeBuffer(long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedOperationException, IndexOutOfBoundsException {
+        impl.writeBuffer(receiver, byteOffset, source, sourceOffset, length);
+    }
+
+    /**
+     * Reads {@link ByteBuffer#remaining()} bytes starting at the given byte offset from the start
+     * of the buffer into the destination byte buffer at its current position. The position of the
+     * destination is advanced by the number of bytes read. This is equivalent to
+     * {@link #readBuffer(long, byte[], int, int)}; direct byte buffers are filled in chunks.
+     * <p>
+     * If an exception is thrown then the content of the destination may have been partially
+     * modified and its position is left unchanged.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this method is <em>not</em>
+     * thread-safe.
+     * <p>
+     * Invoking this method does not cause any observable side-effects.
+     *
+     * @param byteOffset the offset, in bytes, from the start of the buffer from which the bytes
+     *            will be read.
+     * @param destination the byte buffer into which the bytes are copied.
+     * @throws IndexOutOfBoundsException if
+     *             <code>byteOffset < 0 || byteOffset + destination.remaining() > </code>
+     *             {@link #getBufferSize()}.
+     * @throws ReadOnlyBufferException if the destination is read-only.
+     * @throws UnsupportedOperationException if the value does not have {@link #hasBufferElements
+     *             buffer elements}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 21.2
+     */
+    public void readBuffer(long byteOffset, ByteBuffer destination) throws UnsupportedOperationException, IndexOutOfBoundsException {
+        Objects.requireNonNull(destination);
+        if (destination.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        int position = destination.position();
+        int length = destination.remaining();
+        if (destination.hasArray()) {
+            readBuffer(byteOffset, destination.array(), destination.arrayOffset() + position, length);
+        } else {
+            byte[] chunk = new byte[Math.min(length, BUFFER_COPY_CHUNK_SIZE)];
+            ByteBuffer target = destination.duplicate();
+            for (int done = 0; done < length; done += chunk.length) {
+                int chunkLength = Math.min(length - done, chunk.length);
+                readBuffer(byteOffset + done, chunk, 0, chunkLength);
+                target.put(chunk, 0, chunkLength);
+            }
+        }
+        ((Buffer) destination).position(position + length);
+    }
+
+    /**
+     * Writes the {@link ByteBuffer#remaining()} bytes of the source byte buffer, starting at its
+     * current position, into the buffer at the given byte offset from the start of the buffer.
+     * The position of the source is advanced by the number of bytes written. This is equivalent to
+     * {@link #writeBuffer(long, byte[], int, int)}; direct and read-only byte buffers are copied in
+     * chunks.
+     * <p>
+     * If an exception is thrown then the buffer may have been partially modified and the position
+     * of the source is left unchanged.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this method is <em>not</em>
+     * thread-safe.
+     *
+     * @param byteOffset the offset, in bytes, from the start of the buffer at which the bytes will
+     *            be written.
+     * @param source the byte buffer from which the bytes are copied.
+     * @throws IndexOutOfBoundsException if
+     *             <code>byteOffset < 0 || byteOffset + source.remaining() > </code>
+     *             {@link #getBufferSize()}.
+     * @throws UnsupportedOperationException if the value does not have {@link #hasBufferElements
+     *             buffer elements} or is not {@link #isBufferWritable() modifiable}.
+     * @throws IllegalStateException if the context is already closed.
+     * @throws PolyglotException if a guest language error occurred during execution.
+     * @since 21.2
+     */
+    public void writeBuffer(long byteOffset, ByteBuffer source) throws UnsupportedOperationException, IndexOutOfBoundsException {
+        Objects.requireNonNull(source);
+        int position = source.position();
+        int length = source.remaining();
+        if (source.hasArray()) {
+            writeBuffer(byteOffset, source.array(), source.arrayOffset() + position, length);
+        } else {
+            byte[] chunk = new byte[Math.min(length, BUFFER_COPY_CHUNK_SIZE)];
+            ByteBuffer from = source.duplicate();
+            for (int done = 0; done < length; done += chunk.length) {
+                int chunkLength = Math.min(length - done, chunk.length);
+                from.get(chunk, 0, chunkLength);
+                writeBuffer(byteOffset + done, chunk, 0, chunkLength);
+            }
+        }
+        ((Buffer) source).position(position + length);
+    }
+
     /**
      * Reads the short at the given byte offset from the start of the buffer in the given byte
      * order.
@@ -594,6 +594,10 @@ public abstract class AbstractPolyglotImpl {
 
         public abstract long getArraySize(Object receiver);
 
+        public abstract void readArrayElements(Object receiver, long index, Object destination, int destinationOffset, int length);
+
+        public abstract void writeArrayElements(Object receiver, long index, Object source, int sourceOffset, int length);
+
         // region Buffer Methods
 
         public boolean hasBufferElements(Object receiver) {
@@ -608,6 +612,10 @@ public abstract class AbstractPolyglotImpl {
 
         public abstract void writeBufferByte(Object receiver, long byteOffset, byte value);
 
+        public abstract void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length);
+
+        public abstract void writeBuffer(Object receiver, long byteOffset, byte[] source, int sourceOffset, int length);
+
         public abstract short readBufferShort(Object receiver, ByteOrder order, long byteOffset);
 
         public abstract void writeBufferShort(Object receiver, ByteOrder order, long byteOffset, short value);
@@ -76,6 +76,15 @@ def svm_java_compliance():
 def svm_java8():
     return svm_java_compliance() <= mx.JavaCompliance('1.8')
 
+def svm_jdk_has_loom():
+    """Returns whether the JDK provides the continuations that -H:+UseLoom requires."""
+    if svm_java8():
+        return False
+    jdk = mx.get_jdk(tag='default')
+    out = mx.OutputCapture()
+    mx.run([jdk.exe_path('jimage'), 'list', '--include', 'regex:.*/java/lang/Continuation\\.class', join(jdk.home, 'lib', 'modules')], out=out)
+    return 'Continuation.class' in out.data
+
 def graal_compiler_flags(version_tag=None):
     version_tag = version_tag or svm_java_compliance().value
     config_path = mx.dependency('substratevm:svm-compiler-flags-builder').result_file_path(version_tag)
@@ -375,7 +384,7 @@ def native_image_context(common_args=None, hosted_assertions=True, native_image_
             mx.log(timestr() + 'Shutting down completed')
 
 native_image_context.hosted_assertions = ['-J-ea', '-J-esa']
-_native_unittest_features = '--features=com.oracle.svm.test.ImageInfoTest$TestFeature,com.oracle.svm.test.ServiceLoaderTest$TestFeature,com.oracle.svm.test.SecurityServiceTest$TestFeature'
+_native_unittest_features = '--features=com.oracle.svm.test.ImageInfoTest$TestFeature,com.oracle.svm.test.ServiceLoaderTest$TestFeature,com.oracle.svm.test.SecurityServiceTest$TestFeature,com.oracle.svm.test.MappedResourcesTest$TestFeature,com.oracle.svm.test.ImageHeapStringDeduplicationTest$TestFeature'
 
 IMAGE_ASSERTION_FLAGS = ['-H:+VerifyGraalGraphs', '-H:+VerifyPhases']
 
@@ -402,6 +411,9 @@ def svm_gate_body(args, tasks):
                 helloworld(['--output-path', svmbuild_dir(), '--shared'])  # Build and run helloworld as shared library
                 cinterfacetutorial([])
                 clinittest([])
+                pgotest([])
+                if not svm_java8():
+                    jfrtest([])
 
     with Task('image demos debuginfo', tasks, tags=[GraalTags.helloworld_debug]) as t:
         if t:
@@ -504,6 +516,15 @@ def native_unittests_task():
         mx_unittest.add_global_ignore_glob('com.oracle.svm.test.ProcessPropertiesTest')
 
     native_unittest(['--build-args', _native_unittest_features])
+    # Checks that the backing arrays of strings are not shared when the deduplication is disabled.
+    native_unittest(['com.oracle.svm.test.ImageHeapStringDeduplicationTest', '--build-args', '--features=com.oracle.svm.test.ImageHeapStringDeduplicationTest$TestFeature',
+                     '-H:-DeduplicateImageHeapStringValues', '-Dcom.oracle.svm.test.ImageHeapStringDeduplicationTest.disabled=true'])
+    # Checks the stack traces decoded from shared frame info encodings when the frame info cache keeps evicting entries.
+    native_unittest(['com.oracle.svm.test.FrameInfoCacheTest', '--build-args', '-H:FrameInfoCacheSize=2'])
+    if svm_jdk_has_loom():
+        # Virtual threads need an image built with -H:+UseLoom.
+        native_unittest(['com.oracle.svm.test.jdk11.VirtualThreadsTest', '--build-args', '--features=com.oracle.svm.test.jdk11.VirtualThreadsTest$TestFeature',
+                         '-H:+UseLoom', '-Dcom.oracle.svm.test.jdk11.VirtualThreadsTest.enabled=true'])
 
 
 def javac_image_command(javac_path):
@@ -1231,6 +1252,48 @@ def clinittest(args):
     native_image_context_run(build_and_test_clinittest_image, args, build_if_missing=True)
 
 
+@mx.command(suite.name, 'pgotest', 'Dumps the profiles of an instrumented image and checks the invocation counts')
+def pgotest(args):
+    def build_and_test_pgotest_image(native_image, args=None):
+        args = [] if args is None else args
+        test_cp = classpath('com.oracle.svm.test')
+        build_dir = join(svmbuild_dir(), 'pgotest')
+
+        # clean / create output directory
+        if exists(build_dir):
+            remove_tree(build_dir)
+        mkpath(build_dir)
+
+        native_image(['-H:Path=' + build_dir, '-cp', test_cp, '-H:Class=com.oracle.svm.test.pgo.InstrumentedProfilesWorkload',
+                      '-H:+PGOInstrument', '-H:Name=pgotest', '-H:+ReportExceptionStackTraces'] + args)
+        profiles = join(build_dir, 'pgotest.iprof')
+        mx.run([join(build_dir, 'pgotest'), '-XX:PGODumpFile=' + profiles])
+        mx.run_java(['-cp', test_cp, 'com.oracle.svm.test.pgo.InstrumentedProfilesChecker', profiles])
+
+    native_image_context_run(build_and_test_pgotest_image, args, build_if_missing=True)
+
+
+@mx.command(suite.name, 'jfrtest', 'Records a flight recording in an image and checks it with the JFR parser of the JDK')
+def jfrtest(args):
+    def build_and_test_jfrtest_image(native_image, args=None):
+        args = [] if args is None else args
+        test_cp = classpath('com.oracle.svm.test.jdk11')
+        build_dir = join(svmbuild_dir(), 'jfrtest')
+
+        # clean / create output directory
+        if exists(build_dir):
+            remove_tree(build_dir)
+        mkpath(build_dir)
+
+        native_image(['-H:Path=' + build_dir, '-cp', test_cp, '-H:Class=com.oracle.svm.test.jdk11.jfr.JfrRecordingWorkload',
+                      '-H:+FlightRecorder', '-H:Name=jfrtest', '-H:+ReportExceptionStackTraces'] + args)
+        recording = join(build_dir, 'recording.jfr')
+        mx.run([join(build_dir, 'jfrtest'), '-XX:FlightRecording=' + recording])
+        mx.run_java(['-cp', test_cp, 'com.oracle.svm.test.jdk11.jfr.JfrRecordingChecker', recording])
+
+    native_image_context_run(build_and_test_jfrtest_image, args, build_if_missing=True)
+
+
 class SubstrateJvmFuncsFallbacksBuilder(mx.Project):
     def __init__(self, suite, name, deps, workingSets, theLicense, **kwArgs):
         mx.Project.__init__(self, suite, name, "", [], deps, workingSets, suite.dir, theLicense, **kwArgs)
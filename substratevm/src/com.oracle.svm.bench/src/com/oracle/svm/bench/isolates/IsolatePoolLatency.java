@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.bench.isolates;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.graalvm.nativeimage.IsolatePool;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.Isolates;
+import org.graalvm.nativeimage.Isolates.CreateIsolateParameters;
+
+/**
+ * Compares the latency of creating an isolate for every request with acquiring it from an
+ * {@link IsolatePool}, and the resident set size that every isolate and an idle pool add. The
+ * requests arrive with a pause in between, which gives the pool the time to replace the isolates
+ * that were released.
+ * <p>
+ * Usage: {@code IsolatePoolLatency [requests [poolSize [pauseMillis [isolates]]]]}, where
+ * {@code isolates} is the number of isolates that are kept alive at the same time to measure the
+ * resident set size. Building the image with {@code -H:+RequireSharedImageHeap} makes sure that the
+ * isolates share the read-only part of the image heap. The resident set size is only reported on
+ * Linux.
+ */
+public class IsolatePoolLatency {
+
+    private static final long RSS_SETTLE_MILLIS = 100;
+    private static final long RSS_SETTLE_TIMEOUT_MILLIS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int poolSize = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long pauseMillis = args.length > 2 ? Long.parseLong(args[2]) : 5;
+        int isolates = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+
+        CreateIsolateParameters parameters = CreateIsolateParameters.getDefault();
+        runPlain(parameters, requests, pauseMillis);
+        runPooled(parameters, requests, poolSize, pauseMillis);
+        measurePlainRss(parameters, isolates);
+        measurePooledRss(parameters, isolates);
+    }
+
+    private static void runPlain(CreateIsolateParameters parameters, int requests, long pauseMillis) throws InterruptedException {
+        long[] create = new long[requests];
+        long[] tearDown = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            IsolateThread thread = Isolates.createIsolate(parameters);
+            long created = System.nanoTime();
+            Isolates.tearDownIsolate(thread);
+            create[i] = created - start;
+            tearDown[i] = System.nanoTime() - created;
+            Thread.sleep(pauseMillis);
+        }
+        report("createIsolate", create);
+        report("tearDownIsolate", tearDown);
+    }
+
+    private static void runPooled(CreateIsolateParameters parameters, int requests, int poolSize, long pauseMillis) throws InterruptedException {
+        long[] acquire = new long[requests];
+        long[] release = new long[requests];
+        try (IsolatePool pool = IsolatePool.create(poolSize, parameters)) {
+            /* Let the pool create its isolates before the first measured request. */
+            for (int i = 0; i < poolSize; i++) {
+                pool.release(pool.acquire());
+                Thread.sleep(pauseMillis);
+            }
+            for (int i = 0; i < requests; i++) {
+                long start = System.nanoTime();
+                IsolateThread thread = pool.acquire();
+                long acquired = System.nanoTime();
+                pool.release(thread);
+                acquire[i] = acquired - start;
+                release[i] = System.nanoTime() - acquired;
+                Thread.sleep(pauseMillis);
+            }
+        }
+        report("pool acquire", acquire);
+        report("pool release", release);
+    }
+
+    private static void measurePlainRss(CreateIsolateParameters parameters, int isolates) throws InterruptedException {
+        long before = settledRss();
+        if (before < 0) {
+            System.out.println("The resident set size is not available");
+            return;
+        }
+        List<IsolateThread> threads = new ArrayList<>();
+        for (int i = 0; i < isolates; i++) {
+            threads.add(Isolates.createIsolate(parameters));
+        }
+        long after = settledRss();
+        for (IsolateThread thread : threads) {
+            Isolates.tearDownIsolate(thread);
+        }
+        reportRss(isolates + " live isolates", after - before, isolates);
+    }
+
+    private static void measurePooledRss(CreateIsolateParameters parameters, int isolates) throws InterruptedException {
+        long before = settledRss();
+        if (before < 0) {
+            return;
+        }
+        try (IsolatePool pool = IsolatePool.create(isolates, parameters)) {
+            long after = settledRss();
+            reportRss("idle pool of " + isolates, after - before, isolates);
+        }
+    }
+
+    /**
+     * Returns the resident set size in bytes once it did not change for {@link #RSS_SETTLE_MILLIS},
+     * such that isolates that are created in the background are accounted for, or -1 if it is not
+     * available.
+     */
+    private static long settledRss() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + RSS_SETTLE_TIMEOUT_MILLIS;
+        long rss = readRss();
+        while (rss >= 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(RSS_SETTLE_MILLIS);
+            long next = readRss();
+            if (next == rss) {
+                break;
+            }
+            rss = next;
+        }
+        return rss;
+    }
+
+    private static long readRss() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"), StandardCharsets.US_ASCII)) {
+                if (line.startsWith("VmRSS:")) {
+                    String kiloBytes = line.substring("VmRSS:".length()).trim();
+                    return Long.parseLong(kiloBytes.substring(0, kiloBytes.indexOf(' '))) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            /* Not on Linux. */
+        }
+        return -1;
+    }
+
+    private static void report(String kind, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1e3;
+        System.out.printf("%-16s mean %9.1f us  p50 %9.1f us  p99 %9.1f us%n", kind, mean, percentile(sorted, 50) / 1e3, percentile(sorted, 99) / 1e3);
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+    }
+
+    private static void reportRss(String kind, long bytes, int isolates) {
+        System.out.printf("%-24s RSS %8.1f MB, %7.1f MB per isolate%n", kind, bytes / 1e6, bytes / 1e6 / isolates);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.bench.virtualthreads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of thread-per-request style tasks that mostly block, on a pool of
+ * platform threads and with one virtual thread per task. Each task takes a monitor, sleeps to
+ * simulate a blocking call, and does a little computation.
+ * <p>
+ * Usage: {@code VirtualThreadThroughput [tasks [sleepMillis [platformThreads [iterations]]]]}. The
+ * virtual thread run requires a JDK with virtual threads, and an image built with
+ * {@code -H:+UseLoom}.
+ */
+public class VirtualThreadThroughput {
+
+    private static final Object[] LOCKS = new Object[64];
+    private static final AtomicLong CHECKSUM = new AtomicLong();
+
+    static {
+        for (int i = 0; i < LOCKS.length; i++) {
+            LOCKS[i] = new Object();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long sleepMillis = args.length > 1 ? Long.parseLong(args[1]) : 10;
+        int platformThreads = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        int iterations = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        Method startVirtualThread = lookupStartVirtualThread();
+        for (int i = 0; i < iterations; i++) {
+            report("platform threads", tasks, runOnPlatformThreads(tasks, sleepMillis, platformThreads));
+            if (startVirtualThread != null) {
+                report("virtual threads", tasks, runOnVirtualThreads(tasks, sleepMillis, startVirtualThread));
+            }
+        }
+        if (startVirtualThread == null) {
+            System.out.println("Virtual threads are not available");
+        }
+        System.out.println("checksum: " + CHECKSUM.get());
+    }
+
+    private static Method lookupStartVirtualThread() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static long runOnPlatformThreads(int tasks, long sleepMillis, int threads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(tasks);
+        long start = System.nanoTime();
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(newTask(i, sleepMillis, done));
+        }
+        done.await();
+        long nanos = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return nanos;
+    }
+
+    private static long runOnVirtualThreads(int tasks, long sleepMillis, Method startVirtualThread) throws ReflectiveOperationException, InterruptedException {
+        CountDownLatch done = new CountDownLatch(tasks);
+        long start = System.nanoTime();
+        for (int i = 0; i < tasks; i++) {
+            try {
+                startVirtualThread.invoke(null, newTask(i, sleepMillis, done));
+            } catch (InvocationTargetException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+        done.await();
+        return System.nanoTime() - start;
+    }
+
+    private static Runnable newTask(int id, long sleepMillis, CountDownLatch done) {
+        return () -> {
+            try {
+                long value = id;
+                synchronized (LOCKS[id % LOCKS.length]) {
+                    value = value * 31 + 17;
+                }
+                Thread.sleep(sleepMillis);
+                for (int i = 0; i < 100; i++) {
+                    value = value * 6364136223846793005L + 1442695040888963407L;
+                }
+                CHECKSUM.addAndGet(value & 0xFF);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        };
+    }
+
+    private static void report(String kind, int tasks, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-16s %8d tasks in %7.3f s: %10.0f tasks/s%n", kind, tasks, seconds, tasks / seconds);
+    }
+}
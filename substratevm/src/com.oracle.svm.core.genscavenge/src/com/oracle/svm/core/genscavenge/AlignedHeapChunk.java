@@ -110,6 +110,7 @@ public final class AlignedHeapChunk {
         return HeapChunk.asPointer(that).add(getFirstObjectTableLimitOffset());
     }
 
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
     static Pointer getObjectsStart(AlignedHeader that) {
         return HeapChunk.asPointer(that).add(getObjectsStartOffset());
     }
@@ -29,10 +29,15 @@ import org.graalvm.nativeimage.Platforms;
 import org.graalvm.word.UnsignedWord;
 import org.graalvm.word.WordFactory;
 
+import com.oracle.svm.core.annotate.Uninterruptible;
+import com.oracle.svm.core.jdk.UninterruptibleUtils.AtomicLong;
+import com.oracle.svm.core.jdk.UninterruptibleUtils.AtomicUnsigned;
 import com.oracle.svm.core.log.Log;
+import com.oracle.svm.core.util.TimeUtils;
 
 /**
- * This data is only updated during a GC.
+ * This data is only updated during a GC, except for the TLAB statistics, which are updated by the
+ * allocating threads.
  *
  * ChunkBytes refer to bytes reserved (but maybe not occupied). ObjectBytes refer to bytes occupied
  * by objects.
@@ -54,6 +59,15 @@ public final class GCAccounting {
     private UnsignedWord oldChunkBytesBefore = WordFactory.zero();
     private UnsignedWord oldChunkBytesAfter = WordFactory.zero();
     private UnsignedWord lastCollectionPromotedChunkBytes = WordFactory.zero();
+    private UnsignedWord committedBytesBefore = WordFactory.zero();
+    private UnsignedWord committedBytesAfter = WordFactory.zero();
+    private long lastCollectionAllocationRate = 0;
+    private double lastCollectionSurvivalRate = 0;
+
+    /* TLAB statistics. */
+    private final AtomicLong tlabRefillCount = new AtomicLong(0);
+    private final AtomicUnsigned tlabRefillWasteBytes = new AtomicUnsigned();
+    private final AtomicLong tlabOutsideAllocationCount = new AtomicLong(0);
 
     /*
      * Bytes allocated in Objects, as opposed to bytes of chunks. These are only maintained if
@@ -104,6 +118,10 @@ public final class GCAccounting {
         return oldChunkBytesAfter;
     }
 
+    UnsignedWord getYoungChunkBytesBefore() {
+        return youngChunkBytesBefore;
+    }
+
     UnsignedWord getYoungChunkBytesAfter() {
         return youngChunkBytesAfter;
     }
@@ -116,6 +134,81 @@ public final class GCAccounting {
         return lastCollectionPromotedChunkBytes;
     }
 
+    /** The chunk bytes of the heap before the last collection. */
+    UnsignedWord getChunkBytesBefore() {
+        return youngChunkBytesBefore.add(oldChunkBytesBefore);
+    }
+
+    /** The chunk bytes of the heap after the last collection. */
+    UnsignedWord getChunkBytesAfter() {
+        return youngChunkBytesAfter.add(oldChunkBytesAfter);
+    }
+
+    /** The committed heap memory, including unused chunks, before the last collection. */
+    UnsignedWord getCommittedBytesBefore() {
+        return committedBytesBefore;
+    }
+
+    /**
+     * The committed heap memory, including unused chunks, after the last collection and after
+     * unused chunks were returned to the operating system.
+     */
+    UnsignedWord getCommittedBytesAfter() {
+        return committedBytesAfter;
+    }
+
+    void setCommittedBytes(UnsignedWord before, UnsignedWord after) {
+        committedBytesBefore = before;
+        committedBytesAfter = after;
+    }
+
+    /** Bytes per second that were allocated in the young generation before the last collection. */
+    public long getLastCollectionAllocationRate() {
+        return lastCollectionAllocationRate;
+    }
+
+    /**
+     * The fraction of the young generation that survived the last incremental collection, either
+     * in a survivor space or by promotion.
+     */
+    public double getLastCollectionSurvivalRate() {
+        return lastCollectionSurvivalRate;
+    }
+
+    void noteMutatorInterval(long mutatorNanos) {
+        if (mutatorNanos > 0) {
+            lastCollectionAllocationRate = (long) (youngChunkBytesBefore.rawValue() / (double) mutatorNanos * TimeUtils.nanosPerSecond);
+        }
+    }
+
+    /** The number of times a thread retired its allocation chunk to allocate a new one. */
+    public long getTlabRefillCount() {
+        return tlabRefillCount.get();
+    }
+
+    /** The bytes at the end of retired allocation chunks that could not be used. */
+    public UnsignedWord getTlabRefillWasteBytes() {
+        return tlabRefillWasteBytes.get();
+    }
+
+    /**
+     * The number of small arrays that were allocated outside of the allocation chunk of a thread to
+     * not exceed its refill waste limit.
+     */
+    public long getTlabOutsideAllocationCount() {
+        return tlabOutsideAllocationCount.get();
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    void noteTlabRefill(UnsignedWord wasteBytes) {
+        tlabRefillCount.incrementAndGet();
+        tlabRefillWasteBytes.addAndGet(wasteBytes);
+    }
+
+    void noteTlabOutsideAllocation() {
+        tlabOutsideAllocationCount.incrementAndGet();
+    }
+
     void beforeCollection() {
         Log trace = Log.noopLog().string("[GCImpl.Accounting.beforeCollection:").newline();
         /* Gather some space statistics. */
@@ -157,6 +250,10 @@ public final class GCAccounting {
         /* Incremental collections only promote. */
         lastCollectionPromotedChunkBytes = oldChunkBytesAfter.subtract(oldChunkBytesBefore);
         promotedTotalChunkBytes = promotedTotalChunkBytes.add(lastCollectionPromotedChunkBytes);
+        if (youngChunkBytesBefore.aboveThan(0)) {
+            UnsignedWord survivedChunkBytes = youngChunkBytesAfter.add(lastCollectionPromotedChunkBytes);
+            lastCollectionSurvivalRate = survivedChunkBytes.rawValue() / (double) youngChunkBytesBefore.rawValue();
+        }
         incrementalCollectionTotalNanos += collectionTimer.getMeasuredNanos();
         trace.string("  incrementalCollectionCount: ").signed(incrementalCollectionCount)
                         .string("  oldChunkBytesAfter: ").unsigned(oldChunkBytesAfter)
@@ -75,6 +75,7 @@ import com.oracle.svm.core.heap.ReferenceHandler;
 import com.oracle.svm.core.heap.ReferenceMapIndex;
 import com.oracle.svm.core.heap.RuntimeCodeCacheCleaner;
 import com.oracle.svm.core.jdk.RuntimeSupport;
+import com.oracle.svm.core.jfr.JfrEvents;
 import com.oracle.svm.core.log.Log;
 import com.oracle.svm.core.os.CommittedMemoryProvider;
 import com.oracle.svm.core.snippets.ImplicitExceptions;
@@ -109,6 +110,7 @@ public final class GCImpl implements GC {
     private final OutOfMemoryError oldGenerationSizeExceeded = new OutOfMemoryError("Garbage-collected heap size exceeded.");
     private final NoAllocationVerifier noAllocationVerifier = NoAllocationVerifier.factory("GCImpl.GCImpl()", false);
     private final ChunkReleaser chunkReleaser = new ChunkReleaser();
+    private final HeapChunkUncommitter uncommitter;
 
     private CollectionPolicy policy;
     private boolean completeCollection = false;
@@ -120,6 +122,18 @@ public final class GCImpl implements GC {
     GCImpl(FeatureAccess access) {
         this.policy = CollectionPolicy.getInitialPolicy(access);
         RuntimeSupport.getRuntimeSupport().addShutdownHook(this::printGCSummary);
+        if (SubstrateOptions.MultiThreaded.getValue()) {
+            uncommitter = new HeapChunkUncommitter();
+            RuntimeSupport.getRuntimeSupport().addTearDownHook(uncommitter::stop);
+        } else {
+            uncommitter = null;
+        }
+    }
+
+    void uncommitDelayChanged() {
+        if (uncommitter != null) {
+            uncommitter.delayChanged();
+        }
     }
 
     @Override
@@ -174,8 +188,15 @@ public final class GCImpl implements GC {
         ThreadLocalAllocation.disableAndFlushForAllThreads();
 
         printGCBefore(cause.getName());
+        long startTicks = JfrEvents.startTicks();
+        UnsignedWord committedBytesBefore = getCommittedChunkBytes();
         boolean outOfMemory = collectImpl(cause.getName(), forceFullGC);
         HeapPolicy.setEdenAndYoungGenBytes(WordFactory.unsigned(0), accounting.getYoungChunkBytesAfter());
+        accounting.noteMutatorInterval(timers.mutator.getLastIntervalNanos());
+        HeapPolicy.adjustYoungGenerationSizeLimit(accounting, completeCollection, timers.collection.getMeasuredNanos());
+        HeapImpl.getChunkProvider().uncommitUnusedAlignedChunks();
+        accounting.setCommittedBytes(committedBytesBefore, getCommittedChunkBytes());
+        emitCollectionEvents(cause, startTicks);
         printGCAfter(cause.getName());
 
         finishCollection();
@@ -185,6 +206,13 @@ public final class GCImpl implements GC {
         return outOfMemory;
     }
 
+    private void emitCollectionEvents(GCCause cause, long startTicks) {
+        int gcId = (int) getCollectionEpoch().rawValue();
+        JfrEvents.emitGCHeapSummary(gcId, "Before GC", startTicks, accounting.getChunkBytesBefore());
+        JfrEvents.emitGCHeapSummary(gcId, "After GC", JfrEvents.startTicks(), accounting.getChunkBytesAfter());
+        JfrEvents.emitGarbageCollection(gcId, completeCollection ? "CompleteCollection" : "IncrementalCollection", cause, startTicks);
+    }
+
     private boolean collectImpl(String cause, boolean forceFullGC) {
         Log trace = Log.noopLog().string("[GCImpl.collectImpl:").newline().string("  epoch: ").unsigned(getCollectionEpoch()).string("  cause: ").string(cause).newline();
         boolean outOfMemory;
@@ -269,6 +297,11 @@ public final class GCImpl implements GC {
         return youngBytes.add(oldBytes);
     }
 
+    /** The chunk bytes plus the bytes of unused chunks that are still committed. */
+    static UnsignedWord getCommittedChunkBytes() {
+        return getChunkBytes().add(HeapImpl.getChunkProvider().getBytesInUnusedChunks());
+    }
+
     private void printGCBefore(String cause) {
         Log verboseGCLog = Log.log();
         HeapImpl heap = HeapImpl.getHeapImpl();
@@ -333,6 +366,7 @@ public final class GCImpl implements GC {
                 verboseGCLog.string("  policy: ");
                 verboseGCLog.string(getPolicy().getName());
                 verboseGCLog.string("  type: ").string(completeCollection ? "complete" : "incremental");
+                verboseGCLog.string("  committed: ").unsigned(accounting.getCommittedBytesBefore()).string("->").unsigned(accounting.getCommittedBytesAfter());
                 if (HeapOptions.PrintHeapShape.getValue()) {
                     heap.report(verboseGCLog);
                 }
@@ -1010,6 +1044,9 @@ public final class GCImpl implements GC {
             Timers.logOneTimer(Log.log(), "[GC epilogue reference processing: ", refsTimer);
             Log.log().string("]");
         }
+        if (uncommitter != null) {
+            uncommitter.collectionCompleted();
+        }
     }
 
     @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
@@ -1017,6 +1054,7 @@ public final class GCImpl implements GC {
         return collectionEpoch;
     }
 
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
     public GCAccounting getAccounting() {
         return accounting;
     }
@@ -1234,6 +1272,10 @@ public final class GCImpl implements GC {
         log.string(prefix).string("CollectedTotalObjectBytes: ").signed(accounting.getCollectedTotalObjectBytes()).newline();
         log.string(prefix).string("AllocatedNormalChunkBytes: ").signed(allocatedChunkBytes).newline();
         log.string(prefix).string("AllocatedNormalObjectBytes: ").signed(allocatedObjectBytes).newline();
+        log.string(prefix).string("UncommittedTotalChunkBytes: ").signed(HeapImpl.getChunkProvider().getUncommittedTotalBytes()).newline();
+        log.string(prefix).string("TLABRefills: ").signed(accounting.getTlabRefillCount()).newline();
+        log.string(prefix).string("TLABRefillWasteBytes: ").signed(accounting.getTlabRefillWasteBytes()).newline();
+        log.string(prefix).string("TLABOutsideAllocations: ").signed(accounting.getTlabOutsideAllocationCount()).newline();
 
         long incrementalNanos = accounting.getIncrementalCollectionTotalNanos();
         log.string(prefix).string("IncrementalGCCount: ").signed(accounting.getIncrementalCollectionCount()).newline();
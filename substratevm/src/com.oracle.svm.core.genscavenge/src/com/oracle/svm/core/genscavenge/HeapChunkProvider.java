@@ -44,6 +44,8 @@ import com.oracle.svm.core.jdk.UninterruptibleUtils.AtomicUnsigned;
 import com.oracle.svm.core.log.Log;
 import com.oracle.svm.core.os.CommittedMemoryProvider;
 import com.oracle.svm.core.thread.VMThreads;
+import com.oracle.svm.core.util.TimeUtils;
+import com.oracle.svm.core.util.UnsignedUtils;
 
 /**
  * Allocates and frees the memory for aligned and unaligned heap chunks. The methods are
@@ -52,6 +54,11 @@ import com.oracle.svm.core.thread.VMThreads;
  * Memory for aligned chunks is not immediately released to the OS. Up to
  * {@link HeapPolicy#getMinimumHeapSize()} chunks are saved in an unused chunk list. Memory for
  * unaligned chunks is released immediately.
+ *
+ * At the end of each collection, and periodically from the {@link HeapChunkUncommitter},
+ * {@link #uncommitUnusedAlignedChunks} returns unused aligned chunks to the OS that were not reused
+ * for {@link HeapPolicyOptions#UncommitDelay}, or all of them when the committed memory of the heap
+ * comes close to the maximum heap size.
  */
 final class HeapChunkProvider {
     /**
@@ -69,6 +76,19 @@ final class HeapChunkProvider {
      */
     private final AtomicUnsigned bytesInUnusedAlignedChunks = new AtomicUnsigned();
 
+    /**
+     * The lowest value of {@link #bytesInUnusedAlignedChunks} since the last uncommit, i.e., the
+     * bytes of unused chunks that were not needed during the whole interval. Like the number of
+     * bytes, it is not updated atomically with respect to the list head.
+     */
+    private UnsignedWord unusedBytesLowWaterMark = WordFactory.zero();
+
+    /** The time of the last uncommit, as the start of the current uncommit interval. */
+    private long lastUncommitTime;
+
+    /** The number of bytes that were returned to the OS by {@link #uncommitUnusedAlignedChunks}. */
+    private UnsignedWord uncommittedTotalBytes = WordFactory.zero();
+
     /**
      * The time of the first allocation, as the basis for computing deltas.
      *
@@ -152,6 +172,71 @@ final class HeapChunkProvider {
         freeAlignedChunkList(cur);
     }
 
+    /**
+     * Returns unused aligned chunks to the operating system. Must be called at the end of a
+     * collection, after all chunks were {@link #consumeAlignedChunks consumed}, or in a VM
+     * operation at a safepoint.
+     * <p>
+     * When the committed memory exceeds {@link HeapPolicyOptions#UncommitPressurePercent} of the
+     * maximum heap size, all unused chunks are released. Otherwise, once per
+     * {@link HeapPolicyOptions#UncommitDelay}, the chunks that were not reused during the whole
+     * delay are released, even if that shrinks the committed memory below the minimum heap size.
+     * Releasing idle chunks is what brings the memory usage down again after a load spike.
+     */
+    void uncommitUnusedAlignedChunks() {
+        long now = System.nanoTime();
+        if (lastUncommitTime == 0L) {
+            lastUncommitTime = now;
+            unusedBytesLowWaterMark = bytesInUnusedAlignedChunks.get();
+            return;
+        }
+
+        UnsignedWord bytesToUncommit = WordFactory.zero();
+        UnsignedWord committedBytes = GCImpl.getChunkBytes().add(getBytesInUnusedChunks());
+        UnsignedWord pressureBytes = HeapPolicy.getMaximumHeapSize().unsignedDivide(100).multiply(HeapPolicyOptions.UncommitPressurePercent.getValue());
+        long delayNanos = TimeUtils.millisToNanos(HeapPolicyOptions.UncommitDelay.getValue());
+        if (committedBytes.aboveThan(pressureBytes)) {
+            bytesToUncommit = getBytesInUnusedChunks();
+        } else if (delayNanos > 0 && now - lastUncommitTime >= delayNanos) {
+            bytesToUncommit = UnsignedUtils.min(unusedBytesLowWaterMark, getBytesInUnusedChunks());
+        } else {
+            return;
+        }
+
+        log().string("[HeapChunkProvider.uncommitUnusedAlignedChunks  committed: ").unsigned(committedBytes).string("  uncommit: ").unsigned(bytesToUncommit).newline();
+        UnsignedWord chunkSize = HeapPolicy.getAlignedHeapChunkSize();
+        while (bytesToUncommit.aboveOrEqual(chunkSize)) {
+            AlignedHeader chunk = popUnusedAlignedChunk();
+            if (chunk.isNull()) {
+                break;
+            }
+            freeAlignedChunk(chunk);
+            uncommittedTotalBytes = uncommittedTotalBytes.add(chunkSize);
+            bytesToUncommit = bytesToUncommit.subtract(chunkSize);
+        }
+        lastUncommitTime = now;
+        unusedBytesLowWaterMark = bytesInUnusedAlignedChunks.get();
+        log().string("  ]").newline();
+    }
+
+    /**
+     * Determines whether there are unused chunks and {@link HeapPolicyOptions#UncommitDelay} passed
+     * since the last uncommit, so that {@link #uncommitUnusedAlignedChunks} releases the chunks that
+     * were idle since then and starts a new interval. Reads the state without synchronization, so
+     * the answer is only a hint.
+     */
+    boolean isUncommitDue() {
+        long delayNanos = TimeUtils.millisToNanos(HeapPolicyOptions.UncommitDelay.getValue());
+        if (delayNanos <= 0 || lastUncommitTime == 0L || System.nanoTime() - lastUncommitTime < delayNanos) {
+            return false;
+        }
+        return getBytesInUnusedChunks().aboveOrEqual(HeapPolicy.getAlignedHeapChunkSize());
+    }
+
+    UnsignedWord getUncommittedTotalBytes() {
+        return uncommittedTotalBytes;
+    }
+
     private static void cleanAlignedChunk(AlignedHeader alignedChunk) {
         resetAlignedHeapChunk(alignedChunk);
         if (HeapPolicy.getZapConsumedHeapChunks()) {
@@ -200,7 +285,10 @@ final class HeapChunkProvider {
         if (result.isNull()) {
             return WordFactory.nullPointer();
         } else {
-            bytesInUnusedAlignedChunks.subtractAndGet(HeapPolicy.getAlignedHeapChunkSize());
+            UnsignedWord remaining = bytesInUnusedAlignedChunks.subtractAndGet(HeapPolicy.getAlignedHeapChunkSize());
+            if (remaining.belowThan(unusedBytesLowWaterMark)) {
+                unusedBytesLowWaterMark = remaining;
+            }
             log().string("  new list top: ").hex(unusedAlignedChunks.get()).string("  list bytes ").signed(bytesInUnusedAlignedChunks.get()).newline();
             return result;
         }
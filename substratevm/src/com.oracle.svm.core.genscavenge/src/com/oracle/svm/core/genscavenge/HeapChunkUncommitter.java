@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.genscavenge;
+
+import org.graalvm.nativeimage.Platform;
+import org.graalvm.nativeimage.Platforms;
+
+import com.oracle.svm.core.thread.JavaVMOperation;
+
+/**
+ * Periodically returns unused aligned chunks to the operating system that were not reused for
+ * {@link HeapPolicyOptions#UncommitDelay}. Collections do that as well, but an application that
+ * goes idle after a load spike does not allocate and therefore never triggers another collection.
+ * <p>
+ * The thread is only started after a collection left unused chunks behind, or when the delay is
+ * set at run time, so that images which never free heap memory do not run an extra thread.
+ */
+final class HeapChunkUncommitter implements Runnable {
+    /** The number of times per {@link HeapPolicyOptions#UncommitDelay} that chunks are checked. */
+    private static final int CHECKS_PER_DELAY = 4;
+    private static final long MIN_CHECK_INTERVAL_MILLIS = 100;
+
+    private final Thread thread;
+    private volatile boolean started;
+    private boolean stopped;
+
+    @Platforms(Platform.HOSTED_ONLY.class)
+    HeapChunkUncommitter() {
+        thread = new Thread(this, "Heap Chunk Uncommitter");
+        thread.setDaemon(true);
+    }
+
+    /** Called after a collection to start the thread once there are chunks it could release. */
+    void collectionCompleted() {
+        if (!started && HeapPolicyOptions.UncommitDelay.getValue() > 0 &&
+                        HeapImpl.getChunkProvider().getBytesInUnusedChunks().aboveOrEqual(HeapPolicy.getAlignedHeapChunkSize())) {
+            start();
+        }
+    }
+
+    private synchronized void start() {
+        if (!started && !stopped) {
+            started = true;
+            thread.start();
+        }
+    }
+
+    synchronized void stop() {
+        stopped = true;
+        if (started) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Called when {@link HeapPolicyOptions#UncommitDelay} is changed at run time so that the new
+     * delay takes effect without waiting for a check interval of the previous delay.
+     */
+    void delayChanged() {
+        if (HeapPolicyOptions.UncommitDelay.getValue() > 0) {
+            start();
+        }
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                waitForNextCheck();
+                HeapChunkProvider chunkProvider = HeapImpl.getChunkProvider();
+                if (chunkProvider.isUncommitDue()) {
+                    /* Mutators pop unused chunks uninterruptibly, so a safepoint excludes them. */
+                    JavaVMOperation.enqueueBlockingSafepoint("Uncommit idle heap chunks", chunkProvider::uncommitUnusedAlignedChunks);
+                }
+            }
+        } catch (InterruptedException e) {
+            /* The isolate is torn down. */
+        }
+    }
+
+    private synchronized void waitForNextCheck() throws InterruptedException {
+        long delayMillis = HeapPolicyOptions.UncommitDelay.getValue();
+        if (delayMillis > 0) {
+            wait(Math.max(delayMillis / CHECKS_PER_DELAY, MIN_CHECK_INTERVAL_MILLIS));
+        } else {
+            /* The time-based uncommit was disabled, wait until the delay is changed again. */
+            wait();
+        }
+    }
+}
@@ -504,6 +504,12 @@ public final class HeapImpl extends Heap {
         // nothing to do
     }
 
+    @Override
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    public long getThreadAllocatedMemory(IsolateThread isolateThread) {
+        return ThreadLocalAllocation.getAllocatedBytes(isolateThread).rawValue();
+    }
+
     @Override
     public void detachThread(IsolateThread isolateThread) {
         ThreadLocalAllocation.disableAndFlushForThread(isolateThread);
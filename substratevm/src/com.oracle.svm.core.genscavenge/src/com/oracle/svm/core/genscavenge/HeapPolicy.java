@@ -42,6 +42,7 @@ import com.oracle.svm.core.jdk.UninterruptibleUtils;
 import com.oracle.svm.core.log.Log;
 import com.oracle.svm.core.option.XOptions;
 import com.oracle.svm.core.thread.VMOperation;
+import com.oracle.svm.core.util.TimeUtils;
 import com.oracle.svm.core.util.UnsignedUtils;
 import com.oracle.svm.core.util.UserError;
 import com.oracle.svm.core.util.VMError;
@@ -207,12 +208,15 @@ public final class HeapPolicy {
             return minimumHeapSize;
         }
         XOptions.XFlag xms = XOptions.getXms();
-        if (xms.getEpoch() > 0) {
-            /* If `-Xms` has been parsed from the command line, use that value. */
+        if (xms.getEpoch() > 0 && xms.getValue() != 0) {
+            /*
+             * If `-Xms` has been parsed from the command line or MinHeapSize was set at run time,
+             * use that value. Do not cache it, so that resetting MinHeapSize to 0 at run time
+             * restores the default.
+             */
             trace.string("  -Xms.epoch: ").unsigned(xms.getEpoch()).string("  -Xms.value: ").unsigned(xms.getValue());
-            setMinimumHeapSize(WordFactory.unsigned(xms.getValue()));
-            trace.string("  returns: ").unsigned(minimumHeapSize).string(" ]").newline();
-            return minimumHeapSize;
+            trace.string("  returns: ").unsigned(xms.getValue()).string(" ]").newline();
+            return WordFactory.unsigned(xms.getValue());
         }
         long hostedValue = SubstrateGCOptions.MinHeapSize.getHostedValue();
         if (hostedValue != 0) {
@@ -237,6 +241,154 @@ public final class HeapPolicy {
         return result;
     }
 
+    /*
+     * Adaptive young generation sizing
+     */
+
+    /** Divisor of the maximum young generation size below which the young generation never shrinks. */
+    private static final int MINIMUM_YOUNG_GENERATION_SIZE_DIVISOR = 16;
+
+    /** The current size of the young generation, or zero if it was never shrunk. */
+    private static UnsignedWord youngGenerationSizeLimit;
+    private static int lowAllocationRateCollections;
+
+    /** Weight of the last incremental collection in the averages of {@link IncrementalPauseModel}. */
+    private static final double PAUSE_SAMPLE_WEIGHT = 0.25;
+    /**
+     * Relative deviation of the survived bytes below which {@link IncrementalPauseModel} cannot
+     * tell apart the fixed and the per-byte part of a pause.
+     */
+    private static final double PAUSE_SAMPLE_MIN_DEVIATION = 0.05;
+
+    /**
+     * Models the pause of an incremental collection as a fixed part (roots, the remembered set,
+     * thread stacks) plus a part per survived byte, fitted by least squares over exponentially
+     * decaying averages of the recent incremental collections.
+     */
+    private static final class IncrementalPauseModel {
+        private static int samples;
+        private static double avgSurvivedBytes;
+        private static double avgPauseNanos;
+        private static double avgSurvivedBytesSquared;
+        private static double avgSurvivedBytesTimesPause;
+
+        static void addSample(double survivedBytes, double pauseNanos) {
+            double weight = (samples == 0) ? 1 : PAUSE_SAMPLE_WEIGHT;
+            avgSurvivedBytes += weight * (survivedBytes - avgSurvivedBytes);
+            avgPauseNanos += weight * (pauseNanos - avgPauseNanos);
+            avgSurvivedBytesSquared += weight * (survivedBytes * survivedBytes - avgSurvivedBytesSquared);
+            avgSurvivedBytesTimesPause += weight * (survivedBytes * pauseNanos - avgSurvivedBytesTimesPause);
+            samples++;
+        }
+
+        /** Returns false if the samples do not vary enough to separate the two parts yet. */
+        static boolean canSeparate() {
+            double variance = avgSurvivedBytesSquared - avgSurvivedBytes * avgSurvivedBytes;
+            double minDeviation = avgSurvivedBytes * PAUSE_SAMPLE_MIN_DEVIATION;
+            return samples > 1 && variance > minDeviation * minDeviation;
+        }
+
+        static double nanosPerSurvivedByte() {
+            double variance = avgSurvivedBytesSquared - avgSurvivedBytes * avgSurvivedBytes;
+            double covariance = avgSurvivedBytesTimesPause - avgSurvivedBytes * avgPauseNanos;
+            return Math.max(covariance / variance, 0);
+        }
+
+        static double fixedNanos() {
+            return Math.min(Math.max(avgPauseNanos - nanosPerSurvivedByte() * avgSurvivedBytes, 0), avgPauseNanos);
+        }
+    }
+
+    /**
+     * The young generation size at which a collection is triggered. It is equal to the
+     * {@link #getMaximumYoungGenerationSize() maximum} unless the young generation was shrunk by
+     * {@link #adjustYoungGenerationSizeLimit}.
+     */
+    public static UnsignedWord getYoungGenerationSizeLimit() {
+        UnsignedWord maxYoungSize = getMaximumYoungGenerationSize();
+        if (youngGenerationSizeLimit.aboveThan(WordFactory.zero()) && youngGenerationSizeLimit.belowThan(maxYoungSize)) {
+            return youngGenerationSizeLimit;
+        }
+        return maxYoungSize;
+    }
+
+    /**
+     * Called at the end of each collection to size the young generation from the measured
+     * allocation and survival rates.
+     * <p>
+     * If the mutator would have needed longer than
+     * {@link HeapPolicyOptions#LowAllocationRateInterval} to fill the young generation for several
+     * consecutive collections, the young generation is halved so that fewer chunks stay committed
+     * for eden. As soon as the allocation rate picks up again, the young generation grows back
+     * towards its maximum.
+     * <p>
+     * With an {@link HeapPolicyOptions#IncrementalCollectionPauseGoal}, the size is also capped so
+     * that the next incremental collection meets the goal. The predicted pause is the fixed part
+     * of the {@link IncrementalPauseModel} plus its per-byte part times the bytes that survive at
+     * the last {@link GCAccounting#getLastCollectionSurvivalRate() survival rate}. Shrinking
+     * the young generation does not reduce the fixed part, so the goal does not shrink it if the
+     * fixed part alone exceeds the goal. The goal also shrinks it by at most half per collection,
+     * which provides the model with samples of different sizes.
+     */
+    static void adjustYoungGenerationSizeLimit(GCAccounting accounting, boolean completeCollection, long pauseNanos) {
+        UnsignedWord maxYoungSize = getMaximumYoungGenerationSize();
+        UnsignedWord minYoungSize = UnsignedUtils.max(maxYoungSize.unsignedDivide(MINIMUM_YOUNG_GENERATION_SIZE_DIVISOR), getAlignedHeapChunkSize());
+        UnsignedWord currentLimit = getYoungGenerationSizeLimit();
+        UnsignedWord newLimit = maxYoungSize;
+
+        int shrinkCollections = HeapPolicyOptions.YoungGenerationShrinkCollections.getValue();
+        if (shrinkCollections > 0) {
+            /* The bytes that the mutator allocates within the interval at the measured rate. */
+            double bytesPerInterval = accounting.getLastCollectionAllocationRate() / 1000.0 * HeapPolicyOptions.LowAllocationRateInterval.getValue();
+            if (bytesPerInterval < currentLimit.rawValue()) {
+                lowAllocationRateCollections++;
+                newLimit = currentLimit;
+                if (lowAllocationRateCollections >= shrinkCollections) {
+                    newLimit = currentLimit.unsignedDivide(2);
+                    lowAllocationRateCollections = 0;
+                }
+            } else {
+                lowAllocationRateCollections = 0;
+                newLimit = currentLimit.multiply(2);
+            }
+        }
+
+        long pauseGoalNanos = TimeUtils.millisToNanos(HeapPolicyOptions.IncrementalCollectionPauseGoal.getValue());
+        if (pauseGoalNanos > 0 && !completeCollection && pauseNanos > 0) {
+            newLimit = UnsignedUtils.min(newLimit, getYoungGenerationSizeLimitForPauseGoal(accounting, currentLimit, pauseNanos, pauseGoalNanos));
+        }
+
+        newLimit = UnsignedUtils.max(newLimit, minYoungSize);
+        youngGenerationSizeLimit = newLimit.belowThan(maxYoungSize) ? newLimit : WordFactory.zero();
+    }
+
+    private static UnsignedWord getYoungGenerationSizeLimitForPauseGoal(GCAccounting accounting, UnsignedWord currentLimit, long pauseNanos, long pauseGoalNanos) {
+        UnsignedWord collectedYoungBytes = accounting.getYoungChunkBytesBefore();
+        double survivalRate = accounting.getLastCollectionSurvivalRate();
+        if (collectedYoungBytes.equal(0) || survivalRate <= 0) {
+            return getMaximumYoungGenerationSize();
+        }
+        IncrementalPauseModel.addSample(collectedYoungBytes.rawValue() * survivalRate, pauseNanos);
+
+        double fixedNanos;
+        double nanosPerSurvivedByte;
+        if (IncrementalPauseModel.canSeparate()) {
+            fixedNanos = IncrementalPauseModel.fixedNanos();
+            nanosPerSurvivedByte = IncrementalPauseModel.nanosPerSurvivedByte();
+        } else {
+            /* Until the model has seen different sizes, attribute the whole pause to copying. */
+            fixedNanos = 0;
+            nanosPerSurvivedByte = pauseNanos / (collectedYoungBytes.rawValue() * survivalRate);
+        }
+        if (fixedNanos >= pauseGoalNanos || nanosPerSurvivedByte <= 0) {
+            /* Shrinking the young generation would not help to meet the goal. */
+            return getMaximumYoungGenerationSize();
+        }
+        double limitForGoal = (pauseGoalNanos - fixedNanos) / (nanosPerSurvivedByte * survivalRate);
+        UnsignedWord limit = WordFactory.unsigned((long) Math.min(limitForGoal, Long.MAX_VALUE));
+        return UnsignedUtils.max(limit, currentLimit.unsignedDivide(2));
+    }
+
     @Fold
     public static UnsignedWord getAlignedHeapChunkSize() {
         return WordFactory.unsigned(HeapPolicyOptions.AlignedHeapChunkSize.getValue());
@@ -313,7 +465,7 @@ public final class HeapPolicy {
     }
 
     public static void maybeCollectOnAllocation() {
-        UnsignedWord maxYoungSize = getMaximumYoungGenerationSize();
+        UnsignedWord maxYoungSize = getYoungGenerationSizeLimit();
         maybeCollectOnAllocation(maxYoungSize);
     }
 
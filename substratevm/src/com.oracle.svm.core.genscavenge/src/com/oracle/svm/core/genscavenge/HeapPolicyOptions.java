@@ -28,6 +28,7 @@ import org.graalvm.collections.EconomicMap;
 import org.graalvm.compiler.options.Option;
 import org.graalvm.compiler.options.OptionKey;
 
+import com.oracle.svm.core.SubstrateUtil;
 import com.oracle.svm.core.option.HostedOptionKey;
 import com.oracle.svm.core.option.RuntimeOptionKey;
 import com.oracle.svm.core.util.UserError;
@@ -76,6 +77,36 @@ public final class HeapPolicyOptions {
     @Option(help = "Determines if a full GC collects the young generation separately or together with the old generation.") //
     public static final RuntimeOptionKey<Boolean> CollectYoungGenerationSeparately = new RuntimeOptionKey<>(false);
 
+    @Option(help = "Milliseconds after which unused aligned chunks that were not reused are returned to the operating system. 0 disables the time-based uncommit.") //
+    public static final RuntimeOptionKey<Long> UncommitDelay = new RuntimeOptionKey<Long>(300_000L) {
+        @Override
+        protected void onValueUpdate(EconomicMap<OptionKey<?>, Object> values, Long oldValue, Long newValue) {
+            if (!SubstrateUtil.HOSTED) {
+                GCImpl.getGCImpl().uncommitDelayChanged();
+            }
+        }
+    };
+
+    @Option(help = "Return all unused aligned chunks to the operating system when the committed heap memory exceeds this percentage of the maximum heap size.") //
+    public static final RuntimeOptionKey<Integer> UncommitPressurePercent = new RuntimeOptionKey<>(90);
+
+    @Option(help = "Milliseconds in which the young generation must be filled for the allocation rate to not be considered low.") //
+    public static final RuntimeOptionKey<Long> LowAllocationRateInterval = new RuntimeOptionKey<>(10_000L);
+
+    @Option(help = "Number of consecutive collections with a low allocation rate after which the young generation is shrunk. 0 disables the shrinking.") //
+    public static final RuntimeOptionKey<Integer> YoungGenerationShrinkCollections = new RuntimeOptionKey<>(3);
+
+    @Option(help = "The fraction of an aligned chunk that may initially be wasted when a thread retires its allocation chunk to allocate a small array.") //
+    public static final HostedOptionKey<Integer> TLABRefillWasteFraction = new HostedOptionKey<Integer>(64) {
+        @Override
+        protected void onValueUpdate(EconomicMap<OptionKey<?>, Object> values, Integer oldValue, Integer newValue) {
+            UserError.guarantee(newValue > 0, "%s value must be positive.", getName());
+        }
+    };
+
+    @Option(help = "The pause time goal for incremental collections in milliseconds. The young generation is shrunk if its collections take longer. 0 disables the goal.") //
+    public static final RuntimeOptionKey<Long> IncrementalCollectionPauseGoal = new RuntimeOptionKey<>(0L);
+
     private HeapPolicyOptions() {
     }
 }
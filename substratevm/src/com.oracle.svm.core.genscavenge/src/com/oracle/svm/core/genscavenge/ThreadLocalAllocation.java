@@ -29,6 +29,7 @@ import static com.oracle.svm.core.graal.snippets.SubstrateAllocationSnippets.TLA
 
 import org.graalvm.compiler.api.replacements.Fold;
 import org.graalvm.compiler.word.Word;
+import org.graalvm.nativeimage.CurrentIsolate;
 import org.graalvm.nativeimage.IsolateThread;
 import org.graalvm.nativeimage.Platform;
 import org.graalvm.nativeimage.Platforms;
@@ -52,6 +53,8 @@ import com.oracle.svm.core.genscavenge.graal.nodes.FormatObjectNode;
 import com.oracle.svm.core.graal.snippets.DeoptTester;
 import com.oracle.svm.core.hub.DynamicHub;
 import com.oracle.svm.core.hub.LayoutEncoding;
+import com.oracle.svm.core.jfr.JfrEvents;
+import com.oracle.svm.core.jfr.JfrRecorder;
 import com.oracle.svm.core.log.Log;
 import com.oracle.svm.core.snippets.KnownIntrinsics;
 import com.oracle.svm.core.snippets.SubstrateForeignCallTarget;
@@ -66,6 +69,12 @@ import com.oracle.svm.core.util.VMError;
  * Bump-pointer allocation from thread-local top and end Pointers.
  *
  * Many of these methods are called from allocation snippets, so they can not do anything fancy.
+ *
+ * A TLAB is always a whole aligned chunk. When a small array does not fit into the rest of the
+ * current chunk, retiring the chunk wastes that rest. So as long as the rest is larger than the
+ * thread's refill waste limit, the array is allocated in its own unaligned chunk instead, and the
+ * limit is raised so that a thread that keeps allocating such arrays eventually retires its chunk
+ * (see {@link HeapPolicyOptions#TLABRefillWasteFraction}).
  */
 public final class ThreadLocalAllocation {
     @RawStructure
@@ -105,6 +114,26 @@ public final class ThreadLocalAllocation {
 
         @RawField
         void setAllocationEnd(Pointer end, LocationIdentity endIdentity);
+
+        /**
+         * Bytes allocated by the thread, not including the bytes allocated in the current
+         * allocation chunk.
+         */
+        @RawField
+        UnsignedWord getAllocatedBytes();
+
+        @RawField
+        void setAllocatedBytes(UnsignedWord bytes);
+
+        /**
+         * The maximum number of bytes at the end of the current allocation chunk that may be
+         * wasted by retiring the chunk. Zero until the thread allocates its first chunk.
+         */
+        @RawField
+        UnsignedWord getRefillWasteLimit();
+
+        @RawField
+        void setRefillWasteLimit(UnsignedWord limit);
     }
 
     /**
@@ -152,13 +181,16 @@ public final class ThreadLocalAllocation {
         Object result = slowPathNewInstanceWithoutAllocating(hub, size);
         /* If a collection happened, do follow-up tasks now that allocation, etc., is allowed. */
         HeapImpl.getHeapImpl().getGCImpl().possibleCollectionEpilogue(gcEpoch);
-        runSlowPathHooks();
+        runSlowPathHooks(hub);
         return result;
     }
 
     /** Use the end of slow-path allocation as a place to run periodic hook code. */
-    private static void runSlowPathHooks() {
+    private static void runSlowPathHooks(DynamicHub hub) {
         HeapPolicy.samplePhysicalMemorySize();
+        if (JfrRecorder.isRecording()) {
+            JfrEvents.sampleObjectAllocation(hub, getAllocatedBytes(CurrentIsolate.getCurrentThread()));
+        }
     }
 
     @RestrictHeapAccess(access = RestrictHeapAccess.Access.NO_ALLOCATION, reason = "Must not allocate in the implementation of allocation.")
@@ -196,7 +228,7 @@ public final class ThreadLocalAllocation {
         Object result = slowPathNewArrayWithoutAllocating(hub, length, size, fillStartOffset);
         /* If a collection happened, do follow-up tasks now that allocation, etc., is allowed. */
         HeapImpl.getHeapImpl().getGCImpl().possibleCollectionEpilogue(gcEpoch);
-        runSlowPathHooks();
+        runSlowPathHooks(hub);
         return result;
     }
 
@@ -211,6 +243,11 @@ public final class ThreadLocalAllocation {
                 /* Large arrays go into their own unaligned chunk. */
                 UnalignedHeapChunk.UnalignedHeader newTlabChunk = HeapImpl.getChunkProvider().produceUnalignedChunk(size);
                 return allocateLargeArrayInNewTlab(hub, length, size, fillStartOffset, newTlabChunk);
+            } else if (shouldAllocateOutsideTlab()) {
+                /* Retiring the current chunk would waste too much, keep it for smaller objects. */
+                HeapImpl.getHeapImpl().getGCImpl().getAccounting().noteTlabOutsideAllocation();
+                UnalignedHeapChunk.UnalignedHeader newTlabChunk = HeapImpl.getChunkProvider().produceUnalignedChunk(size);
+                return allocateLargeArrayInNewTlab(hub, length, size, fillStartOffset, newTlabChunk);
             } else {
                 /* Small arrays go into the regular aligned chunk. */
                 AlignedHeader newTlabChunk = HeapImpl.getChunkProvider().produceAlignedChunk();
@@ -221,6 +258,27 @@ public final class ThreadLocalAllocation {
         }
     }
 
+    /**
+     * Checks if the rest of the current allocation chunk exceeds the refill waste limit of the
+     * thread. If so, the limit is raised by its initial value, so that the chunk is retired after
+     * a bounded number of allocations outside of it.
+     */
+    @Uninterruptible(reason = "Accesses TLAB")
+    private static boolean shouldAllocateOutsideTlab() {
+        Descriptor tlab = getTlab();
+        UnsignedWord limit = tlab.getRefillWasteLimit();
+        if (availableTlabMemory(tlab).belowOrEqual(limit)) {
+            return false;
+        }
+        tlab.setRefillWasteLimit(limit.add(getInitialRefillWasteLimit()));
+        return true;
+    }
+
+    @Fold
+    static UnsignedWord getInitialRefillWasteLimit() {
+        return HeapPolicy.getAlignedHeapChunkSize().unsignedDivide(HeapPolicyOptions.TLABRefillWasteFraction.getValue());
+    }
+
     @Uninterruptible(reason = "Holds uninitialized memory.")
     private static Object allocateInstanceInNewTlab(DynamicHub hub, UnsignedWord size, AlignedHeader newTlabChunk) {
         Pointer memory = allocateRawMemoryInNewTlab(size, newTlabChunk);
@@ -239,6 +297,7 @@ public final class ThreadLocalAllocation {
 
         HeapChunk.setNext(newTlabChunk, tlab.getUnalignedChunk());
         tlab.setUnalignedChunk(newTlabChunk);
+        tlab.setAllocatedBytes(tlab.getAllocatedBytes().add(size));
 
         Pointer memory = UnalignedHeapChunk.allocateMemory(newTlabChunk, size);
         assert memory.isNonNull();
@@ -252,8 +311,10 @@ public final class ThreadLocalAllocation {
         ThreadLocalAllocation.Descriptor tlab = getTlab();
         assert DeoptTester.enabled() || availableTlabMemory(tlab).belowThan(size) : "Slowpath allocation was used even though TLAB had sufficient space";
 
+        GCImpl.getGCImpl().getAccounting().noteTlabRefill(availableTlabMemory(tlab));
         retireCurrentAllocationChunk(tlab);
         registerNewAllocationChunk(tlab, newTlabChunk);
+        tlab.setRefillWasteLimit(getInitialRefillWasteLimit());
         assert size.belowOrEqual(availableTlabMemory(tlab)) : "Not enough TLAB space for allocation";
 
         // We just registered a new chunk, so TLAB top cannot be null.
@@ -274,6 +335,29 @@ public final class ThreadLocalAllocation {
         return end.subtract(top);
     }
 
+    /**
+     * Returns the number of bytes that the given thread has allocated so far. The result is exact
+     * if called by the thread itself or at a safepoint. Otherwise, the caller must hold the
+     * {@linkplain VMThreads#ownsThreadMutex() threads mutex} so that the thread cannot detach,
+     * and the TLAB is read racily: while the thread switches to a new allocation chunk, the result
+     * may be off by the size of one chunk. Only the chunk address is used, never its contents.
+     */
+    @Uninterruptible(reason = "Accesses TLAB")
+    static UnsignedWord getAllocatedBytes(IsolateThread vmThread) {
+        Descriptor tlab = getTlab(vmThread);
+        UnsignedWord result = tlab.getAllocatedBytes();
+        Pointer top = tlab.getAllocationTop(TLAB_TOP_IDENTITY);
+        AlignedHeader chunk = tlab.getAlignedChunk();
+        if (top.isNonNull() && chunk.isNonNull()) {
+            Pointer start = AlignedHeapChunk.getObjectsStart(chunk);
+            /* A racy read can see the top of a chunk together with the address of another one. */
+            if (top.aboveOrEqual(start) && top.belowOrEqual(HeapChunk.asPointer(chunk).add(HeapPolicy.getAlignedHeapChunkSize()))) {
+                result = result.add(top.subtract(start));
+            }
+        }
+        return result;
+    }
+
     static boolean isThreadLocalAllocationSpace(Space space) {
         return (space == HeapImpl.getHeapImpl().getYoungGeneration().getEden());
     }
@@ -372,6 +456,7 @@ public final class ThreadLocalAllocation {
              * and only set in the top aligned chunk when it is retired.
              */
             HeapChunk.setTopPointer(alignedChunk, allocationTop);
+            tlab.setAllocatedBytes(tlab.getAllocatedBytes().add(allocationTop.subtract(AlignedHeapChunk.getObjectsStart(alignedChunk))));
             tlab.setAllocationTop(WordFactory.nullPointer(), TLAB_TOP_IDENTITY);
             tlab.setAllocationEnd(WordFactory.nullPointer(), TLAB_END_IDENTITY);
         }
@@ -384,7 +469,10 @@ public final class ThreadLocalAllocation {
 
         AlignedHeader alignedChunk = tlab.getAlignedChunk();
         if (alignedChunk.isNonNull()) {
-            tlab.setAllocationTop(HeapChunk.getTopPointer(alignedChunk), TLAB_TOP_IDENTITY);
+            /* The bytes that were already allocated in the chunk are counted again on retirement. */
+            Pointer top = HeapChunk.getTopPointer(alignedChunk);
+            tlab.setAllocatedBytes(tlab.getAllocatedBytes().subtract(top.subtract(AlignedHeapChunk.getObjectsStart(alignedChunk))));
+            tlab.setAllocationTop(top, TLAB_TOP_IDENTITY);
             /*
              * It happens that prefetch instructions access memory outside the TLAB. At the moment,
              * this is not an issue as we only support architectures where the prefetch instructions
@@ -39,6 +39,7 @@ import static org.graalvm.word.WordFactory.signed;
 
 import java.util.concurrent.ThreadLocalRandom;
 
+import org.graalvm.compiler.api.replacements.Fold;
 import org.graalvm.compiler.nodes.extended.MembarNode;
 import org.graalvm.compiler.word.Word;
 import org.graalvm.nativeimage.ImageSingletons;
@@ -54,6 +55,7 @@ import org.graalvm.word.SignedWord;
 import org.graalvm.word.UnsignedWord;
 import org.graalvm.word.WordFactory;
 
+import com.oracle.svm.core.SubstrateOptions;
 import com.oracle.svm.core.annotate.AutomaticFeature;
 import com.oracle.svm.core.annotate.Uninterruptible;
 import com.oracle.svm.core.c.CGlobalData;
@@ -118,6 +120,11 @@ public class LinuxImageHeapProvider implements ImageHeapProvider {
         return true;
     }
 
+    @Override
+    public boolean supportsSharedImageHeap() {
+        return true;
+    }
+
     @Override
     @Uninterruptible(reason = "Called during isolate initialization.")
     public int initialize(Pointer reservedAddressSpace, UnsignedWord reservedSize, WordPointer basePointer, WordPointer endPointer) {
@@ -165,6 +172,9 @@ public class LinuxImageHeapProvider implements ImageHeapProvider {
 
         // If we cannot find or open the image file, fall back to copy it from memory.
         if (fd.equal(CANNOT_OPEN_FD)) {
+            if (requireSharedImageHeap()) {
+                return CEntryPointErrors.MAP_HEAP_FAILED;
+            }
             return fallbackCopyingProvider.initialize(reservedAddressSpace, reservedSize, basePointer, endPointer);
         }
 
@@ -247,6 +257,11 @@ public class LinuxImageHeapProvider implements ImageHeapProvider {
         return CEntryPointErrors.NO_ERROR;
     }
 
+    @Fold
+    static boolean requireSharedImageHeap() {
+        return SubstrateOptions.RequireSharedImageHeap.getValue();
+    }
+
     /**
      * Locate our image file, containing the image heap. Unfortunately we must open it by its path.
      *
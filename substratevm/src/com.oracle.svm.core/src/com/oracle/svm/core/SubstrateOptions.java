@@ -221,6 +221,10 @@ public class SubstrateOptions {
         }
     };
 
+    @Option(help = "Fail the creation of isolates instead of copying the image heap when it cannot be mapped copy-on-write from the image file. " +
+                    "This guarantees that the read-only parts of the image heap are shared between all isolates. Only supported on Linux.")//
+    public static final HostedOptionKey<Boolean> RequireSharedImageHeap = new HostedOptionKey<>(false);
+
     @Option(help = "Trace VMOperation execution.")//
     public static final HostedOptionKey<Boolean> TraceVMOperations = new HostedOptionKey<>(false);
 
@@ -92,6 +92,7 @@ public class CodeInfoEncoder {
         final Counter codeSize = new Counter(group, "Code size", "Total size of machine code");
         final Counter frameInfoSize = new Counter(group, "Frame info size", "Total size of encoded frame information");
         final Counter frameCount = new Counter(group, "Number of frames", "Number of frames encoded");
+        final Counter sharedFrameInfoCount = new Counter(group, "Number of shared frame infos", "Number of call sites that share the frame information encoding of another call site");
         final Counter stackValueCount = new Counter(group, "Number of stack values", "Number of stack values encoded");
         final Counter registerValueCount = new Counter(group, "Number of register values", "Number of register values encoded");
         final Counter constantValueCount = new Counter(group, "Number of constant values", "Number of constant values encoded");
@@ -72,6 +72,9 @@ public class CodeInfoTable {
 
         @Option(help = "Count accesses to the image and runtime code info table")//
         public static final HostedOptionKey<Boolean> CodeCacheCounters = new HostedOptionKey<>(false);
+
+        @Option(help = "Number of entries (0 or a power of two) in the cache of decoded frame information for image code that is used when walking the stack for stack traces. 0 disables the cache.")//
+        public static final HostedOptionKey<Integer> FrameInfoCacheSize = new HostedOptionKey<>(256);
     }
 
     @Fold
@@ -252,7 +255,7 @@ public class CodeInfoTable {
     }
 
     @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
-    private static CodeInfoTableCounters counters() {
+    static CodeInfoTableCounters counters() {
         return ImageSingletons.lookup(CodeInfoTableCounters.class);
     }
 }
@@ -264,6 +267,7 @@ final class CodeInfoTableCounters {
     final Counter visitObjectReferencesCount = new Counter(counters, "visitObjectReferences", "");
     final Counter lookupInstalledCodeCount = new Counter(counters, "lookupInstalledCode", "");
     final Counter invalidateInstalledCodeCount = new Counter(counters, "invalidateInstalledCode", "");
+    final Counter frameInfoCacheHitCount = new Counter(counters, "frameInfoCacheHit", "");
 }
 
 @AutomaticFeature
@@ -280,6 +284,7 @@ class CodeInfoFeature implements Feature {
         ImageSingletons.add(CodeInfoEncoder.Counters.class, new CodeInfoEncoder.Counters());
         ImageSingletons.add(ImageCodeInfo.class, new ImageCodeInfo());
         ImageSingletons.add(RuntimeCodeCache.class, new RuntimeCodeCache());
+        ImageSingletons.add(FrameInfoCache.class, new FrameInfoCache());
     }
 
     @Override
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.code;
+
+import org.graalvm.compiler.api.replacements.Fold;
+import org.graalvm.nativeimage.ImageSingletons;
+import org.graalvm.nativeimage.Platform;
+import org.graalvm.nativeimage.Platforms;
+import org.graalvm.nativeimage.c.function.CodePointer;
+
+import com.oracle.svm.core.util.UserError;
+
+/**
+ * A small direct-mapped cache of decoded {@link FrameInfoQueryResult frame information} for code
+ * in the image, so that repeated stack walks (for example when the same exception is thrown over
+ * and over again) do not need to decode the same frames every time.
+ * <p>
+ * Only image code is cached: runtime compiled code can be invalidated and freed, and its
+ * instruction pointers can then be reused by other code. The cached frames are shared between
+ * threads, so callers must not modify them. Entries are immutable and are replaced as a whole, so
+ * no synchronization is necessary.
+ */
+public final class FrameInfoCache {
+
+    private static final class Entry {
+        final long relativeIP;
+        final FrameInfoQueryResult frameInfo;
+
+        Entry(long relativeIP, FrameInfoQueryResult frameInfo) {
+            this.relativeIP = relativeIP;
+            this.frameInfo = frameInfo;
+        }
+    }
+
+    private final Entry[] entries;
+
+    @Platforms(Platform.HOSTED_ONLY.class)
+    FrameInfoCache() {
+        int size = CodeInfoTable.Options.FrameInfoCacheSize.getValue();
+        UserError.guarantee(size >= 0 && Integer.bitCount(size) <= 1, "%s must be 0 or a power of two, but is %d", CodeInfoTable.Options.FrameInfoCacheSize.getName(), size);
+        entries = new Entry[size];
+    }
+
+    @Fold
+    static FrameInfoCache singleton() {
+        return ImageSingletons.lookup(FrameInfoCache.class);
+    }
+
+    /**
+     * Returns the frame information of the given instruction pointer, using the cache if the code
+     * is part of the image.
+     */
+    public static FrameInfoQueryResult lookupFrameInfo(CodeInfo info, CodePointer ip) {
+        Entry[] entries = singleton().entries;
+        if (entries.length == 0 || info.notEqual(CodeInfoTable.getImageCodeInfo())) {
+            return lookupUncached(info, ip);
+        }
+
+        long relativeIP = CodeInfoAccess.relativeIP(info, ip);
+        int index = (int) (relativeIP ^ (relativeIP >>> 16)) & (entries.length - 1);
+        Entry entry = entries[index];
+        if (entry != null && entry.relativeIP == relativeIP) {
+            CodeInfoTable.counters().frameInfoCacheHitCount.inc();
+            return entry.frameInfo;
+        }
+
+        FrameInfoQueryResult frameInfo = lookupUncached(info, ip);
+        entries[index] = new Entry(relativeIP, frameInfo);
+        return frameInfo;
+    }
+
+    private static FrameInfoQueryResult lookupUncached(CodeInfo info, CodePointer ip) {
+        CodeInfoQueryResult queryResult = CodeInfoTable.lookupCodeInfoQueryResult(info, ip);
+        return queryResult == null ? null : queryResult.getFrameInfo();
+    }
+}
@@ -26,9 +26,12 @@ package com.oracle.svm.core.code;
 
 import static com.oracle.svm.core.util.VMError.shouldNotReachHere;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.graalvm.compiler.core.common.LIRKind;
@@ -614,11 +617,30 @@ public class FrameInfoEncoder {
                                         ConfigurationValues.getObjectLayout().getArrayElementOffset(JavaKind.Object, NonmovableArrays.lengthOf(CodeInfoAccess.getFrameInfoObjectConstants(info))));
     }
 
+    /**
+     * Encodes all frame datas into one byte array. The encoding of a frame data does not depend on
+     * its position, so call sites with identical frame information (for example, calls in the same
+     * inlined context without live local values) share a single encoding.
+     */
     private NonmovableArray<Byte> encodeFrameDatas() {
         UnsafeArrayTypeWriter encodingBuffer = UnsafeArrayTypeWriter.create(ByteArrayReader.supportsUnalignedMemoryAccess());
+        Map<ByteBuffer, Long> encodedIndices = new HashMap<>();
         for (FrameData data : allDebugInfos) {
-            data.indexInEncodings = encodingBuffer.getBytesWritten();
-            encodeFrameData(data, encodingBuffer);
+            UnsafeArrayTypeWriter frameDataBuffer = UnsafeArrayTypeWriter.create(ByteArrayReader.supportsUnalignedMemoryAccess());
+            encodeFrameData(data, frameDataBuffer);
+            byte[] encoding = frameDataBuffer.toArray();
+
+            Long sharedIndex = encodedIndices.get(ByteBuffer.wrap(encoding));
+            if (sharedIndex != null) {
+                data.indexInEncodings = sharedIndex;
+                ImageSingletons.lookup(Counters.class).sharedFrameInfoCount.inc();
+            } else {
+                data.indexInEncodings = encodingBuffer.getBytesWritten();
+                encodedIndices.put(ByteBuffer.wrap(encoding), data.indexInEncodings);
+                for (byte b : encoding) {
+                    encodingBuffer.putS1(b);
+                }
+            }
         }
         NonmovableArray<Byte> frameInfoEncodings = NonmovableArrays.createByteArray(TypeConversion.asS4(encodingBuffer.getBytesWritten()));
         encodingBuffer.toByteBuffer(NonmovableArrays.asByteBuffer(frameInfoEncodings));
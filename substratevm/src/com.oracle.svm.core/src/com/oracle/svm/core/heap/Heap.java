@@ -67,6 +67,15 @@ public abstract class Heap {
 
     public abstract void suspendAllocation();
 
+    /**
+     * Returns the number of bytes that the given thread has allocated so far. The result is exact
+     * if called by the thread itself or at a safepoint. Other callers must hold the
+     * {@linkplain com.oracle.svm.core.thread.VMThreads#ownsThreadMutex() threads mutex} and get an
+     * approximation.
+     */
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    public abstract long getThreadAllocatedMemory(IsolateThread isolateThread);
+
     public abstract void resumeAllocation();
 
     @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
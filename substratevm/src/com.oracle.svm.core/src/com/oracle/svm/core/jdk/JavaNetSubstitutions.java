@@ -26,7 +26,6 @@ package com.oracle.svm.core.jdk;
 
 // Checkstyle: allow reflection
 
-import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -197,11 +196,10 @@ public final class JavaNetSubstitutions {
                         connected = true;
                         // remove "resource:" from url to get the resource name
                         String resName = url.toString().substring(1 + JavaNetSubstitutions.RESOURCE_PROTOCOL.length());
-                        final List<byte[]> bytes = Resources.get(resName);
-                        if (bytes == null || bytes.size() < 1) {
+                        in = Resources.createInputStream(resName);
+                        if (in == null) {
                             throw new FileNotFoundException(url.toString());
                         }
-                        in = new ByteArrayInputStream(bytes.get(0));
                     }
 
                     @Override
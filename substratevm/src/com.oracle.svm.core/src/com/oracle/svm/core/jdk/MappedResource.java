@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.jdk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.InflaterInputStream;
+
+import org.graalvm.nativeimage.c.type.CTypeConversion;
+import org.graalvm.word.Pointer;
+
+import com.oracle.svm.core.c.CGlobalData;
+import com.oracle.svm.core.c.CGlobalDataFactory;
+import com.oracle.svm.core.util.VMError;
+
+/**
+ * A resource that is stored in the read-only resources section of the image instead of the image
+ * heap, see {@link Resources.Options#MappedResources}. The section is mapped from the image file
+ * like the code, so the contents of a resource are only paged in when they are read, and they are
+ * never copied unless the resource is {@linkplain #isCompressed() compressed}.
+ */
+public final class MappedResource {
+
+    public static final String SECTION_BEGIN_SYMBOL_NAME = "__svm_resources_begin";
+
+    private static final CGlobalData<Pointer> SECTION_BEGIN = CGlobalDataFactory.forSymbol(SECTION_BEGIN_SYMBOL_NAME);
+
+    private final int offset;
+    private final int storedLength;
+    private final int length;
+
+    MappedResource(int offset, int storedLength, int length) {
+        this.offset = offset;
+        this.storedLength = storedLength;
+        this.length = length;
+    }
+
+    /** The length of the resource, after decompression. */
+    public int getLength() {
+        return length;
+    }
+
+    /** Whether the resource is stored deflated, see {@link Resources.Options#CompressedResources}. */
+    public boolean isCompressed() {
+        return storedLength != length;
+    }
+
+    private ByteBuffer storedBytes() {
+        return CTypeConversion.asByteBuffer(SECTION_BEGIN.get().add(offset), storedLength).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the contents of the resource as a read-only buffer. Uncompressed resources are
+     * returned as a direct buffer backed by the resources section, compressed resources are
+     * inflated into a new buffer on every call.
+     */
+    public ByteBuffer asByteBuffer() {
+        if (isCompressed()) {
+            return ByteBuffer.wrap(toByteArray()).asReadOnlyBuffer();
+        }
+        return storedBytes();
+    }
+
+    /** Returns a stream that reads the resource directly from the resources section. */
+    public InputStream newInputStream() {
+        InputStream in = new ByteBufferInputStream(storedBytes());
+        if (isCompressed()) {
+            return new InflaterInputStream(in);
+        }
+        return in;
+    }
+
+    /** Returns a copy of the contents of the resource. */
+    public byte[] toByteArray() {
+        if (!isCompressed()) {
+            byte[] result = new byte[length];
+            storedBytes().get(result);
+            return result;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        byte[] buffer = new byte[4096];
+        try (InputStream in = newInputStream()) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+        } catch (IOException ex) {
+            throw VMError.shouldNotReachHere(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+        private int mark;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            mark = buffer.position();
+        }
+
+        @Override
+        public synchronized void reset() {
+            buffer.position(mark);
+        }
+    }
+}
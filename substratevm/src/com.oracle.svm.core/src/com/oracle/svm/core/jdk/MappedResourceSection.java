@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.jdk;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+
+import org.graalvm.nativeimage.Platform;
+import org.graalvm.nativeimage.Platforms;
+
+import com.oracle.svm.core.util.UserError;
+
+/**
+ * Collects the contents of the {@link MappedResource mapped resources} during image generation.
+ * The contents are written to their own read-only section of the image.
+ */
+@Platforms(Platform.HOSTED_ONLY.class)
+public final class MappedResourceSection {
+
+    private final List<Pattern> mappedPatterns;
+    private final List<Pattern> compressedPatterns;
+    private final ByteArrayOutputStream contents = new ByteArrayOutputStream();
+    private boolean sealed;
+
+    MappedResourceSection() {
+        mappedPatterns = compilePatterns(Resources.Options.MappedResources.getValue().values());
+        compressedPatterns = compilePatterns(Resources.Options.CompressedResources.getValue().values());
+    }
+
+    private static List<Pattern> compilePatterns(List<String> patterns) {
+        return patterns.stream().map(Pattern::compile).collect(Collectors.toList());
+    }
+
+    private static boolean matches(List<Pattern> patterns, String name) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isMapped(String name) {
+        return matches(mappedPatterns, name);
+    }
+
+    synchronized MappedResource add(String name, byte[] content) {
+        UserError.guarantee(!sealed, "Resource added after the resources section was written: %s", name);
+        byte[] stored = content;
+        if (matches(compressedPatterns, name)) {
+            byte[] compressed = deflate(content);
+            /* Only keep the compressed form if it actually saves space. */
+            if (compressed.length < content.length) {
+                stored = compressed;
+            }
+        }
+        int offset = contents.size();
+        UserError.guarantee((long) offset + stored.length <= Integer.MAX_VALUE, "The resources section is larger than 2GB");
+        contents.write(stored, 0, stored.length);
+        return new MappedResource(offset, stored.length, content.length);
+    }
+
+    private static byte[] deflate(byte[] content) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 16);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /** Returns the contents of the section. No resources can be added afterwards. */
+    public synchronized byte[] seal() {
+        sealed = true;
+        return contents.toByteArray();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2021, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -31,16 +31,25 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.graalvm.collections.EconomicMap;
+import org.graalvm.compiler.api.replacements.Fold;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.compiler.options.OptionType;
 import org.graalvm.nativeimage.ImageSingletons;
 import org.graalvm.nativeimage.Platform;
 import org.graalvm.nativeimage.Platforms;
 import org.graalvm.nativeimage.hosted.Feature;
 
 import com.oracle.svm.core.annotate.AutomaticFeature;
+import com.oracle.svm.core.option.HostedOptionKey;
+import com.oracle.svm.core.option.LocatableMultiOptionValue;
 import com.oracle.svm.core.util.ImageHeapMap;
 import com.oracle.svm.core.util.VMError;
 
@@ -50,15 +59,30 @@ import com.oracle.svm.core.util.VMError;
  *
  * Registered resources are then available from DynamicHub#getResource classes and
  * {@link Target_java_lang_ClassLoader class loaders}.
+ *
+ * Resources are embedded as byte arrays in the image heap, unless their name matches
+ * {@link Options#MappedResources}. Such resources are stored in a separate read-only section of
+ * the image instead, see {@link MappedResource}.
  */
 public final class Resources {
 
+    public static class Options {
+        @Option(help = "Regexp to match names of resources that are stored in a read-only section of the image instead of the image heap. " +
+                        "Their contents are paged in on first access and are read without copying.", type = OptionType.User)//
+        public static final HostedOptionKey<LocatableMultiOptionValue.Strings> MappedResources = new HostedOptionKey<>(new LocatableMultiOptionValue.Strings());
+
+        @Option(help = "Regexp to match names of mapped resources that are stored compressed. Only applies to resources that match MappedResources.", type = OptionType.User)//
+        public static final HostedOptionKey<LocatableMultiOptionValue.Strings> CompressedResources = new HostedOptionKey<>(new LocatableMultiOptionValue.Strings());
+    }
+
     static Resources singleton() {
         return ImageSingletons.lookup(Resources.class);
     }
 
     /** The hosted map used to collect registered resources. */
     private final EconomicMap<String, List<byte[]>> resources = ImageHeapMap.create();
+    /** The hosted map used to collect resources stored in the resources section. */
+    private final EconomicMap<String, List<MappedResource>> mappedResources = ImageHeapMap.create();
 
     Resources() {
     }
@@ -67,6 +91,12 @@ public final class Resources {
         return resources;
     }
 
+    /** Whether the image has a resources section, see {@link Options#MappedResources}. */
+    @Fold
+    public static boolean hasMappedResources() {
+        return !Options.MappedResources.getValue().values().isEmpty();
+    }
+
     @Platforms(Platform.HOSTED_ONLY.class)
     public static void registerResource(String name, InputStream is) {
 
@@ -93,6 +123,16 @@ public final class Resources {
         System.arraycopy(arr, 0, res, 0, pos);
 
         Resources support = singleton();
+        MappedResourceSection section = ImageSingletons.lookup(MappedResourceSection.class);
+        if (section.isMapped(name)) {
+            List<MappedResource> mappedList = support.mappedResources.get(name);
+            if (mappedList == null) {
+                mappedList = new ArrayList<>();
+                support.mappedResources.put(name, mappedList);
+            }
+            mappedList.add(section.add(name, res));
+            return;
+        }
         List<byte[]> list = support.resources.get(name);
         if (list == null) {
             list = new ArrayList<>();
@@ -119,11 +159,112 @@ public final class Resources {
         list.add(arr);
     }
 
+    /**
+     * Returns the contents of all resources with the given name, or {@code null} if there is no
+     * such resource. Mapped resources are copied, so {@link #createInputStream} or
+     * {@link #getAsByteBuffer} should be preferred.
+     */
     public static List<byte[]> get(String name) {
-        return singleton().resources.get(name);
+        List<byte[]> list = singleton().resources.get(name);
+        if (list == null && hasMappedResources()) {
+            List<MappedResource> mappedList = singleton().mappedResources.get(name);
+            if (mappedList != null) {
+                list = new ArrayList<>(mappedList.size());
+                for (MappedResource resource : mappedList) {
+                    list.add(resource.toByteArray());
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns a stream for the first resource with the given name, or {@code null} if there is no
+     * such resource.
+     */
+    public static InputStream createInputStream(String name) {
+        List<byte[]> list = singleton().resources.get(name);
+        if (list != null) {
+            return new ByteArrayInputStream(list.get(0));
+        }
+        if (hasMappedResources()) {
+            List<MappedResource> mappedList = singleton().mappedResources.get(name);
+            if (mappedList != null) {
+                return mappedList.get(0).newInputStream();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a read-only buffer with the contents of the first resource with the given name, or
+     * {@code null} if there is no such resource. For uncompressed mapped resources, this is a direct
+     * buffer that reads the resources section of the image without copying.
+     */
+    public static ByteBuffer getAsByteBuffer(String name) {
+        List<byte[]> list = singleton().resources.get(name);
+        if (list != null) {
+            return ByteBuffer.wrap(list.get(0)).asReadOnlyBuffer();
+        }
+        if (hasMappedResources()) {
+            List<MappedResource> mappedList = singleton().mappedResources.get(name);
+            if (mappedList != null) {
+                return mappedList.get(0).asByteBuffer();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a URL for the first resource with the given name, or {@code null} if there is no such
+     * resource.
+     */
+    public static URL createURL(String name) {
+        List<byte[]> list = singleton().resources.get(name);
+        if (list != null) {
+            return createURL(name, list.get(0));
+        }
+        if (hasMappedResources()) {
+            List<MappedResource> mappedList = singleton().mappedResources.get(name);
+            if (mappedList != null) {
+                return createURL(name, mappedList.get(0));
+            }
+        }
+        return null;
+    }
+
+    /** Returns URLs for all resources with the given name. */
+    public static Enumeration<URL> createURLs(String name) {
+        List<byte[]> list = singleton().resources.get(name);
+        if (list != null) {
+            List<URL> urls = new ArrayList<>(list.size());
+            for (byte[] data : list) {
+                urls.add(createURL(name, data));
+            }
+            return Collections.enumeration(urls);
+        }
+        if (hasMappedResources()) {
+            List<MappedResource> mappedList = singleton().mappedResources.get(name);
+            if (mappedList != null) {
+                List<URL> urls = new ArrayList<>(mappedList.size());
+                for (MappedResource resource : mappedList) {
+                    urls.add(createURL(name, resource));
+                }
+                return Collections.enumeration(urls);
+            }
+        }
+        return Collections.emptyEnumeration();
     }
 
     public static URL createURL(String name, byte[] resourceBytes) {
+        return createURL(name, () -> new ByteArrayInputStream(resourceBytes), resourceBytes.length);
+    }
+
+    private static URL createURL(String name, MappedResource resource) {
+        return createURL(name, resource::newInputStream, resource.getLength());
+    }
+
+    private static URL createURL(String name, Supplier<InputStream> contents, long length) {
         class Conn extends URLConnection {
             Conn(URL url) {
                 super(url);
@@ -135,12 +276,12 @@ public final class Resources {
 
             @Override
             public InputStream getInputStream() throws IOException {
-                return new ByteArrayInputStream(resourceBytes);
+                return contents.get();
             }
 
             @Override
             public long getContentLengthLong() {
-                return resourceBytes.length;
+                return length;
             }
         }
 
@@ -162,6 +303,7 @@ final class ResourcesFeature implements Feature {
     @Override
     public void afterRegistration(AfterRegistrationAccess access) {
         ImageSingletons.add(Resources.class, new Resources());
+        ImageSingletons.add(MappedResourceSection.class, new MappedResourceSection());
     }
 
     @Override
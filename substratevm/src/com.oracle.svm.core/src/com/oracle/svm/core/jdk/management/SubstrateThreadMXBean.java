@@ -27,14 +27,18 @@ package com.oracle.svm.core.jdk.management;
 //Checkstyle: stop
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import javax.management.ObjectName;
 
+import org.graalvm.nativeimage.CurrentIsolate;
 import org.graalvm.nativeimage.Platform;
 import org.graalvm.nativeimage.Platforms;
 
+import com.oracle.svm.core.heap.Heap;
+import com.oracle.svm.core.thread.JavaThreads;
 import com.oracle.svm.core.util.VMError;
 
 import sun.management.Util;
@@ -53,6 +57,8 @@ final class SubstrateThreadMXBean implements com.sun.management.ThreadMXBean {
     private final AtomicInteger threadCount = new AtomicInteger(1);
     private final AtomicInteger daemonThreadCount = new AtomicInteger(0);
 
+    private volatile boolean allocatedMemoryEnabled = true;
+
     @Platforms(Platform.HOSTED_ONLY.class)
     SubstrateThreadMXBean() {
     }
@@ -80,12 +86,12 @@ final class SubstrateThreadMXBean implements com.sun.management.ThreadMXBean {
 
     @Override
     public boolean isThreadAllocatedMemoryEnabled() {
-        return false;
+        return allocatedMemoryEnabled;
     }
 
     @Override
     public boolean isThreadAllocatedMemorySupported() {
-        return false;
+        return true;
     }
 
     @Override
@@ -225,13 +231,31 @@ final class SubstrateThreadMXBean implements com.sun.management.ThreadMXBean {
     }
 
     @Override
-    public long getThreadAllocatedBytes(long arg0) {
-        throw VMError.unsupportedFeature(MSG);
-    }
-
-    @Override
-    public long[] getThreadAllocatedBytes(long[] arg0) {
-        throw VMError.unsupportedFeature(MSG);
+    public long getThreadAllocatedBytes(long id) {
+        if (!allocatedMemoryEnabled) {
+            return -1;
+        }
+        if (id == Thread.currentThread().getId()) {
+            return Heap.getHeap().getThreadAllocatedMemory(CurrentIsolate.getCurrentThread());
+        }
+        return getThreadAllocatedBytes(new long[]{id})[0];
+    }
+
+    @Override
+    public long[] getThreadAllocatedBytes(long[] ids) {
+        long[] result = new long[ids.length];
+        Arrays.fill(result, -1);
+        if (allocatedMemoryEnabled) {
+            JavaThreads.getThreadAllocatedMemory(ids, result);
+            /* Only the current thread reads its own value exactly. */
+            long currentId = Thread.currentThread().getId();
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == currentId) {
+                    result[i] = Heap.getHeap().getThreadAllocatedMemory(CurrentIsolate.getCurrentThread());
+                }
+            }
+        }
+        return result;
     }
 
     @Override
@@ -245,7 +269,7 @@ final class SubstrateThreadMXBean implements com.sun.management.ThreadMXBean {
     }
 
     @Override
-    public void setThreadAllocatedMemoryEnabled(boolean arg0) {
-        throw VMError.unsupportedFeature(MSG);
+    public void setThreadAllocatedMemoryEnabled(boolean enable) {
+        allocatedMemoryEnabled = enable;
     }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.jfr;
+
+import org.graalvm.compiler.api.replacements.Fold;
+import org.graalvm.nativeimage.ImageSingletons;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.c.struct.SizeOf;
+import org.graalvm.nativeimage.impl.UnmanagedMemorySupport;
+import org.graalvm.word.Pointer;
+import org.graalvm.word.UnsignedWord;
+import org.graalvm.word.WordFactory;
+
+import com.oracle.svm.core.annotate.Uninterruptible;
+import com.oracle.svm.core.jdk.UninterruptibleUtils;
+import com.oracle.svm.core.threadlocal.FastThreadLocalFactory;
+import com.oracle.svm.core.threadlocal.FastThreadLocalWord;
+
+/**
+ * Manages the thread-local {@link JfrBuffer buffers} that events are written to. Every thread
+ * writes to its own buffer without any synchronization. When the buffer of a thread is full, or
+ * when the thread exits, the buffer is retired to a global lock-free list, from which the
+ * {@link JfrRecorder} takes the buffers to write them to the chunk. The buffers of the threads that
+ * are still running are retired at a safepoint when the recording stops.
+ * <p>
+ * All events are written with uninterruptible code, so a buffer never contains an incomplete event
+ * at a safepoint.
+ */
+public final class JfrBuffers {
+
+    private static final FastThreadLocalWord<JfrBuffer> bufferTL = FastThreadLocalFactory.createWord();
+    private static final UninterruptibleUtils.AtomicPointer<JfrBuffer> fullBuffers = new UninterruptibleUtils.AtomicPointer<>();
+
+    private JfrBuffers() {
+    }
+
+    @Fold
+    static UnsignedWord getBufferSize() {
+        return WordFactory.unsigned(JfrRecorder.Options.FlightRecorderThreadBufferSize.getValue());
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    static Pointer getData(JfrBuffer buffer) {
+        return ((Pointer) buffer).add(SizeOf.unsigned(JfrBuffer.class));
+    }
+
+    @Uninterruptible(reason = "Accesses the thread-local buffer.", callerMustBe = true)
+    static JfrBuffer getCurrent() {
+        return bufferTL.get();
+    }
+
+    /**
+     * Returns the buffer of the current thread, which has at least the given number of bytes
+     * available, or null if no buffer could be allocated.
+     */
+    @Uninterruptible(reason = "Accesses the thread-local buffer.")
+    static JfrBuffer reserve(int bytes) {
+        JfrBuffer buffer = bufferTL.get();
+        if (buffer.isNonNull() && buffer.getSize().subtract(buffer.getPos()).aboveOrEqual(bytes)) {
+            return buffer;
+        }
+        if (buffer.isNonNull()) {
+            retire(buffer);
+        }
+        buffer = ImageSingletons.lookup(UnmanagedMemorySupport.class).malloc(SizeOf.unsigned(JfrBuffer.class).add(getBufferSize()));
+        if (buffer.isNonNull()) {
+            buffer.setSize(getBufferSize());
+            buffer.setPos(WordFactory.zero());
+            buffer.setNext(WordFactory.nullPointer());
+        }
+        bufferTL.set(buffer);
+        return buffer;
+    }
+
+    /**
+     * Retires the buffer of the given thread, which must either be the current thread or be
+     * stopped at a safepoint, or be about to exit.
+     */
+    @Uninterruptible(reason = "Accesses the thread-local buffer.")
+    public static void retire(IsolateThread thread) {
+        JfrBuffer buffer = bufferTL.get(thread);
+        if (buffer.isNonNull()) {
+            bufferTL.set(thread, WordFactory.nullPointer());
+            retire(buffer);
+        }
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.")
+    private static void retire(JfrBuffer buffer) {
+        if (buffer.getPos().equal(0)) {
+            free(buffer);
+            return;
+        }
+        JfrBuffer head;
+        do {
+            head = fullBuffers.get();
+            buffer.setNext(head);
+        } while (!fullBuffers.compareAndSet(head, buffer));
+    }
+
+    /** Removes all retired buffers from the list, and returns them in the order they were retired. */
+    @Uninterruptible(reason = "Called from uninterruptible code.")
+    static JfrBuffer takeRetired() {
+        JfrBuffer head;
+        do {
+            head = fullBuffers.get();
+        } while (!fullBuffers.compareAndSet(head, WordFactory.nullPointer()));
+
+        JfrBuffer reversed = WordFactory.nullPointer();
+        while (head.isNonNull()) {
+            JfrBuffer next = head.getNext();
+            head.setNext(reversed);
+            reversed = head;
+            head = next;
+        }
+        return reversed;
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    static void free(JfrBuffer buffer) {
+        ImageSingletons.lookup(UnmanagedMemorySupport.class).free(buffer);
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.jfr;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes a single chunk of the JFR file format, which can be read by the JFR tools of the JDK.
+ * <p>
+ * A chunk consists of a header, the events, a checkpoint event with the constant pools and a
+ * metadata event that describes the layout of all events and constant pool types. All integers
+ * except the ones in the header use the variable length encoding of LEB128. The events are
+ * written as they are {@linkplain #write(ByteBuffer) received}. The keys of the constants they
+ * refer to are collected on the way, so that only the referenced constants need to be
+ * {@linkplain JfrConstantResolver resolved} when the chunk is {@linkplain #finish finished}.
+ */
+final class JfrChunkWriter {
+
+    /** Resolves the key of a constant to the string that describes it. */
+    interface JfrConstantResolver {
+        String resolve(JfrType type, long key);
+    }
+
+    static final int HEADER_SIZE = 68;
+
+    private static final short MAJOR_VERSION = 2;
+    private static final short MINOR_VERSION = 0;
+    private static final long TICKS_PER_SECOND = 1_000_000_000L;
+    private static final int FLAG_COMPRESSED_INTS = 1;
+    private static final int FLAG_FINAL_CHUNK = 2;
+
+    /* The encodings of a string value. */
+    private static final byte STRING_NULL = 0;
+    private static final byte STRING_EMPTY = 1;
+    private static final byte STRING_CONSTANT_POOL = 2;
+    private static final byte STRING_UTF8 = 3;
+
+    private final FileChannel channel;
+    private final long startNanos;
+    private final long startTicks;
+    private final Map<JfrType, Set<Long>> constants = new EnumMap<>(JfrType.class);
+
+    /**
+     * Starts a chunk at the current position of the channel, which must be at the start of the
+     * file.
+     *
+     * @param startNanos the wall clock time at the start of the chunk, in nanoseconds since the
+     *            epoch
+     * @param startTicks the ticks at the start of the chunk, i.e., the value of
+     *            {@link System#nanoTime()}
+     */
+    JfrChunkWriter(FileChannel channel, long startNanos, long startTicks) throws IOException {
+        this.channel = channel;
+        this.startNanos = startNanos;
+        this.startTicks = startTicks;
+        /* The header is written when the chunk is finished, reserve the space for it. */
+        writeFully(ByteBuffer.allocate(HEADER_SIZE));
+    }
+
+    /** Appends complete events to the chunk. */
+    void write(ByteBuffer events) throws IOException {
+        collectConstants(events.duplicate());
+        writeFully(events);
+    }
+
+    /** Writes the constant pools, the metadata and the header. No events can be written anymore. */
+    void finish(long endNanos, long endTicks, JfrConstantResolver resolver) throws IOException {
+        long checkpointPosition = channel.position();
+        writeFully(checkpointEvent(endTicks, resolver));
+        long metadataPosition = channel.position();
+        writeFully(metadataEvent(endTicks));
+        long chunkSize = channel.position();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put((byte) 'F').put((byte) 'L').put((byte) 'R').put((byte) 0);
+        header.putShort(MAJOR_VERSION).putShort(MINOR_VERSION);
+        header.putLong(chunkSize);
+        header.putLong(checkpointPosition);
+        header.putLong(metadataPosition);
+        header.putLong(startNanos);
+        header.putLong(endNanos - startNanos);
+        header.putLong(startTicks);
+        header.putLong(TICKS_PER_SECOND);
+        header.putInt(FLAG_COMPRESSED_INTS | FLAG_FINAL_CHUNK);
+        header.flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void collectConstants(ByteBuffer events) {
+        while (events.hasRemaining()) {
+            int start = events.position();
+            long size = readLong(events);
+            JfrEvent event = JfrEvent.fromId(readLong(events));
+            if (event != null) {
+                readLong(events); // startTime
+                if (event.hasDuration()) {
+                    readLong(events);
+                }
+                addConstant(JfrType.THREAD, readLong(events));
+                for (JfrField field : event.getFields()) {
+                    collectConstant(events, field.type);
+                }
+                assert events.position() == start + size : "Event does not match its declaration: " + event.getName();
+            }
+            events.position((int) (start + size));
+        }
+    }
+
+    private void collectConstant(ByteBuffer events, JfrType type) {
+        switch (type.getKind()) {
+            case CONSTANT_POOL:
+                addConstant(type, readLong(events));
+                break;
+            case STRING:
+                byte encoding = events.get();
+                if (encoding == STRING_CONSTANT_POOL) {
+                    addConstant(type, readLong(events));
+                } else if (encoding == STRING_UTF8) {
+                    int length = (int) readLong(events);
+                    events.position(events.position() + length);
+                } else {
+                    assert encoding == STRING_NULL || encoding == STRING_EMPTY;
+                }
+                break;
+            default:
+                if (type == JfrType.BOOLEAN) {
+                    events.get();
+                } else {
+                    readLong(events);
+                }
+        }
+    }
+
+    private void addConstant(JfrType type, long key) {
+        if (key == 0) {
+            /* Key 0 stands for null and must not have a pool entry. */
+            return;
+        }
+        constants.computeIfAbsent(type, t -> new TreeSet<>()).add(key);
+    }
+
+    /** Returns true if an event that was written so far refers to the given constant. */
+    boolean hasConstant(JfrType type, long key) {
+        Set<Long> keys = constants.get(type);
+        return keys != null && keys.contains(key);
+    }
+
+    private static long readLong(ByteBuffer buffer) {
+        long result = 0;
+        for (int i = 0; i < 8; i++) {
+            long b = buffer.get() & 0xFF;
+            result |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        /* The ninth byte has all 8 bits of payload. */
+        return result | ((buffer.get() & 0xFFL) << 56);
+    }
+
+    private ByteBuffer checkpointEvent(long endTicks, JfrConstantResolver resolver) {
+        JfrOutput out = new JfrOutput();
+        out.writeLong(JfrEvent.CHECKPOINT_TYPE_ID);
+        out.writeLong(endTicks);
+        out.writeLong(0); // duration
+        out.writeLong(0); // delta to the previous checkpoint, this is the only one
+        out.write(0); // not a flush checkpoint
+        out.writeLong(constants.size());
+        for (Map.Entry<JfrType, Set<Long>> entry : constants.entrySet()) {
+            JfrType type = entry.getKey();
+            out.writeLong(type.getId());
+            out.writeLong(entry.getValue().size());
+            for (long key : entry.getValue()) {
+                out.writeLong(key);
+                String value = resolver.resolve(type, key);
+                if (type == JfrType.STRING) {
+                    out.writeString(value);
+                    continue;
+                }
+                for (JfrField field : type.getFields()) {
+                    if (field.type == JfrType.STRING) {
+                        out.writeString(value);
+                    } else {
+                        assert field.type == JfrType.LONG;
+                        out.writeLong(key);
+                    }
+                }
+            }
+        }
+        return out.toEvent();
+    }
+
+    private static ByteBuffer metadataEvent(long endTicks) {
+        Element metadata = new Element("metadata");
+        for (JfrType type : JfrType.values()) {
+            Element element = metadata.child("class").attribute("id", type.getId()).attribute("name", type.getName());
+            if (type.isAnnotation()) {
+                element.attribute("superType", "java.lang.annotation.Annotation");
+            }
+            for (JfrField field : type.getFields()) {
+                declareField(element, field);
+            }
+        }
+        for (JfrEvent event : JfrEvent.values()) {
+            Element element = metadata.child("class").attribute("id", event.getId()).attribute("name", event.getName()).attribute("superType", "jdk.jfr.Event");
+            element.child("annotation").attribute("class", JfrType.LABEL.getId()).attribute("value", event.getLabel());
+            declareField(element, new JfrField("startTime", JfrType.LONG, JfrType.TIMESTAMP, "TICKS"));
+            if (event.hasDuration()) {
+                declareField(element, new JfrField("duration", JfrType.LONG, JfrType.TIMESPAN, "TICKS"));
+            }
+            declareField(element, new JfrField("eventThread", JfrType.THREAD));
+            for (JfrField field : event.getFields()) {
+                declareField(element, field);
+            }
+        }
+        Element root = new Element("root");
+        root.children.add(metadata);
+        root.child("region").attribute("locale", "en_US").attribute("gmtOffset", "0");
+
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        root.collectStrings(strings);
+        JfrOutput out = new JfrOutput();
+        out.writeLong(JfrEvent.METADATA_TYPE_ID);
+        out.writeLong(endTicks);
+        out.writeLong(0); // duration
+        out.writeLong(0); // metadata id
+        out.writeLong(strings.size());
+        for (String s : strings.keySet()) {
+            out.writeString(s);
+        }
+        root.write(out, strings);
+        return out.toEvent();
+    }
+
+    private static void declareField(Element element, JfrField field) {
+        Element fieldElement = element.child("field").attribute("name", field.name).attribute("class", field.type.getId());
+        if (field.type.isConstantPool()) {
+            fieldElement.attribute("constantPool", "true");
+        }
+        if (field.annotation != null) {
+            fieldElement.child("annotation").attribute("class", field.annotation.getId()).attribute("value", field.annotationValue);
+        }
+    }
+
+    /** An element of the metadata tree, with attributes and child elements. */
+    private static final class Element {
+        final String name;
+        final List<String[]> attributes = new ArrayList<>();
+        final List<Element> children = new ArrayList<>();
+
+        Element(String name) {
+            this.name = name;
+        }
+
+        Element attribute(String key, Object value) {
+            attributes.add(new String[]{key, String.valueOf(value)});
+            return this;
+        }
+
+        Element child(String childName) {
+            Element child = new Element(childName);
+            children.add(child);
+            return child;
+        }
+
+        void collectStrings(Map<String, Integer> strings) {
+            strings.putIfAbsent(name, strings.size());
+            for (String[] attribute : attributes) {
+                strings.putIfAbsent(attribute[0], strings.size());
+                strings.putIfAbsent(attribute[1], strings.size());
+            }
+            for (Element child : children) {
+                child.collectStrings(strings);
+            }
+        }
+
+        void write(JfrOutput out, Map<String, Integer> strings) {
+            out.writeLong(strings.get(name));
+            out.writeLong(attributes.size());
+            for (String[] attribute : attributes) {
+                out.writeLong(strings.get(attribute[0]));
+                out.writeLong(strings.get(attribute[1]));
+            }
+            out.writeLong(children.size());
+            for (Element child : children) {
+                child.write(out, strings);
+            }
+        }
+    }
+
+    /** Builds an event in memory, using the same encoding as {@link JfrNativeEventWriter}. */
+    private static final class JfrOutput extends ByteArrayOutputStream {
+
+        void writeLong(long value) {
+            long v = value;
+            for (int i = 0; i < 8; i++) {
+                if ((v & ~0x7FL) == 0) {
+                    write((int) v);
+                    return;
+                }
+                write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                write(STRING_NULL);
+            } else if (value.isEmpty()) {
+                write(STRING_EMPTY);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                write(STRING_UTF8);
+                writeLong(bytes.length);
+                write(bytes, 0, bytes.length);
+            }
+        }
+
+        /** Returns the contents prefixed with their size, which includes the size itself. */
+        ByteBuffer toEvent() {
+            int size = JfrNativeEventWriter.SIZE_BYTES + count;
+            ByteBuffer event = ByteBuffer.allocate(size);
+            for (int i = 0; i < JfrNativeEventWriter.SIZE_BYTES - 1; i++) {
+                event.put((byte) (((size >>> (7 * i)) & 0x7F) | 0x80));
+            }
+            event.put((byte) (size >>> (7 * (JfrNativeEventWriter.SIZE_BYTES - 1))));
+            event.put(buf, 0, count);
+            event.flip();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.jfr;
+
+import com.oracle.svm.core.annotate.Uninterruptible;
+
+/**
+ * The events that can be recorded. The names and fields follow the events of the same name in the
+ * JDK, but only a subset of the fields is written and no stack traces are recorded.
+ * <p>
+ * Every event starts with the implicit fields {@code startTime}, {@code duration} (unless the event
+ * is instant) and {@code eventThread}, followed by the fields listed here, in this order.
+ */
+public enum JfrEvent {
+    GARBAGE_COLLECTION("jdk.GarbageCollection", "Garbage Collection", true,
+                    new JfrField("gcId", JfrType.INT),
+                    new JfrField("name", JfrType.STRING),
+                    new JfrField("cause", JfrType.GC_CAUSE),
+                    new JfrField("sumOfPauses", JfrType.LONG, JfrType.TIMESPAN, "TICKS"),
+                    new JfrField("longestPause", JfrType.LONG, JfrType.TIMESPAN, "TICKS")),
+    GC_HEAP_SUMMARY("jdk.GCHeapSummary", "Heap Summary", false,
+                    new JfrField("gcId", JfrType.INT),
+                    new JfrField("when", JfrType.STRING),
+                    new JfrField("heapUsed", JfrType.LONG, JfrType.DATA_AMOUNT, "BYTES")),
+    EXECUTE_VM_OPERATION("jdk.ExecuteVMOperation", "VM Operation", true,
+                    new JfrField("operation", JfrType.STRING),
+                    new JfrField("safepoint", JfrType.BOOLEAN),
+                    new JfrField("blocking", JfrType.BOOLEAN),
+                    new JfrField("caller", JfrType.THREAD)),
+    JAVA_MONITOR_ENTER("jdk.JavaMonitorEnter", "Java Monitor Blocked", true,
+                    new JfrField("monitorClass", JfrType.CLASS),
+                    new JfrField("address", JfrType.LONG)),
+    THREAD_PARK("jdk.ThreadPark", "Java Thread Park", true,
+                    new JfrField("parkedClass", JfrType.CLASS),
+                    new JfrField("timeout", JfrType.LONG, JfrType.TIMESPAN, "NANOSECONDS"),
+                    new JfrField("until", JfrType.LONG, JfrType.TIMESTAMP, "MILLISECONDS_SINCE_EPOCH"),
+                    new JfrField("address", JfrType.LONG)),
+    OBJECT_ALLOCATION_SAMPLE("jdk.ObjectAllocationSample", "Object Allocation Sample", false,
+                    new JfrField("objectClass", JfrType.CLASS),
+                    new JfrField("weight", JfrType.LONG, JfrType.DATA_AMOUNT, "BYTES"));
+
+    /** Type id of the metadata event, which describes all types of a chunk. */
+    static final long METADATA_TYPE_ID = 0;
+    /** Type id of the checkpoint event, which holds the constant pools of a chunk. */
+    static final long CHECKPOINT_TYPE_ID = 1;
+    private static final int FIRST_EVENT_ID = 2;
+
+    private final long id;
+    private final String name;
+    private final String label;
+    private final boolean hasDuration;
+    private final JfrField[] fields;
+
+    JfrEvent(String name, String label, boolean hasDuration, JfrField... fields) {
+        this.id = FIRST_EVENT_ID + ordinal();
+        this.name = name;
+        this.label = label;
+        this.hasDuration = hasDuration;
+        this.fields = fields;
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    boolean hasDuration() {
+        return hasDuration;
+    }
+
+    JfrField[] getFields() {
+        return fields;
+    }
+
+    static JfrEvent fromId(long id) {
+        long index = id - FIRST_EVENT_ID;
+        JfrEvent[] values = values();
+        return index >= 0 && index < values.length ? values[(int) index] : null;
+    }
+}
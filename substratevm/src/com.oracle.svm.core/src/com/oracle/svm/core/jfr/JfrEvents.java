@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.jfr;
+
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.word.Pointer;
+import org.graalvm.word.UnsignedWord;
+
+import com.oracle.svm.core.annotate.Uninterruptible;
+import com.oracle.svm.core.heap.GCCause;
+import com.oracle.svm.core.hub.DynamicHub;
+import com.oracle.svm.core.thread.JavaThreads;
+import com.oracle.svm.core.threadlocal.FastThreadLocalFactory;
+import com.oracle.svm.core.threadlocal.FastThreadLocalLong;
+
+/**
+ * Emits the JFR events of the VM. All methods do nothing if no recording is in progress, and are
+ * folded away if the image does not {@linkplain JfrRecorder#isSupported() support} JFR.
+ * <p>
+ * Events with a duration are emitted at their end, with the ticks that {@link #startTicks()}
+ * returned at their start. If the recording started in between, the start ticks are 0 and the
+ * event is dropped.
+ */
+public final class JfrEvents {
+
+    private static final FastThreadLocalLong lastAllocationSampleBytesTL = FastThreadLocalFactory.createLong();
+
+    private JfrEvents() {
+    }
+
+    /** Returns the current ticks if a recording is in progress, and 0 otherwise. */
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    public static long startTicks() {
+        return JfrRecorder.isRecording() ? System.nanoTime() : 0;
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    private static boolean shouldEmit(long startTicks) {
+        return startTicks != 0 && JfrRecorder.isRecording();
+    }
+
+    @Uninterruptible(reason = "Accesses the thread-local buffer.")
+    public static void emitGarbageCollection(int gcId, String name, GCCause cause, long startTicks) {
+        if (!shouldEmit(startTicks)) {
+            return;
+        }
+        long endTicks = System.nanoTime();
+        Pointer pos = JfrNativeEventWriter.beginEvent(JfrEvent.GARBAGE_COLLECTION, startTicks, endTicks);
+        if (pos.isNonNull()) {
+            pos = JfrNativeEventWriter.putLong(pos, gcId);
+            pos = JfrNativeEventWriter.putString(pos, name);
+            pos = JfrNativeEventWriter.putLong(pos, cause.getId());
+            /* The whole collection is a single pause. */
+            pos = JfrNativeEventWriter.putLong(pos, endTicks - startTicks);
+            pos = JfrNativeEventWriter.putLong(pos, endTicks - startTicks);
+            JfrNativeEventWriter.endEvent(pos);
+        }
+    }
+
+    /**
+     * @param when "Before GC" or "After GC", like the values of the JDK
+     */
+    @Uninterruptible(reason = "Accesses the thread-local buffer.")
+    public static void emitGCHeapSummary(int gcId, String when, long ticks, UnsignedWord heapUsed) {
+        if (!shouldEmit(ticks)) {
+            return;
+        }
+        Pointer pos = JfrNativeEventWriter.beginEvent(JfrEvent.GC_HEAP_SUMMARY, ticks, ticks);
+        if (pos.isNonNull()) {
+            pos = JfrNativeEventWriter.putLong(pos, gcId);
+            pos = JfrNativeEventWriter.putString(pos, when);
+            pos = JfrNativeEventWriter.putLong(pos, heapUsed.rawValue());
+            JfrNativeEventWriter.endEvent(pos);
+        }
+    }
+
+    /**
+     * @param caller the thread that queued the operation, or null if the operation was not queued
+     *            by a thread that waits for it
+     */
+    @Uninterruptible(reason = "Accesses the thread-local buffer.")
+    public static void emitExecuteVMOperation(String operation, boolean safepoint, IsolateThread caller, long startTicks) {
+        if (!shouldEmit(startTicks)) {
+            return;
+        }
+        Pointer pos = JfrNativeEventWriter.beginEvent(JfrEvent.EXECUTE_VM_OPERATION, startTicks, System.nanoTime());
+        if (pos.isNonNull()) {
+            pos = JfrNativeEventWriter.putString(pos, operation);
+            pos = JfrNativeEventWriter.putBoolean(pos, safepoint);
+            pos = JfrNativeEventWriter.putBoolean(pos, caller.isNonNull());
+            pos = JfrNativeEventWriter.putLong(pos, caller.isNull() ? 0 : JavaThreads.getThreadId(caller));
+            JfrNativeEventWriter.endEvent(pos);
+        }
+    }
+
+    /** Emits an event for a monitor that was contended when the current thread entered it. */
+    public static void emitJavaMonitorEnter(Object monitor, long startTicks) {
+        if (shouldEmit(startTicks)) {
+            /* Objects move, so the identity hash code identifies the monitor instead of its address. */
+            writeJavaMonitorEnter(DynamicHub.fromClass(monitor.getClass()), System.identityHashCode(monitor), startTicks);
+        }
+    }
+
+    @Uninterruptible(reason = "Accesses the thread-local buffer.")
+    private static void writeJavaMonitorEnter(DynamicHub monitorHub, long address, long startTicks) {
+        Pointer pos = JfrNativeEventWriter.beginEvent(JfrEvent.JAVA_MONITOR_ENTER, startTicks, System.nanoTime());
+        if (pos.isNonNull()) {
+            pos = JfrNativeEventWriter.putClass(pos, monitorHub);
+            pos = JfrNativeEventWriter.putLong(pos, address);
+            JfrNativeEventWriter.endEvent(pos);
+        }
+    }
+
+    /**
+     * Emits an event for a call of {@code Unsafe.park}.
+     *
+     * @param timeout the relative timeout in nanoseconds, or {@link Long#MIN_VALUE} if there is
+     *            none
+     * @param until the absolute deadline in milliseconds since the epoch, or {@link Long#MIN_VALUE}
+     *            if there is none
+     */
+    public static void emitThreadPark(Object blocker, long timeout, long until, long startTicks) {
+        if (shouldEmit(startTicks)) {
+            DynamicHub blockerHub = blocker == null ? null : DynamicHub.fromClass(blocker.getClass());
+            writeThreadPark(blockerHub, blocker == null ? 0 : System.identityHashCode(blocker), timeout, until, startTicks);
+        }
+    }
+
+    @Uninterruptible(reason = "Accesses the thread-local buffer.")
+    private static void writeThreadPark(DynamicHub blockerHub, long address, long timeout, long until, long startTicks) {
+        Pointer pos = JfrNativeEventWriter.beginEvent(JfrEvent.THREAD_PARK, startTicks, System.nanoTime());
+        if (pos.isNonNull()) {
+            pos = JfrNativeEventWriter.putClass(pos, blockerHub);
+            pos = JfrNativeEventWriter.putLong(pos, timeout);
+            pos = JfrNativeEventWriter.putLong(pos, until);
+            pos = JfrNativeEventWriter.putLong(pos, address);
+            JfrNativeEventWriter.endEvent(pos);
+        }
+    }
+
+    /**
+     * Samples an allocation of the current thread. An event is only emitted if the thread
+     * allocated at least {@link JfrRecorder.Options#FlightRecorderAllocationSampleBytes} since the
+     * last sample, and the event is weighted with the number of bytes since the last sample.
+     *
+     * @param allocatedBytes the number of bytes that the current thread allocated so far
+     */
+    @Uninterruptible(reason = "Accesses the thread-local buffer.")
+    public static void sampleObjectAllocation(DynamicHub hub, UnsignedWord allocatedBytes) {
+        if (!JfrRecorder.isRecording()) {
+            return;
+        }
+        long weight = allocatedBytes.rawValue() - lastAllocationSampleBytesTL.get();
+        if (weight < JfrRecorder.getAllocationSampleBytes()) {
+            return;
+        }
+        lastAllocationSampleBytesTL.set(allocatedBytes.rawValue());
+        long ticks = System.nanoTime();
+        Pointer pos = JfrNativeEventWriter.beginEvent(JfrEvent.OBJECT_ALLOCATION_SAMPLE, ticks, ticks);
+        if (pos.isNonNull()) {
+            pos = JfrNativeEventWriter.putClass(pos, hub);
+            pos = JfrNativeEventWriter.putLong(pos, weight);
+            JfrNativeEventWriter.endEvent(pos);
+        }
+    }
+}
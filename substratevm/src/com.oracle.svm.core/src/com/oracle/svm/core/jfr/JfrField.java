@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.jfr;
+
+/**
+ * A field of a {@link JfrEvent} or of a {@link JfrType constant pool type}, optionally with one
+ * annotation that tells JFR tools how to interpret the value, e.g., as a time stamp in ticks.
+ */
+final class JfrField {
+    final String name;
+    final JfrType type;
+    final JfrType annotation;
+    final String annotationValue;
+
+    JfrField(String name, JfrType type) {
+        this(name, type, null, null);
+    }
+
+    JfrField(String name, JfrType type, JfrType annotation, String annotationValue) {
+        assert annotation == null || annotation.isAnnotation();
+        this.name = name;
+        this.type = type;
+        this.annotation = annotation;
+        this.annotationValue = annotationValue;
+    }
+}
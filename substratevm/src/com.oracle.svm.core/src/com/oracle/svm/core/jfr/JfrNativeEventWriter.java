@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.jfr;
+
+import org.graalvm.compiler.word.Word;
+import org.graalvm.word.Pointer;
+import org.graalvm.word.WordFactory;
+
+import com.oracle.svm.core.annotate.Uninterruptible;
+import com.oracle.svm.core.heap.Heap;
+import com.oracle.svm.core.hub.DynamicHub;
+import com.oracle.svm.core.thread.JavaThreads;
+import com.oracle.svm.core.util.VMError;
+
+/**
+ * Writes events to the {@link JfrBuffers buffer} of the current thread. An event is started with
+ * {@link #beginEvent}, which writes the implicit fields, followed by the fields of the event in
+ * the order in which they are {@linkplain JfrEvent declared}, and is completed with
+ * {@link #endEvent}. The whole event must be written in a single uninterruptible method.
+ * <p>
+ * Objects can only be referenced by events if they are in the image heap, because the constant
+ * pools are only resolved when the chunk is finished. Strings that are not in the image heap are
+ * written as null.
+ */
+public final class JfrNativeEventWriter {
+
+    /** The number of bytes of the size of an event, which is padded so that it can be patched. */
+    static final int SIZE_BYTES = 4;
+
+    /** Events are written without bounds checks, so no event may be larger than this. */
+    private static final int MAX_EVENT_SIZE = 128;
+
+    private static final byte STRING_NULL = 0;
+    private static final byte STRING_CONSTANT_POOL = 2;
+
+    private JfrNativeEventWriter() {
+    }
+
+    /**
+     * Starts an event on the current thread and writes its type, start time, duration (if the
+     * event has one) and thread. Returns the position of the first field of the event, or null if
+     * the event cannot be recorded.
+     */
+    @Uninterruptible(reason = "Accesses the thread-local buffer.", callerMustBe = true)
+    static Pointer beginEvent(JfrEvent event, long startTicks, long endTicks) {
+        JfrBuffer buffer = JfrBuffers.reserve(MAX_EVENT_SIZE);
+        if (buffer.isNull()) {
+            return WordFactory.nullPointer();
+        }
+        Pointer pos = JfrBuffers.getData(buffer).add(buffer.getPos()).add(SIZE_BYTES);
+        pos = putLong(pos, event.getId());
+        pos = putLong(pos, startTicks);
+        if (event.hasDuration()) {
+            pos = putLong(pos, endTicks - startTicks);
+        }
+        return putLong(pos, JavaThreads.getCurrentThreadId());
+    }
+
+    /** Completes the event that ends at the given position. */
+    @Uninterruptible(reason = "Accesses the thread-local buffer.", callerMustBe = true)
+    static void endEvent(Pointer end) {
+        JfrBuffer buffer = JfrBuffers.getCurrent();
+        Pointer start = JfrBuffers.getData(buffer).add(buffer.getPos());
+        int size = (int) end.subtract(start).rawValue();
+        VMError.guarantee(size <= MAX_EVENT_SIZE, "JFR event too large");
+        for (int i = 0; i < SIZE_BYTES - 1; i++) {
+            start.writeByte(i, (byte) (((size >>> (7 * i)) & 0x7F) | 0x80));
+        }
+        start.writeByte(SIZE_BYTES - 1, (byte) (size >>> (7 * (SIZE_BYTES - 1))));
+        buffer.setPos(buffer.getPos().add(size));
+    }
+
+    /** Writes a value in the variable length encoding of LEB128. */
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    static Pointer putLong(Pointer pos, long value) {
+        Pointer p = pos;
+        long v = value;
+        for (int i = 0; i < 8; i++) {
+            if ((v & ~0x7FL) == 0) {
+                p.writeByte(0, (byte) v);
+                return p.add(1);
+            }
+            p.writeByte(0, (byte) ((v & 0x7F) | 0x80));
+            p = p.add(1);
+            v >>>= 7;
+        }
+        /* The ninth byte has all 8 bits of payload. */
+        p.writeByte(0, (byte) v);
+        return p.add(1);
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    static Pointer putBoolean(Pointer pos, boolean value) {
+        pos.writeByte(0, (byte) (value ? 1 : 0));
+        return pos.add(1);
+    }
+
+    /** Writes a reference to the string pool, or null if the string is not in the image heap. */
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    static Pointer putString(Pointer pos, String value) {
+        if (value == null || !Heap.getHeap().isInImageHeap(value)) {
+            pos.writeByte(0, STRING_NULL);
+            return pos.add(1);
+        }
+        pos.writeByte(0, STRING_CONSTANT_POOL);
+        return putLong(pos.add(1), getConstantKey(value));
+    }
+
+    /** Writes a reference to the class pool, which is 0 for null. */
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    static Pointer putClass(Pointer pos, DynamicHub hub) {
+        return putLong(pos, hub == null ? 0 : getConstantKey(hub));
+    }
+
+    /** Image heap objects do not move, so their address can be used as the key of a constant. */
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    private static long getConstantKey(Object imageHeapObject) {
+        return Word.objectToUntrackedPointer(imageHeapObject).rawValue();
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.jfr;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.graalvm.compiler.api.replacements.Fold;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.nativeimage.ImageSingletons;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.Platform;
+import org.graalvm.nativeimage.Platforms;
+import org.graalvm.nativeimage.c.type.CTypeConversion;
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.word.Pointer;
+import org.graalvm.word.WordFactory;
+
+import com.oracle.svm.core.annotate.AutomaticFeature;
+import com.oracle.svm.core.annotate.Uninterruptible;
+import com.oracle.svm.core.heap.GCCause;
+import com.oracle.svm.core.heap.Heap;
+import com.oracle.svm.core.hub.DynamicHub;
+import com.oracle.svm.core.jdk.RuntimeSupport;
+import com.oracle.svm.core.log.Log;
+import com.oracle.svm.core.option.HostedOptionKey;
+import com.oracle.svm.core.option.RuntimeOptionKey;
+import com.oracle.svm.core.thread.JavaThreads;
+import com.oracle.svm.core.thread.JavaVMOperation;
+import com.oracle.svm.core.thread.VMThreads;
+import com.oracle.svm.core.util.VMError;
+
+/**
+ * Records {@link JfrEvent JFR events} to a file in the JFR format, which can be inspected with the
+ * JFR tools of the JDK, e.g., {@code jfr print}. A recording consists of a single chunk that is
+ * {@linkplain JfrChunkWriter written} while the application runs: a daemon thread periodically
+ * writes the {@linkplain JfrBuffers retired buffers} of the threads, and the constant pools and the
+ * metadata are written when the recording stops.
+ */
+public final class JfrRecorder {
+
+    public static class Options {
+        @Option(help = "Include support for recording JFR events, see FlightRecording.")//
+        public static final HostedOptionKey<Boolean> FlightRecorder = new HostedOptionKey<>(false);
+
+        @Option(help = "Size in bytes of the thread-local buffers that JFR events are written to.")//
+        public static final HostedOptionKey<Integer> FlightRecorderThreadBufferSize = new HostedOptionKey<>(64 * 1024);
+
+        @Option(help = "Record JFR events from the start of the application and write them to this file. The recording stops when the application exits.")//
+        public static final RuntimeOptionKey<String> FlightRecording = new RuntimeOptionKey<>("");
+
+        @Option(help = "Number of bytes a thread allocates between two jdk.ObjectAllocationSample events.")//
+        public static final RuntimeOptionKey<Long> FlightRecorderAllocationSampleBytes = new RuntimeOptionKey<>(512L * 1024);
+    }
+
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+
+    private static volatile boolean recording;
+    private static long allocationSampleBytes;
+
+    /**
+     * The threads that exited during the recording and whose events may not have been written yet,
+     * by thread id. Pruned on every flush, see {@link #pruneExitedThreads}.
+     */
+    private final Map<Long, ExitedThread> exitedThreads = new ConcurrentHashMap<>();
+    /** The names of exited threads that written events refer to, by thread id. */
+    private final Map<Long, String> referencedThreadNames = new HashMap<>();
+    private volatile int flushCount;
+    private FileChannel channel;
+    private JfrChunkWriter writer;
+    private Thread flushThread;
+
+    @Platforms(Platform.HOSTED_ONLY.class)
+    JfrRecorder() {
+    }
+
+    @Fold
+    public static boolean isSupported() {
+        return Options.FlightRecorder.getValue();
+    }
+
+    @Fold
+    public static JfrRecorder singleton() {
+        return ImageSingletons.lookup(JfrRecorder.class);
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    public static boolean isRecording() {
+        return isSupported() && recording;
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    static long getAllocationSampleBytes() {
+        return allocationSampleBytes;
+    }
+
+    /** Starts a recording to the given file, which is overwritten if it exists. */
+    public synchronized void start(Path file) throws IOException {
+        if (recording) {
+            throw new IllegalStateException("A recording is already in progress");
+        }
+        /* Buffers of threads that exited after the last recording stopped. */
+        freeBuffers(JfrBuffers.takeRetired());
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        writer = new JfrChunkWriter(channel, System.currentTimeMillis() * 1_000_000L, System.nanoTime());
+        allocationSampleBytes = Options.FlightRecorderAllocationSampleBytes.getValue();
+        recording = true;
+
+        flushThread = new Thread(this::flushPeriodically, "JFR Recorder Thread");
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    /** Stops the recording, if one is in progress, and completes the file. */
+    public synchronized void stop() throws IOException {
+        if (!recording) {
+            return;
+        }
+        recording = false;
+        flushThread.interrupt();
+        flushThread = null;
+
+        Map<Long, String> threadNames = new HashMap<>(referencedThreadNames);
+        for (Map.Entry<Long, ExitedThread> entry : exitedThreads.entrySet()) {
+            threadNames.put(entry.getKey(), entry.getValue().name);
+        }
+        collectLiveThreadNames(threadNames);
+        /* Events are written by uninterruptible code, so all buffers are complete at a safepoint. */
+        JavaVMOperation.enqueueBlockingSafepoint("Retire JFR buffers", () -> {
+            for (IsolateThread thread = VMThreads.firstThread(); thread.isNonNull(); thread = VMThreads.nextThread(thread)) {
+                JfrBuffers.retire(thread);
+            }
+        });
+        try {
+            writeRetiredBuffers();
+            writer.finish(System.currentTimeMillis() * 1_000_000L, System.nanoTime(), (type, key) -> resolve(type, key, threadNames));
+        } finally {
+            writer = null;
+            exitedThreads.clear();
+            referencedThreadNames.clear();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /** Remembers the name of an exiting thread, so that it can still be resolved later. */
+    public static void noteThreadExit(Thread thread) {
+        if (isSupported() && recording) {
+            JfrRecorder recorder = singleton();
+            recorder.exitedThreads.put(thread.getId(), new ExitedThread(thread.getName(), recorder.flushCount));
+        }
+    }
+
+    private static final class ExitedThread {
+        final String name;
+        /** The number of flushes before the thread exited. */
+        final int flushCount;
+
+        ExitedThread(String name, int flushCount) {
+            this.name = name;
+            this.flushCount = flushCount;
+        }
+    }
+
+    /**
+     * Keeps the names of exited threads only if written events refer to them. A thread retires its
+     * buffer right after it exits, so its events have been written by the second flush after that.
+     */
+    private void pruneExitedThreads() {
+        for (Iterator<Map.Entry<Long, ExitedThread>> iterator = exitedThreads.entrySet().iterator(); iterator.hasNext();) {
+            Map.Entry<Long, ExitedThread> entry = iterator.next();
+            if (writer.hasConstant(JfrType.THREAD, entry.getKey())) {
+                referencedThreadNames.put(entry.getKey(), entry.getValue().name);
+                iterator.remove();
+            } else if (entry.getValue().flushCount < flushCount - 1) {
+                iterator.remove();
+            }
+        }
+        flushCount++;
+    }
+
+    private void flushPeriodically() {
+        try {
+            while (true) {
+                Thread.sleep(FLUSH_INTERVAL_MILLIS);
+                synchronized (this) {
+                    if (Thread.currentThread() != flushThread) {
+                        return;
+                    }
+                    writeRetiredBuffers();
+                    pruneExitedThreads();
+                }
+            }
+        } catch (InterruptedException e) {
+            /* The recording stopped. */
+        } catch (IOException e) {
+            Log.log().string("Writing JFR events failed: ").string(e.getMessage()).newline();
+        }
+    }
+
+    private void writeRetiredBuffers() throws IOException {
+        JfrBuffer buffer = JfrBuffers.takeRetired();
+        try {
+            while (buffer.isNonNull()) {
+                writer.write(CTypeConversion.asByteBuffer(JfrBuffers.getData(buffer), (int) buffer.getPos().rawValue()));
+                JfrBuffer next = buffer.getNext();
+                JfrBuffers.free(buffer);
+                buffer = next;
+            }
+        } finally {
+            freeBuffers(buffer);
+        }
+    }
+
+    private static void freeBuffers(JfrBuffer first) {
+        JfrBuffer buffer = first;
+        while (buffer.isNonNull()) {
+            JfrBuffer next = buffer.getNext();
+            JfrBuffers.free(buffer);
+            buffer = next;
+        }
+    }
+
+    private static void collectLiveThreadNames(Map<Long, String> threadNames) {
+        ThreadGroup root = JavaThreads.singleton().systemGroup;
+        Thread[] threads = new Thread[root.activeCount() * 2 + 16];
+        int count = root.enumerate(threads, true);
+        for (int i = 0; i < count; i++) {
+            threadNames.put(threads[i].getId(), threads[i].getName());
+        }
+    }
+
+    private static String resolve(JfrType type, long key, Map<Long, String> threadNames) {
+        switch (type) {
+            case THREAD:
+                return threadNames.get(key);
+            case CLASS:
+                Object hub = getImageHeapObject(key);
+                return hub instanceof DynamicHub ? DynamicHub.toClass((DynamicHub) hub).getName() : null;
+            case GC_CAUSE:
+                return GCCause.fromId((int) key).getName();
+            case STRING:
+                Object string = getImageHeapObject(key);
+                return string instanceof String ? (String) string : null;
+            default:
+                throw VMError.shouldNotReachHere("Not a constant pool type: " + type);
+        }
+    }
+
+    /** Returns the image heap object at the given address, which is used as its constant key. */
+    private static Object getImageHeapObject(long key) {
+        Pointer address = WordFactory.pointer(key);
+        return key != 0 && Heap.getHeap().isInImageHeap(address) ? address.toObject() : null;
+    }
+
+    static void startFromOptions() {
+        String fileName = Options.FlightRecording.getValue();
+        if (!fileName.isEmpty()) {
+            try {
+                singleton().start(Paths.get(fileName));
+            } catch (IOException e) {
+                Log.log().string("Starting the flight recording to ").string(fileName).string(" failed: ").string(e.getMessage()).newline();
+            }
+        }
+    }
+
+    static void stopAtExit() {
+        try {
+            singleton().stop();
+        } catch (IOException e) {
+            Log.log().string("Writing the flight recording failed: ").string(e.getMessage()).newline();
+        }
+    }
+}
+
+@AutomaticFeature
+class JfrFeature implements Feature {
+    @Override
+    public boolean isInConfiguration(IsInConfigurationAccess access) {
+        return JfrRecorder.isSupported();
+    }
+
+    @Override
+    public void afterRegistration(AfterRegistrationAccess access) {
+        ImageSingletons.add(JfrRecorder.class, new JfrRecorder());
+        RuntimeSupport.getRuntimeSupport().addStartupHook(JfrRecorder::startFromOptions);
+        RuntimeSupport.getRuntimeSupport().addShutdownHook(JfrRecorder::stopAtExit);
+    }
+}
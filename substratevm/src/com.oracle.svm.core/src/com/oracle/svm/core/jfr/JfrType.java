@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.jfr;
+
+/**
+ * The types that are declared in the metadata of a chunk, apart from the {@link JfrEvent event}
+ * types.
+ * <p>
+ * Values of {@link #isConstantPool() constant pool} types are written as a key into the pool of
+ * the type. All fields of a constant pool type are either strings, which are resolved from the key
+ * when the chunk is finished, or longs, which are the key itself. Values of type {@link #STRING}
+ * are written inline, but can also refer to the string pool.
+ */
+public enum JfrType {
+    LONG("long", Kind.PRIMITIVE),
+    INT("int", Kind.PRIMITIVE),
+    BOOLEAN("boolean", Kind.PRIMITIVE),
+    STRING("java.lang.String", Kind.STRING),
+    THREAD("java.lang.Thread", Kind.CONSTANT_POOL,
+                    new JfrField("osName", STRING),
+                    new JfrField("osThreadId", LONG),
+                    new JfrField("javaName", STRING),
+                    new JfrField("javaThreadId", LONG)),
+    CLASS("java.lang.Class", Kind.CONSTANT_POOL,
+                    new JfrField("name", STRING)),
+    GC_CAUSE("jdk.types.GCCause", Kind.CONSTANT_POOL,
+                    new JfrField("cause", STRING)),
+    LABEL("jdk.jfr.Label", Kind.ANNOTATION,
+                    new JfrField("value", STRING)),
+    TIMESTAMP("jdk.jfr.Timestamp", Kind.ANNOTATION,
+                    new JfrField("value", STRING)),
+    TIMESPAN("jdk.jfr.Timespan", Kind.ANNOTATION,
+                    new JfrField("value", STRING)),
+    DATA_AMOUNT("jdk.jfr.DataAmount", Kind.ANNOTATION,
+                    new JfrField("value", STRING));
+
+    enum Kind {
+        PRIMITIVE,
+        STRING,
+        CONSTANT_POOL,
+        ANNOTATION
+    }
+
+    /** Type ids below this value are used for the special and the {@link JfrEvent event} types. */
+    private static final int FIRST_TYPE_ID = 100;
+
+    private final String name;
+    private final Kind kind;
+    private final JfrField[] fields;
+
+    JfrType(String name, Kind kind, JfrField... fields) {
+        this.name = name;
+        this.kind = kind;
+        this.fields = fields;
+    }
+
+    public long getId() {
+        return FIRST_TYPE_ID + ordinal();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    JfrField[] getFields() {
+        return fields;
+    }
+
+    boolean isConstantPool() {
+        return kind == Kind.CONSTANT_POOL;
+    }
+
+    boolean isAnnotation() {
+        return kind == Kind.ANNOTATION;
+    }
+}
@@ -67,8 +67,11 @@ import jdk.vm.ci.meta.SpeculationLog;
 
 /**
  * Snippets for lowering of monitor nodes (the nodes representing the Java "synchronized" keyword).
- * There is currently no fast path, because the {@link java.util.concurrent.locks.ReentrantLock}
- * used for monitor operations cannot be inlined in a snippet without changes or code duplication.
+ * The fast path only handles thin locks, see {@link MultiThreadedMonitorSupport#tryThinLock}: it
+ * is a single compare-and-swap of the monitor slot and needs neither the yellow zone nor a call.
+ * Everything else goes to the slow path, because the
+ * {@link java.util.concurrent.locks.ReentrantLock} used for inflated monitors cannot be inlined in
+ * a snippet without changes or code duplication.
  *
  * For AOT compiled code, the null check for the object is already inserted by the bytecode parser,
  * i.e., the object is already guaranteed to be non-null. For JIT compiled code though the null
@@ -91,7 +94,9 @@ public class MonitorSnippets extends SubstrateTemplates implements Snippets {
         KillMemoryNode.killMemory(LocationIdentity.any());
 
         if (SubstrateOptions.MultiThreaded.getValue()) {
-            callSlowPath(SLOW_PATH_MONITOR_ENTER, obj);
+            if (!MultiThreadedMonitorSupport.tryThinLock(obj)) {
+                callSlowPath(SLOW_PATH_MONITOR_ENTER, obj);
+            }
         }
     }
 
@@ -101,7 +106,9 @@ public class MonitorSnippets extends SubstrateTemplates implements Snippets {
         KillMemoryNode.killMemory(LocationIdentity.any());
 
         if (SubstrateOptions.MultiThreaded.getValue()) {
-            callSlowPath(SLOW_PATH_MONITOR_EXIT, obj);
+            if (!MultiThreadedMonitorSupport.tryThinUnlock(obj)) {
+                callSlowPath(SLOW_PATH_MONITOR_EXIT, obj);
+            }
         }
     }
 
@@ -40,6 +40,7 @@ import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.graalvm.compiler.core.common.SuppressFBWarnings;
+import org.graalvm.compiler.options.Option;
 import org.graalvm.compiler.serviceprovider.GraalUnsafeAccess;
 import org.graalvm.compiler.serviceprovider.JavaVersionUtil;
 import org.graalvm.compiler.word.BarrieredAccess;
@@ -57,6 +58,9 @@ import com.oracle.svm.core.annotate.RestrictHeapAccess.Access;
 import com.oracle.svm.core.annotate.TargetClass;
 import com.oracle.svm.core.annotate.Uninterruptible;
 import com.oracle.svm.core.hub.DynamicHub;
+import com.oracle.svm.core.jfr.JfrEvents;
+import com.oracle.svm.core.jfr.JfrRecorder;
+import com.oracle.svm.core.option.HostedOptionKey;
 import com.oracle.svm.core.snippets.KnownIntrinsics;
 import com.oracle.svm.core.snippets.SubstrateForeignCallTarget;
 import com.oracle.svm.core.stack.StackOverflowCheck;
@@ -92,9 +96,22 @@ import sun.misc.Unsafe;
  * {@link Condition} objects are used to implement {@link #wait()} and {@link #notify()}. When an
  * object monitor needs a condition object, it is atomically swapped into its
  * {@link Target_java_util_concurrent_locks_ReentrantLock_NonfairSync#objectMonitorCondition} field.
+ * <p>
+ * Objects with a monitor slot are {@link Options#ThinMonitorLocks thin locked} first: an
+ * uncontended monitorenter atomically stores the owning {@link Thread} into the empty slot, and the
+ * matching monitorexit clears it again, so no {@link ReentrantLock} is needed. The thin lock is
+ * inflated to a {@link ReentrantLock} that is owned by the same thread when another thread
+ * contends for it, when the owner locks it recursively, and for {@link #wait()} and
+ * {@link #notify()}. Once inflated, an object keeps its {@link ReentrantLock}. Compiled code tries
+ * the thin lock inline, see {@link #tryThinLock}, and only calls the slow path when that fails.
  */
 public class MultiThreadedMonitorSupport extends MonitorSupport {
 
+    public static class Options {
+        @Option(help = "Lock objects with a monitor slot without allocating a lock while there is no contention.")//
+        public static final HostedOptionKey<Boolean> ThinMonitorLocks = new HostedOptionKey<>(true);
+    }
+
     private static final Unsafe UNSAFE = GraalUnsafeAccess.getUnsafe();
 
     /**
@@ -260,8 +277,23 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
     @RestrictHeapAccess(reason = NO_LONGER_UNINTERRUPTIBLE, overridesCallers = true, access = Access.UNRESTRICTED)
     @Override
     public void monitorEnter(Object obj) {
+        int monitorOffset = getMonitorOffset(obj);
+        if (Options.ThinMonitorLocks.getValue() && monitorOffset != 0 && UNSAFE.compareAndSwapObject(obj, monitorOffset, null, Thread.currentThread())) {
+            /* Uncontended: the object is now thin locked by the current thread. */
+            onMonitorLocked();
+            return;
+        }
         ReentrantLock lockObject = getOrCreateMonitor(obj, true);
-        lockObject.lock();
+        if (JfrRecorder.isRecording()) {
+            /* Only a contended monitor enter is recorded, like in the JDK. */
+            if (!lockObject.tryLock()) {
+                long startTicks = JfrEvents.startTicks();
+                lockObject.lock();
+                JfrEvents.emitJavaMonitorEnter(obj, startTicks);
+            }
+        } else {
+            lockObject.lock();
+        }
 
         onMonitorLocked();
     }
@@ -299,6 +331,12 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
     @RestrictHeapAccess(reason = NO_LONGER_UNINTERRUPTIBLE, overridesCallers = true, access = Access.UNRESTRICTED)
     @Override
     public void monitorExit(Object obj) {
+        int monitorOffset = getMonitorOffset(obj);
+        if (Options.ThinMonitorLocks.getValue() && monitorOffset != 0 && UNSAFE.compareAndSwapObject(obj, monitorOffset, Thread.currentThread(), null)) {
+            /* The thin lock was not inflated in the meantime. */
+            onMonitorUnlocked();
+            return;
+        }
         ReentrantLock lockObject = getOrCreateMonitor(obj, true);
         lockObject.unlock();
 
@@ -363,16 +401,60 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
 
     @Override
     public boolean isLockedByCurrentThread(Object obj) {
+        Thread thinLockOwner = getThinLockOwner(obj);
+        if (thinLockOwner != null) {
+            return thinLockOwner == Thread.currentThread();
+        }
         ReentrantLock lockObject = getOrCreateMonitor(obj, false);
         return lockObject != null && lockObject.isHeldByCurrentThread();
     }
 
     @Override
     public boolean isLockedByAnyThread(Object obj) {
+        if (getThinLockOwner(obj) != null) {
+            return true;
+        }
         ReentrantLock lockObject = getOrCreateMonitor(obj, false);
         return lockObject != null && lockObject.isLocked();
     }
 
+    /**
+     * The monitorenter fast path that {@link MonitorSnippets} inlines into compiled code: thin
+     * locks the object if its monitor slot is empty. Returns {@code false} if the slow path must
+     * lock the object. With continuations, the slow path also counts the locked monitors, so the
+     * fast path is not used.
+     */
+    static boolean tryThinLock(Object obj) {
+        if (!Options.ThinMonitorLocks.getValue() || JavaContinuations.useLoom()) {
+            return false;
+        }
+        int monitorOffset = KnownIntrinsics.readHub(obj).getMonitorOffset();
+        return monitorOffset != 0 && UNSAFE.compareAndSwapObject(obj, monitorOffset, null, Thread.currentThread());
+    }
+
+    /**
+     * The monitorexit fast path that {@link MonitorSnippets} inlines into compiled code: releases a
+     * thin lock of the current thread. Returns {@code false} if the lock was inflated and the slow
+     * path must unlock it.
+     */
+    static boolean tryThinUnlock(Object obj) {
+        if (!Options.ThinMonitorLocks.getValue() || JavaContinuations.useLoom()) {
+            return false;
+        }
+        int monitorOffset = KnownIntrinsics.readHub(obj).getMonitorOffset();
+        return monitorOffset != 0 && UNSAFE.compareAndSwapObject(obj, monitorOffset, Thread.currentThread(), null);
+    }
+
+    /** Returns the thread that holds the thin lock of the object, or {@code null}. */
+    protected static Thread getThinLockOwner(Object obj) {
+        int monitorOffset = getMonitorOffset(obj);
+        if (!Options.ThinMonitorLocks.getValue() || monitorOffset == 0) {
+            return null;
+        }
+        Object monitor = BarrieredAccess.readObject(obj, monitorOffset);
+        return monitor instanceof Thread ? (Thread) monitor : null;
+    }
+
     @Override
     public int countThreadLock(IsolateThread vmThread) {
         VMError.guarantee(JavaContinuations.useLoom(), "This method is only supported when continuations are enabled.");
@@ -436,19 +518,38 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
         }
     }
 
+    /**
+     * Returns the {@link ReentrantLock} of the object. If the object is {@link #getThinLockOwner
+     * thin locked}, the result is {@code null} unless a lock is to be created, in which case the
+     * thin lock is inflated to a lock owned by the same thread.
+     */
     protected ReentrantLock getOrCreateMonitorFromObject(Object obj, boolean createIfNotExisting, int monitorOffset) {
-        ReentrantLock existingMonitor = KnownIntrinsics.convertUnknownValue(BarrieredAccess.readObject(obj, monitorOffset), ReentrantLock.class);
-        if (existingMonitor != null || !createIfNotExisting) {
-            assert existingMonitor == null || isMonitorLock(existingMonitor);
-            return existingMonitor;
-        }
-        /* Atomically put a new lock in place of the null at the monitorOffset. */
-        ReentrantLock newMonitor = newMonitorLock();
-        if (UNSAFE.compareAndSwapObject(obj, monitorOffset, null, newMonitor)) {
-            return newMonitor;
+        while (true) {
+            Object existing = BarrieredAccess.readObject(obj, monitorOffset);
+            if (existing instanceof Thread) {
+                if (!createIfNotExisting) {
+                    return null;
+                }
+                /* Inflate the thin lock, keeping its owner. */
+                ReentrantLock inflated = newLockedMonitorForThread((Thread) existing, 1);
+                if (UNSAFE.compareAndSwapObject(obj, monitorOffset, existing, inflated)) {
+                    return inflated;
+                }
+                /* The owner released the thin lock, or another thread inflated it: retry. */
+                continue;
+            }
+            ReentrantLock existingMonitor = KnownIntrinsics.convertUnknownValue(existing, ReentrantLock.class);
+            if (existingMonitor != null || !createIfNotExisting) {
+                assert existingMonitor == null || isMonitorLock(existingMonitor);
+                return existingMonitor;
+            }
+            /* Atomically put a new lock in place of the null at the monitorOffset. */
+            ReentrantLock newMonitor = newMonitorLock();
+            if (UNSAFE.compareAndSwapObject(obj, monitorOffset, null, newMonitor)) {
+                return newMonitor;
+            }
+            /* We lost the race, use the lock or thin lock some other thread installed. */
         }
-        /* We lost the race, use the lock some other thread installed. */
-        return KnownIntrinsics.convertUnknownValue(BarrieredAccess.readObject(obj, monitorOffset), ReentrantLock.class);
     }
 
     protected ReentrantLock getOrCreateMonitorFromMap(Object obj, boolean createIfNotExisting) {
@@ -491,6 +592,10 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
      * (for a good reason, because it is a highly unusual operation).
      */
     protected static ReentrantLock newLockedMonitorForThread(IsolateThread isolateThread, int recursionDepth) {
+        return newLockedMonitorForThread(JavaThreads.fromVMThread(isolateThread), recursionDepth);
+    }
+
+    protected static ReentrantLock newLockedMonitorForThread(Thread owner, int recursionDepth) {
         ReentrantLock result = newMonitorLock();
         for (int i = 0; i < recursionDepth; i++) {
             result.lock();
@@ -500,7 +605,7 @@ public class MultiThreadedMonitorSupport extends MonitorSupport {
         Target_java_util_concurrent_locks_AbstractOwnableSynchronizer sync = SubstrateUtil.cast(lock.sync, Target_java_util_concurrent_locks_AbstractOwnableSynchronizer.class);
 
         assert sync.exclusiveOwnerThread == Thread.currentThread() : "Must be locked by current thread";
-        sync.exclusiveOwnerThread = JavaThreads.fromVMThread(isolateThread);
+        sync.exclusiveOwnerThread = owner;
 
         return result;
     }
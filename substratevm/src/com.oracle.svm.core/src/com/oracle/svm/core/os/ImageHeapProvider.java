@@ -31,6 +31,7 @@ import org.graalvm.word.Pointer;
 import org.graalvm.word.PointerBase;
 import org.graalvm.word.UnsignedWord;
 
+import com.oracle.svm.core.SubstrateOptions;
 import com.oracle.svm.core.c.function.CEntryPointErrors;
 import com.oracle.svm.core.heap.Heap;
 
@@ -52,6 +53,14 @@ public interface ImageHeapProvider {
     @Fold
     boolean guaranteesHeapPreferredAddressSpaceAlignment();
 
+    /**
+     * Returns whether this provider maps the image heap of every isolate from the image file, so
+     * that it can honor {@link SubstrateOptions#RequireSharedImageHeap}.
+     */
+    default boolean supportsSharedImageHeap() {
+        return false;
+    }
+
     /**
      * Creates a new instance of the image heap.
      *
@@ -27,7 +27,9 @@ package com.oracle.svm.core.os;
 import org.graalvm.nativeimage.hosted.Feature;
 import org.graalvm.nativeimage.ImageSingletons;
 
+import com.oracle.svm.core.SubstrateOptions;
 import com.oracle.svm.core.annotate.AutomaticFeature;
+import com.oracle.svm.core.util.UserError;
 
 @AutomaticFeature
 public class ImageHeapProviderFeature implements Feature {
@@ -36,5 +38,11 @@ public class ImageHeapProviderFeature implements Feature {
         if (!ImageSingletons.contains(ImageHeapProvider.class)) {
             ImageSingletons.add(ImageHeapProvider.class, new CopyingImageHeapProvider());
         }
+        if (SubstrateOptions.RequireSharedImageHeap.getValue()) {
+            UserError.guarantee(SubstrateOptions.SpawnIsolates.getValue(), "Option %s must be enabled to use option %s",
+                            SubstrateOptions.SpawnIsolates.getName(), SubstrateOptions.RequireSharedImageHeap.getName());
+            UserError.guarantee(ImageSingletons.lookup(ImageHeapProvider.class).supportsSharedImageHeap(), "Option %s is not supported on this platform",
+                            SubstrateOptions.RequireSharedImageHeap.getName());
+        }
     }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.pgo;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.graalvm.compiler.options.Option;
+import org.graalvm.nativeimage.ImageSingletons;
+import org.graalvm.nativeimage.Platform;
+import org.graalvm.nativeimage.Platforms;
+import org.graalvm.nativeimage.hosted.Feature;
+
+import com.oracle.svm.core.ImageProfiles;
+import com.oracle.svm.core.annotate.AutomaticFeature;
+import com.oracle.svm.core.jdk.RuntimeSupport;
+import com.oracle.svm.core.log.Log;
+import com.oracle.svm.core.option.HostedOptionKey;
+import com.oracle.svm.core.option.RuntimeOptionKey;
+
+/**
+ * Image profiles of an image built with {@link Options#PGOInstrument}. Every compiled method counts
+ * its invocations in a {@link MethodCounter}. The counts are written to
+ * {@link Options#PGODumpFile} when the application exits, and can be fed into a second image build
+ * with the {@code -H:PGO} option.
+ * <p>
+ * The profile is a text file with one line per invoked method, holding the invocation count and
+ * the method name separated by a tab. Lines starting with {@code #} are comments.
+ * <p>
+ * Only method invocation counts are recorded. Branch probabilities and receiver types need
+ * counters per bytecode index and a consumer in the hosted compilation, which are left for a
+ * separate change.
+ */
+public final class InstrumentedImageProfiles extends ImageProfiles {
+
+    public static class Options {
+        @Option(help = "Build an instrumented image that records method invocation counts for profile-guided optimizations.")//
+        public static final HostedOptionKey<Boolean> PGOInstrument = new HostedOptionKey<>(false);
+
+        @Option(help = "File the profiles of an instrumented image are written to when the application exits.")//
+        public static final RuntimeOptionKey<String> PGODumpFile = new RuntimeOptionKey<>("default.iprof");
+    }
+
+    /**
+     * All method counters, by method name. Counters are created during compilation when the
+     * counting code is inserted, so the map must be thread safe.
+     */
+    private static final ConcurrentMap<String, MethodCounter> counters = new ConcurrentHashMap<>();
+
+    static {
+        /*
+         * The static analysis must see the map with an entry, otherwise the map internals are not
+         * reachable once the real counters are added during compilation.
+         */
+        counterFor("__unused_to_make_counter_types_reachable__");
+    }
+
+    @Platforms(Platform.HOSTED_ONLY.class)
+    InstrumentedImageProfiles() {
+    }
+
+    /** Returns the counter for the method with the given name, creating it if necessary. */
+    @Platforms(Platform.HOSTED_ONLY.class)
+    public static MethodCounter counterFor(String methodName) {
+        return counters.computeIfAbsent(methodName, MethodCounter::new);
+    }
+
+    @Override
+    protected String computeProfiles() {
+        return format(counters.values());
+    }
+
+    /**
+     * Formats the counters that were invoked at least once as a profiles file, most invoked first.
+     * The counts are read while other threads may still increment them, so a count can be slightly
+     * lower than the number of invocations, see {@link MethodCounter}.
+     */
+    public static String format(Collection<MethodCounter> methodCounters) {
+        /*
+         * Read each count once: the order and the written counts must agree, and the sort must not
+         * see counts that change while it runs.
+         */
+        List<Map.Entry<String, Long>> invoked = new ArrayList<>();
+        for (MethodCounter counter : methodCounters) {
+            long count = counter.getCount();
+            if (count > 0) {
+                invoked.add(new AbstractMap.SimpleImmutableEntry<>(counter.getMethodName(), count));
+            }
+        }
+        invoked.sort((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()));
+
+        StringBuilder result = new StringBuilder("# invocation count\tmethod\n");
+        for (Map.Entry<String, Long> entry : invoked) {
+            result.append(entry.getValue()).append('\t').append(entry.getKey()).append('\n');
+        }
+        return result.toString();
+    }
+
+    static void dumpProfilesToFile() {
+        String fileName = Options.PGODumpFile.getValue();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(fileName), StandardCharsets.UTF_8)) {
+            writer.write(dumpProfiles());
+        } catch (IOException e) {
+            Log.log().string("Writing image profiles to ").string(fileName).string(" failed: ").string(e.getMessage()).newline();
+        }
+    }
+}
+
+@AutomaticFeature
+class InstrumentedImageProfilesFeature implements Feature {
+    @Override
+    public boolean isInConfiguration(IsInConfigurationAccess access) {
+        return InstrumentedImageProfiles.Options.PGOInstrument.getValue();
+    }
+
+    @Override
+    public void afterRegistration(AfterRegistrationAccess access) {
+        ImageSingletons.add(ImageProfiles.class, new InstrumentedImageProfiles());
+        RuntimeSupport.getRuntimeSupport().addShutdownHook(InstrumentedImageProfiles::dumpProfilesToFile);
+    }
+
+    @Override
+    public void beforeAnalysis(BeforeAnalysisAccess access) {
+        /*
+         * Counters are only created during compilation, and their count field is only written by
+         * the counting code inserted into compiled methods, see MethodCounter.count.
+         */
+        access.registerAsInHeap(MethodCounter.class);
+        access.registerAsAccessed(MethodCounter.COUNT_FIELD);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.core.pgo;
+
+// Checkstyle: allow reflection
+
+import java.lang.reflect.Field;
+
+import org.graalvm.nativeimage.Platform;
+import org.graalvm.nativeimage.Platforms;
+
+import com.oracle.svm.core.annotate.UnknownPrimitiveField;
+import com.oracle.svm.core.util.VMError;
+
+/**
+ * Counts the invocations of one method of an instrumented image. The counter is incremented by
+ * code that is inserted at the start of the compiled method, see
+ * {@link InstrumentedImageProfiles}.
+ */
+public final class MethodCounter {
+    /** Name of the counted method, in the format used by the profiles file. */
+    private final String methodName;
+    /**
+     * Number of invocations. Incremented without synchronization, so updates can be lost. Only the
+     * inserted counting code writes it, which the static analysis does not see, so without the
+     * annotation the field would be folded to 0 and get no storage.
+     */
+    @UnknownPrimitiveField private long count;
+
+    @Platforms(Platform.HOSTED_ONLY.class)//
+    public static final Field COUNT_FIELD;
+
+    static {
+        try {
+            COUNT_FIELD = MethodCounter.class.getDeclaredField("count");
+        } catch (NoSuchFieldException ex) {
+            throw VMError.shouldNotReachHere(ex);
+        }
+    }
+
+    @Platforms(Platform.HOSTED_ONLY.class)
+    MethodCounter(String methodName) {
+        this.methodName = methodName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -28,8 +28,7 @@ import org.graalvm.nativeimage.c.function.CodePointer;
 import org.graalvm.word.Pointer;
 
 import com.oracle.svm.core.code.CodeInfo;
-import com.oracle.svm.core.code.CodeInfoQueryResult;
-import com.oracle.svm.core.code.CodeInfoTable;
+import com.oracle.svm.core.code.FrameInfoCache;
 import com.oracle.svm.core.code.FrameInfoQueryResult;
 import com.oracle.svm.core.deopt.DeoptimizedFrame;
 
@@ -44,8 +43,7 @@ public abstract class JavaStackFrameVisitor extends StackFrameVisitor {
                 }
             }
         } else {
-            CodeInfoQueryResult queryResult = CodeInfoTable.lookupCodeInfoQueryResult(codeInfo, ip);
-            for (FrameInfoQueryResult frameInfo = queryResult.getFrameInfo(); frameInfo != null; frameInfo = frameInfo.getCaller()) {
+            for (FrameInfoQueryResult frameInfo = FrameInfoCache.lookupFrameInfo(codeInfo, ip); frameInfo != null; frameInfo = frameInfo.getCaller()) {
                 if (!visitFrame(frameInfo)) {
                     return false;
                 }
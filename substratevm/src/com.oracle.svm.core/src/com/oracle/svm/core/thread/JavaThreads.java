@@ -64,6 +64,7 @@ import com.oracle.svm.core.jdk.StackTraceUtils;
 import com.oracle.svm.core.jdk.UninterruptibleUtils;
 import com.oracle.svm.core.jdk.UninterruptibleUtils.AtomicReference;
 import com.oracle.svm.core.jdk.management.ManagementSupport;
+import com.oracle.svm.core.jfr.JfrRecorder;
 import com.oracle.svm.core.locks.VMMutex;
 import com.oracle.svm.core.log.Log;
 import com.oracle.svm.core.monitor.MonitorSupport;
@@ -187,6 +188,40 @@ public abstract class JavaThreads {
         return toTarget(thread).wasStartedByCurrentIsolate;
     }
 
+    /** Returns the {@link Thread#getId() id} of the Java thread of the given thread, or 0. */
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    public static long getThreadId(IsolateThread vmThread) {
+        Thread thread = currentThread.get(vmThread);
+        return thread == null ? 0 : toTarget(thread).tid;
+    }
+
+    @Uninterruptible(reason = "Called from uninterruptible code.", mayBeInlined = true)
+    public static long getCurrentThreadId() {
+        return getThreadId(CurrentIsolate.getCurrentThread());
+    }
+
+    /**
+     * Stores the {@linkplain Heap#getThreadAllocatedMemory allocated bytes} of the threads with the
+     * given {@linkplain Thread#getId() ids} in {@code result}, leaving the entries of threads that
+     * are not running unchanged. The other threads keep running, so their values are approximate.
+     */
+    @Uninterruptible(reason = "Holds the threads mutex, which must not be held at a safepoint.")
+    public static void getThreadAllocatedMemory(long[] ids, long[] result) {
+        VMThreads.THREAD_MUTEX.lockNoTransition();
+        try {
+            for (IsolateThread vmThread = VMThreads.firstThread(); vmThread.isNonNull(); vmThread = VMThreads.nextThread(vmThread)) {
+                long id = getThreadId(vmThread);
+                for (int i = 0; i < ids.length; i++) {
+                    if (id != 0 && ids[i] == id) {
+                        result[i] = Heap.getHeap().getThreadAllocatedMemory(vmThread);
+                    }
+                }
+            }
+        } finally {
+            VMThreads.THREAD_MUTEX.unlock();
+        }
+    }
+
     /* End of accessor functions. */
 
     public static Thread fromVMThread(IsolateThread vmThread) {
@@ -229,6 +264,7 @@ public abstract class JavaThreads {
         VMError.guarantee(thread.equal(CurrentIsolate.getCurrentThread()), "Cleanup must execute in detaching thread");
 
         Target_java_lang_Thread javaThread = SubstrateUtil.cast(currentThread.get(thread), Target_java_lang_Thread.class);
+        JfrRecorder.noteThreadExit(fromTarget(javaThread));
         javaThread.exit();
     }
 
@@ -702,13 +738,19 @@ public abstract class JavaThreads {
         tjlt.tid = Target_java_lang_Thread.nextThreadID();
     }
 
-    /** Interruptibly park the current thread. */
+    /**
+     * Interruptibly park the current thread.
+     * <p>
+     * A virtual thread only gets here when it cannot yield because it is pinned to its carrier
+     * thread. It then parks the carrier thread, which is also the thread that the JDK unparks to
+     * wake up a pinned virtual thread. The interrupt status is that of the virtual thread.
+     */
     static void park() {
         VMOperationControl.guaranteeOkayToBlock("[JavaThreads.park(): Should not park when it is not okay to block.]");
-        final Thread thread = Thread.currentThread();
-        if (thread.isInterrupted()) { // avoid state changes and synchronization
+        if (Thread.currentThread().isInterrupted()) { // avoid state changes and synchronization
             return;
         }
+        final Thread thread = currentThread.get();
         /*
          * We can defer assigning a ParkEvent to here because Thread.interrupt() is guaranteed to
          * assign and unpark one if it doesn't yet exist, otherwise we could lose a wakeup.
@@ -725,13 +767,17 @@ public abstract class JavaThreads {
         }
     }
 
-    /** Interruptibly park the current thread for the given number of nanoseconds. */
+    /**
+     * Interruptibly park the current thread for the given number of nanoseconds.
+     *
+     * @see #park()
+     */
     static void park(long delayNanos) {
         VMOperationControl.guaranteeOkayToBlock("[JavaThreads.park(long): Should not park when it is not okay to block.]");
-        final Thread thread = Thread.currentThread();
-        if (thread.isInterrupted()) { // avoid state changes and synchronization
+        if (Thread.currentThread().isInterrupted()) { // avoid state changes and synchronization
             return;
         }
+        final Thread thread = currentThread.get();
         /*
          * We can defer assigning a ParkEvent to here because Thread.interrupt() is guaranteed to
          * assign and unpark one if it doesn't yet exist, otherwise we could lose a wakeup.
@@ -24,7 +24,11 @@
  */
 package com.oracle.svm.core.thread;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+
 import com.oracle.svm.core.annotate.Alias;
+import com.oracle.svm.core.annotate.InjectAccessors;
 import com.oracle.svm.core.annotate.RecomputeFieldValue;
 import com.oracle.svm.core.annotate.Substitute;
 import com.oracle.svm.core.annotate.TargetClass;
@@ -38,6 +42,25 @@ public final class Target_java_lang_VirtualThread {
     @Alias @RecomputeFieldValue(kind = RecomputeFieldValue.Kind.Reset)//
     private static boolean notifyJvmtiEvents;
 
+    /*
+     * The schedulers are created when they are first used, like the common ForkJoinPool: the
+     * parallelism of the carrier threads depends on the processors at run time, and threads
+     * cannot be started during image generation.
+     */
+    // Checkstyle: stop
+    @Alias @InjectAccessors(VirtualThreadDefaultSchedulerAccessor.class)//
+    private static ForkJoinPool DEFAULT_SCHEDULER;
+
+    @Alias @InjectAccessors(VirtualThreadUnparkerAccessor.class)//
+    private static ScheduledExecutorService UNPARKER;
+    // Checkstyle: resume
+
+    @Alias
+    static native ForkJoinPool createDefaultScheduler();
+
+    @Alias
+    static native ScheduledExecutorService createDelayedTaskScheduler();
+
     @Substitute
     private static void registerNatives() {
     }
@@ -62,3 +85,47 @@ public final class Target_java_lang_VirtualThread {
     @Alias//
     private native StackTraceElement[] tryGetStackTrace();
 }
+
+/** Creates the ForkJoinPool of carrier threads that virtual threads are scheduled on by default. */
+final class VirtualThreadDefaultSchedulerAccessor {
+    private static volatile ForkJoinPool scheduler;
+
+    static ForkJoinPool get() {
+        ForkJoinPool result = scheduler;
+        if (result == null) {
+            result = initialize();
+        }
+        return result;
+    }
+
+    private static synchronized ForkJoinPool initialize() {
+        ForkJoinPool result = scheduler;
+        if (result == null) {
+            result = Target_java_lang_VirtualThread.createDefaultScheduler();
+            scheduler = result;
+        }
+        return result;
+    }
+}
+
+/** Creates the scheduler that unparks virtual threads when a timed park or sleep expires. */
+final class VirtualThreadUnparkerAccessor {
+    private static volatile ScheduledExecutorService unparker;
+
+    static ScheduledExecutorService get() {
+        ScheduledExecutorService result = unparker;
+        if (result == null) {
+            result = initialize();
+        }
+        return result;
+    }
+
+    private static synchronized ScheduledExecutorService initialize() {
+        ScheduledExecutorService result = unparker;
+        if (result == null) {
+            result = Target_java_lang_VirtualThread.createDelayedTaskScheduler();
+            unparker = result;
+        }
+        return result;
+    }
+}
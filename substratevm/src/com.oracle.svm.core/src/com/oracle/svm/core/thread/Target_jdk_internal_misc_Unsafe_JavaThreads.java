@@ -24,9 +24,12 @@
  */
 package com.oracle.svm.core.thread;
 
+import java.util.concurrent.locks.LockSupport;
+
 import com.oracle.svm.core.annotate.Substitute;
 import com.oracle.svm.core.annotate.TargetClass;
 import com.oracle.svm.core.jdk.Package_jdk_internal_misc;
+import com.oracle.svm.core.jfr.JfrEvents;
 import com.oracle.svm.core.util.TimeUtils;
 
 @TargetClass(classNameProvider = Package_jdk_internal_misc.class, className = "Unsafe")
@@ -43,6 +46,7 @@ final class Target_jdk_internal_misc_Unsafe_JavaThreads {
      */
     @Substitute
     private void park(boolean isAbsolute, long time) {
+        long startTicks = JfrEvents.startTicks();
         /* Decide what kind of park I am doing. */
         if (!isAbsolute && time == 0L) {
             /* Park without deadline. */
@@ -52,6 +56,11 @@ final class Target_jdk_internal_misc_Unsafe_JavaThreads {
             final long delayNanos = TimeUtils.delayNanos(isAbsolute, time);
             JavaThreads.park(delayNanos);
         }
+        if (startTicks != 0) {
+            long timeout = !isAbsolute && time != 0L ? time : Long.MIN_VALUE;
+            long until = isAbsolute ? time : Long.MIN_VALUE;
+            JfrEvents.emitThreadPark(LockSupport.getBlocker(Thread.currentThread()), timeout, until, startTicks);
+        }
         /*
          * Unsafe.park does not distinguish between timing out, being unparked, and being
          * interrupted, but the thread's interrupt status must be preserved.
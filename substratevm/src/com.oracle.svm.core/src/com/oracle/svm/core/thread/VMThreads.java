@@ -51,6 +51,8 @@ import com.oracle.svm.core.c.function.CFunctionOptions;
 import com.oracle.svm.core.heap.Heap;
 import com.oracle.svm.core.jdk.UninterruptibleUtils;
 import com.oracle.svm.core.jdk.UninterruptibleUtils.AtomicWord;
+import com.oracle.svm.core.jfr.JfrBuffers;
+import com.oracle.svm.core.jfr.JfrRecorder;
 import com.oracle.svm.core.locks.VMCondition;
 import com.oracle.svm.core.locks.VMMutex;
 import com.oracle.svm.core.threadlocal.FastThreadLocal;
@@ -367,6 +369,9 @@ public abstract class VMThreads {
     private static void releaseThread(IsolateThread thread) {
         THREAD_MUTEX.guaranteeIsOwner("This mutex must be locked to prevent that a GC is triggered while detaching a thread from the heap");
         Heap.getHeap().detachThread(thread);
+        if (JfrRecorder.isSupported()) {
+            JfrBuffers.retire(thread);
+        }
         singleton().freeIsolateThread(thread);
         // After that point, the freed thread must not access Object data in the Java heap.
     }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.graal.test;
+
+// Checkstyle: allow reflection
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.svm.core.pgo.InstrumentedImageProfiles;
+import com.oracle.svm.core.pgo.MethodCounter;
+import com.oracle.svm.core.util.UserError;
+import com.oracle.svm.hosted.code.HostedImageProfiles;
+
+/**
+ * Checks that the profiles written by an instrumented image are read back by the image build that
+ * uses them.
+ */
+public class ImageProfilesFileTest {
+
+    private static MethodCounter counter(String methodName, long count) throws IllegalAccessException {
+        MethodCounter counter = InstrumentedImageProfiles.counterFor(methodName);
+        MethodCounter.COUNT_FIELD.setAccessible(true);
+        MethodCounter.COUNT_FIELD.setLong(counter, count);
+        return counter;
+    }
+
+    private static HostedImageProfiles roundTrip(List<String> profiles, int hotMethodCoverage) throws IOException {
+        Path file = Files.createTempFile("image-profiles", ".iprof");
+        try {
+            Files.write(file, String.join("", profiles).getBytes(StandardCharsets.UTF_8));
+            return HostedImageProfiles.load(file, hotMethodCoverage);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        String profile = InstrumentedImageProfiles.format(Arrays.asList(
+                        counter("test.A.cold()", 10),
+                        counter("test.A.hot(int, java.lang.String)", 900),
+                        counter("test.B.never()", 0),
+                        counter("test.B.warm(test.A)", 90)));
+        Assert.assertTrue(profile.startsWith("#"));
+        Assert.assertFalse(profile.contains("test.B.never()"));
+        Assert.assertTrue(profile.indexOf("test.A.hot") < profile.indexOf("test.B.warm"));
+        Assert.assertTrue(profile.indexOf("test.B.warm") < profile.indexOf("test.A.cold"));
+
+        HostedImageProfiles profiles = roundTrip(Arrays.asList(profile), 90);
+        Assert.assertEquals(900, profiles.getCount("test.A.hot(int, java.lang.String)"));
+        Assert.assertEquals(90, profiles.getCount("test.B.warm(test.A)"));
+        Assert.assertEquals(10, profiles.getCount("test.A.cold()"));
+        Assert.assertEquals(0, profiles.getCount("test.B.never()"));
+
+        /* The hot method alone covers exactly 90 percent of the 1000 invocations. */
+        Assert.assertTrue(profiles.isHot("test.A.hot(int, java.lang.String)"));
+        Assert.assertFalse(profiles.isHot("test.B.warm(test.A)"));
+        Assert.assertFalse(profiles.isHot("test.A.cold()"));
+
+        Assert.assertTrue(roundTrip(Arrays.asList(profile), 100).isHot("test.A.cold()"));
+    }
+
+    @Test
+    public void testConcatenatedProfiles() throws Exception {
+        String first = InstrumentedImageProfiles.format(Arrays.asList(counter("test.C.run()", 5), counter("test.C.stop()", 1)));
+        String second = InstrumentedImageProfiles.format(Arrays.asList(counter("test.C.run()", 7)));
+
+        HostedImageProfiles profiles = roundTrip(Arrays.asList(first, second), 90);
+        Assert.assertEquals(12, profiles.getCount("test.C.run()"));
+        Assert.assertEquals(1, profiles.getCount("test.C.stop()"));
+    }
+
+    @Test(expected = UserError.UserException.class)
+    public void testInvalidLine() throws Exception {
+        roundTrip(Arrays.asList("# invocation count\tmethod\n", "many\ttest.D.run()\n"), 90);
+    }
+}
@@ -72,6 +72,9 @@ public class NativeImageOptions {
     @Option(help = "Print class statistics of native image heap")//
     public static final HostedOptionKey<Boolean> PrintHeapHistogram = new HostedOptionKey<>(false);
 
+    @Option(help = "Let image heap strings with equal contents share one backing array")//
+    public static final HostedOptionKey<Boolean> DeduplicateImageHeapStringValues = new HostedOptionKey<>(true);
+
     @Option(help = "Print statistics of methods in native image heap")//
     public static final HostedOptionKey<Boolean> PrintMethodHistogram = new HostedOptionKey<>(false);
 
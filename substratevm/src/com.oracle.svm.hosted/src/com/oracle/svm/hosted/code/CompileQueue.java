@@ -81,11 +81,14 @@ import org.graalvm.compiler.nodes.StateSplit;
 import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.nodes.StructuredGraph.GuardsStage;
 import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
 import org.graalvm.compiler.nodes.extended.ForeignCallNode;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration.BytecodeExceptionMode;
 import org.graalvm.compiler.nodes.graphbuilderconf.InvocationPlugin;
+import org.graalvm.compiler.nodes.java.LoadFieldNode;
 import org.graalvm.compiler.nodes.java.MethodCallTargetNode;
+import org.graalvm.compiler.nodes.java.StoreFieldNode;
 import org.graalvm.compiler.options.OptionValues;
 import org.graalvm.compiler.phases.OptimisticOptimizations;
 import org.graalvm.compiler.phases.PhaseSuite;
@@ -134,6 +137,8 @@ import com.oracle.svm.core.graal.phases.DeadStoreRemovalPhase;
 import com.oracle.svm.core.graal.snippets.DeoptTester;
 import com.oracle.svm.core.graal.stackvalue.StackValueNode;
 import com.oracle.svm.core.heap.RestrictHeapAccessCallees;
+import com.oracle.svm.core.pgo.InstrumentedImageProfiles;
+import com.oracle.svm.core.pgo.MethodCounter;
 import com.oracle.svm.core.util.InterruptImageBuilding;
 import com.oracle.svm.core.util.VMError;
 import com.oracle.svm.hosted.FeatureHandler;
@@ -154,6 +159,7 @@ import jdk.vm.ci.code.site.Call;
 import jdk.vm.ci.code.site.Infopoint;
 import jdk.vm.ci.code.site.InfopointReason;
 import jdk.vm.ci.meta.Constant;
+import jdk.vm.ci.meta.ResolvedJavaField;
 
 public class CompileQueue {
 
@@ -612,10 +618,10 @@ public class CompileQueue {
         }
     }
 
-    private static boolean tryInlineTrivial(StructuredGraph graph, Invoke invoke, boolean firstInline) {
+    private boolean tryInlineTrivial(StructuredGraph graph, Invoke invoke, boolean firstInline) {
         if (invoke.getInvokeKind().isDirect()) {
             HostedMethod singleCallee = (HostedMethod) invoke.callTarget().targetMethod();
-            if (makeInlineDecision(invoke, singleCallee) && InliningUtilities.recursionDepth(invoke, singleCallee) == 0) {
+            if ((makeInlineDecision(invoke, singleCallee) || makeProfileInlineDecision(invoke, singleCallee)) && InliningUtilities.recursionDepth(invoke, singleCallee) == 0) {
                 if (firstInline) {
                     graph.getDebug().dump(DebugContext.DETAILED_LEVEL, graph, "Before inlining");
                 }
@@ -645,6 +651,28 @@ public class CompileQueue {
         return false;
     }
 
+    /**
+     * Decides whether a hot callee that is not trivial is inlined because of the image profiles.
+     * Unlike trivial callees, such callees can contain arbitrary code, so all restrictions of
+     * {@link #canBeUsedForInlining} are checked again for the method the callee is inlined into.
+     */
+    private boolean makeProfileInlineDecision(Invoke invoke, HostedMethod callee) {
+        HostedImageProfiles profiles = HostedImageProfiles.singleton();
+        if (profiles == null || callee.getAnnotation(NeverInlineTrivial.class) != null) {
+            return false;
+        }
+        HostedMethod caller = (HostedMethod) invoke.asNode().graph().method();
+        if (caller.compilationInfo.isDeoptTarget()) {
+            /* Deoptimization targets are not performance critical and keep their invokes. */
+            return false;
+        }
+        if (caller.getAnnotation(Uninterruptible.class) != null || callee.getAnnotation(Uninterruptible.class) != null || mustNotAllocateCallee(caller) || mustNotAllocate(callee)) {
+            /* Do not let profiles grow uninterruptible or allocation free code. */
+            return false;
+        }
+        return canBeUsedForInlining(invoke) && profiles.shouldInline(invoke, callee);
+    }
+
     private static boolean mustNotAllocateCallee(HostedMethod method) {
         return ImageSingletons.lookup(RestrictHeapAccessCallees.class).mustNotAllocate(method);
     }
@@ -982,6 +1010,9 @@ public class CompileQueue {
                 if (deoptimizeAll && method.compilationInfo.canDeoptForTesting) {
                     insertDeoptTests(method, graph);
                 }
+                if (InstrumentedImageProfiles.Options.PGOInstrument.getValue() && canCountInvocations(method)) {
+                    insertMethodCounter(method, graph, backend.getProviders());
+                }
                 method.compilationInfo.numNodesBeforeCompilation = graph.getNodeCount();
                 method.compilationInfo.numDeoptEntryPoints = graph.getNodes().filter(DeoptEntryNode.class).count();
                 method.compilationInfo.numDuringCallEntryPoints = graph.getNodes(MethodCallTargetNode.TYPE).snapshot().stream()
@@ -1204,11 +1235,48 @@ public class CompileQueue {
         }
     }
 
+    private static boolean canCountInvocations(HostedMethod method) {
+        /*
+         * Stubs and uninterruptible code can run before the heap base is set up, so they must not
+         * access the counters in the image heap.
+         */
+        return !method.compilationInfo.isDeoptTarget() && method.compilationInfo.getCustomParseFunction() == null && method.getAnnotation(Uninterruptible.class) == null;
+    }
+
+    /**
+     * Increments the {@link MethodCounter} of the method at its start, for an instrumented image
+     * that records image profiles.
+     * <p>
+     * The increment is a plain load, add and store, not an atomic operation. Threads that invoke
+     * the same method concurrently can lose increments, so the recorded counts are a lower bound.
+     * This is good enough to find the hot methods and keeps the instrumented code fast.
+     * {@link InstrumentedImageProfiles#format} reads the counts with the same tolerance.
+     */
+    private void insertMethodCounter(HostedMethod method, StructuredGraph graph, Providers providers) {
+        StartNode start = graph.start();
+        if (start.stateAfter() == null) {
+            return;
+        }
+        MethodCounter counter = InstrumentedImageProfiles.counterFor(HostedImageProfiles.methodName(method));
+        ResolvedJavaField countField = providers.getMetaAccess().lookupJavaField(MethodCounter.COUNT_FIELD);
+        ConstantNode counterNode = ConstantNode.forConstant(snippetReflection.forObject(counter), providers.getMetaAccess(), graph);
+        LoadFieldNode load = graph.add(LoadFieldNode.create(null, counterNode, countField));
+        ValueNode increment = graph.addOrUnique(new AddNode(load, ConstantNode.forLong(1, graph)));
+        StoreFieldNode store = graph.add(new StoreFieldNode(counterNode, countField, increment));
+        store.setStateAfter(start.stateAfter());
+        graph.addAfterFixed(start, load);
+        graph.addAfterFixed(load, store);
+    }
+
     public Map<HostedMethod, CompilationResult> getCompilations() {
         Map<HostedMethod, CompilationResult> result = new TreeMap<>();
         for (Entry<HostedMethod, CompileTask> entry : compilations.entrySet()) {
             result.put(entry.getKey(), entry.getValue().result);
         }
+        HostedImageProfiles profiles = HostedImageProfiles.singleton();
+        if (profiles != null) {
+            return profiles.layout(result);
+        }
         return result;
     }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.hosted.code;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.graalvm.compiler.code.CompilationResult;
+import org.graalvm.compiler.nodes.Invoke;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.options.Option;
+import org.graalvm.nativeimage.ImageSingletons;
+import org.graalvm.nativeimage.hosted.Feature;
+
+import com.oracle.svm.core.annotate.AutomaticFeature;
+import com.oracle.svm.core.option.HostedOptionKey;
+import com.oracle.svm.core.pgo.InstrumentedImageProfiles;
+import com.oracle.svm.core.util.UserError;
+import com.oracle.svm.hosted.meta.HostedMethod;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+
+/**
+ * Method invocation counts recorded by an image built with
+ * {@link InstrumentedImageProfiles.Options#PGOInstrument}, used to guide the compilation of a
+ * second image. The hot methods, i.e., the most invoked methods that together account for
+ * {@link Options#PGOHotMethodCoverage} of all recorded invocations, are inlined into their callers
+ * if they are small enough, and are placed next to each other at the start of the code section.
+ */
+public final class HostedImageProfiles {
+
+    public static class Options {
+        @Option(help = "Profiles file written by an image built with -H:+PGOInstrument, used for profile-guided optimizations.")//
+        public static final HostedOptionKey<String> PGO = new HostedOptionKey<>("");
+
+        @Option(help = "Percentage of all recorded invocations that the hot methods of a profile account for.")//
+        public static final HostedOptionKey<Integer> PGOHotMethodCoverage = new HostedOptionKey<>(90);
+
+        @Option(help = "Maximum number of nodes of a hot method that is inlined into its callers.")//
+        public static final HostedOptionKey<Integer> PGOInlineMaxCalleeNodes = new HostedOptionKey<>(100);
+
+        @Option(help = "Maximum number of nodes of a method that hot methods are inlined into.")//
+        public static final HostedOptionKey<Integer> PGOInlineMaxCallerNodes = new HostedOptionKey<>(3000);
+    }
+
+    private final Map<String, Long> counts;
+    private final Set<String> hotMethods;
+
+    private HostedImageProfiles(Map<String, Long> counts, Set<String> hotMethods) {
+        this.counts = counts;
+        this.hotMethods = hotMethods;
+    }
+
+    /** Returns the loaded profiles, or {@code null} if the image is built without profiles. */
+    public static HostedImageProfiles singleton() {
+        return ImageSingletons.contains(HostedImageProfiles.class) ? ImageSingletons.lookup(HostedImageProfiles.class) : null;
+    }
+
+    /** The name of a method in the profiles file. */
+    public static String methodName(ResolvedJavaMethod method) {
+        return method.format("%H.%n(%p)");
+    }
+
+    /**
+     * Reads a profiles file. The hot methods are the most invoked methods that together account for
+     * {@code hotMethodCoverage} percent of all invocations.
+     */
+    public static HostedImageProfiles load(Path file, int hotMethodCoverage) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw UserError.abort("Cannot read profiles file %s: %s", file, e.getMessage());
+        }
+        Map<String, Long> counts = new HashMap<>();
+        long total = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('\t');
+            long count;
+            try {
+                count = separator < 0 ? -1 : Long.parseLong(line.substring(0, separator));
+            } catch (NumberFormatException e) {
+                count = -1;
+            }
+            if (count < 0) {
+                throw UserError.abort("Invalid line %d in profiles file %s: %s", i + 1, file, line);
+            }
+            /* Profiles of several runs can be concatenated. */
+            counts.merge(line.substring(separator + 1), count, Long::sum);
+            total += count;
+        }
+
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(counts.entrySet());
+        sorted.sort((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()));
+        Set<String> hotMethods = new HashSet<>();
+        long hotLimit = (long) (total * (hotMethodCoverage / 100.0));
+        long covered = 0;
+        for (Map.Entry<String, Long> entry : sorted) {
+            if (covered >= hotLimit) {
+                break;
+            }
+            hotMethods.add(entry.getKey());
+            covered += entry.getValue();
+        }
+        return new HostedImageProfiles(counts, hotMethods);
+    }
+
+    public long getCount(HostedMethod method) {
+        return getCount(methodName(method));
+    }
+
+    public long getCount(String methodName) {
+        return counts.getOrDefault(methodName, 0L);
+    }
+
+    public boolean isHot(HostedMethod method) {
+        return isHot(methodName(method));
+    }
+
+    public boolean isHot(String methodName) {
+        return hotMethods.contains(methodName);
+    }
+
+    /**
+     * Decides whether a hot callee that is not trivial is inlined, based only on its hotness and
+     * size. The inlining restrictions are checked by the caller, see
+     * {@code CompileQueue.makeProfileInlineDecision}.
+     */
+    boolean shouldInline(Invoke invoke, HostedMethod callee) {
+        StructuredGraph calleeGraph = callee.compilationInfo.getGraph();
+        return calleeGraph != null && isHot(callee) &&
+                        calleeGraph.getNodeCount() <= Options.PGOInlineMaxCalleeNodes.getValue() &&
+                        invoke.asNode().graph().getNodeCount() <= Options.PGOInlineMaxCallerNodes.getValue();
+    }
+
+    /**
+     * Orders the compilations so that the hot methods are placed first, most invoked first, and
+     * all other methods keep their order.
+     */
+    Map<HostedMethod, CompilationResult> layout(Map<HostedMethod, CompilationResult> compilations) {
+        List<HostedMethod> hot = new ArrayList<>();
+        for (HostedMethod method : compilations.keySet()) {
+            if (!method.compilationInfo.isDeoptTarget() && isHot(method)) {
+                hot.add(method);
+            }
+        }
+        hot.sort((m1, m2) -> Long.compare(getCount(m2), getCount(m1)));
+
+        Map<HostedMethod, CompilationResult> result = new LinkedHashMap<>();
+        for (HostedMethod method : hot) {
+            result.put(method, compilations.get(method));
+        }
+        result.putAll(compilations);
+        return result;
+    }
+}
+
+@AutomaticFeature
+class HostedImageProfilesFeature implements Feature {
+    @Override
+    public boolean isInConfiguration(IsInConfigurationAccess access) {
+        return !HostedImageProfiles.Options.PGO.getValue().isEmpty();
+    }
+
+    @Override
+    public void afterRegistration(AfterRegistrationAccess access) {
+        Path file = Paths.get(HostedImageProfiles.Options.PGO.getValue());
+        ImageSingletons.add(HostedImageProfiles.class, HostedImageProfiles.load(file, HostedImageProfiles.Options.PGOHotMethodCoverage.getValue()));
+    }
+}
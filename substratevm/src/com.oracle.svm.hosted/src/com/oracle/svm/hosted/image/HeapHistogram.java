@@ -65,16 +65,7 @@ public class HeapHistogram {
     };
 
     public void add(ObjectInfo objectInfo, long size) {
-        assert NativeImageOptions.PrintHeapHistogram.getValue();
-
-        HistogramEntry entry = data.get(objectInfo.getClazz());
-        if (entry == null) {
-            entry = new HistogramEntry(objectInfo.getClazz());
-            data.put(objectInfo.getClazz(), entry);
-        }
-
-        entry.count++;
-        entry.size += size;
+        add(objectInfo.getClazz(), size);
 
         if (PrintStrings && objectInfo.getObject() instanceof String) {
             String reason = String.valueOf(objectInfo.reason);
@@ -85,6 +76,19 @@ public class HeapHistogram {
         }
     }
 
+    public void add(HostedClass clazz, long size) {
+        assert NativeImageOptions.PrintHeapHistogram.getValue();
+
+        HistogramEntry entry = data.get(clazz);
+        if (entry == null) {
+            entry = new HistogramEntry(clazz);
+            data.put(clazz, entry);
+        }
+
+        entry.count++;
+        entry.size += size;
+    }
+
     public void printHeadings(final String title) {
         assert NativeImageOptions.PrintHeapHistogram.getValue();
         System.out.format("\n%s\n", title);
@@ -29,6 +29,7 @@ import java.util.concurrent.ForkJoinPool;
 import org.graalvm.nativeimage.Platform;
 import org.graalvm.nativeimage.Platforms;
 import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.nativeimage.hosted.RuntimeClassInitialization;
 import org.graalvm.nativeimage.hosted.RuntimeReflection;
 
 import com.oracle.svm.core.annotate.AutomaticFeature;
@@ -40,6 +41,18 @@ import com.oracle.svm.util.ReflectionUtil;
 @AutomaticFeature
 @Platforms(Platform.HOSTED_ONLY.class)
 public class LoomContinuationFeature implements Feature {
+    @Override
+    public void afterRegistration(AfterRegistrationAccess access) {
+        if (JavaContinuations.useLoom()) {
+            /*
+             * Virtual threads that block on NIO channels register with a poller and yield instead
+             * of blocking their carrier thread. The pollers start their threads when they are
+             * initialized.
+             */
+            RuntimeClassInitialization.initializeAtRunTime("sun.nio.ch.Poller");
+        }
+    }
+
     @Override
     public void beforeAnalysis(BeforeAnalysisAccess arg) {
         if (JavaContinuations.useLoom()) {
@@ -93,6 +93,9 @@ import com.oracle.svm.core.graal.code.CGlobalDataInfo;
 import com.oracle.svm.core.graal.code.CGlobalDataReference;
 import com.oracle.svm.core.image.ImageHeapLayoutInfo;
 import com.oracle.svm.core.image.ImageHeapPartition;
+import com.oracle.svm.core.jdk.MappedResource;
+import com.oracle.svm.core.jdk.MappedResourceSection;
+import com.oracle.svm.core.jdk.Resources;
 import com.oracle.svm.core.meta.SubstrateObjectConstant;
 import com.oracle.svm.core.option.HostedOptionValues;
 import com.oracle.svm.core.util.UserError;
@@ -476,6 +479,20 @@ public abstract class NativeImage extends AbstractImage {
             defineDataSymbol(Isolates.IMAGE_HEAP_WRITABLE_BEGIN_SYMBOL_NAME, heapSection, heapLayout.getWritableOffset());
             defineDataSymbol(Isolates.IMAGE_HEAP_WRITABLE_END_SYMBOL_NAME, heapSection, heapLayout.getWritableOffset() + heapLayout.getWritableSize());
 
+            // - Write the mapped resources to their own read-only section. The section is only
+            // paged in by the loader when a resource is read, see MappedResource.
+            if (Resources.hasMappedResources()) {
+                byte[] resourcesContent = ImageSingletons.lookup(MappedResourceSection.class).seal();
+                if (resourcesContent.length == 0) {
+                    // Sections must not be empty, but the begin symbol must still be defined.
+                    resourcesContent = new byte[wordSize];
+                }
+                ProgbitsSectionImpl resourcesSectionImpl = new BasicProgbitsSectionImpl(resourcesContent);
+                Section resourcesSection = objectFile.newProgbitsSection(SectionName.SVM_RESOURCES.getFormatDependentName(objectFile.getFormat()), alignment, false, false,
+                                resourcesSectionImpl);
+                defineDataSymbol(MappedResource.SECTION_BEGIN_SYMBOL_NAME, resourcesSection, 0);
+            }
+
             // Mark the sections with the relocations from the maps.
             markRelocationSitesFromBuffer(textBuffer, textImpl);
             markRelocationSitesFromBuffer(roDataBuffer, roDataImpl);
@@ -28,6 +28,8 @@ import static com.oracle.svm.core.util.VMError.shouldNotReachHere;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
@@ -67,6 +69,7 @@ import com.oracle.svm.core.meta.SubstrateObjectConstant;
 import com.oracle.svm.core.util.HostedStringDeduplication;
 import com.oracle.svm.core.util.UserError;
 import com.oracle.svm.core.util.VMError;
+import com.oracle.svm.hosted.NativeImageOptions;
 import com.oracle.svm.hosted.config.HybridLayout;
 import com.oracle.svm.hosted.meta.HostedArrayClass;
 import com.oracle.svm.hosted.meta.HostedClass;
@@ -111,6 +114,17 @@ public final class NativeImageHeap implements ImageHeap {
     /** A Map to build what will be the String intern map in the native image heap. */
     private final Map<String, String> internedStrings = new HashMap<>();
 
+    /**
+     * The backing arrays of image heap strings by their contents. Strings with equal contents share
+     * the first such array, see {@link #deduplicateStringValue}.
+     */
+    private final Map<Object, Object> canonicalStringValues = new HashMap<>();
+    private final Set<Object> canonicalStringValueSet = Collections.newSetFromMap(new IdentityHashMap<>());
+    /** Canonical backing arrays that are also referenced by objects other than strings. */
+    private final Set<Object> sharedStringValues = Collections.newSetFromMap(new IdentityHashMap<>());
+    /** Backing arrays of strings that are not written because they are a duplicate. */
+    private final IdentityHashMap<Object, StringValueAlias> stringValueAliases = new IdentityHashMap<>();
+
     // Phase variables.
     private final Phase addObjectsPhase = Phase.factory();
     private final Phase internStringsPhase = Phase.factory();
@@ -144,7 +158,22 @@ public final class NativeImageHeap implements ImageHeap {
     }
 
     public ObjectInfo getObjectInfo(Object obj) {
-        return objects.get(obj);
+        ObjectInfo info = objects.get(obj);
+        if (info == null) {
+            StringValueAlias alias = stringValueAliases.get(obj);
+            if (alias != null) {
+                return objects.get(alias.canonical);
+            }
+        }
+        return info;
+    }
+
+    /**
+     * Returns the backing arrays of image heap strings that are not written because the strings use
+     * an array with equal contents instead.
+     */
+    public Collection<StringValueAlias> getDeduplicatedStringValues() {
+        return stringValueAliases.values();
     }
 
     protected HostedUniverse getUniverse() {
@@ -225,6 +254,7 @@ public final class NativeImageHeap implements ImageHeap {
         } else {
             internStringsPhase.disallow();
         }
+        addSharedStringValueAliases();
 
         addObjectsPhase.disallow();
         assert addObjectWorklist.isEmpty();
@@ -288,6 +318,8 @@ public final class NativeImageHeap implements ImageHeap {
 
         if (original instanceof String) {
             handleImageString((String) original);
+        } else if (canonicalStringValueSet.contains(original) && !isReferencedFromString(reason)) {
+            sharedStringValues.add(original);
         }
 
         final ObjectInfo existing = objects.get(original);
@@ -349,6 +381,64 @@ public final class NativeImageHeap implements ImageHeap {
         }
     }
 
+    /**
+     * The backing array of a string is never exposed and never modified, so strings with equal
+     * contents can share one array without that being observable. The first array with some
+     * contents that is reached from a string becomes the canonical array, and the backing arrays of
+     * later strings with equal contents are not written.
+     *
+     * An array that is also referenced by another object keeps its identity: such a duplicate is
+     * written anyway when the other object adds it, and {@link #getObjectInfo} prefers the written
+     * array. The duplicates of a canonical array that is referenced by another object are written
+     * as well, see {@link #addSharedStringValueAliases}, because that object could modify it.
+     *
+     * @return true if the string will refer to a canonical array instead of {@code value}
+     */
+    private boolean deduplicateStringValue(Object value, ObjectInfo stringInfo) {
+        if (!NativeImageOptions.DeduplicateImageHeapStringValues.getValue() || objects.containsKey(value)) {
+            return false;
+        }
+        Object key;
+        long size;
+        if (value instanceof byte[]) {
+            key = ByteBuffer.wrap((byte[]) value);
+            size = objectLayout.getArraySize(JavaKind.Byte, ((byte[]) value).length);
+        } else if (value instanceof char[]) {
+            key = CharBuffer.wrap((char[]) value);
+            size = objectLayout.getArraySize(JavaKind.Char, ((char[]) value).length);
+        } else {
+            return false;
+        }
+        Object canonical = canonicalStringValues.putIfAbsent(key, value);
+        if (canonical == null) {
+            canonicalStringValueSet.add(value);
+            return false;
+        }
+        if (canonical == value || sharedStringValues.contains(canonical)) {
+            return false;
+        }
+        stringValueAliases.put(value, new StringValueAlias(value, canonical, stringInfo, size));
+        return true;
+    }
+
+    private static boolean isReferencedFromString(Object reason) {
+        return reason instanceof ObjectInfo && ((ObjectInfo) reason).getObject() instanceof String;
+    }
+
+    /**
+     * Writes the duplicates of canonical arrays that turned out to be referenced by objects other
+     * than strings, and drops the duplicates that are written anyway.
+     */
+    private void addSharedStringValueAliases() {
+        for (StringValueAlias alias : stringValueAliases.values()) {
+            if (sharedStringValues.contains(alias.canonical)) {
+                addObject(alias.value, true, alias.string);
+            }
+        }
+        processAddObjectWorklist();
+        stringValueAliases.keySet().removeIf(objects::containsKey);
+    }
+
     /**
      * For immutable Strings in the native image heap, force eager computation of the hash field.
      */
@@ -441,7 +531,9 @@ public final class NativeImageHeap implements ImageHeap {
                                 if (spawnIsolates()) {
                                     fieldRelocatable = fieldValue instanceof RelocatedPointer;
                                 }
-                                recursiveAddObject(fieldValue, fieldsAreImmutable, info);
+                                if (!fieldsAreImmutable || !deduplicateStringValue(fieldValue, info)) {
+                                    recursiveAddObject(fieldValue, fieldsAreImmutable, info);
+                                }
                                 references = true;
                             }
                         }
@@ -599,6 +691,35 @@ public final class NativeImageHeap implements ImageHeap {
         }
     }
 
+    /** The backing array of a string that is represented by an array with equal contents. */
+    public static final class StringValueAlias {
+        final Object value;
+        final Object canonical;
+        /** The string that refers to the array. */
+        final ObjectInfo string;
+        /** The size that the array would take in the image heap. */
+        final long size;
+
+        StringValueAlias(Object value, Object canonical, ObjectInfo string, long size) {
+            this.value = value;
+            this.canonical = canonical;
+            this.string = string;
+            this.size = size;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public ObjectInfo getString() {
+            return string;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+
     static class AddObjectData {
 
         AddObjectData(Object original, boolean immutableFromParent, Object reason) {
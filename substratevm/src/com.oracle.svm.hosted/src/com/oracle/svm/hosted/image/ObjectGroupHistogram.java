@@ -128,6 +128,19 @@ public final class ObjectGroupHistogram {
         totalHistogram.printHeadings("=== Total ===");
         totalHistogram.print();
 
+        /*
+         * Backing arrays of strings that share an array with equal contents, by the class of the
+         * object that refers to the string. The sizes are the bytes saved in the image heap.
+         */
+        HeapHistogram stringValueHistogram = new HeapHistogram();
+        for (NativeImageHeap.StringValueAlias alias : heap.getDeduplicatedStringValues()) {
+            ObjectInfo string = alias.getString();
+            ObjectInfo referrer = string.reason instanceof ObjectInfo ? (ObjectInfo) string.reason : string;
+            stringValueHistogram.add(referrer.getClazz(), alias.getSize());
+        }
+        stringValueHistogram.printHeadings("=== Deduplicated string values ===");
+        stringValueHistogram.print();
+
         for (Map.Entry<String, HeapHistogram> entry : groupHistograms.entrySet()) {
             entry.getValue().printHeadings("=== " + entry.getKey() + " ===");
             entry.getValue().print();
@@ -139,6 +152,7 @@ public final class ObjectGroupHistogram {
             System.out.format("%s; %d; %d\n", entry.getKey(), entry.getValue().getTotalCount(), entry.getValue().getTotalSize());
         }
         System.out.format("%s; %d; %d\n", "Total", totalHistogram.getTotalCount(), totalHistogram.getTotalSize());
+        System.out.format("%s; %d; %d\n", "Deduplicated string values", stringValueHistogram.getTotalCount(), stringValueHistogram.getTotalSize());
     }
 
     private static Object readGraalSupportField(String name) {
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test.jdk11;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.nativeimage.hosted.RuntimeClassInitialization;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests virtual threads on a small pool of carrier threads. Runs only in an image built with
+ * {@code -H:+UseLoom}, {@link TestFeature} and {@code -D}{@value #ENABLED_PROPERTY}{@code =true},
+ * with a JDK that provides virtual threads.
+ * <p>
+ * Parking and sleeping must not pin: more virtual threads than carrier threads block at the same
+ * time. Monitors still pin, so the monitor tests only check mutual exclusion and wait/notify with
+ * fewer blocked virtual threads than carrier threads.
+ */
+public class VirtualThreadsTest {
+
+    static final String ENABLED_PROPERTY = "com.oracle.svm.test.jdk11.VirtualThreadsTest.enabled";
+    static final int CARRIER_THREADS = 2;
+    static final int VIRTUAL_THREADS = 100;
+
+    public static class TestFeature implements Feature {
+        @Override
+        public void beforeAnalysis(BeforeAnalysisAccess access) {
+            RuntimeClassInitialization.initializeAtBuildTime(BuildTimeProperties.class);
+        }
+    }
+
+    /** Initialized at image build time, so that it sees the build time system property. */
+    static final class BuildTimeProperties {
+        static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    private static Method startVirtualThread;
+
+    @BeforeClass
+    public static void setUp() throws NoSuchMethodException {
+        Assume.assumeTrue("Requires an image with virtual threads", BuildTimeProperties.ENABLED);
+        startVirtualThread = Thread.class.getMethod("startVirtualThread", Runnable.class);
+        /* The default scheduler is created on first use and reads this property. */
+        System.setProperty("jdk.defaultScheduler.parallelism", String.valueOf(CARRIER_THREADS));
+    }
+
+    private static Thread startVirtualThread(Runnable task) {
+        try {
+            return (Thread) startVirtualThread.invoke(null, task);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void joinAll(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.MINUTES.toMillis(1));
+            Assert.assertFalse("Virtual thread did not terminate", thread.isAlive());
+        }
+    }
+
+    @Test
+    public void testParkAndUnpark() throws InterruptedException {
+        CountDownLatch parking = new CountDownLatch(VIRTUAL_THREADS);
+        AtomicBoolean released = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < VIRTUAL_THREADS; i++) {
+            threads.add(startVirtualThread(() -> {
+                parking.countDown();
+                while (!released.get()) {
+                    LockSupport.park();
+                }
+            }));
+        }
+        /* Only possible if the parked virtual threads gave up their carrier threads. */
+        Assert.assertTrue("Parked virtual threads pin their carrier threads", parking.await(1, TimeUnit.MINUTES));
+        released.set(true);
+        for (Thread thread : threads) {
+            LockSupport.unpark(thread);
+        }
+        joinAll(threads);
+    }
+
+    @Test
+    public void testSleep() throws InterruptedException {
+        long sleepMillis = 200;
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < VIRTUAL_THREADS; i++) {
+            threads.add(startVirtualThread(() -> {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            }));
+        }
+        joinAll(threads);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        /* Sleeping on the carrier threads would take VIRTUAL_THREADS / CARRIER_THREADS sleeps. */
+        Assert.assertTrue("Sleeping virtual threads pin their carrier threads: " + elapsedMillis + " ms", elapsedMillis < VIRTUAL_THREADS / CARRIER_THREADS * sleepMillis / 2);
+    }
+
+    @Test
+    public void testMonitorContention() throws InterruptedException {
+        int increments = 10_000;
+        Object lock = new Object();
+        long[] counter = new long[1];
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < VIRTUAL_THREADS; i++) {
+            threads.add(startVirtualThread(() -> {
+                for (int j = 0; j < increments; j++) {
+                    synchronized (lock) {
+                        counter[0]++;
+                    }
+                }
+            }));
+        }
+        joinAll(threads);
+        synchronized (lock) {
+            Assert.assertEquals((long) VIRTUAL_THREADS * increments, counter[0]);
+        }
+    }
+
+    @Test
+    public void testMonitorWaitAndNotify() throws InterruptedException {
+        Object lock = new Object();
+        boolean[] ready = new boolean[1];
+        /* A waiting virtual thread pins its carrier thread, so only one waits at a time. */
+        Thread waiter = startVirtualThread(() -> {
+            synchronized (lock) {
+                while (!ready[0]) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            }
+        });
+        Thread notifier = startVirtualThread(() -> {
+            synchronized (lock) {
+                ready[0] = true;
+                lock.notifyAll();
+            }
+        });
+        List<Thread> threads = new ArrayList<>();
+        threads.add(waiter);
+        threads.add(notifier);
+        joinAll(threads);
+    }
+}
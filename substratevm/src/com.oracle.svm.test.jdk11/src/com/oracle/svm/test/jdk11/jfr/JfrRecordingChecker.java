@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test.jdk11.jfr;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Checks the flight recording of a {@link JfrRecordingWorkload} image with the JFR parser of the
+ * JDK. Runs on the JVM and exits with a non-zero status if the recording lacks an event type or has
+ * unexpected field values.
+ */
+public class JfrRecordingChecker {
+
+    private static final List<String> EVENT_TYPES = Arrays.asList("jdk.GarbageCollection", "jdk.GCHeapSummary", "jdk.ExecuteVMOperation", "jdk.JavaMonitorEnter", "jdk.ThreadPark",
+                    "jdk.ObjectAllocationSample");
+
+    public static void main(String[] args) throws IOException {
+        Map<String, List<RecordedEvent>> events = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(Paths.get(args[0]))) {
+            events.computeIfAbsent(event.getEventType().getName(), name -> new ArrayList<>()).add(event);
+        }
+        for (String type : EVENT_TYPES) {
+            check(events.containsKey(type), "No " + type + " event in " + events.keySet());
+        }
+
+        for (RecordedEvent event : events.get("jdk.GarbageCollection")) {
+            String name = event.getString("name");
+            check("IncrementalCollection".equals(name) || "CompleteCollection".equals(name), event);
+            check(event.getString("cause") != null, event);
+            check(event.getLong("sumOfPauses") >= 0 && event.getLong("longestPause") >= 0, event);
+        }
+        check(events.get("jdk.GarbageCollection").stream().anyMatch(e -> "CompleteCollection".equals(e.getString("name"))), "No collection for System.gc()");
+
+        for (RecordedEvent event : events.get("jdk.GCHeapSummary")) {
+            String when = event.getString("when");
+            check("Before GC".equals(when) || "After GC".equals(when), event);
+            check(event.getLong("heapUsed") > 0, event);
+        }
+
+        for (RecordedEvent event : events.get("jdk.ExecuteVMOperation")) {
+            RecordedThread caller = event.getThread("caller");
+            check(event.getBoolean("blocking") == (caller != null), event);
+        }
+        /* Operation names that are created at run time are not in the image heap and missing. */
+        check(events.get("jdk.ExecuteVMOperation").stream().anyMatch(e -> e.getString("operation") != null), "No VM operation has a name");
+
+        check(events.get("jdk.JavaMonitorEnter").stream().anyMatch(e -> JfrRecordingWorkload.Monitor.class.getName().equals(e.getClass("monitorClass").getName()) &&
+                        JfrRecordingWorkload.MONITOR_THREAD_NAME.equals(threadName(e))), "No monitor enter of " + JfrRecordingWorkload.MONITOR_THREAD_NAME);
+
+        /* The parking thread exited before the recording ended, so its name must have been kept. */
+        check(events.get("jdk.ThreadPark").stream().anyMatch(e -> e.getClass("parkedClass") != null && JfrRecordingWorkload.Blocker.class.getName().equals(e.getClass("parkedClass").getName()) &&
+                        e.getLong("timeout") == JfrRecordingWorkload.PARK_NANOS && JfrRecordingWorkload.PARK_THREAD_NAME.equals(threadName(e))), "No park of " + JfrRecordingWorkload.PARK_THREAD_NAME);
+
+        long sampledBytes = 0;
+        for (RecordedEvent event : events.get("jdk.ObjectAllocationSample")) {
+            check(event.getClass("objectClass") != null, event);
+            check(event.getLong("weight") > 0, event);
+            sampledBytes += event.getLong("weight");
+        }
+        check(sampledBytes >= (long) JfrRecordingWorkload.ALLOCATED_ARRAYS * JfrRecordingWorkload.ARRAY_BYTES / 2, "Sampled only " + sampledBytes + " bytes");
+    }
+
+    private static String threadName(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        return thread == null ? null : thread.getJavaName();
+    }
+
+    private static void check(boolean condition, Object message) {
+        if (!condition) {
+            System.err.println("Unexpected flight recording: " + message);
+            System.exit(1);
+        }
+    }
+}
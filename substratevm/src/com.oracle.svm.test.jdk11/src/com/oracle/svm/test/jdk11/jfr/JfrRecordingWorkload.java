@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test.jdk11.jfr;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs as an image with a flight recording and emits every event type that the image can record.
+ * The recording is then checked by {@link JfrRecordingChecker}, see {@code mx jfrtest}.
+ */
+public class JfrRecordingWorkload {
+
+    static final String MONITOR_THREAD_NAME = "JFR Monitor Thread";
+    static final String PARK_THREAD_NAME = "JFR Park Thread";
+    static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    static final int ALLOCATED_ARRAYS = 1024;
+    static final int ARRAY_BYTES = 16 * 1024;
+
+    static final class Monitor {
+    }
+
+    static final class Blocker {
+    }
+
+    static volatile Object sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        contendMonitor();
+        parkOnExitingThread();
+        for (int i = 0; i < ALLOCATED_ARRAYS; i++) {
+            sink = new byte[ARRAY_BYTES];
+        }
+        System.gc();
+    }
+
+    /** Makes another thread block on a monitor that is held by the current thread. */
+    private static void contendMonitor() throws InterruptedException {
+        Monitor monitor = new Monitor();
+        Thread thread;
+        synchronized (monitor) {
+            thread = new Thread(() -> {
+                synchronized (monitor) {
+                    sink = monitor;
+                }
+            }, MONITOR_THREAD_NAME);
+            thread.start();
+            while (thread.getState() != Thread.State.BLOCKED) {
+                Thread.yield();
+            }
+        }
+        thread.join();
+    }
+
+    /** Parks a thread that exits before the recording ends. */
+    private static void parkOnExitingThread() throws InterruptedException {
+        CountDownLatch parked = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            LockSupport.parkNanos(new Blocker(), PARK_NANOS);
+            parked.countDown();
+        }, PARK_THREAD_NAME);
+        thread.start();
+        parked.await();
+        thread.join();
+    }
+}
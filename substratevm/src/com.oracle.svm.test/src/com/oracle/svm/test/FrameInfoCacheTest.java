@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that stack walks decode the right frames when call sites share their frame information
+ * encoding and when the decoded frames come from the frame info cache. Every stack trace is taken
+ * repeatedly, so that the first walk misses the cache and the following walks hit it. The gate also
+ * runs this test in an image with a tiny cache, where the entries keep evicting each other.
+ */
+public class FrameInfoCacheTest {
+
+    private static final int REPETITIONS = 100;
+    private static final int RECURSION_DEPTH = 50;
+    private static final int THREADS = 4;
+
+    @Test
+    public void testRepeatedStackTraces() {
+        StackTraceElement[] trace = takeRepeatedly(FrameInfoCacheTest::outer);
+        assertFrames(trace, "inner", "outer");
+    }
+
+    @Test
+    public void testDistinctCallSitesInSameMethod() {
+        StackTraceElement[] firstSite = takeRepeatedly(() -> twoCallSites(true));
+        StackTraceElement[] secondSite = takeRepeatedly(() -> twoCallSites(false));
+        assertFrames(firstSite, "inner", "twoCallSites");
+        assertFrames(secondSite, "inner", "twoCallSites");
+        Assert.assertNotEquals("Different call sites must not report the same line", firstSite[1].getLineNumber(), secondSite[1].getLineNumber());
+    }
+
+    @Test
+    public void testRecursiveCallSite() {
+        StackTraceElement[] trace = takeRepeatedly(() -> recurse(RECURSION_DEPTH));
+        assertFrames(trace, "inner", "recurse");
+        /* All but the innermost recursive frame return to the same call site. */
+        for (int i = 2; i <= RECURSION_DEPTH + 1; i++) {
+            Assert.assertEquals("recurse", trace[i].getMethodName());
+            Assert.assertEquals(trace[2].getLineNumber(), trace[i].getLineNumber());
+        }
+        Assert.assertNotEquals("recurse", trace[RECURSION_DEPTH + 2].getMethodName());
+    }
+
+    @Test
+    public void testExceptionStackTraces() {
+        StackTraceElement[] trace = takeRepeatedly(FrameInfoCacheTest::throwAndCatch);
+        assertFrames(trace, "thrower", "throwAndCatch");
+    }
+
+    @Test
+    public void testConcurrentStackTraces() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    assertFrames(takeRepeatedly(FrameInfoCacheTest::outer), "inner", "outer");
+                    assertFrames(takeRepeatedly(FrameInfoCacheTest::throwAndCatch), "thrower", "throwAndCatch");
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    /**
+     * Takes a stack trace from the same call site several times and checks that all of them are
+     * equal to the first one, which was decoded without the cache.
+     */
+    private static StackTraceElement[] takeRepeatedly(Supplier<StackTraceElement[]> action) {
+        StackTraceElement[] first = null;
+        for (int i = 0; i < REPETITIONS; i++) {
+            StackTraceElement[] trace = action.get();
+            if (first == null) {
+                first = trace;
+            } else {
+                Assert.assertArrayEquals(first, trace);
+            }
+        }
+        return first;
+    }
+
+    private static StackTraceElement[] outer() {
+        return inner();
+    }
+
+    private static StackTraceElement[] inner() {
+        return new Throwable().getStackTrace();
+    }
+
+    private static StackTraceElement[] twoCallSites(boolean first) {
+        if (first) {
+            return inner();
+        } else {
+            return inner();
+        }
+    }
+
+    private static StackTraceElement[] recurse(int depth) {
+        if (depth == 0) {
+            return inner();
+        }
+        return recurse(depth - 1);
+    }
+
+    private static StackTraceElement[] throwAndCatch() {
+        try {
+            thrower();
+            throw new AssertionError("not reached");
+        } catch (IllegalStateException e) {
+            return e.getStackTrace();
+        }
+    }
+
+    private static void thrower() {
+        throw new IllegalStateException();
+    }
+
+    private static void assertFrames(StackTraceElement[] trace, String... methodNames) {
+        Assert.assertTrue(trace.length >= methodNames.length);
+        for (int i = 0; i < methodNames.length; i++) {
+            Assert.assertEquals(FrameInfoCacheTest.class.getName(), trace[i].getClassName());
+            Assert.assertEquals(methodNames[i], trace[i].getMethodName());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.nativeimage.ImageInfo;
+import org.graalvm.nativeimage.RuntimeOptions;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Tests that the heap returns unused chunks to the operating system when the application goes idle
+ * after a load spike, without another collection. The test sets a minimum heap size that keeps the
+ * chunks of the spike committed after the collection, and a short uncommit delay.
+ */
+public class HeapUncommitTest {
+
+    private static final int SPIKE_BYTES = 32 * 1024 * 1024;
+    private static final int ARRAY_BYTES = 16 * 1024;
+
+    private static final long IDLE_TIMEOUT_SECONDS = 30;
+
+    private static final long MIN_HEAP_SIZE = 128L * 1024 * 1024;
+    private static final long UNCOMMIT_DELAY_MILLIS = 1000;
+
+    @Test
+    public void testIdleChunksAreUncommitted() throws InterruptedException {
+        Assume.assumeTrue("Uncommitting heap chunks is specific to native images", ImageInfo.inImageRuntimeCode());
+        Long minHeapSize = RuntimeOptions.get("MinHeapSize");
+        Long uncommitDelay = RuntimeOptions.get("UncommitDelay");
+        RuntimeOptions.set("MinHeapSize", MIN_HEAP_SIZE);
+        RuntimeOptions.set("UncommitDelay", UNCOMMIT_DELAY_MILLIS);
+        try {
+            spikeAndIdle();
+        } finally {
+            RuntimeOptions.set("MinHeapSize", minHeapSize);
+            RuntimeOptions.set("UncommitDelay", uncommitDelay);
+        }
+    }
+
+    private static void spikeAndIdle() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        List<byte[]> spike = new ArrayList<>();
+        for (int i = 0; i < SPIKE_BYTES / ARRAY_BYTES; i++) {
+            spike.add(new byte[ARRAY_BYTES]);
+        }
+        Assert.assertTrue(memory.getHeapMemoryUsage().getCommitted() >= SPIKE_BYTES);
+        spike.clear();
+        System.gc();
+
+        MemoryUsage afterGC = memory.getHeapMemoryUsage();
+        Assert.assertTrue("Unused chunks should stay committed right after a collection: " + afterGC, unusedCommittedBytes(afterGC) >= SPIKE_BYTES / 2);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(IDLE_TIMEOUT_SECONDS);
+        MemoryUsage idle = afterGC;
+        while (unusedCommittedBytes(idle) >= SPIKE_BYTES / 4 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            idle = memory.getHeapMemoryUsage();
+        }
+        Assert.assertTrue("Unused chunks should be uncommitted while idle: " + afterGC + " -> " + idle, unusedCommittedBytes(idle) < SPIKE_BYTES / 4);
+        Assert.assertTrue(idle.getCommitted() < afterGC.getCommitted());
+    }
+
+    private static long unusedCommittedBytes(MemoryUsage usage) {
+        return usage.getCommitted() - usage.getUsed();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import java.lang.reflect.Field;
+
+import org.graalvm.nativeimage.ImageInfo;
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.nativeimage.hosted.RuntimeClassInitialization;
+import org.graalvm.nativeimage.hosted.RuntimeReflection;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import sun.misc.Unsafe;
+
+/**
+ * Tests that image heap strings with equal contents share one backing array. The test also runs in
+ * an image built with {@code -H:-DeduplicateImageHeapStringValues} and
+ * {@code -D}{@value #DISABLED_PROPERTY}{@code =true}, in which every string keeps its own array.
+ */
+public class ImageHeapStringDeduplicationTest {
+
+    static final String DISABLED_PROPERTY = "com.oracle.svm.test.ImageHeapStringDeduplicationTest.disabled";
+
+    public static class TestFeature implements Feature {
+        @Override
+        public void beforeAnalysis(BeforeAnalysisAccess access) {
+            RuntimeClassInitialization.initializeAtBuildTime(ImageHeapStrings.class, StringValues.class);
+            Field value = StringValues.getValueField();
+            RuntimeReflection.register(value);
+            access.registerAsUnsafeAccessed(value);
+        }
+    }
+
+    /** Initialized at image build time, so that its strings are in the image heap. */
+    static final class ImageHeapStrings {
+        static final boolean DEDUPLICATION_DISABLED = Boolean.getBoolean(DISABLED_PROPERTY);
+
+        /* Copies, so that none of the strings is interned. */
+        static final String FIRST = new String("image heap string deduplication".toCharArray());
+        static final String SECOND = new String("image heap string deduplication".toCharArray());
+
+        static final String REFERENCED = new String("referenced string value".toCharArray());
+        static final String EQUAL_TO_REFERENCED = new String("referenced string value".toCharArray());
+        /** An object other than a string that refers to the backing array of {@link #REFERENCED}. */
+        static final Object[] REFERENCED_VALUE_HOLDER = {StringValues.getValue(REFERENCED)};
+    }
+
+    /** Reads the backing array of a string, at image build time and at run time. */
+    static final class StringValues {
+        private static final Unsafe UNSAFE = getUnsafe();
+
+        private static Unsafe getUnsafe() {
+            try {
+                Field theUnsafe = Unsafe.class.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                return (Unsafe) theUnsafe.get(null);
+            } catch (ReflectiveOperationException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        static Field getValueField() {
+            try {
+                return String.class.getDeclaredField("value");
+            } catch (NoSuchFieldException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        static Object getValue(String string) {
+            return UNSAFE.getObject(string, UNSAFE.objectFieldOffset(getValueField()));
+        }
+    }
+
+    @Before
+    public void checkImage() {
+        Assume.assumeTrue("Image heap strings exist only in native images", ImageInfo.inImageRuntimeCode());
+        Assert.assertNotSame(ImageHeapStrings.FIRST, ImageHeapStrings.SECOND);
+        Assert.assertEquals(ImageHeapStrings.FIRST, ImageHeapStrings.SECOND);
+    }
+
+    @Test
+    public void testEqualStringsShareValue() {
+        Assume.assumeFalse(ImageHeapStrings.DEDUPLICATION_DISABLED);
+        Assert.assertSame(StringValues.getValue(ImageHeapStrings.FIRST), StringValues.getValue(ImageHeapStrings.SECOND));
+    }
+
+    @Test
+    public void testDeduplicationDisabled() {
+        Assume.assumeTrue(ImageHeapStrings.DEDUPLICATION_DISABLED);
+        Assert.assertNotSame(StringValues.getValue(ImageHeapStrings.FIRST), StringValues.getValue(ImageHeapStrings.SECOND));
+    }
+
+    @Test
+    public void testReferencedValueKeepsIdentity() {
+        Object referencedValue = ImageHeapStrings.REFERENCED_VALUE_HOLDER[0];
+        Assert.assertSame(referencedValue, StringValues.getValue(ImageHeapStrings.REFERENCED));
+        /* The other object could modify the array, so no other string may share it. */
+        Assert.assertNotSame(referencedValue, StringValues.getValue(ImageHeapStrings.EQUAL_TO_REFERENCED));
+        Assert.assertEquals(ImageHeapStrings.REFERENCED, ImageHeapStrings.EQUAL_TO_REFERENCED);
+    }
+}
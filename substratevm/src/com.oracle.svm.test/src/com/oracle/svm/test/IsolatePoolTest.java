@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import org.graalvm.nativeimage.CurrentIsolate;
+import org.graalvm.nativeimage.ImageInfo;
+import org.graalvm.nativeimage.Isolate;
+import org.graalvm.nativeimage.IsolatePool;
+import org.graalvm.nativeimage.IsolateThread;
+import org.graalvm.nativeimage.Isolates;
+import org.graalvm.nativeimage.Isolates.CreateIsolateParameters;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IsolatePoolTest {
+
+    @Before
+    public void checkImageRuntime() {
+        Assume.assumeTrue("Isolates can only be created in native images", ImageInfo.inImageRuntimeCode());
+    }
+
+    private static void assertOtherIsolate(IsolateThread thread) {
+        Assert.assertTrue(thread.isNonNull());
+        Isolate isolate = Isolates.getIsolate(thread);
+        Assert.assertNotEquals(CurrentIsolate.getIsolate().rawValue(), isolate.rawValue());
+    }
+
+    @Test
+    public void testAcquireRelease() {
+        try (IsolatePool pool = IsolatePool.create(2, CreateIsolateParameters.getDefault())) {
+            Assert.assertEquals(2, pool.getSize());
+            for (int i = 0; i < 10; i++) {
+                IsolateThread first = pool.acquire();
+                IsolateThread second = pool.acquire();
+                assertOtherIsolate(first);
+                assertOtherIsolate(second);
+                Assert.assertNotEquals("An isolate was handed out twice", Isolates.getIsolate(first).rawValue(), Isolates.getIsolate(second).rawValue());
+                pool.release(second);
+                pool.release(first);
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyPool() {
+        try (IsolatePool pool = IsolatePool.create(0, CreateIsolateParameters.getDefault())) {
+            IsolateThread thread = pool.acquire();
+            assertOtherIsolate(thread);
+            pool.release(thread);
+        }
+    }
+
+    @Test
+    public void testCloseWhileInUse() {
+        IsolatePool pool = IsolatePool.create(2, CreateIsolateParameters.getDefault());
+        IsolateThread thread = pool.acquire();
+        pool.close();
+        try {
+            pool.acquire();
+            Assert.fail("Acquired an isolate from a closed pool");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        /* The isolate that is still in use is torn down by the releasing thread. */
+        pool.release(thread);
+    }
+
+    @Test
+    public void testCloseTwice() {
+        IsolatePool pool = IsolatePool.create(1, CreateIsolateParameters.getDefault());
+        pool.release(pool.acquire());
+        pool.close();
+        pool.close();
+    }
+}
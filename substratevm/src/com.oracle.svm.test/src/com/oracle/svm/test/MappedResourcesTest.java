@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+// Checkstyle: allow reflection
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import org.graalvm.nativeimage.ImageInfo;
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.nativeimage.hosted.RuntimeReflection;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Reads resources that the image stores in the resources section, see the
+ * {@code MappedResources} and {@code CompressedResources} options in native-image.properties.
+ */
+public class MappedResourcesTest {
+
+    private static final String RESOURCES_CLASS = "com.oracle.svm.core.jdk.Resources";
+
+    public static class TestFeature implements Feature {
+        @Override
+        public void beforeAnalysis(BeforeAnalysisAccess access) {
+            try {
+                RuntimeReflection.register(access.findClassByName(RESOURCES_CLASS).getMethod("getAsByteBuffer", String.class));
+            } catch (NoSuchMethodException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private static final String STORED = "com/oracle/svm/test/mappedresources/stored.txt";
+    private static final String DEFLATED = "com/oracle/svm/test/mappedresources/deflated.txt";
+
+    private static byte[] expectedStored() {
+        return "The mapped resources test reads this line from a stored resource.\n".getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] expectedDeflated() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 64; i++) {
+            sb.append("The mapped resources test reads this line from a deflated resource.\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        Assert.assertNotNull(in);
+        try (InputStream stream = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[128];
+            int n;
+            while ((n = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static void checkResource(String name, byte[] expected) throws IOException {
+        ClassLoader loader = MappedResourcesTest.class.getClassLoader();
+        Assert.assertArrayEquals(expected, readFully(loader.getResourceAsStream(name)));
+        Assert.assertArrayEquals(expected, readFully(MappedResourcesTest.class.getResourceAsStream("/" + name)));
+
+        URL url = loader.getResource(name);
+        Assert.assertNotNull(url);
+        Assert.assertArrayEquals(expected, readFully(url.openStream()));
+
+        List<URL> urls = Collections.list(loader.getResources(name));
+        Assert.assertEquals(1, urls.size());
+        Assert.assertArrayEquals(expected, readFully(urls.get(0).openStream()));
+    }
+
+    private static ByteBuffer getAsByteBuffer(String name) throws ReflectiveOperationException {
+        Method getAsByteBuffer = Class.forName(RESOURCES_CLASS).getMethod("getAsByteBuffer", String.class);
+        ByteBuffer buffer = (ByteBuffer) getAsByteBuffer.invoke(null, name);
+        Assert.assertNotNull(buffer);
+        return buffer;
+    }
+
+    private static void checkByteBuffer(String name, byte[] expected) throws ReflectiveOperationException {
+        ByteBuffer buffer = getAsByteBuffer(name);
+        Assert.assertTrue(buffer.isReadOnly());
+        byte[] actual = new byte[buffer.remaining()];
+        buffer.get(actual);
+        Assert.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void testStoredResource() throws IOException {
+        checkResource(STORED, expectedStored());
+    }
+
+    @Test
+    public void testDeflatedResource() throws IOException {
+        checkResource(DEFLATED, expectedDeflated());
+    }
+
+    @Test
+    public void testByteBuffer() throws ReflectiveOperationException {
+        Assume.assumeTrue(ImageInfo.inImageRuntimeCode());
+        checkByteBuffer(STORED, expectedStored());
+        checkByteBuffer(DEFLATED, expectedDeflated());
+        /* Uncompressed resources are read from the resources section without copying. */
+        Assert.assertTrue(getAsByteBuffer(STORED).isDirect());
+    }
+}
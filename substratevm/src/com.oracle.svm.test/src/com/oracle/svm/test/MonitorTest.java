@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2021, 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the transitions between unlocked, thin locked and inflated monitors.
+ */
+public class MonitorTest {
+
+    static class Lockable {
+        int value;
+    }
+
+    @Test
+    public void testUncontended() {
+        Lockable obj = new Lockable();
+        Assert.assertFalse(Thread.holdsLock(obj));
+        synchronized (obj) {
+            Assert.assertTrue(Thread.holdsLock(obj));
+            obj.value++;
+        }
+        Assert.assertFalse(Thread.holdsLock(obj));
+        synchronized (obj) {
+            Assert.assertTrue(Thread.holdsLock(obj));
+        }
+        Assert.assertFalse(Thread.holdsLock(obj));
+    }
+
+    @Test
+    public void testRecursive() {
+        Lockable obj = new Lockable();
+        synchronized (obj) {
+            synchronized (obj) {
+                Assert.assertTrue(Thread.holdsLock(obj));
+            }
+            Assert.assertTrue(Thread.holdsLock(obj));
+        }
+        Assert.assertFalse(Thread.holdsLock(obj));
+    }
+
+    @Test
+    public void testWaitNotify() throws InterruptedException {
+        Lockable obj = new Lockable();
+        Thread waiter = new Thread(() -> {
+            synchronized (obj) {
+                while (obj.value == 0) {
+                    try {
+                        obj.wait();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            }
+        });
+        waiter.start();
+        synchronized (obj) {
+            obj.value = 1;
+            obj.notifyAll();
+        }
+        waiter.join();
+        Assert.assertFalse(Thread.holdsLock(obj));
+    }
+
+    @Test
+    public void testContended() throws InterruptedException {
+        Lockable obj = new Lockable();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch contending = new CountDownLatch(1);
+        AtomicBoolean entered = new AtomicBoolean();
+        Thread contender = new Thread(() -> {
+            try {
+                locked.await();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            contending.countDown();
+            synchronized (obj) {
+                entered.set(true);
+                obj.value++;
+            }
+        });
+        contender.start();
+        synchronized (obj) {
+            locked.countDown();
+            contending.await();
+            /* The contender can only block once it has inflated the thin lock held by this thread. */
+            while (contender.getState() != Thread.State.BLOCKED) {
+                Thread.yield();
+            }
+            Assert.assertFalse(entered.get());
+            Assert.assertTrue(Thread.holdsLock(obj));
+            obj.value++;
+        }
+        contender.join();
+        Assert.assertTrue(entered.get());
+        Assert.assertEquals(2, obj.value);
+        Assert.assertFalse(Thread.holdsLock(obj));
+    }
+
+    @Test
+    public void testNotifyWithoutLock() {
+        Lockable obj = new Lockable();
+        try {
+            obj.notify();
+            Assert.fail("IllegalMonitorStateException expected");
+        } catch (IllegalMonitorStateException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Tests {@link ThreadMXBean#getThreadAllocatedBytes}, including arrays that do not fit into the rest
+ * of the current allocation chunk and are therefore allocated outside of it.
+ */
+public class ThreadAllocatedBytesTest {
+
+    private static final int ARRAY_COUNT = 1000;
+    /* Below the large array threshold, and larger than the refill waste limit of a chunk. */
+    private static final int ARRAY_BYTES = 100 * 1024;
+
+    static volatile Object sink;
+
+    private static ThreadMXBean getThreadMXBean() {
+        return (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    @Test
+    public void testCurrentThread() {
+        ThreadMXBean threads = getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(id);
+        Assert.assertTrue(before >= 0);
+        for (int i = 0; i < ARRAY_COUNT; i++) {
+            sink = new byte[ARRAY_BYTES];
+        }
+        long allocated = threads.getThreadAllocatedBytes(id) - before;
+        Assert.assertTrue("Allocated " + allocated + " bytes", allocated >= (long) ARRAY_COUNT * ARRAY_BYTES);
+        /* Space that is wasted when a chunk is retired early is not counted as allocated. */
+        Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 2L * ARRAY_COUNT * ARRAY_BYTES);
+        Assert.assertEquals(threads.getThreadAllocatedBytes(new long[]{id})[0], threads.getThreadAllocatedBytes(id), 64 * 1024);
+    }
+
+    @Test
+    public void testOtherThread() throws InterruptedException {
+        ThreadMXBean threads = getThreadMXBean();
+        CountDownLatch allocated = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < ARRAY_COUNT; i++) {
+                sink = new byte[ARRAY_BYTES];
+            }
+            allocated.countDown();
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        });
+        thread.start();
+        try {
+            allocated.await();
+            long[] result = threads.getThreadAllocatedBytes(new long[]{thread.getId(), Long.MAX_VALUE});
+            Assert.assertTrue("Allocated " + result[0] + " bytes", result[0] >= (long) ARRAY_COUNT * ARRAY_BYTES);
+            Assert.assertEquals("Unknown threads have no value", -1, result[1]);
+        } finally {
+            done.countDown();
+            thread.join();
+        }
+        Assert.assertEquals("Terminated threads have no value", -1, threads.getThreadAllocatedBytes(thread.getId()));
+    }
+}
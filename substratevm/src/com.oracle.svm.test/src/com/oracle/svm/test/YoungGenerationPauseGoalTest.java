@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import org.graalvm.nativeimage.ImageInfo;
+import org.graalvm.nativeimage.RuntimeOptions;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Tests that a young generation that was shrunk to meet the incremental collection pause goal grows
+ * back once fewer objects survive, instead of attributing the fixed part of the pauses to the young
+ * generation size. The test sets the pause goal for its duration.
+ */
+public class YoungGenerationPauseGoalTest {
+
+    private static final long PHASE_BYTES = 2L * 1024 * 1024 * 1024;
+    private static final int ARRAY_BYTES = 1024;
+    private static final int SURVIVOR_ARRAYS = 32 * 1024;
+    private static final long PAUSE_GOAL_MILLIS = 1;
+
+    static volatile Object sink;
+
+    @Test
+    public void testYoungGenerationRecovers() {
+        Assume.assumeTrue("The pause goal is specific to native images", ImageInfo.inImageRuntimeCode());
+        Long pauseGoal = RuntimeOptions.get("IncrementalCollectionPauseGoal");
+        RuntimeOptions.set("IncrementalCollectionPauseGoal", PAUSE_GOAL_MILLIS);
+        try {
+            shrinkAndRecover();
+        } finally {
+            RuntimeOptions.set("IncrementalCollectionPauseGoal", pauseGoal);
+        }
+    }
+
+    private static void shrinkAndRecover() {
+        System.gc();
+
+        long withoutSurvivors = collectionsDuring(null);
+        collectionsDuring(new byte[SURVIVOR_ARRAYS][]);
+        long afterSurvivors = collectionsDuring(null);
+        /* Growing back from the minimum young generation size takes a few collections. */
+        Assert.assertTrue(withoutSurvivors + " collections before, " + afterSurvivors + " after a phase with survivors", afterSurvivors <= 2 * withoutSurvivors + 4);
+    }
+
+    /** Allocates {@link #PHASE_BYTES}, keeping the last arrays alive if a window is given. */
+    private static long collectionsDuring(byte[][] survivorWindow) {
+        long before = getCollectionCount();
+        for (long i = 0; i < PHASE_BYTES / ARRAY_BYTES; i++) {
+            byte[] array = new byte[ARRAY_BYTES];
+            if (survivorWindow != null) {
+                survivorWindow[(int) (i % survivorWindow.length)] = array;
+            } else {
+                sink = array;
+            }
+        }
+        return getCollectionCount() - before;
+    }
+
+    private static long getCollectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+}
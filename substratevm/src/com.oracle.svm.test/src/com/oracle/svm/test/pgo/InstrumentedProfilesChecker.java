@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test.pgo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checks the profiles that an {@link InstrumentedProfilesWorkload} image dumped when it exited.
+ * Runs on the JVM and exits with a non-zero status if the invocation counts are missing or wrong.
+ */
+public class InstrumentedProfilesChecker {
+
+    public static void main(String[] args) throws IOException {
+        Map<String, Long> counts = new HashMap<>();
+        for (String line : Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            if (line.startsWith("#")) {
+                continue;
+            }
+            int tab = line.indexOf('\t');
+            check(tab > 0, "Malformed line: " + line);
+            counts.put(line.substring(tab + 1), Long.parseLong(line.substring(0, tab)));
+        }
+        check(!counts.isEmpty(), "No invoked methods");
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            check(entry.getValue() > 0, "Method with a count of zero: " + entry.getKey());
+        }
+
+        /* The workload is single threaded, so no increment can have been lost. */
+        long expected = InstrumentedProfilesWorkload.fibonacciInvocations(InstrumentedProfilesWorkload.FIBONACCI_ARGUMENT);
+        Long actual = counts.get(InstrumentedProfilesWorkload.FIBONACCI_METHOD);
+        check(actual != null && actual == expected, InstrumentedProfilesWorkload.FIBONACCI_METHOD + " counted " + actual + " instead of " + expected + " invocations");
+    }
+
+    private static void check(boolean condition, Object message) {
+        if (!condition) {
+            System.err.println("Unexpected image profiles: " + message);
+            System.exit(1);
+        }
+    }
+}
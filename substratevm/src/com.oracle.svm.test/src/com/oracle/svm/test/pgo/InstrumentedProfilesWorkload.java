@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.svm.test.pgo;
+
+/**
+ * Runs as an image built with {@code -H:+PGOInstrument} and invokes a method a known number of
+ * times. The dumped profiles are then checked by {@link InstrumentedProfilesChecker}, see
+ * {@code mx pgotest}.
+ */
+public class InstrumentedProfilesWorkload {
+
+    static final int FIBONACCI_ARGUMENT = 20;
+    static final String FIBONACCI_METHOD = InstrumentedProfilesWorkload.class.getName() + ".fibonacci(int)";
+
+    public static void main(String[] args) {
+        System.out.println(fibonacci(FIBONACCI_ARGUMENT));
+    }
+
+    /** Recursive, so that the method is not inlined and counts its own invocations. */
+    static int fibonacci(int n) {
+        return n < 2 ? n : fibonacci(n - 1) + fibonacci(n - 2);
+    }
+
+    /** The number of invocations of {@link #fibonacci} when called with {@code n}. */
+    static long fibonacciInvocations(int n) {
+        return n < 2 ? 1 : 1 + fibonacciInvocations(n - 1) + fibonacciInvocations(n - 2);
+    }
+}
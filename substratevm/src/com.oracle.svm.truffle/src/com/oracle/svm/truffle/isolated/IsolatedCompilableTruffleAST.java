@@ -129,6 +129,16 @@ final class IsolatedCompilableTruffleAST extends IsolatedObjectProxy<SubstrateCo
         return getKnownCallSiteCount0(IsolatedCompileContext.get().getClient(), handle);
     }
 
+    @Override
+    public int getExpandedGraphSize() {
+        return getExpandedGraphSize0(IsolatedCompileContext.get().getClient(), handle);
+    }
+
+    @Override
+    public void setExpandedGraphSize(int size) {
+        setExpandedGraphSize0(IsolatedCompileContext.get().getClient(), handle, size);
+    }
+
     @Override
     public JavaConstant getNodeRewritingAssumptionConstant() {
         return new IsolatedObjectConstant(getNodeRewritingAssumption0(IsolatedCompileContext.get().getClient(), handle), false);
@@ -263,6 +273,20 @@ final class IsolatedCompilableTruffleAST extends IsolatedObjectProxy<SubstrateCo
         return compilable.getKnownCallSiteCount();
     }
 
+    @CEntryPoint
+    @CEntryPointOptions(include = CEntryPointOptions.NotIncludedAutomatically.class, publishAs = CEntryPointOptions.Publish.NotPublished)
+    private static int getExpandedGraphSize0(@SuppressWarnings("unused") ClientIsolateThread client, ClientHandle<SubstrateCompilableTruffleAST> compilableHandle) {
+        SubstrateCompilableTruffleAST compilable = IsolatedCompileClient.get().unhand(compilableHandle);
+        return compilable.getExpandedGraphSize();
+    }
+
+    @CEntryPoint
+    @CEntryPointOptions(include = CEntryPointOptions.NotIncludedAutomatically.class, publishAs = CEntryPointOptions.Publish.NotPublished)
+    private static void setExpandedGraphSize0(@SuppressWarnings("unused") ClientIsolateThread client, ClientHandle<SubstrateCompilableTruffleAST> compilableHandle, int size) {
+        SubstrateCompilableTruffleAST compilable = IsolatedCompileClient.get().unhand(compilableHandle);
+        compilable.setExpandedGraphSize(size);
+    }
+
     @CEntryPoint
     @CEntryPointOptions(include = CEntryPointOptions.NotIncludedAutomatically.class, publishAs = CEntryPointOptions.Publish.NotPublished)
     private static ClientHandle<Assumption> getNodeRewritingAssumption0(@SuppressWarnings("unused") ClientIsolateThread client, ClientHandle<SubstrateCompilableTruffleAST> handle) {
@@ -116,9 +116,10 @@ suite = {
                 "com.oracle.truffle.tools.agentscript",
                 "org.graalvm.tools.insight.heap",
                 "truffle:TRUFFLE_TEST",
-                "mx:JUNIT"
+                "mx:JUNIT",
+                "mx:JMH_1_21",
             ],
-            "annotationProcessors" : ["truffle:TRUFFLE_DSL_PROCESSOR"],
+            "annotationProcessors" : ["truffle:TRUFFLE_DSL_PROCESSOR", "mx:JMH_1_21"],
             "checkstyle" : "com.oracle.truffle.tools.chromeinspector",
             "javaCompliance" : "8+",
             "workingSets" : "Tools",
@@ -419,6 +420,7 @@ suite = {
             "dependencies": [
                 "org.graalvm.tools.insight.test",
             ],
+            "exclude" : ["mx:JMH_1_21"],
             "distDependencies" : [
                 "truffle:TRUFFLE_TEST",
                 "INSIGHT",
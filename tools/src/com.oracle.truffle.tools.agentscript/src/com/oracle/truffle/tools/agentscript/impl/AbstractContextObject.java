@@ -37,6 +37,8 @@ abstract class AbstractContextObject implements TruffleObject {
                     "column", "startColumn", "endColumn", "charIndex", "charLength", "charEndIndex");
 
     @CompilerDirectives.CompilationFinal private String name;
+    @CompilerDirectives.CompilationFinal private Object characters;
+    @CompilerDirectives.CompilationFinal private Object source;
     @CompilerDirectives.CompilationFinal(dimensions = 1) private int[] values;
 
     abstract Node getInstrumentedNode();
@@ -52,21 +54,18 @@ abstract class AbstractContextObject implements TruffleObject {
                     name = getInstrumentedNode().getRootNode().getName();
                 }
                 return name;
-            case "characters": {
-                CompilerDirectives.transferToInterpreter();
-                final SourceSection ss = getInstrumentedSourceSection();
-                if (ss == null) {
-                    return NullObject.nullCheck(null);
+            case "characters":
+                if (characters == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    characters = charactersForContext();
                 }
-                return ss.getCharacters().toString();
-            }
-            case "source": {
-                final SourceSection ss = getInstrumentedSourceSection();
-                if (ss == null) {
-                    return NullObject.nullCheck(null);
+                return characters;
+            case "source":
+                if (source == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    source = sourceForContext();
                 }
-                return new SourceEventObject(ss.getSource());
-            }
+                return source;
             case "line":
             case "startLine":
                 index = 0;
@@ -100,6 +99,24 @@ abstract class AbstractContextObject implements TruffleObject {
         return values[index];
     }
 
+    @CompilerDirectives.TruffleBoundary
+    private Object charactersForContext() {
+        final SourceSection ss = getInstrumentedSourceSection();
+        if (ss == null) {
+            return NullObject.nullCheck(null);
+        }
+        return ss.getCharacters().toString();
+    }
+
+    @CompilerDirectives.TruffleBoundary
+    private Object sourceForContext() {
+        final SourceSection ss = getInstrumentedSourceSection();
+        if (ss == null) {
+            return NullObject.nullCheck(null);
+        }
+        return new SourceEventObject(ss.getSource());
+    }
+
     @CompilerDirectives.TruffleBoundary
     private int[] valuesForContext() {
         final SourceSection section = getInstrumentedSourceSection();
@@ -35,6 +35,8 @@ import java.util.Collection;
 @SuppressWarnings({"static-method"})
 @ExportLibrary(InteropLibrary.class)
 final class ArrayObject implements TruffleObject {
+    private static final ArrayObject EMPTY = new ArrayObject(new Object[0], false);
+
     private final Object[] arr;
     private final boolean convertToString;
 
@@ -88,6 +90,9 @@ final class ArrayObject implements TruffleObject {
     }
 
     static ArrayObject array(String... arr) {
+        if (arr.length == 0) {
+            return EMPTY;
+        }
         return new ArrayObject(arr, false);
     }
 
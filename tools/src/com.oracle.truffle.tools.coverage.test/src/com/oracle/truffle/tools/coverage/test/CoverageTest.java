@@ -161,6 +161,62 @@ public final class CoverageTest {
         }
     }
 
+    @Test
+    public void testMultiThreadedCountIsExact() throws InterruptedException, ExecutionException {
+        final int threads = 4;
+        final int iterations = 50;
+        final Source source = makeSource("ROOT(DEFINE(foo,ROOT(STATEMENT)),LOOP(100, CALL(foo)))");
+        try (Context context = Context.newBuilder().in(System.in).out(out).err(err).build()) {
+            ExecutorService executorService = Executors.newFixedThreadPool(threads);
+            try {
+                final CoverageTracker tracker = CoverageInstrument.getTracker(context.getEngine());
+                tracker.start(new CoverageTracker.Config(SourceSectionFilter.ANY, true));
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    tasks.add(executorService.submit(() -> {
+                        for (int j = 0; j < iterations; j++) {
+                            context.eval(source);
+                        }
+                    }));
+                }
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+                final SourceCoverage[] coverage = tracker.getCoverage();
+                Assert.assertEquals(1, coverage.length);
+                for (RootCoverage root : coverage[0].getRoots()) {
+                    if (root.getName().equals("foo")) {
+                        Assert.assertEquals(threads * iterations * 100, root.getCount());
+                        Assert.assertEquals(threads * iterations * 100, root.getSectionCoverage()[0].getCount());
+                    } else {
+                        Assert.assertEquals(threads * iterations, root.getCount());
+                    }
+                }
+                tracker.end();
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void testForEachSourceCoverage() {
+        try (Context context = Context.newBuilder().in(System.in).out(out).err(err).option(CoverageInstrument.ID, "true").build()) {
+            context.eval(defaultSource);
+            context.eval(makeSource("ROOT(STATEMENT)"));
+            final CoverageTracker tracker = CoverageInstrument.getTracker(context.getEngine());
+            final SourceCoverage[] coverage = tracker.getCoverage();
+            final List<SourceCoverage> streamed = new ArrayList<>();
+            tracker.forEachSourceCoverage(streamed::add);
+            Assert.assertEquals(2, coverage.length);
+            Assert.assertEquals(coverage.length, streamed.size());
+            for (int i = 0; i < coverage.length; i++) {
+                Assert.assertEquals(coverage[i].getSource(), streamed.get(i).getSource());
+                Assert.assertEquals(coverage[i].getRoots().length, streamed.get(i).getRoots().length);
+            }
+        }
+    }
+
     @Test
     public void testRootAndStatementInDifferentSources() {
         try (Context c = Context.newBuilder().in(System.in).out(out).err(err).build();
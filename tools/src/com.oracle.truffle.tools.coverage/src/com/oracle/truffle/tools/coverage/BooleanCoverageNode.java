@@ -63,7 +63,8 @@ final class BooleanCoverageNode extends AbstractCoverageNode {
                 coveredFinal = true;
                 covered = true;
             }
-        } else {
+        } else if (!covered) {
+            // only write when needed, so threads do not keep invalidating each others cache line
             covered = true;
         }
     }
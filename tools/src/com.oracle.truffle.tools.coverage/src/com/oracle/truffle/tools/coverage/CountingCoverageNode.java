@@ -25,35 +25,85 @@
 package com.oracle.truffle.tools.coverage;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.SourceSection;
 
+/**
+ * Counts the executions of a source section. As long as the node is only executed by one thread at
+ * a time the count is kept in a single atomic. The first time two threads race on the count the
+ * node switches to striped counters, so that threads mostly update different cache lines. The
+ * stripes are only summed up when the count is read.
+ */
 public class CountingCoverageNode extends AbstractCoverageNode {
 
+    private static final int STRIPES = stripeCount();
+    // only every eighth slot is used to keep the stripes on separate cache lines
+    private static final int STRIPE_PADDING = 8;
+
     private final AtomicLong count = new AtomicLong(0);
+    @CompilerDirectives.CompilationFinal private volatile AtomicLongArray stripes;
 
     CountingCoverageNode(SourceSection sourceSection, Node instrumentedNode, boolean isRoot, boolean isStatement) {
         super(sourceSection, instrumentedNode, isRoot, isStatement);
     }
 
+    private static int stripeCount() {
+        int processors = Math.min(Runtime.getRuntime().availableProcessors(), 64);
+        return Integer.highestOneBit(Math.max(processors * 2 - 1, 1));
+    }
+
     @Override
     boolean isCovered() {
-        return count.get() != 0;
+        return getCount() != 0;
     }
 
     @Override
     void reset() {
         count.set(0);
+        AtomicLongArray s = stripes;
+        if (s != null) {
+            for (int i = 0; i < s.length(); i += STRIPE_PADDING) {
+                s.set(i, 0);
+            }
+        }
     }
 
     @Override
     protected void onEnter(VirtualFrame frame) {
-        this.count.incrementAndGet();
+        AtomicLongArray s = stripes;
+        if (s == null) {
+            long current = count.get();
+            if (count.compareAndSet(current, current + 1)) {
+                return;
+            }
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            s = inflate();
+        }
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        s.incrementAndGet(stripe * STRIPE_PADDING);
+    }
+
+    private synchronized AtomicLongArray inflate() {
+        AtomicLongArray s = stripes;
+        if (s == null) {
+            s = new AtomicLongArray(STRIPES * STRIPE_PADDING);
+            stripes = s;
+        }
+        return s;
     }
 
     long getCount() {
-        return count.get();
+        long sum = count.get();
+        AtomicLongArray s = stripes;
+        if (s != null) {
+            for (int i = 0; i < s.length(); i += STRIPE_PADDING) {
+                sum += s.get(i);
+            }
+        }
+        return sum;
     }
 }
@@ -32,6 +32,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import com.oracle.truffle.api.Assumption;
@@ -80,13 +81,12 @@ public final class CoverageTracker implements AutoCloseable {
         this.env = env;
     }
 
-    private static SourceCoverage[] sourceCoverage(Map<Source, Map<SourceSection, RootData>> mapping) {
-        SourceCoverage[] coverage = new SourceCoverage[mapping.size()];
-        int i = 0;
-        for (Map.Entry<Source, Map<SourceSection, RootData>> entry : mapping.entrySet()) {
-            coverage[i++] = new SourceCoverage(entry.getKey(), rootCoverage(entry.getValue()));
-        }
-        return coverage;
+    private static SourceCoverage sourceCoverage(Source source, SourceData sourceData, boolean reset) {
+        final Map<SourceSection, RootData> perRootData = new HashMap<>();
+        processLoadedRoots(sourceData.loadedRoots, perRootData);
+        processLoadedSections(sourceData.loadedStatements, perRootData);
+        processCovered(sourceData.coverageNodes, perRootData, reset);
+        return new SourceCoverage(source, rootCoverage(perRootData));
     }
 
     private static RootCoverage[] rootCoverage(Map<SourceSection, RootData> perRootData) {
@@ -173,7 +173,22 @@ public final class CoverageTracker implements AutoCloseable {
      * @since 19.3.0
      */
     public synchronized SourceCoverage[] getCoverage() {
-        return sourceCoverage(mapping(false));
+        return collectCoverage(false);
+    }
+
+    /**
+     * Passes the coverage gathered thus far to the consumer, one {@link SourceCoverage} at a time.
+     * Unlike {@link #getCoverage()} the coverage of a source is only built right before it is
+     * passed to the consumer, so the coverage of large code bases can be written out without
+     * keeping the coverage of all sources in memory at the same time.
+     *
+     * @param consumer the consumer to pass the coverage of each source to.
+     * @since 21.2
+     */
+    public synchronized void forEachSourceCoverage(Consumer<SourceCoverage> consumer) {
+        for (Map.Entry<Source, SourceData> entry : groupBySource().entrySet()) {
+            consumer.accept(sourceCoverage(entry.getKey(), entry.getValue(), false));
+        }
     }
 
     /**
@@ -184,40 +199,55 @@ public final class CoverageTracker implements AutoCloseable {
      * @since 20.3.0
      */
     public synchronized SourceCoverage[] resetCoverage() {
-        SourceCoverage[] coverages = sourceCoverage(mapping(true));
+        SourceCoverage[] coverages = collectCoverage(true);
         noReset.invalidate();
         return coverages;
     }
 
-    private Map<Source, Map<SourceSection, RootData>> mapping(boolean reset) {
-        Map<Source, Map<SourceSection, RootData>> sourceCoverage = new HashMap<>();
-        processLoaded(sourceCoverage);
-        processCovered(sourceCoverage, reset);
-        return sourceCoverage;
+    private SourceCoverage[] collectCoverage(boolean reset) {
+        final Map<Source, SourceData> sources = groupBySource();
+        SourceCoverage[] coverage = new SourceCoverage[sources.size()];
+        int i = 0;
+        for (Map.Entry<Source, SourceData> entry : sources.entrySet()) {
+            coverage[i++] = sourceCoverage(entry.getKey(), entry.getValue(), reset);
+        }
+        return coverage;
     }
 
-    private void processLoaded(Map<Source, Map<SourceSection, RootData>> sourceCoverage) {
-        processLoadedRoots(sourceCoverage);
-        processLoadedSections(sourceCoverage);
+    /**
+     * Only groups the references to the loaded sections and coverage nodes by source, the actual
+     * coverage data is built per source.
+     */
+    private Map<Source, SourceData> groupBySource() {
+        final Map<Source, SourceData> sources = new HashMap<>();
+        for (LoadSourceSectionEvent loadedEvent : loadedRoots) {
+            sources.computeIfAbsent(loadedEvent.getSourceSection().getSource(), s -> new SourceData()).loadedRoots.add(loadedEvent);
+        }
+        for (LoadSourceSectionEvent loadedEvent : loadedStatements) {
+            sources.computeIfAbsent(loadedEvent.getSourceSection().getSource(), s -> new SourceData()).loadedStatements.add(loadedEvent);
+        }
+        for (AbstractCoverageNode coverageNode : coverageNodes) {
+            final SourceData sourceData = sources.get(coverageNode.sourceSection.getSource());
+            if (sourceData != null) {
+                sourceData.coverageNodes.add(coverageNode);
+            }
+        }
+        return sources;
     }
 
-    private void processLoadedSections(Map<Source, Map<SourceSection, RootData>> sourceCoverage) {
+    private static void processLoadedSections(List<LoadSourceSectionEvent> loadedStatements, Map<SourceSection, RootData> perRootData) {
         for (LoadSourceSectionEvent loadedEvent : loadedStatements) {
             final SourceSection section = loadedEvent.getSourceSection();
-            final Source source = section.getSource();
             final Node node = loadedEvent.getNode();
             final RootNode rootNode = node.getRootNode();
-            final Map<SourceSection, RootData> perSourceData = sourceCoverage.computeIfAbsent(source, s -> new HashMap<>());
-            final RootData rootData = perSourceData.computeIfAbsent(rootNode.getSourceSection(), s -> new RootData(s, rootNode.getName()));
+            final RootData rootData = perRootData.computeIfAbsent(rootNode.getSourceSection(), s -> new RootData(s, rootNode.getName()));
             rootData.loadedStatements.add(section);
         }
     }
 
-    private void processLoadedRoots(Map<Source, Map<SourceSection, RootData>> sourceCoverage) {
+    private static void processLoadedRoots(List<LoadSourceSectionEvent> loadedRoots, Map<SourceSection, RootData> perRootData) {
         for (LoadSourceSectionEvent loadedEvent : loadedRoots) {
             final SourceSection section = loadedEvent.getSourceSection();
-            final Source source = section.getSource();
-            final Map<SourceSection, RootData> perRootData = sourceCoverage.computeIfAbsent(source, s -> new HashMap<>());
             final Node node = loadedEvent.getNode();
             final RootNode rootNode = node.getRootNode();
             if (rootNode == null) {
@@ -227,16 +257,15 @@ public final class CoverageTracker implements AutoCloseable {
         }
     }
 
-    private void processCovered(Map<Source, Map<SourceSection, RootData>> mapping, boolean reset) {
+    private static void processCovered(List<AbstractCoverageNode> coverageNodes, Map<SourceSection, RootData> perRootData, boolean reset) {
         for (AbstractCoverageNode coverageNode : coverageNodes) {
             final SourceSection section = coverageNode.sourceSection;
-            final Source source = section.getSource();
             final Node node = coverageNode.instrumentedNode;
             final RootNode rootNode = node.getRootNode();
             if (rootNode == null || !coverageNode.isCovered()) {
                 continue;
             }
-            final RootData rootData = mapping.get(source).get(rootNode.getSourceSection());
+            final RootData rootData = perRootData.get(rootNode.getSourceSection());
             final long count = getCount(coverageNode);
             if (coverageNode.isRoot && coverageNode.isCovered()) {
                 rootData.covered = true;
@@ -324,6 +353,12 @@ public final class CoverageTracker implements AutoCloseable {
         coveredBinding.dispose();
     }
 
+    private static class SourceData {
+        private final List<LoadSourceSectionEvent> loadedRoots = new ArrayList<>();
+        private final List<LoadSourceSectionEvent> loadedStatements = new ArrayList<>();
+        private final List<AbstractCoverageNode> coverageNodes = new ArrayList<>();
+    }
+
     private static class RootData {
         private final SourceSection sourceSection;
         private final Set<SourceSection> loadedStatements = new HashSet<>();
@@ -45,7 +45,6 @@ import com.oracle.truffle.api.Option;
 import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
 import com.oracle.truffle.api.instrumentation.TruffleInstrument;
 import com.oracle.truffle.tools.coverage.CoverageTracker;
-import com.oracle.truffle.tools.coverage.SourceCoverage;
 
 @Registration(id = CoverageInstrument.ID, name = "Code Coverage", version = CoverageInstrument.VERSION, services = CoverageTracker.class)
 public class CoverageInstrument extends TruffleInstrument {
@@ -171,22 +170,24 @@ public class CoverageInstrument extends TruffleInstrument {
     @Override
     protected void onDispose(Env env) {
         if (enabled) {
-            SourceCoverage[] coverage = tracker.getCoverage();
             final OptionValues options = env.getOptions();
             final boolean strictLines = StrictLines.getValue(options);
             try (PrintStream out = chooseOutputStream(env, OUTPUT_FILE)) {
                 switch (OUTPUT.getValue(options)) {
                     case HISTOGRAM:
-                        new CoverageCLI(out, coverage, strictLines).printHistogramOutput();
+                        new CoverageCLI(out, tracker.getCoverage(), strictLines).printHistogramOutput();
                         break;
                     case DETAILED:
-                        new CoverageCLI(out, coverage, strictLines).printLinesOutput();
+                        new CoverageCLI(out, tracker.getCoverage(), strictLines).printLinesOutput();
                         break;
                     case JSON:
-                        new JSONPrinter(out, coverage).print();
+                        final JSONPrinter jsonPrinter = new JSONPrinter(out);
+                        jsonPrinter.start();
+                        tracker.forEachSourceCoverage(jsonPrinter::printSourceCoverage);
+                        jsonPrinter.end();
                         break;
                     case LCOV:
-                        new LCOVPrinter(out, coverage, strictLines).print();
+                        tracker.forEachSourceCoverage(new LCOVPrinter(out, strictLines)::printSourceCoverage);
                         break;
                 }
             }
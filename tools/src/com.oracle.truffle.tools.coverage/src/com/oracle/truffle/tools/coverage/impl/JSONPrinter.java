@@ -33,14 +33,17 @@ import com.oracle.truffle.tools.coverage.SourceCoverage;
 import com.oracle.truffle.tools.utils.json.JSONArray;
 import com.oracle.truffle.tools.utils.json.JSONObject;
 
+/**
+ * Prints the coverage as a JSON array with one element per source. The array is written one source
+ * at a time, so the JSON document of all sources never has to be built in memory.
+ */
 final class JSONPrinter {
 
     private final PrintStream out;
-    private final SourceCoverage[] sourceCoverages;
+    private boolean first = true;
 
-    JSONPrinter(PrintStream out, SourceCoverage[] sourceCoverages) {
+    JSONPrinter(PrintStream out) {
         this.out = out;
-        this.sourceCoverages = sourceCoverages;
     }
 
     private static JSONObject sourceSectionJson(SourceSection section) {
@@ -102,11 +105,19 @@ final class JSONPrinter {
         return sectionJson;
     }
 
-    void print() {
-        JSONArray output = new JSONArray();
-        for (SourceCoverage sourceCoverage : sourceCoverages) {
-            output.put(sourceJSON(sourceCoverage));
+    void start() {
+        out.print('[');
+    }
+
+    void printSourceCoverage(SourceCoverage sourceCoverage) {
+        if (!first) {
+            out.print(',');
         }
-        out.println(output.toString());
+        first = false;
+        out.print(sourceJSON(sourceCoverage).toString());
+    }
+
+    void end() {
+        out.println(']');
     }
 }
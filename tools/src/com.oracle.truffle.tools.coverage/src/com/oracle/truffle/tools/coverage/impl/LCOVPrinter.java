@@ -46,12 +46,10 @@ class LCOVPrinter {
     private static final String LINES_COVERED = "LH:";
     private static final String LINE_DATA = "DA:";
     private final PrintStream out;
-    private final SourceCoverage[] coverage;
     private final boolean strictLines;
 
-    LCOVPrinter(PrintStream out, SourceCoverage[] coverage, boolean strictLines) {
+    LCOVPrinter(PrintStream out, boolean strictLines) {
         this.out = out;
-        this.coverage = coverage;
         this.strictLines = strictLines;
     }
 
@@ -104,13 +102,7 @@ class LCOVPrinter {
         return linesToCount;
     }
 
-    void print() {
-        for (SourceCoverage sourceCoverage : coverage) {
-            printSourceCoverage(sourceCoverage);
-        }
-    }
-
-    private void printSourceCoverage(SourceCoverage sourceCoverage) {
+    void printSourceCoverage(SourceCoverage sourceCoverage) {
         printTestName();
         printSourceName(sourceCoverage);
         printSourceFile(sourceCoverage);
@@ -146,6 +146,64 @@ public class CPUSamplerTest extends AbstractProfilerTest {
         Assert.assertTrue(children.size() == 0);
     }
 
+    @Test
+    public void testSafepointSampling() {
+        sampler.setFilter(NO_INTERNAL_ROOT_TAG_FILTER);
+        sampler.setSafepointSampling(true);
+        Assert.assertTrue(sampler.isSafepointSampling());
+        sampler.setCollecting(true);
+        for (int i = 0; i < executionCount; i++) {
+            eval(defaultSourceForSampling);
+        }
+        sampler.setCollecting(false);
+
+        Assert.assertNotEquals(0, sampler.getSampleCount());
+        Collection<ProfilerNode<CPUSampler.Payload>> children = sampler.getRootNodes();
+        Assert.assertEquals(1, children.size());
+        ProfilerNode<CPUSampler.Payload> program = children.iterator().next();
+        Assert.assertEquals("", program.getRootName());
+        checkTimeline(program.getPayload());
+
+        // safepoints are polled in loops and on calls, so every sample ends in bar or foo
+        ProfilerNode<CPUSampler.Payload> bar = null;
+        for (ProfilerNode<CPUSampler.Payload> child : program.getChildren()) {
+            if ("baz".equals(child.getRootName())) {
+                Assert.assertEquals(1, child.getChildren().size());
+                bar = child.getChildren().iterator().next();
+            } else {
+                Assert.assertEquals("bar", child.getRootName());
+            }
+        }
+        Assert.assertNotNull(bar);
+        Assert.assertEquals("bar", bar.getRootName());
+        checkTimeline(bar.getPayload());
+        for (ProfilerNode<CPUSampler.Payload> child : bar.getChildren()) {
+            Assert.assertEquals("foo", child.getRootName());
+            Assert.assertTrue(child.getChildren().isEmpty());
+        }
+    }
+
+    @Test
+    public void testSafepointSamplingRestarted() {
+        sampler.setFilter(NO_INTERNAL_ROOT_TAG_FILTER);
+        sampler.setSafepointSampling(true);
+        sampler.setCollecting(true);
+        for (int i = 0; i < executionCount; i++) {
+            eval(defaultSourceForSampling);
+        }
+        sampler.setCollecting(false);
+        long firstCount = sampler.getSampleCount();
+        Assert.assertNotEquals(0, firstCount);
+
+        // the thread of the context is already initialized when sampling starts again
+        sampler.setCollecting(true);
+        for (int i = 0; i < executionCount; i++) {
+            eval(defaultSourceForSampling);
+        }
+        sampler.setCollecting(false);
+        Assert.assertTrue(sampler.getSampleCount() > firstCount);
+    }
+
     final Source defaultRecursiveSourceForSampling = makeSource("ROOT(" +
                     "DEFINE(rfoo,ROOT(BLOCK(RECURSIVE_CALL(foo, 10),SLEEP(1))))," +
                     "DEFINE(rbar,ROOT(BLOCK(STATEMENT,LOOP(10, CALL(foo)))))," +
@@ -204,6 +262,21 @@ public class CPUSamplerTest extends AbstractProfilerTest {
         Assert.assertTrue(sampler.hasStackOverflowed());
     }
 
+    @Test
+    public void testClearDataResetsStackOverflow() {
+        sampler.setFilter(NO_INTERNAL_ROOT_TAG_FILTER);
+        sampler.setSafepointSampling(true);
+        sampler.setStackLimit(2);
+        sampler.setCollecting(true);
+        for (int i = 0; i < executionCount && !sampler.hasStackOverflowed(); i++) {
+            eval(defaultSourceForSampling);
+        }
+        Assert.assertTrue(sampler.hasStackOverflowed());
+        // no guest code runs any more, so no sample can overflow again
+        sampler.clearData();
+        Assert.assertFalse(sampler.hasStackOverflowed());
+    }
+
     private static void checkTimeline(CPUSampler.Payload payload) {
         Assert.assertEquals("Timeline length and self hit count to not match!", payload.getSelfHitCount(), payload.getSelfHitTimes().size());
     }
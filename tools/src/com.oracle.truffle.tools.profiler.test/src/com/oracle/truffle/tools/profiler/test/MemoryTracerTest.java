@@ -25,6 +25,7 @@
 package com.oracle.truffle.tools.profiler.test;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
@@ -248,6 +249,43 @@ public class MemoryTracerTest extends AbstractProfilerTest {
                         node.getChildren() == null || node.getChildren().isEmpty());
     }
 
+    @Test
+    public void testSampling() {
+        final int allocations = 20000;
+        final String source = "ROOT(DEFINE(foo,ROOT(BLOCK(STATEMENT,LOOP(" + allocations + ", ALLOCATION)))),CALL(foo))";
+
+        tracer.setSamplingInterval(16);
+        Assert.assertEquals(16, tracer.getSamplingInterval());
+        tracer.setCollecting(true);
+        eval(makeSource(source));
+        tracer.setCollecting(false);
+
+        Collection<ProfilerNode<MemoryTracer.Payload>> rootNodes = tracer.getRootNodes();
+        Assert.assertEquals(1, rootNodes.size());
+        ProfilerNode<MemoryTracer.Payload> root = rootNodes.iterator().next();
+        Assert.assertEquals("Allocations outside of foo were sampled", 0, root.getPayload().getEvents().size());
+        ProfilerNode<MemoryTracer.Payload> foo = root.getChildren().iterator().next();
+        Assert.assertEquals("foo", foo.getRootName());
+        List<MemoryTracer.AllocationEventInfo> events = foo.getPayload().getEvents();
+        Assert.assertTrue("Too many allocations recorded: " + events.size(), events.size() < allocations / 4);
+        long estimatedBytes = 0;
+        for (MemoryTracer.AllocationEventInfo info : events) {
+            Assert.assertEquals(1, info.getAllocated());
+            estimatedBytes += info.getWeight();
+        }
+        // every allocation reports one byte
+        Assert.assertTrue("Estimate too far off: " + estimatedBytes, Math.abs(estimatedBytes - allocations) < allocations / 4);
+    }
+
+    @Test
+    public void testSamplingInterval() {
+        expectProfilerException(() -> tracer.setSamplingInterval(-1), () -> tracer.setCollecting(true));
+        expectProfilerException(() -> {
+            tracer.setCollecting(true);
+            tracer.setSamplingInterval(16);
+        }, () -> tracer.setCollecting(false));
+    }
+
     @TruffleLanguage.Registration(id = AllocatesDuringReportingAllocation.ID, name = "AllocatesDuringReportingAllocation", version = "1.0")
     @ProvidedTags({StandardTags.RootTag.class})
     public static class AllocatesDuringReportingAllocation extends ProxyLanguage {
@@ -25,10 +25,17 @@
 package com.oracle.truffle.tools.profiler.test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
@@ -82,6 +89,97 @@ public class ProfilerCLITest {
         deepCompare(samples, profilerNodes);
     }
 
+    @Test
+    public void testSamplerPprof() throws IOException {
+        Path dir = Files.createTempDirectory("cpusampler");
+        File file = dir.resolve("profile.pb.gz").toFile();
+        Context context = Context.newBuilder().option("cpusampler", "true").option("cpusampler.Output", "pprof").option("cpusampler.OutputFile", file.getAbsolutePath()).build();
+        for (int i = 0; i < 10; i++) {
+            context.eval(defaultSourceForSampling);
+        }
+        context.close();
+        String profile = readPprof(file);
+        Assert.assertTrue(profile.contains("samples"));
+        Assert.assertTrue(profile.contains("nanoseconds"));
+        Assert.assertTrue(profile.contains("foo"));
+        Assert.assertTrue(profile.contains("bar"));
+        Assert.assertTrue(profile.contains("baz"));
+        deleteRecursively(dir.toFile());
+    }
+
+    @Test
+    public void testSamplerContinuousPprof() throws IOException {
+        Path dir = Files.createTempDirectory("cpusampler");
+        File file = dir.resolve("profile.pb.gz").toFile();
+        Context context = Context.newBuilder().allowExperimentalOptions(true).option("cpusampler", "true").option("cpusampler.Output", "pprof").option("cpusampler.OutputFile",
+                        file.getAbsolutePath()).option("cpusampler.FlushInterval", "100").build();
+        CPUSampler sampler = CPUSampler.find(context.getEngine());
+        long start = System.currentTimeMillis();
+        while (System.currentTimeMillis() - start < 500) {
+            context.eval(defaultSourceForSampling);
+        }
+        context.close();
+        Assert.assertFalse(sampler.hasData());
+        File first = dir.resolve("profile-0.pb.gz").toFile();
+        Assert.assertTrue(first.exists());
+        Assert.assertTrue(readPprof(first).contains("nanoseconds"));
+        Assert.assertTrue(dir.resolve("profile-1.pb.gz").toFile().exists());
+        Assert.assertFalse(file.exists());
+        deleteRecursively(dir.toFile());
+    }
+
+    @Test
+    public void testSamplerContinuousExistingFile() throws IOException {
+        Path dir = Files.createTempDirectory("cpusampler");
+        File file = dir.resolve("profile.pb.gz").toFile();
+        Path existing = dir.resolve("profile-0.pb.gz");
+        Files.write(existing, new byte[]{42});
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        Context context = Context.newBuilder().err(err).allowExperimentalOptions(true).option("cpusampler", "true").option("cpusampler.Output", "pprof").option("cpusampler.OutputFile",
+                        file.getAbsolutePath()).option("cpusampler.FlushInterval", "100").build();
+        long start = System.currentTimeMillis();
+        while (System.currentTimeMillis() - start < 500) {
+            context.eval(defaultSourceForSampling);
+        }
+        context.close();
+        Assert.assertArrayEquals(new byte[]{42}, Files.readAllBytes(existing));
+        Assert.assertTrue(err.toString().contains("Cannot write the pprof profile to the existing file"));
+        Assert.assertTrue(dir.resolve("profile-1.pb.gz").toFile().exists());
+        deleteRecursively(dir.toFile());
+    }
+
+    private final Source defaultSourceForSampling = makeSource("ROOT(" +
+                    "DEFINE(foo,ROOT(SLEEP(1)))," +
+                    "DEFINE(bar,ROOT(BLOCK(STATEMENT,LOOP(10, CALL(foo)))))," +
+                    "DEFINE(baz,ROOT(BLOCK(STATEMENT,LOOP(10, CALL(bar)))))," +
+                    "CALL(baz),CALL(bar)" +
+                    ")");
+
+    private static String readPprof(File file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+        }
+        byte[] content = bytes.toByteArray();
+        // a pprof profile starts with the sample types (field 1, length delimited)
+        Assert.assertEquals(0x0A, content[0]);
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
     private void deepCompare(JSONArray samples, Collection<ProfilerNode<CPUSampler.Payload>> nodes) {
         for (int i = 0; i < samples.length(); i++) {
             JSONObject sample = (JSONObject) samples.get(i);
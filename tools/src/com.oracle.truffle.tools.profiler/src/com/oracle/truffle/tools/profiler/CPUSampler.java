@@ -34,7 +34,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Timer;
+import java.util.Set;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -50,6 +52,7 @@ import com.oracle.truffle.api.instrumentation.EventBinding;
 import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
 import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.instrumentation.StandardTags.RootTag;
+import com.oracle.truffle.api.instrumentation.ThreadsListener;
 import com.oracle.truffle.api.instrumentation.TruffleInstrument;
 import com.oracle.truffle.api.instrumentation.TruffleInstrument.Env;
 import com.oracle.truffle.api.nodes.LanguageInfo;
@@ -65,6 +68,11 @@ import com.oracle.truffle.tools.profiler.impl.ProfilerToolFactory;
  * intervals, i.e. the state of the stack is copied and saved into trees of {@linkplain ProfilerNode
  * nodes}, which represent the profile of the execution.
  * <p>
+ * Alternatively, the sampler can {@link #setSafepointSampling(boolean) sample at safepoints}. In
+ * this mode no shadow stack is kept. Instead, every active thread captures its actual stack when it
+ * reaches the next safepoint after a sample was requested. This mode has a much lower overhead on
+ * the sampled code.
+ * <p>
  * Usage example: {@codesnippet CPUSamplerSnippets#example}
  *
  * @since 0.30
@@ -203,7 +211,7 @@ public final class CPUSampler implements Closeable {
 
     private SourceSectionFilter filter;
 
-    private boolean stackOverflowed = false;
+    private volatile boolean stackOverflowed = false;
 
     private AtomicLong samplesTaken = new AtomicLong(0);
 
@@ -214,6 +222,18 @@ public final class CPUSampler implements Closeable {
     private volatile ShadowStack shadowStack;
     private volatile EventBinding<?> stacksBinding;
 
+    private boolean safepointSampling = false;
+
+    private volatile SafepointStackSampler safepointStackSampler;
+
+    /*
+     * Only the safepoint sampler needs to know the threads of each context, so the threads
+     * listener is attached together with it and does not slow down thread creation otherwise.
+     */
+    private final Map<TruffleContext, Set<Thread>> activeThreads = new ConcurrentHashMap<>();
+
+    private volatile EventBinding<?> threadsBinding;
+
     private final Map<Thread, ProfilerNode<Payload>> rootNodes = new HashMap<>();
 
     private final Env env;
@@ -256,7 +276,11 @@ public final class CPUSampler implements Closeable {
 
             @Override
             public void onContextClosed(TruffleContext context) {
-
+                activeThreads.remove(context);
+                SafepointStackSampler localSampler = safepointStackSampler;
+                if (localSampler != null) {
+                    localSampler.onContextClosed(context);
+                }
             }
         }, true);
     }
@@ -386,6 +410,35 @@ public final class CPUSampler implements Closeable {
         this.delaySamplingUntilNonInternalLangInit = delaySamplingUntilNonInternalLangInit;
     }
 
+    /**
+     * Sets whether the stack is sampled at safepoints instead of being recorded in a shadow stack.
+     * <p>
+     * When enabled, no code is instrumented. At every sampling period each thread that is active in
+     * a context is asked to capture its current stack at its next
+     * {@link com.oracle.truffle.api.TruffleSafepoint safepoint}. Threads that do not reach a
+     * safepoint within one period are skipped for this sample. As safepoints are only polled at
+     * loop back-edges and call boundaries, the location at the top of the stack is less precise
+     * than with the shadow stack. The {@link Mode#EXCLUDE_INLINED_ROOTS} mode behaves like
+     * {@link Mode#ROOTS} in this configuration, as sampling does not affect inlining decisions.
+     *
+     * @param safepointSampling <code>true</code> to sample at safepoints
+     * @since 21.2
+     */
+    public synchronized void setSafepointSampling(boolean safepointSampling) {
+        enterChangeConfig();
+        this.safepointSampling = safepointSampling;
+    }
+
+    /**
+     * @return whether the stack is sampled at safepoints instead of being recorded in a shadow
+     *         stack.
+     * @see #setSafepointSampling(boolean)
+     * @since 21.2
+     */
+    public synchronized boolean isSafepointSampling() {
+        return safepointSampling;
+    }
+
     /**
      * @return The filter describing which part of the source code to sample
      * @since 0.30
@@ -403,7 +456,8 @@ public final class CPUSampler implements Closeable {
     }
 
     /**
-     * @return was the shadow stack size insufficient for the execution.
+     * @return was the shadow stack size insufficient for the execution since the sampler started
+     *         or its data was last {@linkplain #clearData() cleared}.
      * @since 0.30
      */
     public boolean hasStackOverflowed() {
@@ -474,12 +528,16 @@ public final class CPUSampler implements Closeable {
     }
 
     /**
-     * Erases all the data gathered by the sampler and resets the sample count to 0.
+     * Erases all the data gathered by the sampler, resets the sample count to 0 and resets whether
+     * the {@linkplain #hasStackOverflowed() stack overflowed}.
      *
      * @since 0.30
      */
     public synchronized void clearData() {
         samplesTaken.set(0);
+        stackOverflowed = false;
+        // threads that terminated will not be sampled again
+        rootNodes.keySet().removeIf(thread -> !thread.isAlive());
         for (ProfilerNode<Payload> node : rootNodes.values()) {
             Map<StackTraceEntry, ProfilerNode<Payload>> rootChildren = node.children;
             if (rootChildren != null) {
@@ -544,6 +602,9 @@ public final class CPUSampler implements Closeable {
      * @since 19.0
      */
     public Map<Thread, List<StackTraceEntry>> takeSample() {
+        if (isSafepointSampling()) {
+            return takeSafepointSample();
+        }
         ShadowStack localShadowStack = shadowStack;
         if (localShadowStack == null) {
             localShadowStack = initializeShadowStack();
@@ -569,6 +630,32 @@ public final class CPUSampler implements Closeable {
         return Collections.unmodifiableMap(stacks);
     }
 
+    private Map<Thread, List<StackTraceEntry>> takeSafepointSample() {
+        SafepointStackSampler localSampler = safepointStackSampler;
+        if (localSampler == null) {
+            localSampler = initializeSafepointStackSampler();
+        }
+        if (delaySamplingUntilNonInternalLangInit && !nonInternalLanguageContextInitialized) {
+            return Collections.emptyMap();
+        }
+        Map<Thread, List<StackTraceEntry>> stacks = new HashMap<>();
+        for (Map.Entry<TruffleContext, Set<Thread>> entry : activeThreads.entrySet()) {
+            Thread[] threads = entry.getValue().toArray(new Thread[0]);
+            for (SafepointStackSampler.StackSample sample : localSampler.sample(entry.getKey(), threads)) {
+                if (sample.overflowed) {
+                    stackOverflowed = true;
+                    continue;
+                }
+                if (sample.stack.length > 0) {
+                    final List<StackTraceEntry> stackTraceEntries = Arrays.asList(sample.stack);
+                    Collections.reverse(stackTraceEntries);
+                    stacks.put(sample.thread, Collections.unmodifiableList(stackTraceEntries));
+                }
+            }
+        }
+        return Collections.unmodifiableMap(stacks);
+    }
+
     static Map<Thread, StackTraceElement[]> toStackTraceElement(Map<Thread, List<StackTraceEntry>> sample) {
         Map<Thread, StackTraceElement[]> converted = new HashMap<>();
         for (Entry<Thread, List<StackTraceEntry>> entry : sample.entrySet()) {
@@ -591,6 +678,34 @@ public final class CPUSampler implements Closeable {
         return localShadowStack;
     }
 
+    private synchronized SafepointStackSampler initializeSafepointStackSampler() {
+        SafepointStackSampler localSampler = safepointStackSampler;
+        if (localSampler == null) {
+            SourceSectionFilter f = this.filter;
+            if (f == null) {
+                f = DEFAULT_FILTER;
+            }
+            if (threadsBinding == null) {
+                threadsBinding = env.getInstrumenter().attachThreadsListener(new ThreadsListener() {
+                    @Override
+                    public void onThreadInitialized(TruffleContext context, Thread thread) {
+                        activeThreads.computeIfAbsent(context, (c) -> ConcurrentHashMap.newKeySet()).add(thread);
+                    }
+
+                    @Override
+                    public void onThreadDisposed(TruffleContext context, Thread thread) {
+                        Set<Thread> threads = activeThreads.get(context);
+                        if (threads != null) {
+                            threads.remove(thread);
+                        }
+                    }
+                }, true);
+            }
+            this.safepointStackSampler = localSampler = new SafepointStackSampler(env, combine(f, mode), stackLimit, period, TruffleLogger.getLogger(CPUSamplerInstrument.ID));
+        }
+        return localSampler;
+    }
+
     private void resetSampling() {
         assert Thread.holdsLock(this);
         cleanup();
@@ -602,7 +717,11 @@ public final class CPUSampler implements Closeable {
             samplerThread = new Timer("Sampling thread", true);
         }
         this.stackOverflowed = false;
-        initializeShadowStack();
+        if (safepointSampling) {
+            initializeSafepointStackSampler();
+        } else {
+            initializeShadowStack();
+        }
         this.samplerTask = new SamplingTimerTask();
         this.samplerThread.schedule(samplerTask, delay, period);
     }
@@ -640,6 +759,18 @@ public final class CPUSampler implements Closeable {
     }
 
     private void invalidateStack() {
+        safepointStackSampler = null;
+        EventBinding<?> localThreadsBinding = threadsBinding;
+        if (localThreadsBinding != null) {
+            synchronized (this) {
+                localThreadsBinding = threadsBinding;
+                if (localThreadsBinding != null) {
+                    localThreadsBinding.dispose();
+                    threadsBinding = null;
+                    activeThreads.clear();
+                }
+            }
+        }
         ShadowStack localShadowStack = this.shadowStack;
         if (localShadowStack != null) {
             synchronized (this) {
@@ -666,19 +797,23 @@ public final class CPUSampler implements Closeable {
             }
             long timestamp = System.currentTimeMillis();
             boolean sampleTaken = false;
+            SafepointStackSampler localSampler = safepointStackSampler;
+            if (localSampler != null) {
+                for (Map.Entry<TruffleContext, Set<Thread>> entry : activeThreads.entrySet()) {
+                    Thread[] threads = entry.getValue().toArray(new Thread[0]);
+                    for (SafepointStackSampler.StackSample sample : localSampler.sample(entry.getKey(), threads)) {
+                        if (sample.overflowed) {
+                            stackOverflowed = true;
+                            continue;
+                        }
+                        sampleTaken |= sample(sample.stack, timestamp, getThreadNode(sample.thread));
+                    }
+                }
+            }
             ShadowStack localShadowStack = shadowStack;
             if (localShadowStack != null) {
                 for (ShadowStack.ThreadLocalStack stack : localShadowStack.getStacks()) {
-                    ProfilerNode<Payload> threadNode;
-                    synchronized (CPUSampler.this) {
-                        threadNode = rootNodes.computeIfAbsent(stack.getThread(), new Function<Thread, ProfilerNode<Payload>>() {
-                            @Override
-                            public ProfilerNode<Payload> apply(Thread thread) {
-                                return new ProfilerNode<>();
-                            }
-                        });
-                    }
-                    sampleTaken |= sample(stack, timestamp, threadNode);
+                    sampleTaken |= sample(stack, timestamp, getThreadNode(stack.getThread()));
                 }
             }
             if (sampleTaken) {
@@ -686,6 +821,17 @@ public final class CPUSampler implements Closeable {
             }
         }
 
+        private ProfilerNode<Payload> getThreadNode(Thread sampledThread) {
+            synchronized (CPUSampler.this) {
+                return rootNodes.computeIfAbsent(sampledThread, new Function<Thread, ProfilerNode<Payload>>() {
+                    @Override
+                    public ProfilerNode<Payload> apply(Thread thread) {
+                        return new ProfilerNode<>();
+                    }
+                });
+            }
+        }
+
         boolean sample(ShadowStack.ThreadLocalStack stack, long timestamp, ProfilerNode<Payload> threadNode) {
             if (stack.hasStackOverflowed()) {
                 stackOverflowed = true;
@@ -695,7 +841,10 @@ public final class CPUSampler implements Closeable {
                 // nothing on the stack
                 return false;
             }
-            StackTraceEntry[] stackFrames = stack.getStack();
+            return sample(stack.getStack(), timestamp, threadNode);
+        }
+
+        boolean sample(StackTraceEntry[] stackFrames, long timestamp, ProfilerNode<Payload> threadNode) {
             if (stackFrames == null || stackFrames.length == 0) {
                 return false;
             }
@@ -25,12 +25,14 @@
 package com.oracle.truffle.tools.profiler;
 
 import java.io.Closeable;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -44,6 +46,7 @@ import com.oracle.truffle.api.TruffleLogger;
 import com.oracle.truffle.api.instrumentation.AllocationEvent;
 import com.oracle.truffle.api.instrumentation.AllocationEventFilter;
 import com.oracle.truffle.api.instrumentation.AllocationListener;
+import com.oracle.truffle.api.instrumentation.AllocationReporter;
 import com.oracle.truffle.api.instrumentation.EventBinding;
 import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
 import com.oracle.truffle.api.instrumentation.StandardTags;
@@ -66,6 +69,10 @@ import com.oracle.truffle.tools.profiler.impl.ProfilerToolFactory;
  * during execution, and listens for {@link AllocationEvent allocation events}. On each event, the
  * allocation information is associated to the top of the stack.
  * <p>
+ * Recording every allocation is expensive for allocation heavy programs. With a
+ * {@link #setSamplingInterval(long) sampling interval} the tracer only records about one allocation
+ * per interval of allocated bytes, and only captures the stack of the recorded allocations.
+ * <p>
  * NOTE: This profiler is still experimental with limited capabilities.
  * <p>
  * Usage example: {@codesnippet MemoryTracerSnippets#example}
@@ -101,6 +108,10 @@ public final class MemoryTracer implements Closeable {
 
     private boolean stackOverflowed = false;
 
+    private long samplingInterval = 0;
+
+    private SafepointStackSampler stackSampler;
+
     private static final SourceSectionFilter DEFAULT_FILTER = SourceSectionFilter.newBuilder().tagIs(StandardTags.RootTag.class).sourceIs(new SourceSectionFilter.SourcePredicate() {
         @Override
         public boolean test(Source source) {
@@ -121,8 +132,13 @@ public final class MemoryTracer implements Closeable {
         if (f == null) {
             f = DEFAULT_FILTER;
         }
-        this.shadowStack = new ShadowStack(stackLimit, f, env.getInstrumenter(), TruffleLogger.getLogger(CPUTracerInstrument.ID));
-        this.stacksBinding = this.shadowStack.install(env.getInstrumenter(), f, false);
+        if (samplingInterval > 0) {
+            // stacks are only captured for the sampled allocations, no need for a shadow stack
+            this.stackSampler = new SafepointStackSampler(env, f, stackLimit, 0, TruffleLogger.getLogger(MemoryTracerInstrument.ID));
+        } else {
+            this.shadowStack = new ShadowStack(stackLimit, f, env.getInstrumenter(), TruffleLogger.getLogger(CPUTracerInstrument.ID));
+            this.stacksBinding = this.shadowStack.install(env.getInstrumenter(), f, false);
+        }
 
         this.activeBinding = env.getInstrumenter().attachAllocationListener(AllocationEventFilter.ANY, new Listener());
     }
@@ -201,7 +217,7 @@ public final class MemoryTracer implements Closeable {
             Payload copy = new Payload();
             copy.totalAllocations = payload.totalAllocations;
             for (AllocationEventInfo info : payload.events) {
-                copy.events.add(new AllocationEventInfo(info.language, info.allocated, info.reallocation, info.metaObjectString));
+                copy.events.add(new AllocationEventInfo(info));
             }
             return copy;
         }
@@ -212,7 +228,7 @@ public final class MemoryTracer implements Closeable {
         public void accept(Payload source, Payload dest) {
             dest.totalAllocations += source.totalAllocations;
             for (AllocationEventInfo info : source.events) {
-                dest.events.add(new AllocationEventInfo(info.language, info.allocated, info.reallocation, info.metaObjectString));
+                dest.events.add(new AllocationEventInfo(info));
             }
         }
     };
@@ -275,6 +291,40 @@ public final class MemoryTracer implements Closeable {
         return stackOverflowed;
     }
 
+    /**
+     * Sets the average number of allocated bytes between two recorded allocations. By default the
+     * interval is <code>0</code> and every allocation is recorded.
+     * <p>
+     * With a positive interval, the distances between sampled allocations are drawn from an
+     * exponential distribution with the given mean. This avoids biasing the profile towards
+     * allocation sites that allocate in lockstep with a fixed interval. Only the sampled
+     * allocations are recorded and their stacks captured, no shadow stack is maintained. Each
+     * sampled allocation is {@link AllocationEventInfo#getWeight() weighted} by the number of bytes
+     * it statistically stands for, and the allocated object is tracked with a weak reference, so
+     * that {@link AllocationEventInfo#isLive()} can be used to produce live heap profiles.
+     * Allocations of unknown size count as one byte.
+     *
+     * @param bytes the average sampling interval in bytes, or <code>0</code> to record every
+     *            allocation
+     * @since 21.2
+     */
+    public synchronized void setSamplingInterval(long bytes) {
+        verifyConfigAllowed();
+        if (bytes < 0) {
+            throw new ProfilerException(String.format("Invalid sampling interval %s.", bytes));
+        }
+        this.samplingInterval = bytes;
+    }
+
+    /**
+     * @return the average number of allocated bytes between two recorded allocations, or
+     *         <code>0</code> if every allocation is recorded.
+     * @since 21.2
+     */
+    public synchronized long getSamplingInterval() {
+        return samplingInterval;
+    }
+
     /**
      * Sets the {@link SourceSectionFilter filter} for the sampler. This allows the sampler to
      * observe only parts of the executed source code.
@@ -303,6 +353,7 @@ public final class MemoryTracer implements Closeable {
         if (shadowStack != null) {
             shadowStack = null;
         }
+        stackSampler = null;
     }
 
     private void verifyConfigAllowed() {
@@ -322,6 +373,11 @@ public final class MemoryTracer implements Closeable {
          */
         ThreadLocal<Boolean> gettingMetaObject = ThreadLocal.withInitial(() -> false);
 
+        /**
+         * The number of bytes each thread can still allocate before its next allocation is sampled.
+         */
+        final ThreadLocal<long[]> bytesUntilSample = ThreadLocal.withInitial(() -> new long[]{nextSamplingDistance(samplingInterval)});
+
         @Override
         public void onEnter(AllocationEvent event) {
         }
@@ -332,6 +388,11 @@ public final class MemoryTracer implements Closeable {
             if (gettingMetaObject.get()) {
                 return;
             }
+            SafepointStackSampler sampler = stackSampler;
+            if (sampler != null) {
+                onSampledReturnValue(event, sampler);
+                return;
+            }
             ShadowStack.ThreadLocalStack stack = shadowStack.getStack(Thread.currentThread());
             if (stack == null || stack.getStackIndex() == -1) {
                 // nothing on the stack
@@ -341,6 +402,43 @@ public final class MemoryTracer implements Closeable {
                 stackOverflowed = true;
                 return;
             }
+            AllocationEventInfo info = createInfo(event, event.getNewSize() - event.getOldSize(), event.getOldSize() != 0, -1, null);
+            handleEvent(stack.getStack(), info);
+        }
+
+        private void onSampledReturnValue(AllocationEvent event, SafepointStackSampler sampler) {
+            long size = allocatedSize(event);
+            if (size <= 0) {
+                // shrinking re-allocations do not allocate memory
+                return;
+            }
+            long[] remaining = bytesUntilSample.get();
+            remaining[0] -= size;
+            if (remaining[0] > 0) {
+                return;
+            }
+            long interval = samplingInterval;
+            remaining[0] = nextSamplingDistance(interval);
+            SafepointStackSampler.StackSample sample = sampler.captureStack(Thread.currentThread(), null);
+            if (sample.overflowed) {
+                stackOverflowed = true;
+                return;
+            }
+            if (sample.stack.length == 0) {
+                // nothing on the stack
+                return;
+            }
+            /*
+             * An allocation of the given size is sampled with a probability of 1 - exp(-size /
+             * interval), so the sample stands for size / probability bytes.
+             */
+            double weight = size / (1 - Math.exp(-(double) size / interval));
+            AllocationEventInfo info = createInfo(event, size, event.getOldSize() != 0 && event.getOldSize() != AllocationReporter.SIZE_UNKNOWN, Math.round(weight),
+                            new WeakReference<>(event.getValue()));
+            handleEvent(sample.stack, info);
+        }
+
+        private AllocationEventInfo createInfo(AllocationEvent event, long allocated, boolean reallocation, long weight, WeakReference<Object> reference) {
             LanguageInfo languageInfo = event.getLanguage();
             String metaObjectString;
             gettingMetaObject.set(true);
@@ -357,12 +455,10 @@ public final class MemoryTracer implements Closeable {
                 metaObjectString = "null";
             }
             gettingMetaObject.set(false);
-            AllocationEventInfo info = new AllocationEventInfo(languageInfo, event.getNewSize() - event.getOldSize(), event.getOldSize() != 0, metaObjectString);
-            handleEvent(stack, info);
+            return new AllocationEventInfo(languageInfo, allocated, reallocation, metaObjectString, weight < 0 ? allocated : weight, reference);
         }
 
-        boolean handleEvent(ShadowStack.ThreadLocalStack stack, AllocationEventInfo info) {
-            StackTraceEntry[] locations = stack.getStack();
+        boolean handleEvent(StackTraceEntry[] locations, AllocationEventInfo info) {
             if (locations == null) {
                 return false;
             }
@@ -391,6 +487,25 @@ public final class MemoryTracer implements Closeable {
         }
     }
 
+    private static long allocatedSize(AllocationEvent event) {
+        long newSize = event.getNewSize();
+        if (newSize == AllocationReporter.SIZE_UNKNOWN) {
+            return 1;
+        }
+        long oldSize = event.getOldSize();
+        return oldSize == AllocationReporter.SIZE_UNKNOWN ? newSize : newSize - oldSize;
+    }
+
+    /**
+     * Draws the number of bytes until the next sample from an exponential distribution, which makes
+     * the sampling a Poisson process over the allocated bytes.
+     */
+    private static long nextSamplingDistance(long interval) {
+        double random = ThreadLocalRandom.current().nextDouble();
+        // -log(1 - random) is exponentially distributed with mean 1, 1 - random is never zero
+        return Math.max(1, (long) (-Math.log(1 - random) * interval));
+    }
+
     /**
      * Used as a template parameter for {@link ProfilerNode}. Holds information about
      * {@link AllocationEventInfo allocation events}.
@@ -445,12 +560,20 @@ public final class MemoryTracer implements Closeable {
         private final long allocated;
         private final boolean reallocation;
         private final String metaObjectString;
+        private final long weight;
+        private final WeakReference<Object> reference;
 
-        AllocationEventInfo(LanguageInfo language, long allocated, boolean realocation, String metaObjectString) {
+        AllocationEventInfo(LanguageInfo language, long allocated, boolean realocation, String metaObjectString, long weight, WeakReference<Object> reference) {
             this.language = language;
             this.allocated = allocated;
             this.reallocation = realocation;
             this.metaObjectString = metaObjectString;
+            this.weight = weight;
+            this.reference = reference;
+        }
+
+        AllocationEventInfo(AllocationEventInfo info) {
+            this(info.language, info.allocated, info.reallocation, info.metaObjectString, info.weight, info.reference);
         }
 
         /**
@@ -483,6 +606,28 @@ public final class MemoryTracer implements Closeable {
         public String getMetaObjectString() {
             return metaObjectString;
         }
+
+        /**
+         * @return the number of allocated bytes this event stands for. Equal to
+         *         {@link #getAllocated()} unless the tracer
+         *         {@link MemoryTracer#setSamplingInterval(long) samples} allocations, in which case
+         *         the weight is an unbiased estimate of how many bytes were allocated by
+         *         allocations like this one, including the ones that were not sampled.
+         * @since 21.2
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        /**
+         * @return whether the allocated object is still reachable. Only the allocations recorded
+         *         by a {@link MemoryTracer#setSamplingInterval(long) sampling} tracer keep track of
+         *         the allocated object, for all other allocations <code>false</code> is returned.
+         * @since 21.2
+         */
+        public boolean isLive() {
+            return reference != null && reference.get() != null;
+        }
     }
 
     static {
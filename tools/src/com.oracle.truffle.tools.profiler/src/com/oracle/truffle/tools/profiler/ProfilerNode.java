@@ -121,6 +121,16 @@ public final class ProfilerNode<T> {
         return sourceLocation.getRootName();
     }
 
+    /**
+     * @return the {@link SourceSection} of the {@linkplain RootNode root node} in which this
+     *         {@link ProfilerNode} appears, or <code>null</code> if the root node has none
+     * @since 21.2
+     */
+    public SourceSection getRootSourceSection() {
+        RootNode rootNode = sourceLocation.getInstrumentedNode().getRootNode();
+        return rootNode != null ? rootNode.getSourceSection() : null;
+    }
+
     /**
      * Returns a set tags a stack location marked with. Common tags are {@link RootTag root},
      * {@link StatementTag statement} and {@link ExpressionTag expression}. Whether statement or
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.tools.profiler;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.ThreadLocalAction;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.TruffleContext;
+import com.oracle.truffle.api.TruffleLogger;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.frame.FrameInstanceVisitor;
+import com.oracle.truffle.api.instrumentation.Instrumenter;
+import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
+import com.oracle.truffle.api.instrumentation.TruffleInstrument.Env;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeVisitor;
+import com.oracle.truffle.api.nodes.RootNode;
+
+/**
+ * Samples the actual guest language stack of all threads of a context using
+ * {@link ThreadLocalAction thread local actions}. Unlike the {@link ShadowStack} no execution
+ * instrumentation is installed, so the sampled code runs at full speed between two samples. A
+ * thread is only sampled when it reaches its next safepoint, therefore samples are biased towards
+ * safepoint locations, i.e. loop back-edges and call boundaries.
+ *
+ * A thread that is not entered in the context, e.g. because it is idle, performs a thread local
+ * action only when it enters the context again. Such a thread is sampled once and then skipped
+ * until it performed the pending action, so that the sampling thread does not wait for it on every
+ * sample.
+ */
+final class SafepointStackSampler {
+
+    private final Env env;
+    private final SourceSectionFilter sourceSectionFilter;
+    private final int stackLimit;
+    private final long timeout;
+    private final TruffleLogger logger;
+
+    /** Pending sample actions per context and thread, guarded by {@code this}. */
+    private final Map<TruffleContext, Map<Thread, Future<Void>>> pendingActions = new HashMap<>();
+
+    /**
+     * The first included node of a root node, used when a safepoint location is not inside an
+     * included node. The value is a weak reference because the node references its root.
+     */
+    private final Map<RootNode, WeakReference<Node>> firstIncludedNodes = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final WeakReference<Node> NO_INCLUDED_NODE = new WeakReference<>(null);
+
+    SafepointStackSampler(Env env, SourceSectionFilter sourceSectionFilter, int stackLimit, long timeout, TruffleLogger logger) {
+        this.env = env;
+        this.sourceSectionFilter = sourceSectionFilter;
+        this.stackLimit = stackLimit;
+        this.timeout = timeout;
+        this.logger = logger;
+    }
+
+    /**
+     * Samples the given threads of a context. Threads that do not reach a safepoint within the
+     * timeout are not included in the result. If the current thread is one of the sampled threads
+     * then its stack is captured directly, as it cannot process a thread local action while
+     * waiting for the other threads.
+     */
+    synchronized List<StackSample> sample(TruffleContext context, Thread[] threads) {
+        if (threads.length == 0) {
+            return Collections.emptyList();
+        }
+        Map<Thread, Future<Void>> pending = pendingActions.computeIfAbsent(context, (c) -> new HashMap<>());
+        pending.keySet().retainAll(Arrays.asList(threads));
+        List<StackSample> samples = new ArrayList<>(threads.length);
+        Thread currentThread = Thread.currentThread();
+        SampleAction action = new SampleAction();
+        List<Future<Void>> futures = new ArrayList<>(threads.length);
+        for (Thread thread : threads) {
+            if (thread == currentThread) {
+                if (context.isEntered()) {
+                    samples.add(captureStack(currentThread, null));
+                }
+                continue;
+            }
+            Future<Void> previous = pending.get(thread);
+            if (previous != null && !previous.isDone()) {
+                // the thread did not reach a safepoint since an earlier sample, it is not entered
+                continue;
+            }
+            Future<Void> future;
+            try {
+                future = env.submitThreadLocal(context, new Thread[]{thread}, action);
+            } catch (IllegalStateException e) {
+                // the context was closed concurrently
+                return samples;
+            }
+            pending.put(thread, future);
+            futures.add(future);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        for (Future<Void> future : futures) {
+            try {
+                future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // the thread is not part of this sample, the action stays pending
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                logger.fine(() -> "Sampling the stack failed: " + e.getCause());
+            }
+        }
+        // actions that are performed after this point belong to no sample
+        samples.addAll(action.takeSamples());
+        return samples;
+    }
+
+    synchronized void onContextClosed(TruffleContext context) {
+        pendingActions.remove(context);
+    }
+
+    StackSample captureStack(Thread thread, Node topLocation) {
+        StackVisitor visitor = new StackVisitor(topLocation);
+        Truffle.getRuntime().iterateFrames(visitor);
+        if (visitor.overflowed) {
+            return new StackSample(thread, null, true);
+        }
+        List<StackTraceEntry> entries = visitor.entries;
+        // the visitor collects the entries from the top of the stack, the profile tree expects
+        // them from the bottom
+        Collections.reverse(entries);
+        return new StackSample(thread, entries.toArray(new StackTraceEntry[entries.size()]), false);
+    }
+
+    private final class SampleAction extends ThreadLocalAction {
+
+        private final ConcurrentLinkedQueue<StackSample> samples = new ConcurrentLinkedQueue<>();
+        private volatile boolean taken;
+
+        SampleAction() {
+            super(false, false);
+        }
+
+        @Override
+        protected void perform(Access access) {
+            if (!taken) {
+                samples.add(captureStack(access.getThread(), access.getLocation()));
+            }
+        }
+
+        List<StackSample> takeSamples() {
+            taken = true;
+            return new ArrayList<>(samples);
+        }
+    }
+
+    private final class StackVisitor implements FrameInstanceVisitor<FrameInstance> {
+
+        final List<StackTraceEntry> entries = new ArrayList<>();
+        private Node topLocation;
+        private boolean top = true;
+        boolean overflowed;
+
+        StackVisitor(Node topLocation) {
+            this.topLocation = topLocation;
+        }
+
+        @Override
+        public FrameInstance visitFrame(FrameInstance frameInstance) {
+            Node location = frameInstance.getCallNode();
+            if (top) {
+                top = false;
+                if (location == null) {
+                    location = topLocation;
+                }
+            }
+            // the frame does not tell whether compiled code is a compilation root or was inlined
+            byte state = frameInstance.isVirtualFrame() ? StackTraceEntry.STATE_COMPILED_UNKNOWN_INLINING : StackTraceEntry.STATE_INTERPRETED;
+            visitFrame(frameInstance.getCallTarget(), location, state);
+            if (entries.size() > stackLimit) {
+                overflowed = true;
+                // stop iterating
+                return frameInstance;
+            }
+            return null;
+        }
+
+        private void visitFrame(CallTarget target, Node location, byte state) {
+            if (!(target instanceof RootCallTarget)) {
+                return;
+            }
+            RootNode root = ((RootCallTarget) target).getRootNode();
+            Instrumenter instrumenter = env.getInstrumenter();
+            boolean found = false;
+            Node current = location;
+            while (current != null && current != root) {
+                if (isIncluded(current)) {
+                    entries.add(new StackTraceEntry(instrumenter, current, state));
+                    found = true;
+                }
+                current = current.getParent();
+            }
+            if (!found) {
+                /*
+                 * The location is unknown or is not inside an included node, e.g. when the
+                 * safepoint was polled at the entry of the root. Fall back to the first included
+                 * node of the root, which usually is the node tagged as root.
+                 */
+                Node first = findFirstIncluded(root);
+                if (first != null) {
+                    entries.add(new StackTraceEntry(instrumenter, first, state));
+                }
+            }
+        }
+
+        private Node findFirstIncluded(RootNode root) {
+            WeakReference<Node> cached = firstIncludedNodes.get(root);
+            if (cached == NO_INCLUDED_NODE) {
+                return null;
+            } else if (cached != null) {
+                Node node = cached.get();
+                // the cached node may have been replaced in the meantime
+                if (node != null && node.getRootNode() == root) {
+                    return node;
+                }
+            }
+            Node first = computeFirstIncluded(root);
+            firstIncludedNodes.put(root, first == null ? NO_INCLUDED_NODE : new WeakReference<>(first));
+            return first;
+        }
+
+        private Node computeFirstIncluded(RootNode root) {
+            Node[] result = new Node[1];
+            root.accept(new NodeVisitor() {
+                @Override
+                public boolean visit(Node node) {
+                    if (isIncluded(node)) {
+                        result[0] = node;
+                        return false;
+                    }
+                    return true;
+                }
+            });
+            return result[0];
+        }
+
+        private boolean isIncluded(Node node) {
+            return node.getSourceSection() != null && sourceSectionFilter.includes(node);
+        }
+    }
+
+    static final class StackSample {
+
+        final Thread thread;
+        final StackTraceEntry[] stack;
+        final boolean overflowed;
+
+        StackSample(Thread thread, StackTraceEntry[] stack, boolean overflowed) {
+            this.thread = thread;
+            this.stack = stack;
+            this.overflowed = overflowed;
+        }
+    }
+}
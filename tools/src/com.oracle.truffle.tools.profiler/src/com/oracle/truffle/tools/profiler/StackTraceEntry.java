@@ -57,6 +57,11 @@ public final class StackTraceEntry {
     static final byte STATE_INTERPRETED = 1;
     static final byte STATE_COMPILED = 2;
     static final byte STATE_COMPILATION_ROOT = 3;
+    /*
+     * Compiled, but it is not known whether the entry is the compilation root or was inlined. Used
+     * for stacks that are walked instead of being recorded by instrumentation.
+     */
+    static final byte STATE_COMPILED_UNKNOWN_INLINING = 4;
 
     private final SourceSection sourceSection;
     private final String rootName;
@@ -97,7 +102,7 @@ public final class StackTraceEntry {
      * @since 19.0
      */
     public boolean isCompiled() {
-        return state == STATE_COMPILED || state == STATE_COMPILATION_ROOT;
+        return state == STATE_COMPILED || state == STATE_COMPILATION_ROOT || state == STATE_COMPILED_UNKNOWN_INLINING;
     }
 
     /**
@@ -282,6 +287,7 @@ public final class StackTraceEntry {
                 s = ", Interpreted";
                 break;
             case STATE_COMPILED:
+            case STATE_COMPILED_UNKNOWN_INLINING:
                 s = ", Compiled";
                 break;
             case STATE_INTERPRETED:
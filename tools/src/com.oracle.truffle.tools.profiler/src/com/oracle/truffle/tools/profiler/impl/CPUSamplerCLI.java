@@ -37,6 +37,10 @@ import org.graalvm.options.OptionKey;
 import org.graalvm.options.OptionStability;
 import org.graalvm.options.OptionType;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -47,6 +51,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
 import java.util.function.Function;
 
 @Option.Group(CPUSamplerInstrument.ID)
@@ -56,6 +62,7 @@ class CPUSamplerCLI extends ProfilerCLI {
         HISTOGRAM,
         CALLTREE,
         JSON,
+        PPROF,
     }
 
     static final OptionType<Output> CLI_OUTPUT_TYPE = new OptionType<>("Output",
@@ -65,7 +72,7 @@ class CPUSamplerCLI extends ProfilerCLI {
                             try {
                                 return Output.valueOf(s.toUpperCase());
                             } catch (IllegalArgumentException e) {
-                                throw new IllegalArgumentException("Output can be: histogram, calltree or json");
+                                throw new IllegalArgumentException("Output can be: histogram, calltree, json or pprof");
                             }
                         }
                     });
@@ -94,13 +101,17 @@ class CPUSamplerCLI extends ProfilerCLI {
     @Option(name = "Period", help = "Period in milliseconds to sample the stack.", category = OptionCategory.USER, stability = OptionStability.STABLE) //
     static final OptionKey<Long> SAMPLE_PERIOD = new OptionKey<>(1L);
 
+    @Option(name = "Safepoints", help = "Sample the actual stack at safepoints instead of keeping an instrumented shadow stack. Lowers the overhead but biases samples towards safepoint locations (default:false).", //
+                    category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL) //
+    static final OptionKey<Boolean> SAFEPOINTS = new OptionKey<>(false);
+
     @Option(name = "Delay", help = "Delay the sampling for this many milliseconds (default: 0).", category = OptionCategory.USER, stability = OptionStability.STABLE) //
     static final OptionKey<Long> DELAY_PERIOD = new OptionKey<>(0L);
 
     @Option(name = "StackLimit", help = "Maximum number of maximum stack elements.", category = OptionCategory.USER, stability = OptionStability.STABLE) //
     static final OptionKey<Integer> STACK_LIMIT = new OptionKey<>(10000);
 
-    @Option(name = "Output", help = "Print a 'histogram', 'calltree' or 'json' as output (default:HISTOGRAM).", category = OptionCategory.USER, stability = OptionStability.STABLE) //
+    @Option(name = "Output", help = "Print a 'histogram', 'calltree', 'json' or gzipped 'pprof' protocol buffers as output (default:HISTOGRAM).", category = OptionCategory.USER, stability = OptionStability.STABLE) //
     static final OptionKey<Output> OUTPUT = new OptionKey<>(Output.HISTOGRAM, CLI_OUTPUT_TYPE);
 
     @Option(name = "FilterRootName", help = "Wildcard filter for program roots. (eg. Math.*, default:*).", category = OptionCategory.USER, stability = OptionStability.STABLE) //
@@ -130,19 +141,25 @@ class CPUSamplerCLI extends ProfilerCLI {
     @Option(name = "MinSamples", help = "Remove elements from output if they have less samples than this value (default: 0).", category = OptionCategory.USER, stability = OptionStability.STABLE) //
     static final OptionKey<Integer> MIN_SAMPLES = new OptionKey<>(0);
 
-    static void handleOutput(TruffleInstrument.Env env, CPUSampler sampler) {
+    @Option(name = "FlushInterval", help = "Write the profile gathered in the last interval of this many milliseconds to a new numbered output file and discard it from memory. " +
+                    "Requires the pprof output and an output file (default: 0, i.e. write the whole profile at exit).", category = OptionCategory.USER, stability = OptionStability.EXPERIMENTAL) //
+    static final OptionKey<Long> FLUSH_INTERVAL = new OptionKey<>(0L);
+
+    static void handleOutput(TruffleInstrument.Env env, CPUSampler sampler, long samplingStart) {
+        Output output = env.getOptions().get(OUTPUT);
+        if (sampler.hasStackOverflowed() && output == Output.PPROF) {
+            // the error text must not end up in the binary profile
+            printStackOverflowed(new PrintStream(env.err(), true), env);
+            return;
+        }
         try (PrintStream out = chooseOutputStream(env, OUTPUT_FILE)) {
             if (sampler.hasStackOverflowed()) {
-                out.println("-------------------------------------------------------------------------------- ");
-                out.println("ERROR: Shadow stack has overflowed its capacity of " + env.getOptions().get(STACK_LIMIT) + " during execution!");
-                out.println("The gathered data is incomplete and incorrect!");
-                out.println("Use --" + CPUSamplerInstrument.ID + ".StackLimit=<" + STACK_LIMIT.getType().getName() + "> to set stack capacity.");
-                out.println("-------------------------------------------------------------------------------- ");
+                printStackOverflowed(out, env);
                 return;
             }
             Boolean summariseThreads = env.getOptions().get(SUMMARISE_THREADS);
             Integer minSamples = env.getOptions().get(MIN_SAMPLES);
-            switch (env.getOptions().get(OUTPUT)) {
+            switch (output) {
                 case HISTOGRAM:
                     printSamplingHistogram(out, sampler, summariseThreads, minSamples);
                     break;
@@ -151,7 +168,103 @@ class CPUSamplerCLI extends ProfilerCLI {
                     break;
                 case JSON:
                     printSamplingJson(out, sampler);
+                    break;
+                case PPROF:
+                    printSamplingPprof(out, sampler, samplingStart);
+            }
+        }
+    }
+
+    private static void printStackOverflowed(PrintStream out, TruffleInstrument.Env env) {
+        out.println("-------------------------------------------------------------------------------- ");
+        out.println("ERROR: Shadow stack has overflowed its capacity of " + env.getOptions().get(STACK_LIMIT) + " during execution!");
+        out.println("The gathered data is incomplete and incorrect!");
+        out.println("Use --" + CPUSamplerInstrument.ID + ".StackLimit=<" + STACK_LIMIT.getType().getName() + "> to set stack capacity.");
+        out.println("-------------------------------------------------------------------------------- ");
+    }
+
+    private static void printSamplingPprof(PrintStream out, CPUSampler sampler, long profileStart) {
+        try {
+            PprofWriter.write(out, sampler.getThreadToNodesMap(), sampler.getPeriod(), profileStart, System.currentTimeMillis());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot write the pprof profile: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Periodically writes the profile gathered since the last flush to a new numbered file and
+     * clears the data of the sampler, so that the memory used by a continuously running sampler
+     * stays bounded. Failures to write a file are reported to the error stream of the instrument
+     * and do not stop later flushes.
+     */
+    static final class ContinuousOutput extends TimerTask {
+
+        private final TruffleInstrument.Env env;
+        private final CPUSampler sampler;
+        private final String outputFile;
+        private final Timer timer;
+        private long intervalStart;
+        private int index;
+        private boolean stackOverflowReported;
+
+        ContinuousOutput(TruffleInstrument.Env env, CPUSampler sampler, long samplingStart) {
+            if (env.getOptions().get(OUTPUT) != Output.PPROF || !OUTPUT_FILE.hasBeenSet(env.getOptions())) {
+                throw new IllegalArgumentException("--" + CPUSamplerInstrument.ID + ".FlushInterval requires --" + CPUSamplerInstrument.ID + ".Output=pprof and an --" + CPUSamplerInstrument.ID +
+                                ".OutputFile.");
+            }
+            this.env = env;
+            this.sampler = sampler;
+            this.outputFile = env.getOptions().get(OUTPUT_FILE);
+            this.intervalStart = samplingStart;
+            this.timer = new Timer("CPU sampler profile flusher", true);
+            long interval = env.getOptions().get(FLUSH_INTERVAL);
+            timer.schedule(this, interval, interval);
+        }
+
+        @Override
+        public void run() {
+            flush();
+        }
+
+        synchronized void flush() {
+            Map<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> profile;
+            boolean stackOverflowed;
+            synchronized (sampler) {
+                profile = sampler.getThreadToNodesMap();
+                stackOverflowed = sampler.hasStackOverflowed();
+                sampler.clearData();
+            }
+            long intervalEnd = System.currentTimeMillis();
+            File file = new File(numberedFileName(outputFile, index++));
+            PrintStream err = new PrintStream(env.err(), true);
+            if (stackOverflowed) {
+                if (!stackOverflowReported) {
+                    printStackOverflowed(err, env);
+                    stackOverflowReported = true;
+                }
+            } else if (file.exists()) {
+                err.println("Cannot write the pprof profile to the existing file " + file + ".");
+            } else {
+                try (OutputStream out = new FileOutputStream(file)) {
+                    PprofWriter.write(out, profile, sampler.getPeriod(), intervalStart, intervalEnd);
+                } catch (IOException e) {
+                    err.println("Cannot write the pprof profile to " + file + ": " + e.getMessage());
+                }
+            }
+            intervalStart = intervalEnd;
+        }
+
+        void close() {
+            timer.cancel();
+            flush();
+        }
+
+        static String numberedFileName(String fileName, int number) {
+            String suffix = ".pb.gz";
+            if (fileName.endsWith(suffix)) {
+                return String.format("%s-%d%s", fileName.substring(0, fileName.length() - suffix.length()), number, suffix);
             }
+            return String.format("%s-%d", fileName, number);
         }
     }
 
@@ -58,6 +58,8 @@ public class CPUSamplerInstrument extends TruffleInstrument {
     public static final String ID = "cpusampler";
     static final String VERSION = "0.4.0";
     private CPUSampler sampler;
+    private CPUSamplerCLI.ContinuousOutput continuousOutput;
+    private long samplingStart;
     private static ProfilerToolFactory<CPUSampler> factory;
 
     /**
@@ -113,7 +115,12 @@ public class CPUSamplerInstrument extends TruffleInstrument {
             sampler.setFilter(getSourceSectionFilter(env));
             sampler.setGatherSelfHitTimes(env.getOptions().get(GATHER_HIT_TIMES));
             sampler.setMode(env.getOptions().get(CPUSamplerCLI.MODE));
+            sampler.setSafepointSampling(env.getOptions().get(CPUSamplerCLI.SAFEPOINTS));
             sampler.setCollecting(true);
+            samplingStart = System.currentTimeMillis();
+            if (env.getOptions().get(CPUSamplerCLI.FLUSH_INTERVAL) > 0) {
+                continuousOutput = new CPUSamplerCLI.ContinuousOutput(env, sampler, samplingStart);
+            }
         }
         env.registerService(sampler);
     }
@@ -146,8 +153,10 @@ public class CPUSamplerInstrument extends TruffleInstrument {
      */
     @Override
     protected void onDispose(Env env) {
-        if (env.getOptions().get(CPUSamplerCLI.ENABLED)) {
-            CPUSamplerCLI.handleOutput(env, sampler);
+        if (continuousOutput != null) {
+            continuousOutput.close();
+        } else if (env.getOptions().get(CPUSamplerCLI.ENABLED)) {
+            CPUSamplerCLI.handleOutput(env, sampler, samplingStart);
         }
         sampler.close();
     }
@@ -50,7 +50,8 @@ class MemoryTracerCLI extends ProfilerCLI {
     enum Output {
         TYPE_HISTOGRAM,
         LOCATION_HISTOGRAM,
-        CALLTREE
+        CALLTREE,
+        LIVE_HISTOGRAM
     }
 
     static final OptionType<Output> CLI_OUTPUT_TYPE = new OptionType<>("Format",
@@ -64,6 +65,8 @@ class MemoryTracerCLI extends ProfilerCLI {
                                     return Output.LOCATION_HISTOGRAM;
                                 case "calltree":
                                     return Output.CALLTREE;
+                                case "livehistogram":
+                                    return Output.LIVE_HISTOGRAM;
                                 default:
                                     return null;
                             }
@@ -80,11 +83,14 @@ class MemoryTracerCLI extends ProfilerCLI {
 
     @Option(name = "", help = "Enable the Memory Tracer (default:false).", category = OptionCategory.USER) static final OptionKey<Boolean> ENABLED = new OptionKey<>(false);
 
-    @Option(name = "Output", help = "Print a 'typehistogram', 'histogram' or 'calltree' as output (default:histogram).", category = OptionCategory.USER) static final OptionKey<Output> OUTPUT = new OptionKey<>(
+    @Option(name = "Output", help = "Print a 'typehistogram', 'histogram', 'calltree' or, when sampling, the 'livehistogram' of sampled objects that are still reachable as output (default:histogram).", category = OptionCategory.USER) static final OptionKey<Output> OUTPUT = new OptionKey<>(
                     Output.LOCATION_HISTOGRAM, CLI_OUTPUT_TYPE);
 
     @Option(name = "StackLimit", help = "Maximum number of maximum stack elements.", category = OptionCategory.USER) static final OptionKey<Integer> STACK_LIMIT = new OptionKey<>(10000);
 
+    @Option(name = "SamplingInterval", help = "Only record about one allocation per given number of allocated bytes, 0 records every allocation (default:0).", category = OptionCategory.USER) //
+    static final OptionKey<Long> SAMPLING_INTERVAL = new OptionKey<>(0L);
+
     @Option(name = "TraceRoots", help = "Capture roots when tracing (default:true).", category = OptionCategory.USER) static final OptionKey<Boolean> TRACE_ROOTS = new OptionKey<>(true);
 
     @Option(name = "TraceStatements", help = "Capture statements when tracing (default:false).", category = OptionCategory.USER) static final OptionKey<Boolean> TRACE_STATEMENTS = new OptionKey<>(
@@ -116,6 +122,10 @@ class MemoryTracerCLI extends ProfilerCLI {
             out.println("-------------------------------------------------------------------------------- ");
             return;
         }
+        final long samplingInterval = tracer.getSamplingInterval();
+        if (samplingInterval > 0) {
+            out.println(String.format("Sampled about one allocation every %d allocated bytes, the counts below are numbers of samples.", samplingInterval));
+        }
         switch (env.getOptions().get(OUTPUT)) {
             case TYPE_HISTOGRAM:
                 printMetaObjectHistogram(out, tracer);
@@ -126,6 +136,13 @@ class MemoryTracerCLI extends ProfilerCLI {
             case CALLTREE:
                 printCallTree(out, tracer);
                 break;
+            case LIVE_HISTOGRAM:
+                if (samplingInterval > 0) {
+                    printLiveHistogram(out, tracer);
+                } else {
+                    out.println("The live histogram requires --" + MemoryTracerInstrument.ID + ".SamplingInterval=<" + SAMPLING_INTERVAL.getType().getName() + ">.");
+                }
+                break;
         }
     }
 
@@ -182,6 +199,49 @@ class MemoryTracerCLI extends ProfilerCLI {
         out.println(sep);
     }
 
+    private static void printLiveHistogram(PrintStream out, MemoryTracer tracer) {
+        final Map<String, List<MemoryTracer.AllocationEventInfo>> histogram = computeMetaObjectHistogram(tracer);
+        final Map<String, long[]> liveBytesAndCounts = new HashMap<>();
+        long totalLiveBytes = 0;
+        int metaObjectMax = 4;
+        for (Map.Entry<String, List<MemoryTracer.AllocationEventInfo>> entry : histogram.entrySet()) {
+            long[] bytesAndCount = new long[2];
+            for (MemoryTracer.AllocationEventInfo info : entry.getValue()) {
+                if (info.isLive()) {
+                    bytesAndCount[0] += info.getWeight();
+                    bytesAndCount[1]++;
+                }
+            }
+            if (bytesAndCount[1] > 0) {
+                liveBytesAndCounts.put(entry.getKey(), bytesAndCount);
+                totalLiveBytes += bytesAndCount[0];
+                metaObjectMax = Math.max(metaObjectMax, entry.getKey().length());
+            }
+        }
+        final List<String> keys = new ArrayList<>(liveBytesAndCounts.keySet());
+        keys.sort(new Comparator<String>() {
+            @Override
+            public int compare(String o1, String o2) {
+                return Long.compare(liveBytesAndCounts.get(o2)[0], liveBytesAndCounts.get(o1)[0]);
+            }
+        });
+
+        String format = " %-" + metaObjectMax + "s | %22s | %15s ";
+        String title = String.format(format, "Type", "Estimated Live Bytes", "Live Samples");
+        String sep = repeat("-", title.length());
+        out.println(sep);
+        out.println(String.format(" Live Type Histogram of the sampled allocations that are still reachable. Estimated a total of %d live bytes.", totalLiveBytes));
+        out.println(sep);
+        out.println(title);
+        out.println(sep);
+        for (String metaObjectString : keys) {
+            final long[] bytesAndCount = liveBytesAndCounts.get(metaObjectString);
+            final String bytes = String.format("%d %5.1f%%", bytesAndCount[0], (double) bytesAndCount[0] * 100 / totalLiveBytes);
+            out.println(String.format(format, metaObjectString, bytes, bytesAndCount[1]));
+        }
+        out.println(sep);
+    }
+
     private static Map<SourceLocation, List<ProfilerNode<MemoryTracer.Payload>>> computeSourceLocationHistogram(MemoryTracer tracer) {
         Map<SourceLocation, List<ProfilerNode<MemoryTracer.Payload>>> histogram = new HashMap<>();
         computeSourceLocationHistogramImpl(tracer.getRootNodes(), histogram);
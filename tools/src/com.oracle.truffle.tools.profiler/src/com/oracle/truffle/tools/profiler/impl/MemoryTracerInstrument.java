@@ -107,6 +107,7 @@ public class MemoryTracerInstrument extends TruffleInstrument {
         if (env.getOptions().get(MemoryTracerCLI.ENABLED)) {
             tracer.setFilter(getSourceSectionFilter(env));
             tracer.setStackLimit(env.getOptions().get(MemoryTracerCLI.STACK_LIMIT));
+            tracer.setSamplingInterval(env.getOptions().get(MemoryTracerCLI.SAMPLING_INTERVAL));
             tracer.setCollecting(true);
         }
         env.registerService(tracer);
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.oracle.truffle.tools.profiler.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.tools.profiler.CPUSampler;
+import com.oracle.truffle.tools.profiler.ProfilerNode;
+
+/**
+ * Writes CPU sampler profiles in the gzip compressed protocol buffer format of
+ * <a href="https://github.com/google/pprof/blob/master/proto/profile.proto">pprof</a>.
+ * <p>
+ * Every profiler node with self hits becomes one sample per execution mode, labeled with the
+ * sampled thread and whether the samples were taken in compiled or interpreted code. Functions are
+ * identified by their root name and source file, locations by their function and start line.
+ */
+final class PprofWriter {
+
+    // Profile
+    private static final int PROFILE_SAMPLE_TYPE = 1;
+    private static final int PROFILE_SAMPLE = 2;
+    private static final int PROFILE_LOCATION = 4;
+    private static final int PROFILE_FUNCTION = 5;
+    private static final int PROFILE_STRING_TABLE = 6;
+    private static final int PROFILE_TIME_NANOS = 9;
+    private static final int PROFILE_DURATION_NANOS = 10;
+    private static final int PROFILE_PERIOD_TYPE = 11;
+    private static final int PROFILE_PERIOD = 12;
+    // ValueType
+    private static final int VALUE_TYPE_TYPE = 1;
+    private static final int VALUE_TYPE_UNIT = 2;
+    // Sample
+    private static final int SAMPLE_LOCATION_ID = 1;
+    private static final int SAMPLE_VALUE = 2;
+    private static final int SAMPLE_LABEL = 3;
+    // Label
+    private static final int LABEL_KEY = 1;
+    private static final int LABEL_STR = 2;
+    // Location
+    private static final int LOCATION_ID = 1;
+    private static final int LOCATION_LINE = 4;
+    // Line
+    private static final int LINE_FUNCTION_ID = 1;
+    private static final int LINE_LINE = 2;
+    // Function
+    private static final int FUNCTION_ID = 1;
+    private static final int FUNCTION_NAME = 2;
+    private static final int FUNCTION_SYSTEM_NAME = 3;
+    private static final int FUNCTION_FILENAME = 4;
+    private static final int FUNCTION_START_LINE = 5;
+
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Long> stringIndices = new HashMap<>();
+    private final Map<String, Long> functionIds = new HashMap<>();
+    private final Map<String, Long> locationIds = new HashMap<>();
+    private final ProtoBuffer profile = new ProtoBuffer();
+    private final long periodNanos;
+
+    private PprofWriter(long periodMillis) {
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+        stringIndex(""); // the string table must start with the empty string
+    }
+
+    static void write(OutputStream out, Map<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> threadToNodes, long periodMillis, long startMillis, long endMillis) throws IOException {
+        PprofWriter writer = new PprofWriter(periodMillis);
+        writer.writeHeader(startMillis, endMillis);
+        for (Map.Entry<Thread, Collection<ProfilerNode<CPUSampler.Payload>>> entry : threadToNodes.entrySet()) {
+            writer.writeSamples(entry.getKey().getName(), entry.getValue(), new ArrayList<>());
+        }
+        for (String s : writer.strings) {
+            writer.profile.writeString(PROFILE_STRING_TABLE, s);
+        }
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        writer.profile.writeTo(gzip);
+        gzip.finish();
+        gzip.flush();
+    }
+
+    private void writeHeader(long startMillis, long endMillis) {
+        profile.writeMessage(PROFILE_SAMPLE_TYPE, valueType("samples", "count"));
+        profile.writeMessage(PROFILE_SAMPLE_TYPE, valueType("cpu", "nanoseconds"));
+        profile.writeVarint(PROFILE_TIME_NANOS, TimeUnit.MILLISECONDS.toNanos(startMillis));
+        profile.writeVarint(PROFILE_DURATION_NANOS, TimeUnit.MILLISECONDS.toNanos(Math.max(0, endMillis - startMillis)));
+        profile.writeMessage(PROFILE_PERIOD_TYPE, valueType("cpu", "nanoseconds"));
+        profile.writeVarint(PROFILE_PERIOD, periodNanos);
+    }
+
+    private ProtoBuffer valueType(String type, String unit) {
+        ProtoBuffer valueType = new ProtoBuffer();
+        valueType.writeVarint(VALUE_TYPE_TYPE, stringIndex(type));
+        valueType.writeVarint(VALUE_TYPE_UNIT, stringIndex(unit));
+        return valueType;
+    }
+
+    private void writeSamples(String threadName, Collection<ProfilerNode<CPUSampler.Payload>> nodes, List<Long> stack) {
+        for (ProfilerNode<CPUSampler.Payload> node : nodes) {
+            stack.add(locationId(node));
+            CPUSampler.Payload payload = node.getPayload();
+            writeSample(threadName, stack, payload.getSelfCompiledHitCount(), "compiled");
+            writeSample(threadName, stack, payload.getSelfInterpretedHitCount(), "interpreted");
+            writeSamples(threadName, node.getChildren(), stack);
+            stack.remove(stack.size() - 1);
+        }
+    }
+
+    private void writeSample(String threadName, List<Long> stack, int hits, String mode) {
+        if (hits == 0) {
+            return;
+        }
+        long[] locations = new long[stack.size()];
+        for (int i = 0; i < locations.length; i++) {
+            // pprof expects the leaf location first
+            locations[i] = stack.get(stack.size() - 1 - i);
+        }
+        ProtoBuffer sample = new ProtoBuffer();
+        sample.writePacked(SAMPLE_LOCATION_ID, locations);
+        sample.writePacked(SAMPLE_VALUE, new long[]{hits, hits * periodNanos});
+        sample.writeMessage(SAMPLE_LABEL, label("thread", threadName));
+        sample.writeMessage(SAMPLE_LABEL, label("mode", mode));
+        profile.writeMessage(PROFILE_SAMPLE, sample);
+    }
+
+    private ProtoBuffer label(String key, String value) {
+        ProtoBuffer label = new ProtoBuffer();
+        label.writeVarint(LABEL_KEY, stringIndex(key));
+        label.writeVarint(LABEL_STR, stringIndex(value));
+        return label;
+    }
+
+    private long locationId(ProfilerNode<CPUSampler.Payload> node) {
+        SourceSection section = node.getSourceSection();
+        String fileName = fileName(section);
+        // top level code usually has no root name, name it after its source instead
+        String rootName = node.getRootName() == null || node.getRootName().isEmpty() ? fileName : node.getRootName();
+        int line = section != null && section.isAvailable() ? section.getStartLine() : 0;
+        SourceSection rootSection = node.getRootSourceSection();
+        int startLine = rootSection != null && rootSection.isAvailable() ? rootSection.getStartLine() : 0;
+        long functionId = functionId(rootName, fileName, startLine);
+        String key = functionId + ":" + line;
+        Long id = locationIds.get(key);
+        if (id == null) {
+            id = (long) locationIds.size() + 1;
+            locationIds.put(key, id);
+            ProtoBuffer lineMessage = new ProtoBuffer();
+            lineMessage.writeVarint(LINE_FUNCTION_ID, functionId);
+            lineMessage.writeVarint(LINE_LINE, line);
+            ProtoBuffer location = new ProtoBuffer();
+            location.writeVarint(LOCATION_ID, id);
+            location.writeMessage(LOCATION_LINE, lineMessage);
+            profile.writeMessage(PROFILE_LOCATION, location);
+        }
+        return id;
+    }
+
+    private long functionId(String rootName, String fileName, int startLine) {
+        String key = rootName + '\0' + fileName + '\0' + startLine;
+        Long id = functionIds.get(key);
+        if (id == null) {
+            id = (long) functionIds.size() + 1;
+            functionIds.put(key, id);
+            ProtoBuffer function = new ProtoBuffer();
+            function.writeVarint(FUNCTION_ID, id);
+            function.writeVarint(FUNCTION_NAME, stringIndex(rootName));
+            function.writeVarint(FUNCTION_SYSTEM_NAME, stringIndex(rootName));
+            function.writeVarint(FUNCTION_FILENAME, stringIndex(fileName));
+            function.writeVarint(FUNCTION_START_LINE, startLine);
+            profile.writeMessage(PROFILE_FUNCTION, function);
+        }
+        return id;
+    }
+
+    private static String fileName(SourceSection section) {
+        if (section == null) {
+            return "<Unknown>";
+        }
+        Source source = section.getSource();
+        return source.getPath() != null ? source.getPath() : source.getName();
+    }
+
+    private long stringIndex(String s) {
+        Long index = stringIndices.get(s);
+        if (index == null) {
+            index = (long) strings.size();
+            strings.add(s);
+            stringIndices.put(s, index);
+        }
+        return index;
+    }
+
+    /**
+     * Minimal protocol buffer encoder supporting the wire types used by the pprof format.
+     */
+    static final class ProtoBuffer {
+
+        private static final int WIRE_VARINT = 0;
+        private static final int WIRE_LENGTH_DELIMITED = 2;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        void writeVarint(int field, long value) {
+            if (value == 0) {
+                // default values are not encoded
+                return;
+            }
+            writeRawVarint(((long) field << 3) | WIRE_VARINT);
+            writeRawVarint(value);
+        }
+
+        void writeString(int field, String value) {
+            writeBytes(field, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeMessage(int field, ProtoBuffer message) {
+            writeBytes(field, message.bytes.toByteArray());
+        }
+
+        void writePacked(int field, long[] values) {
+            ProtoBuffer packed = new ProtoBuffer();
+            for (long value : values) {
+                packed.writeRawVarint(value);
+            }
+            writeMessage(field, packed);
+        }
+
+        private void writeBytes(int field, byte[] value) {
+            writeRawVarint(((long) field << 3) | WIRE_LENGTH_DELIMITED);
+            writeRawVarint(value.length);
+            bytes.write(value, 0, value.length);
+        }
+
+        private void writeRawVarint(long value) {
+            long v = value;
+            while ((v & ~0x7FL) != 0) {
+                bytes.write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            bytes.write((int) v);
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            bytes.writeTo(out);
+        }
+    }
+}
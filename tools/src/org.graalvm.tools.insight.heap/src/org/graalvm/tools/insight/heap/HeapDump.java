@@ -51,12 +51,19 @@ import java.util.function.Consumer;
  */
 public final class HeapDump {
     // constants for the Java Profiler Heap Dump Format
-    private static final String MAGIC = "JAVA PROFILE 1.0.1";
+    private static final String MAGIC = "JAVA PROFILE 1.0.2";
     private static final int TAG_STRING = 0x01;
     private static final int TAG_LOAD_CLASS = 0x02;
     private static final int TAG_STACK_FRAME = 0x04;
     private static final int TAG_STACK_TRACE = 0x05;
-    private static final int TAG_HEAP_DUMP = 0x0c;
+    private static final int TAG_HEAP_DUMP_SEGMENT = 0x1c;
+    private static final int TAG_HEAP_DUMP_END = 0x2c;
+
+    /**
+     * Heap records are buffered until the buffer reaches this size and then written out as one heap
+     * dump segment. Bounds the memory needed to generate a heap dump regardless of its size.
+     */
+    private static final int SEGMENT_SIZE = 1 << 20;
 
     // heap dump codes
     private static final int HEAP_ROOT_JAVA_FRAME = 0x03;
@@ -96,6 +103,8 @@ public final class HeapDump {
     }
 
     private final DataOutputStream heap;
+    private final ByteArrayOutputStream segment;
+    private final long timeStamp;
     private final Builder builder;
     private final Map<String, ObjectInstance> heapStrings = new HashMap<>();
     private final Map<Class<?>, ClassInstance> primitiveClasses = new HashMap<>();
@@ -107,14 +116,18 @@ public final class HeapDump {
     HeapDump() {
         this.builder = null;
         this.heap = null;
+        this.segment = null;
+        this.timeStamp = 0;
         this.typeObject = null;
         this.typeString = null;
         this.typeThread = null;
     }
 
-    HeapDump(OutputStream out, final Builder builder) {
+    HeapDump(ByteArrayOutputStream segment, long timeStamp, final Builder builder) {
         this.builder = builder;
-        this.heap = new DataOutputStream(out);
+        this.segment = segment;
+        this.timeStamp = timeStamp;
+        this.heap = new DataOutputStream(segment);
         this.typeObject = new ClassBuilder("java.lang.Object", 0).dumpClass();
         newClass("char[]").dumpClass();
         this.typeString = newClass("java.lang.String").field("value", char[].class).field("hash", Integer.TYPE).dumpClass();
@@ -187,6 +200,10 @@ public final class HeapDump {
          * {@link HeapDump dumps} in a single file, it is expected the subsequent values of
          * {@code timeStamp} are not going to be decreasing.
          * <p>
+         * The heap records are written as a sequence of heap dump segments while the
+         * {@code generator} runs. Only a bounded amount of the dump is buffered in memory, no
+         * matter how many objects the generator dumps.
+         * <p>
          * {@codesnippet org.graalvm.tools.insight.test.heap.HeapDumpTest#generateSampleHeapDump}
          * 
          * @param timeStamp time when the heap dump is supposed to be taken in milliseconds
@@ -202,25 +219,38 @@ public final class HeapDump {
             }
 
             final ByteArrayOutputStream rawHeap = new ByteArrayOutputStream();
-            HeapDump seg = new HeapDump(rawHeap, this);
+            HeapDump seg = new HeapDump(rawHeap, timeStamp, this);
             try {
                 generator.accept(seg);
             } catch (UncheckedIOException ex) {
                 throw ex.getCause();
             }
             seg.flush();
+            writeSegment(rawHeap, timeStamp);
+            writeRecordHeader(TAG_HEAP_DUMP_END, timeStamp, 0);
+            whole.flush();
+        }
+
+        /**
+         * Writes the heap records buffered so far as one heap dump segment and clears the buffer.
+         */
+        void writeSegment(ByteArrayOutputStream rawHeap, long timeStamp) throws IOException {
             if (rawHeap.size() > 0) {
-                whole.writeByte(TAG_HEAP_DUMP);
-                final long diffMillis = Math.max(0, timeStamp - timeBase);
-                long diffMicroseconds = Math.min(diffMillis * 1000, Integer.MAX_VALUE);
-                whole.writeInt((int) diffMicroseconds);
-                final byte[] bytes = rawHeap.toByteArray();
-                whole.writeInt(bytes.length);
-                whole.write(bytes);
+                writeRecordHeader(TAG_HEAP_DUMP_SEGMENT, timeStamp, rawHeap.size());
+                rawHeap.writeTo(whole);
+                rawHeap.reset();
                 whole.flush();
             }
         }
 
+        private void writeRecordHeader(int tag, long timeStamp, int length) throws IOException {
+            whole.writeByte(tag);
+            final long diffMillis = Math.max(0, timeStamp - timeBase);
+            long diffMicroseconds = Math.min(diffMillis * 1000, Integer.MAX_VALUE);
+            whole.writeInt((int) diffMicroseconds);
+            whole.writeInt(length);
+        }
+
         @Override
         public void close() throws IOException {
             whole.close();
@@ -428,6 +458,17 @@ public final class HeapDump {
         heap.flush();
     }
 
+    /**
+     * Called before each heap record is written. Records must not span segments, so a full segment
+     * is only written out between two records.
+     */
+    private void startRecord() throws IOException {
+        if (segment.size() >= SEGMENT_SIZE) {
+            heap.flush();
+            builder.writeSegment(segment, timeStamp);
+        }
+    }
+
     /**
      * Builds new string instance in the {@link HeapDump}. Encodes the value as an instance of
      * {@code java.lang.String} with {@code value} field holding the {@code char[]} of the provided
@@ -456,6 +497,7 @@ public final class HeapDump {
             return id;
         }
         int instanceId = builder.objectCounter.next();
+        startRecord();
         heap.writeByte(HEAP_PRIMITIVE_ARRAY_DUMP);
         builder.ids.writeID(heap, instanceId);
         builder.writeDefaultStackTraceSerialNumber(heap);
@@ -563,6 +605,7 @@ public final class HeapDump {
                 frameIds[cnt++] = builder.writeStackFrame(HeapDump.this, language, rootName, sourceFile, lineNumber);
             }
             int stackTraceId = builder.writeStackTrace(threadSerialId, frameIds);
+            startRecord();
             heap.writeByte(HEAP_ROOT_THREAD_OBJECT);
             builder.ids.writeID(heap, threadId.id(HeapDump.this));
             heap.writeInt(threadSerialId);
@@ -572,6 +615,7 @@ public final class HeapDump {
                 ObjectInstance[] localObjects = (ObjectInstance[]) frame[3];
                 for (int i = 0; i < localObjects.length; i++) {
                     int objId = localObjects[i].id(HeapDump.this);
+                    startRecord();
                     heap.writeByte(HEAP_ROOT_JAVA_FRAME); // frame GC root
                     builder.ids.writeID(heap, objId);
                     heap.writeInt(threadSerialId); // thread serial #
@@ -659,6 +703,7 @@ public final class HeapDump {
         private ClassInstance dumpClassImpl() throws IOException {
             final int classSerialId = builder.classCounter.next();
             int classId = builder.writeLoadClass(className, classSerialId);
+            startRecord();
             heap.writeByte(HEAP_CLASS_DUMP);
             builder.ids.writeID(heap, classId);
             builder.writeDefaultStackTraceSerialNumber(heap);
@@ -897,6 +942,7 @@ public final class HeapDump {
             for (int i = 0; i < stringValueSeq.length; i += 2) {
                 values.put((String) stringValueSeq[i], stringValueSeq[i + 1]);
             }
+            startRecord();
             heap.writeByte(HEAP_INSTANCE_DUMP);
             builder.ids.writeID(heap, instanceId.id(thiz));
             builder.writeDefaultStackTraceSerialNumber(heap);
@@ -24,6 +24,7 @@
  */
 package org.graalvm.tools.insight.heap.instrument;
 
+import com.oracle.truffle.api.TruffleSafepoint;
 import com.oracle.truffle.api.interop.InteropException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
@@ -31,6 +32,8 @@ import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.interop.UnsupportedTypeException;
+import com.oracle.truffle.api.nodes.EncapsulatingNodeReference;
+import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
 import org.graalvm.tools.insight.heap.HeapDump.InstanceBuilder;
@@ -87,6 +90,7 @@ final class HeapGenerator {
             int defaultDepth = depthOrNull != null ? depthOrNull : Integer.MAX_VALUE;
 
             long eventCount = iop.getArraySize(events);
+            final Node location = EncapsulatingNodeReference.getCurrent().get();
             generator.dumpHeap((data) -> {
                 try {
                     for (long i = 0; i < eventCount; i++) {
@@ -103,6 +107,10 @@ final class HeapGenerator {
                     while (!pending.isEmpty()) {
                         Dump d = pending.removeFirst();
                         d.dump();
+                        if (location != null) {
+                            // let thread local actions run while dumping large heaps
+                            TruffleSafepoint.poll(location);
+                        }
                     }
                 } catch (IOException | InteropException ex) {
                     throw new HeapException(ex);
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.tools.insight.test;
+
+import com.oracle.truffle.api.instrumentation.test.InstrumentationTestLanguage;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of Insight hooks per instrumented event. Each invocation executes
+ * {@link #EVENTS} statements, the score is the time per statement with the given hook attached to
+ * all statements, to be compared with the {@code none} baseline. The hooks are guest functions
+ * defined in an internal source, so they are not instrumented themselves.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class InsightHookBenchmark {
+
+    static final int EVENTS = 10000;
+
+    // @formatter:off
+    private static final String CODE = "ROOT(\n" +
+                    "  DEFINE(loop,\n" +
+                    "    LOOP(" + EVENTS + ", STATEMENT(EXPRESSION))\n" +
+                    "  ),\n" +
+                    "  CALL(loop)\n" +
+                    ")";
+
+    private static final String HOOKS = "ROOT(\n" +
+                    "  DEFINE(empty,\n" +
+                    "    CONSTANT(0)\n" +
+                    "  ),\n" +
+                    "  DEFINE(statements,\n" +
+                    "    LOOP(3, STATEMENT(EXPRESSION))\n" +
+                    "  )\n" +
+                    ")";
+    // @formatter:on
+
+    @Param({"none", "empty", "statements"}) String hook;
+
+    private Context context;
+    private Source source;
+
+    @Setup
+    public void setup() throws Exception {
+        context = InsightObjectFactory.newContext();
+        source = Source.newBuilder(InstrumentationTestLanguage.ID, CODE, "hooks.px").buildLiteral();
+        if ("none".equals(hook)) {
+            return;
+        }
+        context.eval(Source.newBuilder(InstrumentationTestLanguage.ID, HOOKS, "hooks-impl.px").internal(true).buildLiteral());
+        Value handler = context.getBindings(InstrumentationTestLanguage.ID).getMember(hook);
+        if (handler == null) {
+            throw new IllegalArgumentException(hook);
+        }
+        Value agent = InsightObjectFactory.readInsight(context, null);
+        agent.invokeMember("on", "enter", handler, InsightObjectFactory.createConfig(false, true, false, null, null));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public Value statement() {
+        return context.eval(source);
+    }
+}
@@ -24,7 +24,9 @@
  */
 package org.graalvm.tools.insight.test.heap;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import org.graalvm.tools.insight.heap.HeapDump;
@@ -32,6 +34,8 @@ import org.graalvm.tools.insight.heap.HeapDump.Builder;
 import org.graalvm.tools.insight.heap.HeapDump.ClassInstance;
 import org.graalvm.tools.insight.heap.HeapDump.ObjectInstance;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import org.junit.Rule;
 import org.junit.Test;
@@ -85,6 +89,55 @@ public class HeapDumpTest {
         // @formatter:on
     }
 
+    @Test
+    public void largeHeapIsWrittenInSegments() throws Exception {
+        final int count = 100000;
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        Builder builder = HeapDump.newHeapBuilder(os);
+        builder.dumpHeap((heap) -> {
+            final ClassInstance classItem = heap.newClass("test.Item").field("next", Object.class).field("value", int.class).dumpClass();
+            ObjectInstance next = heap.newInstance(classItem).dumpInstance();
+            for (int i = 1; i < count; i++) {
+                next = heap.newInstance(classItem).put("next", next).putInt("value", i).dumpInstance();
+            }
+            heap.newThread("main").addStackFrame(classItem, "main", "Main.java", -1, next).dumpThread();
+        });
+        builder.close();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(os.toByteArray()));
+        StringBuilder magic = new StringBuilder();
+        for (int ch = in.read(); ch != 0; ch = in.read()) {
+            magic.append((char) ch);
+        }
+        assertEquals("JAVA PROFILE 1.0.2", magic.toString());
+        assertEquals("identifier size", 4, in.readInt());
+        in.readLong();
+        int segments = 0;
+        long segmentBytes = 0;
+        boolean end = false;
+        while (in.available() > 0) {
+            assertFalse("No records after the end of the heap dump", end);
+            int tag = in.readUnsignedByte();
+            in.readInt();
+            int length = in.readInt();
+            if (tag == 0x1c) {
+                segments++;
+                segmentBytes += length;
+                assertTrue("Segment too big: " + length, length < 2 << 20);
+            } else if (tag == 0x2c) {
+                assertEquals(0, length);
+                end = true;
+            } else {
+                assertFalse("Unexpected heap dump record", tag == 0x0c);
+            }
+            in.skipBytes(length);
+        }
+        assertTrue("Heap dump end record found", end);
+        assertTrue("Expecting multiple segments, but got " + segments, segments > 1);
+        // each instance record consists of tag, id, stack trace serial, class id, size and fields
+        assertTrue(segmentBytes > count * 25L);
+    }
+
     @Test
     public void errorOnWrongField() throws Exception {
         Builder builder = HeapDump.newHeapBuilder(new ByteArrayOutputStream());
@@ -26,6 +26,7 @@ package org.graalvm.tools.lsp.test.server;
 
 import java.io.File;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -47,6 +48,8 @@ import org.graalvm.tools.lsp.exceptions.DiagnosticsNotification;
 import org.graalvm.tools.lsp.exceptions.UnknownLanguageException;
 import org.graalvm.tools.lsp.server.utils.TextDocumentSurrogate;
 
+import com.oracle.truffle.api.CallTarget;
+
 public class ParsingTest extends TruffleLSPTest {
 
     @Test
@@ -162,6 +165,27 @@ public class ParsingTest extends TruffleLSPTest {
         return surrogate;
     }
 
+    @Test
+    public void unchangedDocumentIsNotReparsed() throws InterruptedException, ExecutionException {
+        URI uri = createDummyFileUriForSL();
+        String text = "function main() {return 42;}";
+
+        CallTarget first = truffleAdapter.parse(text, "sl", uri).get();
+        assertSame(first, truffleAdapter.parse(text, "sl", uri).get());
+        assertNotSame(first, truffleAdapter.parse("function main() {return 43;}", "sl", uri).get());
+    }
+
+    @Test
+    public void savedDocumentIsReparsed() throws InterruptedException, ExecutionException {
+        URI uri = createDummyFileUriForSL();
+        String text = "function main() {return 42;}";
+
+        CallTarget parsed = truffleAdapter.parse(text, "sl", uri).get();
+        Object saved = truffleAdapter.reparse(uri).get();
+        assertNotSame(parsed, saved);
+        assertNotSame(saved, truffleAdapter.reparse(text, "sl", uri).get());
+    }
+
     @Test
     public void parseingWithSyntaxErrors() throws InterruptedException {
         URI uri = createDummyFileUriForSL();
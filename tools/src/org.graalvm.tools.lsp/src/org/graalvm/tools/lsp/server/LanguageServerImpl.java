@@ -36,6 +36,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -116,11 +117,13 @@ public final class LanguageServerImpl extends LanguageServer {
     private final Hover emptyHover = Hover.create(Collections.emptyList());
     private final SignatureHelp emptySignatureHelp = SignatureHelp.create(Collections.emptyList(), null, null);
     private ServerCapabilities serverCapabilities;
+    private final RequestLatencies latencies;
 
     private LanguageServerImpl(TruffleAdapter adapter, PrintWriter info, PrintWriter err) {
         this.truffleAdapter = adapter;
         this.info = info;
         this.err = err;
+        this.latencies = new RequestLatencies(adapter.getLogger());
     }
 
     public static LanguageServerImpl create(TruffleAdapter adapter, PrintWriter info, PrintWriter err) {
@@ -177,6 +180,7 @@ public final class LanguageServerImpl extends LanguageServer {
     @Override
     public CompletableFuture<Object> shutdown() {
         info.println("[Graal LSP] Shutting down server...");
+        latencies.logSummary();
         return CompletableFuture.completedFuture(null);
     }
 
@@ -193,9 +197,10 @@ public final class LanguageServerImpl extends LanguageServer {
 
     @Override
     public CompletableFuture<CompletionList> completion(CompletionParams position) {
+        long start = latencies.start();
         Future<CompletionList> futureCompletionList = truffleAdapter.completion(URI.create(position.getTextDocument().getUri()), position.getPosition().getLine(),
                         position.getPosition().getCharacter(), position.getContext());
-        return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(futureCompletionList, truffleAdapter.completionHandler.emptyList));
+        return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(futureCompletionList, truffleAdapter.completionHandler.emptyList, "completion", start));
     }
 
     @Override
@@ -206,14 +211,16 @@ public final class LanguageServerImpl extends LanguageServer {
 
     @Override
     public CompletableFuture<Hover> hover(TextDocumentPositionParams position) {
+        long start = latencies.start();
         Future<Hover> futureHover = truffleAdapter.hover(URI.create(position.getTextDocument().getUri()), position.getPosition().getLine(), position.getPosition().getCharacter());
-        return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(futureHover, emptyHover));
+        return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(futureHover, emptyHover, "hover", start));
     }
 
     @Override
     public CompletableFuture<SignatureHelp> signatureHelp(TextDocumentPositionParams position) {
+        long start = latencies.start();
         Future<SignatureHelp> future = truffleAdapter.signatureHelp(URI.create(position.getTextDocument().getUri()), position.getPosition().getLine(), position.getPosition().getCharacter());
-        return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(future, emptySignatureHelp));
+        return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(future, emptySignatureHelp, "signatureHelp", start));
     }
 
     @Override
@@ -228,9 +235,10 @@ public final class LanguageServerImpl extends LanguageServer {
 
     @Override
     public CompletableFuture<List<? extends DocumentHighlight>> documentHighlight(TextDocumentPositionParams position) {
+        long start = latencies.start();
         Future<List<? extends DocumentHighlight>> future = truffleAdapter.documentHighlight(URI.create(position.getTextDocument().getUri()), position.getPosition().getLine(),
                         position.getPosition().getCharacter());
-        Supplier<List<? extends DocumentHighlight>> supplier = () -> waitForResultAndHandleExceptions(future, Collections.emptyList());
+        Supplier<List<? extends DocumentHighlight>> supplier = () -> waitForResultAndHandleExceptions(future, Collections.emptyList(), "documentHighlight", start);
         return CompletableFuture.supplyAsync(supplier);
     }
 
@@ -290,8 +298,9 @@ public final class LanguageServerImpl extends LanguageServer {
 
         openedFileUri2LangId.put(uri, params.getTextDocument().getLanguageId());
 
+        long start = latencies.start();
         Future<?> future = truffleAdapter.parse(params.getTextDocument().getText(), params.getTextDocument().getLanguageId(), uri);
-        CompletableFuture.runAsync(() -> waitForResultAndHandleExceptions(future, null, uri));
+        CompletableFuture.runAsync(() -> waitForResultAndHandleExceptions(future, null, uri, "didOpen", start));
     }
 
     @Override
@@ -308,6 +317,7 @@ public final class LanguageServerImpl extends LanguageServer {
         }
 
         URI uri = URI.create(documentUri);
+        long start = latencies.start();
         Future<?> future;
         switch (TEXT_DOCUMENT_SYNC_KIND) {
             case Full:
@@ -322,7 +332,7 @@ public final class LanguageServerImpl extends LanguageServer {
                 throw new IllegalStateException("Unknown TextDocumentSyncKind: " + TEXT_DOCUMENT_SYNC_KIND);
         }
 
-        CompletableFuture.runAsync(() -> waitForResultAndHandleExceptions(future, null, uri));
+        CompletableFuture.runAsync(() -> waitForResultAndHandleExceptions(future, null, uri, "didChange", start));
     }
 
     @Override
@@ -334,6 +344,7 @@ public final class LanguageServerImpl extends LanguageServer {
 
     @Override
     public void didSave(DidSaveTextDocumentParams params) {
+        long start = latencies.start();
         Future<?> future;
         URI uri = URI.create(params.getTextDocument().getUri());
         if (params.getText() != null) {
@@ -342,11 +353,11 @@ public final class LanguageServerImpl extends LanguageServer {
                 truffleAdapter.getLogger().warning("Saved document that was not opened: " + uri);
                 return;
             }
-            future = truffleAdapter.parse(params.getText(), langId, uri);
+            future = truffleAdapter.reparse(params.getText(), langId, uri);
         } else {
             future = truffleAdapter.reparse(uri);
         }
-        CompletableFuture.runAsync(() -> waitForResultAndHandleExceptions(future, null, uri));
+        CompletableFuture.runAsync(() -> waitForResultAndHandleExceptions(future, null, uri, "didSave", start));
     }
 
     @Override
@@ -356,19 +367,21 @@ public final class LanguageServerImpl extends LanguageServer {
 
     @Override
     public CompletableFuture<Object> executeCommand(ExecuteCommandParams params) {
+        long start = latencies.start();
+        String requestType = "executeCommand/" + params.getCommand();
         switch (params.getCommand()) {
             case DRY_RUN:
                 String uri = (String) params.getArguments().get(0);
                 Future<?> future = truffleAdapter.runCoverageAnalysis(URI.create(uri));
-                return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(future));
+                return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(future, null, null, requestType, start));
             case GET_COVERAGE:
                 uri = (String) params.getArguments().get(0);
                 Future<Coverage> futureCoverage = truffleAdapter.getCoverage(URI.create(uri));
-                return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(futureCoverage));
+                return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(futureCoverage, null, null, requestType, start));
             default:
                 Future<?> extensionCommand = truffleAdapter.createExtensionCommand(params);
                 if (extensionCommand != null) {
-                    return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(extensionCommand));
+                    return CompletableFuture.supplyAsync(() -> waitForResultAndHandleExceptions(extensionCommand, null, null, requestType, start));
                 } else {
                     err.println("Unkown command: " + params.getCommand());
                     return CompletableFuture.completedFuture(new Object());
@@ -409,8 +422,16 @@ public final class LanguageServerImpl extends LanguageServer {
         return waitForResultAndHandleExceptions(future, null, null);
     }
 
-    private <T> T waitForResultAndHandleExceptions(Future<T> future, T resultOnError) {
-        return waitForResultAndHandleExceptions(future, resultOnError, null);
+    private <T> T waitForResultAndHandleExceptions(Future<T> future, T resultOnError, String requestType, long startNanos) {
+        return waitForResultAndHandleExceptions(future, resultOnError, null, requestType, startNanos);
+    }
+
+    private <T> T waitForResultAndHandleExceptions(Future<T> future, T resultOnError, URI uriToClearDiagnostics, String requestType, long startNanos) {
+        try {
+            return waitForResultAndHandleExceptions(future, resultOnError, uriToClearDiagnostics);
+        } finally {
+            latencies.record(requestType, startNanos);
+        }
     }
 
     private <T> T waitForResultAndHandleExceptions(Future<T> future, T resultOnError, URI uriToClearDiagnostics) {
@@ -424,6 +445,9 @@ public final class LanguageServerImpl extends LanguageServer {
             return result;
         } catch (InterruptedException e) {
             e.printStackTrace(err);
+        } catch (CancellationException e) {
+            // superseded by a newer request
+            truffleAdapter.getLogger().fine("Request cancelled.");
         } catch (ExecutionException e) {
             if (e.getCause() instanceof UnknownLanguageException) {
                 String message = "Unknown language: " + e.getCause().getMessage();
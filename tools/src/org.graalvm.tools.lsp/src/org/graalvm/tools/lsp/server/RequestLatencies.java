@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.graalvm.tools.lsp.server;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import com.oracle.truffle.api.TruffleLogger;
+
+/**
+ * Collects the latencies of LSP requests per request type, measured from the arrival of a request
+ * until its result is available. Every request is logged with level {@link Level#FINE}, a summary
+ * of all request types is logged with level {@link Level#CONFIG} when the server shuts down.
+ */
+final class RequestLatencies {
+
+    private final Map<String, Latency> latencies = new ConcurrentHashMap<>();
+    private final TruffleLogger logger;
+
+    RequestLatencies(TruffleLogger logger) {
+        this.logger = logger;
+    }
+
+    long start() {
+        return System.nanoTime();
+    }
+
+    void record(String requestType, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        latencies.computeIfAbsent(requestType, (type) -> new Latency()).add(nanos);
+        logger.log(Level.FINE, "{0} took {1} ms", new Object[]{requestType, TimeUnit.NANOSECONDS.toMillis(nanos)});
+    }
+
+    void logSummary() {
+        if (!logger.isLoggable(Level.CONFIG)) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder("Request latencies (count, average ms, max ms):");
+        for (Map.Entry<String, Latency> entry : new TreeMap<>(latencies).entrySet()) {
+            Latency latency = entry.getValue();
+            long count = latency.count.sum();
+            long average = count == 0 ? 0 : latency.totalNanos.sum() / count;
+            summary.append(System.lineSeparator()).append("  ").append(entry.getKey()).append(": ").append(count).append(", ");
+            summary.append(TimeUnit.NANOSECONDS.toMillis(average)).append(", ").append(TimeUnit.NANOSECONDS.toMillis(latency.maxNanos.get()));
+        }
+        logger.log(Level.CONFIG, summary.toString());
+    }
+
+    private static final class Latency {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
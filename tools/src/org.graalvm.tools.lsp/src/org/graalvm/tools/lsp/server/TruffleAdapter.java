@@ -37,8 +37,10 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.logging.Level;
 
@@ -104,6 +106,11 @@ public final class TruffleAdapter implements VirtualLanguageServerFileProvider {
     private TextDocumentSurrogateMap surrogateMap;
     private final LanguageTriggerCharacters completionTriggerCharacters = new LanguageTriggerCharacters();
     private final LanguageTriggerCharacters signatureTriggerCharacters = new LanguageTriggerCharacters();
+    /**
+     * Number of submitted, but not yet processed, document changes per document.
+     */
+    private final Map<URI, AtomicInteger> pendingChanges = new ConcurrentHashMap<>();
+    private final Map<URI, Future<Boolean>> coverageAnalyses = new ConcurrentHashMap<>();
 
     public TruffleAdapter(TruffleInstrument.Env mainEnv, boolean developerMode) {
         this.envMain = mainEnv;
@@ -152,6 +159,8 @@ public final class TruffleAdapter implements VirtualLanguageServerFileProvider {
 
     public void didClose(URI uri) {
         surrogateMap.remove(uri);
+        pendingChanges.remove(uri);
+        coverageAnalyses.remove(uri);
     }
 
     public Future<CallTarget> parse(final String text, final String langId, final URI uri) {
@@ -165,12 +174,50 @@ public final class TruffleAdapter implements VirtualLanguageServerFileProvider {
     }
 
     CallTarget parseWithEnteredContext(TextDocumentSurrogate surrogate) throws DiagnosticsNotification {
+        if (surrogate.isParsedSourceUpToDate()) {
+            logger.log(Level.FINER, "Reusing parsed version {0} of {1}", new Object[]{surrogate.getVersion(), surrogate.getUri()});
+            return surrogate.getSourceWrapper().getCallTarget();
+        }
         return sourceCodeEvaluator.parse(surrogate);
     }
 
+    /**
+     * Parses a document, if the parsing of its last changes was skipped because more changes were
+     * pending. As all tasks are executed in order, this task is executed before any task submitted
+     * after it.
+     */
+    private void parseUnparsedChanges(URI uri) {
+        contextAwareExecutor.executeWithDefaultContext(() -> {
+            TextDocumentSurrogate surrogate = surrogateMap.get(uri);
+            if (surrogate != null && surrogate.hasUnparsedChanges()) {
+                try {
+                    parseWithEnteredContext(surrogate);
+                } catch (DiagnosticsNotification e) {
+                    // diagnostics are published for the last change of the document
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Parses a saved document again. Unlike {@link #parse}, the result of an earlier parse of the
+     * same text is not reused: saving may change what the document refers to, e.g. files it
+     * imports, so the diagnostics of the document are computed again.
+     */
     public Future<?> reparse(URI uri) {
         TextDocumentSurrogate surrogate = surrogateMap.get(uri);
-        return contextAwareExecutor.executeWithDefaultContext(() -> parseWithEnteredContext(surrogate));
+        return contextAwareExecutor.executeWithDefaultContext(() -> sourceCodeEvaluator.parse(surrogate));
+    }
+
+    /**
+     * Updates the text of a saved document and parses it again, see {@link #reparse(URI)}.
+     */
+    public Future<?> reparse(final String text, final String langId, final URI uri) {
+        return contextAwareExecutor.executeWithDefaultContext(() -> {
+            LanguageInfo languageInfo = findLanguageInfo(langId, envInternal.getTruffleFile(uri));
+            return sourceCodeEvaluator.parse(getOrCreateSurrogate(uri, text, languageInfo));
+        });
     }
 
     /**
@@ -208,11 +255,19 @@ public final class TruffleAdapter implements VirtualLanguageServerFileProvider {
         return langInfo;
     }
 
+    /**
+     * Applies incremental changes to a document and parses it. If further changes of the document
+     * are submitted before the parsing started, the parsing is skipped and only the last change
+     * parses the document.
+     */
     public Future<TextDocumentSurrogate> processChangesAndParse(List<? extends TextDocumentContentChangeEvent> list, URI uri) {
+        pendingChanges.computeIfAbsent(uri, (u) -> new AtomicInteger()).incrementAndGet();
         return contextAwareExecutor.executeWithDefaultContext(() -> processChangesAndParseWithContextEntered(list, uri));
     }
 
     protected TextDocumentSurrogate processChangesAndParseWithContextEntered(List<? extends TextDocumentContentChangeEvent> list, URI uri) throws DiagnosticsNotification {
+        AtomicInteger pending = pendingChanges.get(uri);
+        boolean superseded = pending != null && pending.decrementAndGet() > 0;
         TextDocumentSurrogate surrogate = surrogateMap.get(uri);
 
         if (surrogate == null) {
@@ -225,9 +280,13 @@ public final class TruffleAdapter implements VirtualLanguageServerFileProvider {
 
         surrogate.getChangeEventsSinceLastSuccessfulParsing().addAll(list);
         surrogate.setLastChange(list.get(list.size() - 1));
-        surrogate.setEditorText(SourceUtils.applyTextDocumentChanges(list, surrogate.getSource(), surrogate, logger));
+        surrogate.setEditorText(SourceUtils.applyTextDocumentChanges(list, surrogate.getEditorText(), surrogate, logger));
 
-        sourceCodeEvaluator.parse(surrogate);
+        if (superseded) {
+            logger.log(Level.FINER, "Skipped parsing of {0}, newer changes are pending.", uri);
+            return surrogate;
+        }
+        parseWithEnteredContext(surrogate);
 
         return surrogate;
     }
@@ -358,18 +417,27 @@ public final class TruffleAdapter implements VirtualLanguageServerFileProvider {
      *         position
      */
     public Future<CompletionList> completion(final URI uri, int line, int column, CompletionContext completionContext) {
+        parseUnparsedChanges(uri);
         return contextAwareExecutor.executeWithDefaultContext(() -> completionHandler.completionWithEnteredContext(uri, line, column, completionContext));
     }
 
     public Future<Hover> hover(URI uri, int line, int column) {
+        parseUnparsedChanges(uri);
         return contextAwareExecutor.executeWithDefaultContext(() -> hoverHandler.hoverWithEnteredContext(uri, line, column));
     }
 
     public Future<SignatureHelp> signatureHelp(URI uri, int line, int character) {
+        parseUnparsedChanges(uri);
         return contextAwareExecutor.executeWithNestedContext(() -> signatureHelpHandler.signatureHelpWithEnteredContext(uri, line, character), true);
     }
 
+    /**
+     * Runs a coverage analysis in the background. The collected coverage data is used to provide
+     * type hints, e.g. for hover and completion. An analysis of the same document that is still
+     * waiting to be executed is superseded by this one and cancelled.
+     */
     public Future<Boolean> runCoverageAnalysis(final URI uri) {
+        parseUnparsedChanges(uri);
         Future<Boolean> future = contextAwareExecutor.executeWithDefaultContext(() -> {
             contextAwareExecutor.resetContextCache(); // We choose coverage runs as checkpoints to
                                                       // clear the cached context. A coverage run
@@ -388,16 +456,25 @@ public final class TruffleAdapter implements VirtualLanguageServerFileProvider {
                 }
             }
         });
+        // only analyses that may still be cancelled are kept
+        coverageAnalyses.values().removeIf(Future::isDone);
+        Future<Boolean> superseded = coverageAnalyses.put(uri, future);
+        if (superseded != null) {
+            // an analysis that is already running is not interrupted
+            superseded.cancel(false);
+        }
         return future;
     }
 
     public Future<Coverage> getCoverage(URI uri) {
+        parseUnparsedChanges(uri);
         return contextAwareExecutor.executeWithDefaultContext(() -> {
             return coverageHandler.getCoverageWithEnteredContext(uri);
         });
     }
 
     public Future<List<? extends DocumentHighlight>> documentHighlight(URI uri, int line, int character) {
+        parseUnparsedChanges(uri);
         return contextAwareExecutor.executeWithDefaultContext(() -> highlightHandler.highlightWithEnteredContext(uri, line, character));
     }
 
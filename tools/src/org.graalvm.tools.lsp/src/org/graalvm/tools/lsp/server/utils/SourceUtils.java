@@ -158,16 +158,17 @@ public final class SourceUtils {
     }
 
     public static String applyTextDocumentChanges(List<? extends TextDocumentContentChangeEvent> list, Source source, TextDocumentSurrogate surrogate, TruffleLogger logger) {
-        Source currentSource = null;
-        String text = source.getCharacters().toString();
+        return applyTextDocumentChanges(list, source.getCharacters().toString(), surrogate, logger);
+    }
+
+    /**
+     * Applies the changes to the text directly. No intermediate {@link Source} is built for the
+     * individual changes, so the cost of a change is proportional to the length of the text, not
+     * to the number of changes times the length of the text.
+     */
+    public static String applyTextDocumentChanges(List<? extends TextDocumentContentChangeEvent> list, String text, TextDocumentSurrogate surrogate, TruffleLogger logger) {
         StringBuilder sb = new StringBuilder(text);
         for (TextDocumentContentChangeEvent event : list) {
-            if (currentSource == null) {
-                currentSource = source;
-            } else {
-                currentSource = Source.newBuilder(currentSource.getLanguage(), sb, currentSource.getName()).cached(false).build();
-            }
-
             Range range = event.getRange();
             if (range == null) {
                 // The whole file has changed
@@ -178,26 +179,45 @@ public final class SourceUtils {
 
             Position start = range.getStart();
             Position end = range.getEnd();
-            int startLine = start.getLine() + 1;
-            int endLine = end.getLine() + 1;
-            int replaceBegin = currentSource.getLineStartOffset(startLine) + start.getCharacter();
-            int replaceEnd = currentSource.getLineStartOffset(endLine) + end.getCharacter();
-
-            sb.replace(replaceBegin, replaceEnd, event.getText());
+            int replaceBegin = lineStartOffset(sb, start.getLine()) + start.getCharacter();
+            int replaceEnd = lineStartOffset(sb, end.getLine()) + end.getCharacter();
 
             if (surrogate != null && surrogate.hasCoverageData()) {
-                updateCoverageData(surrogate, currentSource, event.getText(), range, replaceBegin, replaceEnd, logger);
+                updateCoverageData(surrogate, sb.substring(replaceBegin, replaceEnd), event.getText(), range, logger);
             }
+
+            sb.replace(replaceBegin, replaceEnd, event.getText());
         }
         return sb.toString();
     }
 
-    private static void updateCoverageData(TextDocumentSurrogate surrogate, Source source, String newText, Range range, int replaceBegin, int replaceEnd, TruffleLogger logger) {
+    private static int lineStartOffset(CharSequence text, int zeroBasedLine) {
+        int offset = 0;
+        for (int line = 0; line < zeroBasedLine; line++) {
+            int nl = indexOfNewline(text, offset);
+            if (nl < 0) {
+                throw new IllegalArgumentException("Line " + (zeroBasedLine + 1) + " is out of range.");
+            }
+            offset = nl + 1;
+        }
+        return offset;
+    }
+
+    private static int indexOfNewline(CharSequence text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void updateCoverageData(TextDocumentSurrogate surrogate, String oldText, String newText, Range range, TruffleLogger logger) {
         Source newSourceSnippet = Source.newBuilder("dummyLanguage", newText, "dummyCoverage").cached(false).build();
         int linesNewText = newSourceSnippet.getLineCount() + (newText.endsWith("\n") ? 1 : 0) + (newText.isEmpty() ? 1 : 0);
 
-        Source oldSourceSnippet = source.subSource(replaceBegin, replaceEnd - replaceBegin);
-        int liensOldText = oldSourceSnippet.getLineCount() + (oldSourceSnippet.getCharacters().toString().endsWith("\n") ? 1 : 0) + (oldSourceSnippet.getLength() == 0 ? 1 : 0);
+        Source oldSourceSnippet = Source.newBuilder("dummyLanguage", oldText, "dummyCoverage").cached(false).build();
+        int liensOldText = oldSourceSnippet.getLineCount() + (oldText.endsWith("\n") ? 1 : 0) + (oldText.isEmpty() ? 1 : 0);
 
         int newLineModification = linesNewText - liensOldText;
         logger.log(Level.FINEST, "newLineModification: {0}", newLineModification);
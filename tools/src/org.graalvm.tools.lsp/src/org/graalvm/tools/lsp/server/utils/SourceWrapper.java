@@ -29,16 +29,26 @@ import com.oracle.truffle.api.source.Source;
 
 public final class SourceWrapper {
     private Source source;
+    private final int version;
     private boolean parsingSuccessful = false;
     /**
      * Needed to have a strong reference to the RootNode so that it and its children will not be
      * garbage collected.
      */
     // TODO: Review why this needs to be held
-    @SuppressWarnings("unused") private CallTarget callTarget;
+    private CallTarget callTarget;
 
-    public SourceWrapper(Source source) {
+    public SourceWrapper(Source source, int version) {
         this.setSource(source);
+        this.version = version;
+    }
+
+    /**
+     * The {@link TextDocumentSurrogate#getVersion() version} of the document text the source was
+     * built from.
+     */
+    public int getVersion() {
+        return version;
     }
 
     public Source getSource() {
@@ -57,6 +67,10 @@ public final class SourceWrapper {
         this.parsingSuccessful = parsingSuccessful;
     }
 
+    public CallTarget getCallTarget() {
+        return callTarget;
+    }
+
     public void setCallTarget(CallTarget callTarget) {
         this.callTarget = callTarget;
     }
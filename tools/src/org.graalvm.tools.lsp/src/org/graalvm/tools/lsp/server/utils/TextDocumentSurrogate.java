@@ -32,6 +32,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -55,6 +56,11 @@ public final class TextDocumentSurrogate {
     private final List<TextDocumentContentChangeEvent> changeEventsSinceLastSuccessfulParsing;
     private final Map<SourceSectionReference, List<CoverageData>> section2coverageData;
     private String editorText;
+    /**
+     * Incremented whenever the editor text changes. Used to detect that the last parsed source is
+     * still up to date.
+     */
+    private int version;
     private Boolean coverageAnalysisDone = Boolean.FALSE;
     private SourceWrapper sourceWrapper;
     private TextDocumentContentChangeEvent lastChange = null;
@@ -65,6 +71,7 @@ public final class TextDocumentSurrogate {
         this.section2coverageData = blueprint.section2coverageData;
         this.changeEventsSinceLastSuccessfulParsing = blueprint.changeEventsSinceLastSuccessfulParsing;
         this.editorText = blueprint.editorText;
+        this.version = blueprint.version;
         this.sourceWrapper = blueprint.sourceWrapper;
         this.lastChange = blueprint.lastChange;
         this.languageInfo = blueprint.languageInfo;
@@ -94,7 +101,14 @@ public final class TextDocumentSurrogate {
     }
 
     public void setEditorText(String editorText) {
-        this.editorText = editorText;
+        if (!Objects.equals(this.editorText, editorText)) {
+            this.editorText = editorText;
+            this.version++;
+        }
+    }
+
+    public int getVersion() {
+        return version;
     }
 
     public Boolean getTypeHarvestingDone() {
@@ -211,7 +225,7 @@ public final class TextDocumentSurrogate {
 
     public SourceWrapper prepareParsing() {
         Source source = buildSource();
-        sourceWrapper = new SourceWrapper(source);
+        sourceWrapper = new SourceWrapper(source, version);
         return sourceWrapper;
     }
 
@@ -224,6 +238,22 @@ public final class TextDocumentSurrogate {
         }
     }
 
+    /**
+     * Returns <code>true</code> if the last parsing was successful and the editor text did not
+     * change since then.
+     */
+    public boolean isParsedSourceUpToDate() {
+        return sourceWrapper != null && sourceWrapper.isParsingSuccessful() && sourceWrapper.getVersion() == version;
+    }
+
+    /**
+     * Returns <code>true</code> if the editor text changed since the last parsing was attempted,
+     * i.e. the parsing of the last change was skipped.
+     */
+    public boolean hasUnparsedChanges() {
+        return sourceWrapper != null && sourceWrapper.getVersion() != version;
+    }
+
     public boolean isSourceCodeReadyForCodeCompletion() {
         return sourceWrapper.isParsingSuccessful();
     }
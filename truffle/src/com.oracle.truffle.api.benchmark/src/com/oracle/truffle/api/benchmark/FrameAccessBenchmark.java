@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.api.benchmark;
+
+import org.graalvm.polyglot.Context;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameDescriptor;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.FrameSlotTypeException;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.impl.DefaultTruffleRuntime;
+
+/**
+ * Compares interpreter frame accesses through {@link FrameSlot} objects with accesses through
+ * indexed slots declared with {@link FrameDescriptor#newBuilder()}.
+ */
+public class FrameAccessBenchmark extends TruffleBenchmark {
+
+    private static final int SLOTS = 16;
+    private static final Object[] NO_ARGUMENTS = {};
+
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        final Context context;
+        final FrameDescriptor legacyDescriptor;
+        final FrameSlot[] legacySlots;
+        final FrameDescriptor indexedDescriptor;
+        final VirtualFrame legacyFrame;
+        final VirtualFrame indexedFrame;
+        {
+            if (Truffle.getRuntime() instanceof DefaultTruffleRuntime) {
+                context = Context.newBuilder().build();
+            } else {
+                context = Context.newBuilder().allowExperimentalOptions(true).option("engine.Compilation", "false").build();
+            }
+            context.enter();
+
+            legacyDescriptor = new FrameDescriptor();
+            legacySlots = new FrameSlot[SLOTS];
+            FrameDescriptor.Builder builder = FrameDescriptor.newBuilder(SLOTS);
+            for (int i = 0; i < SLOTS; i++) {
+                legacySlots[i] = legacyDescriptor.addFrameSlot("s" + i, FrameSlotKind.Long);
+                builder.addSlot(FrameSlotKind.Long, "s" + i, null);
+            }
+            indexedDescriptor = builder.build();
+            legacyFrame = Truffle.getRuntime().createVirtualFrame(NO_ARGUMENTS, legacyDescriptor);
+            indexedFrame = Truffle.getRuntime().createVirtualFrame(NO_ARGUMENTS, indexedDescriptor);
+            for (int i = 0; i < SLOTS; i++) {
+                legacyFrame.setLong(legacySlots[i], i);
+                indexedFrame.setLong(i, i);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.leave();
+            context.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SLOTS)
+    public long legacySlotReadWrite(BenchmarkState state) throws FrameSlotTypeException {
+        VirtualFrame frame = state.legacyFrame;
+        FrameSlot[] slots = state.legacySlots;
+        long sum = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            FrameSlot slot = slots[i];
+            if (frame.isLong(slot)) {
+                long value = frame.getLong(slot);
+                frame.setLong(slot, value + 1);
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SLOTS)
+    public long indexedSlotReadWrite(BenchmarkState state) throws FrameSlotTypeException {
+        VirtualFrame frame = state.indexedFrame;
+        long sum = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            if (frame.isLong(i)) {
+                long value = frame.getLong(i);
+                frame.setLong(i, value + 1);
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Object legacyFrameCreate(BenchmarkState state) {
+        return Truffle.getRuntime().createVirtualFrame(NO_ARGUMENTS, state.legacyDescriptor);
+    }
+
+    @Benchmark
+    public Object indexedFrameCreate(BenchmarkState state) {
+        return Truffle.getRuntime().createVirtualFrame(NO_ARGUMENTS, state.indexedDescriptor);
+    }
+}
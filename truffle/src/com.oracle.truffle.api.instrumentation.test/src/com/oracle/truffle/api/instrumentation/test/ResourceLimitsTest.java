@@ -57,6 +57,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
@@ -393,6 +394,53 @@ public class ResourceLimitsTest {
         executorService.awaitTermination(100, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void testParallelContextStatementLimitAccuracy() throws InterruptedException, ExecutionException {
+        // multiple of the statements leased by a thread at once, see PolyglotLimits.STATEMENT_LEASE
+        final int limit = 64 * 1024;
+        final int threads = 8;
+        List<ResourceLimitEvent> events = new ArrayList<>();
+        ResourceLimits limits = ResourceLimits.newBuilder().//
+                        statementLimit(limit, null).//
+                        onLimit((e) -> {
+                            synchronized (events) {
+                                events.add(e);
+                            }
+                        }).//
+                        build();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        AtomicLong executed = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        try (Context c = Context.newBuilder().resourceLimits(limits).build()) {
+            forceMultiThreading(executorService, c);
+            Source statement = statements(1);
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    while (true) {
+                        try {
+                            c.eval(statement);
+                        } catch (PolyglotException | IllegalStateException e) {
+                            // cancelled or closed because the limit was reached
+                            return;
+                        }
+                        executed.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        synchronized (events) {
+            assertEquals(1, events.size());
+        }
+        // every thread may have been executing one statement that did not complete
+        assertTrue(String.valueOf(executed.get()), executed.get() + threads >= limit);
+        assertTrue(String.valueOf(executed.get()), executed.get() <= limit);
+        executorService.shutdown();
+        executorService.awaitTermination(100, TimeUnit.SECONDS);
+    }
+
     @Test
     public void testParallelMultiContextStatementLimit() throws InterruptedException, ExecutionException {
         Engine engine = Engine.create();
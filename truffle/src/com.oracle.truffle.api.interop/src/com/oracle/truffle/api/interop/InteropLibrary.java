@@ -1279,6 +1279,142 @@ public abstract class InteropLibrary extends Library {
         return isArrayElementModifiable(receiver, index) || isArrayElementReadable(receiver, index) || isArrayElementRemovable(receiver, index);
     }
 
+    /**
+     * Reads {@code length} array elements of the receiver, starting at the given index, into the
+     * destination array starting at {@code destinationOffset}.
+     * <p>
+     * The destination must be an {@code Object[]} or an array of {@code boolean}, {@code byte},
+     * {@code short}, {@code int}, {@code long}, {@code float} or {@code double}. An
+     * {@code Object[]} receives the interop values of the elements. For a primitive array, each
+     * element is converted like with {@link #asBoolean(Object)}, {@link #asByte(Object)},
+     * {@link #asShort(Object)}, {@link #asInt(Object)}, {@link #asLong(Object)},
+     * {@link #asFloat(Object)} or {@link #asDouble(Object)}.
+     * <p>
+     * This message allows to transfer a range of an array with a single message instead of one
+     * {@link #readArrayElement(Object, long)} message per element. By default, it reads and
+     * converts the elements one by one. Arrays with a backing primitive array are encouraged to
+     * export a bulk copy instead.
+     * <p>
+     * The destination range must lie within the bounds of the destination array. Implementations
+     * must not rely on the caller to check this: a range outside of the array fails with an
+     * {@link IndexOutOfBoundsException}, like with {@link System#arraycopy}, before any memory
+     * outside of the array is accessed. If an exception is thrown then the destination array may
+     * have been partially modified.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this message is <em>not</em>
+     * thread-safe.
+     * <p>
+     * Invoking this message does not cause any observable side-effects.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #hasArrayElements(Object)} returns
+     *             {@code false}
+     * @throws InvalidArrayIndexException if an index of the range is not
+     *             {@link #isArrayElementReadable(Object, long) readable}
+     * @throws UnsupportedTypeException if an element cannot be converted to the component type of
+     *             the destination array
+     * @since 21.2
+     */
+    public void readArrayElements(Object receiver, long index, Object destination, int destinationOffset, int length)
+                    throws UnsupportedMessageException, InvalidArrayIndexException, UnsupportedTypeException {
+        if (!hasArrayElements(receiver)) {
+            throw UnsupportedMessageException.create();
+        }
+        for (int i = 0; i < length; i++) {
+            storeArrayElement(destination, destinationOffset + i, readArrayElement(receiver, index + i));
+        }
+    }
+
+    /**
+     * Writes {@code length} elements of the source array, starting at {@code sourceOffset}, into
+     * the array elements of the receiver starting at the given index.
+     * <p>
+     * The source must be an {@code Object[]} of interop values or an array of {@code boolean},
+     * {@code byte}, {@code short}, {@code int}, {@code long}, {@code float} or {@code double}. The
+     * elements of a primitive array are written as the corresponding boxed values.
+     * <p>
+     * This message allows to transfer a range of an array with a single message instead of one
+     * {@link #writeArrayElement(Object, long, Object)} message per element. By default, it writes
+     * the elements one by one. Arrays with a backing primitive array are encouraged to export a
+     * bulk copy instead.
+     * <p>
+     * The source range must lie within the bounds of the source array. Implementations must not
+     * rely on the caller to check this: a range outside of the array fails with an
+     * {@link IndexOutOfBoundsException}, like with {@link System#arraycopy}, before any memory
+     * outside of the array is accessed. If an exception is thrown then the receiver may have been
+     * partially modified.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this message is <em>not</em>
+     * thread-safe.
+     *
+     * @throws UnsupportedMessageException if and only if {@link #hasArrayElements(Object)} returns
+     *             {@code false} or the receiver does not support writing at all
+     * @throws InvalidArrayIndexException if an index of the range is neither
+     *             {@link #isArrayElementModifiable(Object, long) modifiable} nor
+     *             {@link #isArrayElementInsertable(Object, long) insertable}
+     * @throws UnsupportedTypeException if an element is not allowed to be written
+     * @since 21.2
+     */
+    public void writeArrayElements(Object receiver, long index, Object source, int sourceOffset, int length)
+                    throws UnsupportedMessageException, InvalidArrayIndexException, UnsupportedTypeException {
+        if (!hasArrayElements(receiver)) {
+            throw UnsupportedMessageException.create();
+        }
+        for (int i = 0; i < length; i++) {
+            writeArrayElement(receiver, index + i, loadArrayElement(source, sourceOffset + i));
+        }
+    }
+
+    @TruffleBoundary
+    private static void storeArrayElement(Object destination, int destinationIndex, Object element) throws UnsupportedTypeException {
+        InteropLibrary elements = UNCACHED;
+        try {
+            if (destination instanceof Object[]) {
+                ((Object[]) destination)[destinationIndex] = element;
+            } else if (destination instanceof boolean[]) {
+                ((boolean[]) destination)[destinationIndex] = elements.asBoolean(element);
+            } else if (destination instanceof byte[]) {
+                ((byte[]) destination)[destinationIndex] = elements.asByte(element);
+            } else if (destination instanceof short[]) {
+                ((short[]) destination)[destinationIndex] = elements.asShort(element);
+            } else if (destination instanceof int[]) {
+                ((int[]) destination)[destinationIndex] = elements.asInt(element);
+            } else if (destination instanceof long[]) {
+                ((long[]) destination)[destinationIndex] = elements.asLong(element);
+            } else if (destination instanceof float[]) {
+                ((float[]) destination)[destinationIndex] = elements.asFloat(element);
+            } else if (destination instanceof double[]) {
+                ((double[]) destination)[destinationIndex] = elements.asDouble(element);
+            } else {
+                throw shouldNotReachHere("Unsupported array type " + destination.getClass().getName());
+            }
+        } catch (UnsupportedMessageException e) {
+            throw UnsupportedTypeException.create(new Object[]{element}, "Array element does not fit into " + destination.getClass().getComponentType().getName() + ".");
+        }
+    }
+
+    @TruffleBoundary
+    private static Object loadArrayElement(Object source, int sourceIndex) {
+        if (source instanceof Object[]) {
+            return ((Object[]) source)[sourceIndex];
+        } else if (source instanceof boolean[]) {
+            return ((boolean[]) source)[sourceIndex];
+        } else if (source instanceof byte[]) {
+            return ((byte[]) source)[sourceIndex];
+        } else if (source instanceof short[]) {
+            return ((short[]) source)[sourceIndex];
+        } else if (source instanceof int[]) {
+            return ((int[]) source)[sourceIndex];
+        } else if (source instanceof long[]) {
+            return ((long[]) source)[sourceIndex];
+        } else if (source instanceof float[]) {
+            return ((float[]) source)[sourceIndex];
+        } else if (source instanceof double[]) {
+            return ((double[]) source)[sourceIndex];
+        } else {
+            throw shouldNotReachHere("Unsupported array type " + source.getClass().getName());
+        }
+    }
+
     // region Buffer Messages
 
     /**
@@ -1602,6 +1738,79 @@ public abstract class InteropLibrary extends Library {
         throw UnsupportedMessageException.create();
     }
 
+    /**
+     * Reads {@code length} bytes from the receiver object, starting at the given byte offset from
+     * the start of the buffer, into the destination array starting at {@code destinationOffset}.
+     * <p>
+     * This message allows to transfer a range of a buffer with a single message instead of one
+     * {@link #readBufferByte(Object, long)} message per byte. By default, it reads the bytes one by
+     * one using {@link #readBufferByte(Object, long)}. Buffer implementations with a backing array
+     * or memory block are encouraged to export a bulk copy instead.
+     * <p>
+     * The destination range must lie within the bounds of the destination array. Implementations
+     * must not rely on the caller to check this: a range outside of the array fails with an
+     * {@link IndexOutOfBoundsException}, like with {@link System#arraycopy}, before any memory
+     * outside of the array is accessed. If an exception is thrown then the destination array may
+     * have been partially modified.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this message is <em>not</em>
+     * thread-safe.
+     * <p>
+     * Invoking this message does not cause any observable side-effects.
+     *
+     * @throws InvalidBufferOffsetException if and only if
+     *             <code>byteOffset < 0 || length < 0 || byteOffset + length > </code>
+     *             {@link #getBufferSize(Object)}
+     * @throws UnsupportedMessageException if and only if {@link #hasBufferElements(Object)} returns
+     *             {@code false}
+     * @since 21.2
+     */
+    public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (byteOffset < 0 || length < 0 || byteOffset > getBufferSize(receiver) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        for (int i = 0; i < length; i++) {
+            destination[destinationOffset + i] = readBufferByte(receiver, byteOffset + i);
+        }
+    }
+
+    /**
+     * Writes {@code length} bytes from the source array, starting at {@code sourceOffset}, into the
+     * receiver object at the given byte offset from the start of the buffer.
+     * <p>
+     * This message allows to transfer a range of a buffer with a single message instead of one
+     * {@link #writeBufferByte(Object, long, byte)} message per byte. By default, it writes the
+     * bytes one by one using {@link #writeBufferByte(Object, long, byte)}. Buffer implementations
+     * with a backing array or memory block are encouraged to export a bulk copy instead.
+     * <p>
+     * The source range must lie within the bounds of the source array. Implementations must not
+     * rely on the caller to check this: a range outside of the array fails with an
+     * {@link IndexOutOfBoundsException}, like with {@link System#arraycopy}, before any memory
+     * outside of the array is accessed. If an exception is thrown then the buffer may have been
+     * partially modified.
+     * <p>
+     * The access is <em>not</em> guaranteed to be atomic. Therefore, this message is <em>not</em>
+     * thread-safe.
+     *
+     * @throws InvalidBufferOffsetException if and only if
+     *             <code>byteOffset < 0 || length < 0 || byteOffset + length > </code>
+     *             {@link #getBufferSize(Object)}
+     * @throws UnsupportedMessageException if and only if either {@link #hasBufferElements(Object)}
+     *             or {@link #isBufferWritable} returns {@code false}
+     * @since 21.2
+     */
+    public void writeBuffer(Object receiver, long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (!isBufferWritable(receiver)) {
+            throw UnsupportedMessageException.create();
+        }
+        if (byteOffset < 0 || length < 0 || byteOffset > getBufferSize(receiver) - length) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        for (int i = 0; i < length; i++) {
+            writeBufferByte(receiver, byteOffset + i, source[sourceOffset + i]);
+        }
+    }
+
     // endregion
 
     /**
@@ -3878,6 +4087,51 @@ public abstract class InteropLibrary extends Library {
             return result;
         }
 
+        @Override
+        public void readArrayElements(Object receiver, long index, Object destination, int destinationOffset, int length)
+                        throws UnsupportedMessageException, InvalidArrayIndexException, UnsupportedTypeException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.readArrayElements(receiver, index, destination, destinationOffset, length);
+                return;
+            }
+            assert preCondition(receiver);
+            assert validElementArray(destination);
+            try {
+                delegate.readArrayElements(receiver, index, destination, destinationOffset, length);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
+            } catch (UnsupportedMessageException e) {
+                assert !delegate.hasArrayElements(receiver) : violationPost(receiver, e);
+                throw e;
+            } catch (InteropException e) {
+                assert e instanceof InvalidArrayIndexException || e instanceof UnsupportedTypeException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void writeArrayElements(Object receiver, long index, Object source, int sourceOffset, int length)
+                        throws UnsupportedMessageException, InvalidArrayIndexException, UnsupportedTypeException {
+            if (CompilerDirectives.inCompiledCode()) {
+                delegate.writeArrayElements(receiver, index, source, sourceOffset, length);
+                return;
+            }
+            assert preCondition(receiver);
+            assert validElementArray(source);
+            try {
+                delegate.writeArrayElements(receiver, index, source, sourceOffset, length);
+                assert delegate.hasArrayElements(receiver) : violationInvariant(receiver, index);
+            } catch (InteropException e) {
+                assert e instanceof UnsupportedMessageException || e instanceof InvalidArrayIndexException || e instanceof UnsupportedTypeException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
+        private static boolean validElementArray(Object array) {
+            assert array instanceof Object[] || array instanceof boolean[] || array instanceof byte[] || array instanceof short[] || array instanceof int[] || array instanceof long[] ||
+                            array instanceof float[] || array instanceof double[] : "Unsupported array type.";
+            return true;
+        }
+
         // region Buffer Messages
 
         @Override
@@ -4104,6 +4358,48 @@ public abstract class InteropLibrary extends Library {
             }
         }
 
+        @Override
+        public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            assert preCondition(receiver);
+            assert validArray(destination);
+            try {
+                delegate.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+            } catch (UnsupportedMessageException e) {
+                assert !delegate.hasBufferElements(receiver) : violationPost(receiver, e);
+                throw e;
+            } catch (InteropException e) {
+                assert e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void writeBuffer(Object receiver, long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedMessageException, InvalidBufferOffsetException {
+            assert preCondition(receiver);
+            assert validArray(source);
+            try {
+                delegate.writeBuffer(receiver, byteOffset, source, sourceOffset, length);
+                assert delegate.hasBufferElements(receiver) : violationInvariant(receiver, byteOffset);
+                assert delegate.isBufferWritable(receiver) : violationInvariant(receiver, byteOffset);
+            } catch (UnsupportedMessageException e) {
+                assert !delegate.hasBufferElements(receiver) || !delegate.isBufferWritable(receiver) : violationPost(receiver, e);
+                throw e;
+            } catch (InteropException e) {
+                assert e instanceof InvalidBufferOffsetException : violationPost(receiver, e);
+                throw e;
+            }
+        }
+
+        private static boolean validArray(Object array) {
+            /*
+             * The range is not checked here. Implementations report a range outside of the array
+             * with an IndexOutOfBoundsException.
+             */
+            assert array != null : "Array must not be null.";
+            return true;
+        }
+
         // endregion
 
         @Override
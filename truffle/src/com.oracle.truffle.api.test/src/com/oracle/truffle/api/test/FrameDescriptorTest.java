@@ -207,4 +207,74 @@ public class FrameDescriptorTest {
         assertEquals("c", frame.getObject(slot3));
         assertEquals("d", frame.getObject(slot4));
     }
+
+    @Test
+    public void indexedSlots() throws FrameSlotTypeException {
+        FrameDescriptor.Builder builder = FrameDescriptor.newBuilder(1).defaultValue("default");
+        int i1 = builder.addSlot(FrameSlotKind.Int, "i1", "info1");
+        int o1 = builder.addSlot(FrameSlotKind.Object, "o1", null);
+        int rest = builder.addSlots(3, FrameSlotKind.Illegal);
+        FrameDescriptor d = builder.build();
+
+        assertEquals(0, i1);
+        assertEquals(1, o1);
+        assertEquals(2, rest);
+        assertEquals(5, d.getNumberOfSlots());
+        assertEquals(5, d.getSize());
+        assertEquals("i1", d.getSlotName(i1));
+        assertEquals("info1", d.getSlotInfo(i1));
+        assertNull(d.getSlotName(rest));
+        assertEquals(FrameSlotKind.Int, d.getSlotKind(i1));
+        assertEquals(FrameSlotKind.Illegal, d.getSlotKind(rest + 2));
+
+        Assumption version = d.getVersion();
+        d.setSlotKind(rest, FrameSlotKind.Double);
+        assertEquals(FrameSlotKind.Double, d.getSlotKind(rest));
+        assertFalse(version.isValid());
+
+        FrameSlot legacy = d.addFrameSlot("legacy");
+        assertEquals(5, d.getNumberOfSlots());
+        assertEquals(6, d.getSize());
+
+        assertFrameIndexed(Truffle.getRuntime().createVirtualFrame(new Object[0], d), i1, o1, rest, legacy);
+        assertFrameIndexed(Truffle.getRuntime().createMaterializedFrame(new Object[0], d), i1, o1, rest, legacy);
+
+        FrameDescriptor copy = d.copy();
+        assertEquals(5, copy.getNumberOfSlots());
+        assertEquals("Name is copied", "i1", copy.getSlotName(i1));
+        assertEquals("Kind isn't copied", FrameSlotKind.Illegal, copy.getSlotKind(i1));
+    }
+
+    private static void assertFrameIndexed(Frame f, int i1, int o1, int rest, FrameSlot legacy) throws FrameSlotTypeException {
+        assertTrue(f.isObject(o1));
+        assertEquals("default", f.getObject(o1));
+        assertEquals("default", f.getValue(i1));
+
+        f.setInt(i1, 42);
+        assertTrue(f.isInt(i1));
+        assertFalse(f.isObject(i1));
+        assertEquals(42, f.getInt(i1));
+        assertEquals(42, f.getValue(i1));
+        try {
+            f.getLong(i1);
+            fail();
+        } catch (FrameSlotTypeException e) {
+        }
+
+        f.setDouble(rest, 4.2);
+        f.setBoolean(rest + 1, true);
+        f.setObject(legacy, "legacy");
+        assertEquals(4.2, f.getDouble(rest), 0);
+        assertTrue(f.getBoolean(rest + 1));
+        assertEquals("legacy", f.getObject(legacy));
+        assertEquals(42, f.getInt(i1));
+
+        f.clear(i1);
+        assertFalse(f.isInt(i1));
+        try {
+            f.getInt(i1);
+            fail();
+        } catch (FrameSlotTypeException e) {
+        }
+    }
 }
@@ -41,6 +41,7 @@
 package com.oracle.truffle.api.test.polyglot;
 
 import static com.oracle.truffle.api.test.polyglot.AbstractPolyglotTest.assertFails;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -359,6 +360,26 @@ public class HostAccessTest {
         assertArrayAccessDisabled(context);
     }
 
+    @Test
+    public void testArrayElementsBulkAccessDisabled() {
+        setupEnv(HostAccess.newBuilder().allowArrayAccess(false));
+        int[] array = new int[]{1, 2, 3};
+        Value value = context.asValue(array);
+        int[] destination = new int[3];
+        try {
+            value.readArrayElements(0, destination, 0, 3);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        assertArrayEquals(new int[3], destination);
+        try {
+            value.writeArrayElements(0, new int[]{4, 5, 6}, 0, 3);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        assertArrayEquals(new int[]{1, 2, 3}, array);
+    }
+
     @Test
     public void testPublicAccessNoArrayAccess() {
         setupEnv(HostAccess.newBuilder().allowPublicAccess(true));
@@ -79,6 +79,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -128,6 +129,7 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.exception.AbstractTruffleException;
 import com.oracle.truffle.api.interop.InteropLibrary;
 import com.oracle.truffle.api.interop.InvalidArrayIndexException;
+import com.oracle.truffle.api.interop.InvalidBufferOffsetException;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
@@ -535,6 +537,259 @@ public class ValueAPITest {
 
     }
 
+    @Test
+    public void testBuffersBulk() {
+        for (final ByteBuffer buffer : makeTestBuffers()) {
+            final Value value = context.asValue(buffer);
+            final byte[] destination = new byte[10];
+            value.readBuffer(2, destination, 1, 5);
+            Assert.assertArrayEquals(new byte[]{0, 3, 4, 5, 6, 7, 0, 0, 0, 0}, destination);
+            Assert.assertEquals("Side effect: readBuffer should not modify wrapped buffer's position", 0, buffer.position());
+            AbstractPolyglotTest.assertFails(() -> value.readBuffer(4, destination, 0, 5), IndexOutOfBoundsException.class);
+            AbstractPolyglotTest.assertFails(() -> value.readBuffer(-1, destination, 0, 1), IndexOutOfBoundsException.class);
+            AbstractPolyglotTest.assertFails(() -> value.readBuffer(0, destination, 8, 3), IndexOutOfBoundsException.class);
+            if (value.isBufferWritable()) {
+                value.writeBuffer(3, new byte[]{42, 43, 44}, 1, 2);
+                Assert.assertEquals(43, buffer.get(3));
+                Assert.assertEquals(44, buffer.get(4));
+                Assert.assertEquals(3, buffer.get(2));
+                Assert.assertEquals(6, buffer.get(5));
+                Assert.assertEquals("Side effect: writeBuffer should not modify wrapped buffer's position", 0, buffer.position());
+                AbstractPolyglotTest.assertFails(() -> value.writeBuffer(7, new byte[2], 0, 2), IndexOutOfBoundsException.class);
+            } else {
+                AbstractPolyglotTest.assertFails(() -> value.writeBuffer(0, new byte[1], 0, 1), UnsupportedOperationException.class);
+            }
+        }
+    }
+
+    @Test
+    public void testBuffersBulkDefault() {
+        final TestBuffer buffer = new TestBuffer(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        final Value value = context.asValue(buffer);
+        final byte[] destination = new byte[4];
+        value.readBuffer(4, destination, 0, 4);
+        Assert.assertArrayEquals(new byte[]{5, 6, 7, 8}, destination);
+        value.writeBuffer(0, destination, 1, 3);
+        Assert.assertArrayEquals(new byte[]{6, 7, 8, 4, 5, 6, 7, 8}, buffer.bytes);
+        AbstractPolyglotTest.assertFails(() -> value.readBuffer(6, destination, 0, 4), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> value.writeBuffer(0, destination, 2, 4), IndexOutOfBoundsException.class);
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    @SuppressWarnings("static-method")
+    static final class TestBuffer implements TruffleObject {
+
+        final byte[] bytes;
+
+        TestBuffer(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @ExportMessage
+        boolean hasBufferElements() {
+            return true;
+        }
+
+        @ExportMessage
+        boolean isBufferWritable() {
+            return true;
+        }
+
+        @ExportMessage
+        long getBufferSize() {
+            return bytes.length;
+        }
+
+        @ExportMessage
+        byte readBufferByte(long byteOffset) throws InvalidBufferOffsetException {
+            if (byteOffset < 0 || byteOffset >= bytes.length) {
+                throw InvalidBufferOffsetException.create(byteOffset, 1);
+            }
+            return bytes[(int) byteOffset];
+        }
+
+        @ExportMessage
+        void writeBufferByte(long byteOffset, byte value) throws InvalidBufferOffsetException {
+            if (byteOffset < 0 || byteOffset >= bytes.length) {
+                throw InvalidBufferOffsetException.create(byteOffset, 1);
+            }
+            bytes[(int) byteOffset] = value;
+        }
+
+        @ExportMessage
+        short readBufferShort(ByteOrder order, long byteOffset) throws UnsupportedMessageException {
+            throw UnsupportedMessageException.create();
+        }
+
+        @ExportMessage
+        void writeBufferShort(ByteOrder order, long byteOffset, short value) throws UnsupportedMessageException {
+            throw UnsupportedMessageException.create();
+        }
+
+        @ExportMessage
+        int readBufferInt(ByteOrder order, long byteOffset) throws UnsupportedMessageException {
+            throw UnsupportedMessageException.create();
+        }
+
+        @ExportMessage
+        void writeBufferInt(ByteOrder order, long byteOffset, int value) throws UnsupportedMessageException {
+            throw UnsupportedMessageException.create();
+        }
+
+        @ExportMessage
+        long readBufferLong(ByteOrder order, long byteOffset) throws UnsupportedMessageException {
+            throw UnsupportedMessageException.create();
+        }
+
+        @ExportMessage
+        void writeBufferLong(ByteOrder order, long byteOffset, long value) throws UnsupportedMessageException {
+            throw UnsupportedMessageException.create();
+        }
+
+        @ExportMessage
+        float readBufferFloat(ByteOrder order, long byteOffset) throws UnsupportedMessageException {
+            throw UnsupportedMessageException.create();
+        }
+
+        @ExportMessage
+        void writeBufferFloat(ByteOrder order, long byteOffset, float value) throws UnsupportedMessageException {
+            throw UnsupportedMessageException.create();
+        }
+
+        @ExportMessage
+        double readBufferDouble(ByteOrder order, long byteOffset) throws UnsupportedMessageException {
+            throw UnsupportedMessageException.create();
+        }
+
+        @ExportMessage
+        void writeBufferDouble(ByteOrder order, long byteOffset, double value) throws UnsupportedMessageException {
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @Test
+    public void testBuffersBulkByteBuffer() {
+        final Value value = context.asValue(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+        for (ByteBuffer destination : new ByteBuffer[]{ByteBuffer.allocate(5), ByteBuffer.allocateDirect(5)}) {
+            destination.position(1);
+            value.readBuffer(2, destination);
+            Assert.assertEquals(5, destination.position());
+            Assert.assertEquals(0, destination.get(0));
+            Assert.assertEquals(3, destination.get(1));
+            Assert.assertEquals(6, destination.get(4));
+        }
+        AbstractPolyglotTest.assertFails(() -> value.readBuffer(6, ByteBuffer.allocate(3)), IndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> value.readBuffer(0, ByteBuffer.allocate(3).asReadOnlyBuffer()), ReadOnlyBufferException.class);
+
+        final ByteBuffer source = ByteBuffer.wrap(new byte[]{40, 41, 42}).asReadOnlyBuffer();
+        source.position(1);
+        value.writeBuffer(6, source);
+        Assert.assertEquals(3, source.position());
+        Assert.assertEquals(41, value.readBufferByte(6));
+        Assert.assertEquals(42, value.readBufferByte(7));
+        final ByteBuffer tooLong = ByteBuffer.allocateDirect(3);
+        AbstractPolyglotTest.assertFails(() -> value.writeBuffer(6, tooLong), IndexOutOfBoundsException.class);
+        Assert.assertEquals("Position of a failed copy should not change", 0, tooLong.position());
+    }
+
+    @Test
+    public void testArrayElementsBulk() {
+        final int[] array = {1, 2, 3, 4, 5};
+        final Value value = context.asValue(array);
+        final int[] ints = new int[4];
+        value.readArrayElements(1, ints, 1, 3);
+        Assert.assertArrayEquals(new int[]{0, 2, 3, 4}, ints);
+        final double[] doubles = new double[2];
+        value.readArrayElements(3, doubles, 0, 2);
+        Assert.assertArrayEquals(new double[]{4, 5}, doubles, 0);
+        final byte[] bytes = new byte[1];
+        value.readArrayElements(0, bytes, 0, 1);
+        Assert.assertEquals(1, bytes[0]);
+        AbstractPolyglotTest.assertFails(() -> value.readArrayElements(3, ints, 0, 3), ArrayIndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> value.readArrayElements(0, ints, 2, 3), ArrayIndexOutOfBoundsException.class);
+        AbstractPolyglotTest.assertFails(() -> value.readArrayElements(0, new String[1], 0, 1), IllegalArgumentException.class);
+
+        value.writeArrayElements(0, new int[]{9, 8, 7}, 1, 2);
+        value.writeArrayElements(4, new long[]{6}, 0, 1);
+        Assert.assertArrayEquals(new int[]{8, 7, 3, 4, 6}, array);
+        AbstractPolyglotTest.assertFails(() -> value.writeArrayElements(0, new double[]{1.5}, 0, 1), ClassCastException.class);
+        AbstractPolyglotTest.assertFails(() -> value.writeArrayElements(4, new int[2], 0, 2), ArrayIndexOutOfBoundsException.class);
+
+        final Value doubleArray = context.asValue(new double[]{1.5, 2});
+        AbstractPolyglotTest.assertFails(() -> doubleArray.readArrayElements(0, new int[2], 0, 2), ClassCastException.class);
+
+        final List<Object> list = new ArrayList<>(Arrays.asList(1, 2, 3));
+        final Value listValue = context.asValue(list);
+        final long[] longs = new long[3];
+        listValue.readArrayElements(0, longs, 0, 3);
+        Assert.assertArrayEquals(new long[]{1, 2, 3}, longs);
+        listValue.writeArrayElements(1, new short[]{42}, 0, 1);
+        Assert.assertEquals(42, ((Number) list.get(1)).intValue());
+
+        AbstractPolyglotTest.assertFails(() -> context.asValue(new Object()).readArrayElements(0, ints, 0, 1), UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testArrayElementsBulkDefault() {
+        final TestArray array = new TestArray(new Object[]{1, 2L, 3.0, "4"});
+        final Value value = context.asValue(array);
+        final long[] longs = new long[3];
+        value.readArrayElements(0, longs, 0, 3);
+        Assert.assertArrayEquals(new long[]{1, 2, 3}, longs);
+        AbstractPolyglotTest.assertFails(() -> value.readArrayElements(2, longs, 0, 2), ClassCastException.class);
+        AbstractPolyglotTest.assertFails(() -> value.readArrayElements(4, longs, 0, 1), ArrayIndexOutOfBoundsException.class);
+        value.writeArrayElements(1, new boolean[]{true, false}, 0, 2);
+        Assert.assertArrayEquals(new Object[]{1, true, false, "4"}, array.elements);
+    }
+
+    @ExportLibrary(InteropLibrary.class)
+    @SuppressWarnings("static-method")
+    static final class TestArray implements TruffleObject {
+
+        final Object[] elements;
+
+        TestArray(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @ExportMessage
+        boolean hasArrayElements() {
+            return true;
+        }
+
+        @ExportMessage
+        long getArraySize() {
+            return elements.length;
+        }
+
+        @ExportMessage(name = "isArrayElementReadable")
+        @ExportMessage(name = "isArrayElementModifiable")
+        boolean isArrayElementReadable(long index) {
+            return index >= 0 && index < elements.length;
+        }
+
+        @ExportMessage
+        boolean isArrayElementInsertable(long index) {
+            return false;
+        }
+
+        @ExportMessage
+        Object readArrayElement(long index) throws InvalidArrayIndexException {
+            if (!isArrayElementReadable(index)) {
+                throw InvalidArrayIndexException.create(index);
+            }
+            return elements[(int) index];
+        }
+
+        @ExportMessage
+        void writeArrayElement(long index, Object value) throws InvalidArrayIndexException {
+            if (!isArrayElementReadable(index)) {
+                throw InvalidArrayIndexException.create(index);
+            }
+            elements[(int) index] = value;
+        }
+    }
+
     @Test
     public void testBuffersErrors() {
         for (final ByteBuffer buffer : BUFFERS) {
@@ -275,4 +275,256 @@ public interface Frame {
     default void clear(FrameSlot slot) {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * Read access to an indexed local variable of type {@link Object}.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @return the current value of the local variable
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type {@link Object}
+     * @since 21.2
+     */
+    default Object getObject(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed local variable of type {@link Object}.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @param value the new value of the local variable
+     * @since 21.2
+     */
+    default void setObject(int slot, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check whether the indexed slot currently holds a value of type {@link Object}.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @since 21.2
+     */
+    default boolean isObject(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed local variable of type byte.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @return the current value of the local variable
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type byte
+     * @since 21.2
+     */
+    default byte getByte(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed local variable of type byte.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @param value the new value of the local variable
+     * @since 21.2
+     */
+    default void setByte(int slot, byte value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check whether the indexed slot currently holds a value of type byte.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @since 21.2
+     */
+    default boolean isByte(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed local variable of type boolean.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @return the current value of the local variable
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type boolean
+     * @since 21.2
+     */
+    default boolean getBoolean(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed local variable of type boolean.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @param value the new value of the local variable
+     * @since 21.2
+     */
+    default void setBoolean(int slot, boolean value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check whether the indexed slot currently holds a value of type boolean.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @since 21.2
+     */
+    default boolean isBoolean(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed local variable of type int.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @return the current value of the local variable
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type int
+     * @since 21.2
+     */
+    default int getInt(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed local variable of type int.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @param value the new value of the local variable
+     * @since 21.2
+     */
+    default void setInt(int slot, int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check whether the indexed slot currently holds a value of type int.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @since 21.2
+     */
+    default boolean isInt(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed local variable of type long.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @return the current value of the local variable
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type long
+     * @since 21.2
+     */
+    default long getLong(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed local variable of type long.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @param value the new value of the local variable
+     * @since 21.2
+     */
+    default void setLong(int slot, long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check whether the indexed slot currently holds a value of type long.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @since 21.2
+     */
+    default boolean isLong(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed local variable of type float.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @return the current value of the local variable
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type float
+     * @since 21.2
+     */
+    default float getFloat(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed local variable of type float.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @param value the new value of the local variable
+     * @since 21.2
+     */
+    default void setFloat(int slot, float value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check whether the indexed slot currently holds a value of type float.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @since 21.2
+     */
+    default boolean isFloat(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed local variable of type double.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @return the current value of the local variable
+     * @throws FrameSlotTypeException if the slot does not currently hold a value of type double
+     * @since 21.2
+     */
+    default double getDouble(int slot) throws FrameSlotTypeException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write access to an indexed local variable of type double.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @param value the new value of the local variable
+     * @since 21.2
+     */
+    default void setDouble(int slot, double value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Check whether the indexed slot currently holds a value of type double.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @since 21.2
+     */
+    default boolean isDouble(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Read access to an indexed local variable of any type.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @return the current value of the local variable or the default value if unset
+     * @since 21.2
+     */
+    default Object getValue(int slot) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Clears the given indexed slot in the frame. See {@link #clear(FrameSlot)}.
+     *
+     * @param slot the index of the slot, see {@link FrameDescriptor#getNumberOfSlots()}
+     * @since 21.2
+     */
+    default void clear(int slot) {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -42,6 +42,7 @@ package com.oracle.truffle.api.frame;
 
 import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -76,6 +77,14 @@ public final class FrameDescriptor implements Cloneable {
     @CompilationFinal private volatile int size;
     private final Object lock;
 
+    /*
+     * Indexed slots are declared once, when the descriptor is built, and occupy the frame indices
+     * [0, indexedSlotTags.length). Slots added later via addFrameSlot are placed after them.
+     */
+    @CompilationFinal(dimensions = 1) private final byte[] indexedSlotTags;
+    private final Object[] indexedSlotNames;
+    private final Object[] indexedSlotInfos;
+
     /**
      * Flag that can be used by the runtime to track that {@link Frame#materialize()} was called on
      * a frame that has this descriptor. Since the flag is not public API, access is encapsulated
@@ -86,6 +95,8 @@ public final class FrameDescriptor implements Cloneable {
     boolean materializeCalled;
 
     private static final String NEVER_PART_OF_COMPILATION_MESSAGE = "interpreter-only. includes hashmap operations.";
+    private static final byte[] EMPTY_BYTE_ARRAY = {};
+    private static final Object[] EMPTY_OBJECT_ARRAY = {};
 
     /**
      * Constructs empty descriptor. The {@link #getDefaultValue()} is <code>null</code>.
@@ -107,11 +118,19 @@ public final class FrameDescriptor implements Cloneable {
     }
 
     private FrameDescriptor(Object defaultValue, Object lock) {
+        this(defaultValue, lock, EMPTY_BYTE_ARRAY, EMPTY_OBJECT_ARRAY, EMPTY_OBJECT_ARRAY);
+    }
+
+    private FrameDescriptor(Object defaultValue, Object lock, byte[] indexedSlotTags, Object[] indexedSlotNames, Object[] indexedSlotInfos) {
         CompilerAsserts.neverPartOfCompilation("do not create a FrameDescriptor from compiled code");
         this.defaultValue = defaultValue;
         this.slots = new ArrayList<>();
         this.identifierToSlotMap = EconomicMap.create();
         this.lock = lock == null ? this : lock;
+        this.indexedSlotTags = indexedSlotTags;
+        this.indexedSlotNames = indexedSlotNames;
+        this.indexedSlotInfos = indexedSlotInfos;
+        this.size = indexedSlotTags.length;
         newVersion(this);
     }
 
@@ -355,8 +374,9 @@ public final class FrameDescriptor implements Cloneable {
     }
 
     /**
-     * Returns the size of an array which is needed for storing all the frame slots. (The number may
-     * be bigger than the number of slots, if some slots are removed.)
+     * Returns the size of an array which is needed for storing all the frame slots, including the
+     * {@link #getNumberOfSlots() indexed slots}. (The number may be bigger than the number of
+     * slots, if some slots are removed.)
      *
      * @return the size of the frame
      * @since 0.8 or earlier
@@ -370,6 +390,78 @@ public final class FrameDescriptor implements Cloneable {
         return this.size;
     }
 
+    /**
+     * Returns the number of indexed slots declared when this descriptor was
+     * {@link #newBuilder() built}. Indexed slots are accessed with the int based accessors of
+     * {@link Frame}, e.g. {@link Frame#getInt(int)}, using indices from zero to the number of
+     * slots (exclusive). The number of indexed slots never changes.
+     *
+     * @since 21.2
+     */
+    public int getNumberOfSlots() {
+        return indexedSlotTags.length;
+    }
+
+    /**
+     * Returns the current kind of the indexed slot. The initial kind is the one passed to
+     * {@link Builder#addSlot(FrameSlotKind, Object, Object)}.
+     *
+     * @param slot the index of the slot
+     * @since 21.2
+     */
+    public FrameSlotKind getSlotKind(int slot) {
+        return FrameSlotKind.fromTag(indexedSlotTags[slot]);
+    }
+
+    /**
+     * Changes the kind of the indexed slot. Like {@link #setFrameSlotKind(FrameSlot, FrameSlotKind)}
+     * a change of the kind is done on the <em>slow path</em> and invalidates the
+     * {@link #getVersion() version} of this descriptor.
+     *
+     * @param slot the index of the slot
+     * @param kind new kind of the slot
+     * @since 21.2
+     */
+    public void setSlotKind(int slot, FrameSlotKind kind) {
+        if (indexedSlotTags[slot] != kind.tag) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            setSlotKindSlow(slot, kind);
+        }
+    }
+
+    private void setSlotKindSlow(int slot, FrameSlotKind kind) {
+        CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
+        synchronized (lock) {
+            if (indexedSlotTags[slot] != kind.tag) { // recheck under lock
+                invalidateVersion(this);
+                indexedSlotTags[slot] = kind.tag;
+                newVersion(this);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the indexed slot, as passed to
+     * {@link Builder#addSlot(FrameSlotKind, Object, Object)}.
+     *
+     * @param slot the index of the slot
+     * @since 21.2
+     */
+    public Object getSlotName(int slot) {
+        return indexedSlotNames[slot];
+    }
+
+    /**
+     * Returns the info of the indexed slot, as passed to
+     * {@link Builder#addSlot(FrameSlotKind, Object, Object)}.
+     *
+     * @param slot the index of the slot
+     * @since 21.2
+     */
+    public Object getSlotInfo(int slot) {
+        return indexedSlotInfos[slot];
+    }
+
     /**
      * Retrieve the current list of slots in the descriptor. Further changes are not reflected in
      * the returned collection.
@@ -468,7 +560,8 @@ public final class FrameDescriptor implements Cloneable {
     /**
      * Deeper copy of the descriptor. Copies all slots in the descriptor, but only their
      * {@linkplain FrameSlot#getIdentifier() identifier} and {@linkplain FrameSlot#getInfo() info}
-     * but not their {@linkplain FrameDescriptor#getFrameSlotKind(FrameSlot) kind}!
+     * but not their {@linkplain FrameDescriptor#getFrameSlotKind(FrameSlot) kind}! The same
+     * applies to {@linkplain #getNumberOfSlots() indexed slots}.
      *
      * @return new instance of a descriptor with copies of values from this one
      * @since 0.8 or earlier
@@ -476,7 +569,9 @@ public final class FrameDescriptor implements Cloneable {
     public FrameDescriptor copy() {
         CompilerAsserts.neverPartOfCompilation(NEVER_PART_OF_COMPILATION_MESSAGE);
         synchronized (lock) {
-            FrameDescriptor clonedFrameDescriptor = new FrameDescriptor(this.defaultValue);
+            byte[] clonedTags = new byte[indexedSlotTags.length];
+            Arrays.fill(clonedTags, FrameSlotKind.Illegal.tag);
+            FrameDescriptor clonedFrameDescriptor = new FrameDescriptor(this.defaultValue, null, clonedTags, indexedSlotNames.clone(), indexedSlotInfos.clone());
             for (int i = 0; i < slots.size(); i++) {
                 FrameSlot slot = slots.get(i);
                 clonedFrameDescriptor.addFrameSlot(slot.getIdentifier(), slot.getInfo(), FrameSlotKind.Illegal);
@@ -572,6 +667,14 @@ public final class FrameDescriptor implements Cloneable {
             sb.append("FrameDescriptor@").append(Integer.toHexString(hashCode()));
             sb.append("{");
             boolean comma = false;
+            for (int i = 0; i < indexedSlotTags.length; i++) {
+                if (comma) {
+                    sb.append(", ");
+                } else {
+                    comma = true;
+                }
+                sb.append(i).append(":").append(indexedSlotNames[i]);
+            }
             for (FrameSlot slot : slots) {
                 if (comma) {
                     sb.append(", ");
@@ -584,4 +687,118 @@ public final class FrameDescriptor implements Cloneable {
             return sb.toString();
         }
     }
+
+    /**
+     * Creates a new builder for a frame descriptor with indexed slots.
+     *
+     * @since 21.2
+     */
+    public static Builder newBuilder() {
+        return new Builder(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new builder for a frame descriptor with indexed slots, expecting the given number
+     * of slots.
+     *
+     * @param capacity the expected number of indexed slots
+     * @since 21.2
+     */
+    public static Builder newBuilder(int capacity) {
+        return new Builder(capacity);
+    }
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * Builder for frame descriptors with indexed slots. The number of indexed slots and their
+     * initial kinds are fixed when the descriptor is {@link #build() built}, which allows frames to
+     * be allocated with their final size and interpreters to address slots with plain int indices
+     * instead of {@link FrameSlot} objects.
+     *
+     * @since 21.2
+     */
+    public static final class Builder {
+
+        private Object defaultValue;
+        private byte[] tags;
+        private Object[] names;
+        private Object[] infos;
+        private int size;
+
+        private Builder(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("capacity must not be negative");
+            }
+            this.tags = new byte[capacity];
+            this.names = new Object[capacity];
+            this.infos = new Object[capacity];
+        }
+
+        private void ensureCapacity(int count) {
+            if (size + count > tags.length) {
+                int newLength = Math.max(size + count, tags.length * 2);
+                tags = Arrays.copyOf(tags, newLength);
+                names = Arrays.copyOf(names, newLength);
+                infos = Arrays.copyOf(infos, newLength);
+            }
+        }
+
+        /**
+         * Sets the {@link FrameDescriptor#getDefaultValue() default value} of the descriptor.
+         *
+         * @since 21.2
+         */
+        public Builder defaultValue(Object value) {
+            this.defaultValue = value;
+            return this;
+        }
+
+        /**
+         * Adds an indexed slot to the descriptor.
+         *
+         * @param kind the initial kind of the slot
+         * @param name the name of the slot, may be null
+         * @param info additional information for the slot, may be null
+         * @return the index of the new slot
+         * @since 21.2
+         */
+        public int addSlot(FrameSlotKind kind, Object name, Object info) {
+            Objects.requireNonNull(kind, "kind");
+            ensureCapacity(1);
+            tags[size] = kind.tag;
+            names[size] = name;
+            infos[size] = info;
+            return size++;
+        }
+
+        /**
+         * Adds the given number of unnamed indexed slots to the descriptor.
+         *
+         * @param count the number of slots to add
+         * @param kind the initial kind of the slots
+         * @return the index of the first added slot
+         * @since 21.2
+         */
+        public int addSlots(int count, FrameSlotKind kind) {
+            Objects.requireNonNull(kind, "kind");
+            if (count < 0) {
+                throw new IllegalArgumentException("count must not be negative");
+            }
+            ensureCapacity(count);
+            int first = size;
+            Arrays.fill(tags, first, first + count, kind.tag);
+            size += count;
+            return first;
+        }
+
+        /**
+         * Builds the frame descriptor. The builder may be used to build further descriptors.
+         *
+         * @since 21.2
+         */
+        public FrameDescriptor build() {
+            return new FrameDescriptor(defaultValue, null, Arrays.copyOf(tags, size), Arrays.copyOf(names, size), Arrays.copyOf(infos, size));
+        }
+    }
 }
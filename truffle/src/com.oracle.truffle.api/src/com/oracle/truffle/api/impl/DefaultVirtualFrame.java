@@ -265,4 +265,140 @@ final class DefaultVirtualFrame implements VirtualFrame {
         verifySet(slot, FrameSlotKind.Illegal);
         locals[getFrameSlotIndex(slot)] = null;
     }
+
+    @Override
+    public Object getObject(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Object);
+        return locals[slot];
+    }
+
+    @Override
+    public void setObject(int slot, Object value) {
+        tags[slot] = FrameSlotKind.Object.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isObject(int slot) {
+        return tags[slot] == FrameSlotKind.Object.tag;
+    }
+
+    @Override
+    public byte getByte(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Byte);
+        return (byte) locals[slot];
+    }
+
+    @Override
+    public void setByte(int slot, byte value) {
+        tags[slot] = FrameSlotKind.Byte.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isByte(int slot) {
+        return tags[slot] == FrameSlotKind.Byte.tag;
+    }
+
+    @Override
+    public boolean getBoolean(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Boolean);
+        return (boolean) locals[slot];
+    }
+
+    @Override
+    public void setBoolean(int slot, boolean value) {
+        tags[slot] = FrameSlotKind.Boolean.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isBoolean(int slot) {
+        return tags[slot] == FrameSlotKind.Boolean.tag;
+    }
+
+    @Override
+    public int getInt(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Int);
+        return (int) locals[slot];
+    }
+
+    @Override
+    public void setInt(int slot, int value) {
+        tags[slot] = FrameSlotKind.Int.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isInt(int slot) {
+        return tags[slot] == FrameSlotKind.Int.tag;
+    }
+
+    @Override
+    public long getLong(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Long);
+        return (long) locals[slot];
+    }
+
+    @Override
+    public void setLong(int slot, long value) {
+        tags[slot] = FrameSlotKind.Long.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isLong(int slot) {
+        return tags[slot] == FrameSlotKind.Long.tag;
+    }
+
+    @Override
+    public float getFloat(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Float);
+        return (float) locals[slot];
+    }
+
+    @Override
+    public void setFloat(int slot, float value) {
+        tags[slot] = FrameSlotKind.Float.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isFloat(int slot) {
+        return tags[slot] == FrameSlotKind.Float.tag;
+    }
+
+    @Override
+    public double getDouble(int slot) throws FrameSlotTypeException {
+        verifyIndexedGet(slot, FrameSlotKind.Double);
+        return (double) locals[slot];
+    }
+
+    @Override
+    public void setDouble(int slot, double value) {
+        tags[slot] = FrameSlotKind.Double.tag;
+        locals[slot] = value;
+    }
+
+    @Override
+    public boolean isDouble(int slot) {
+        return tags[slot] == FrameSlotKind.Double.tag;
+    }
+
+    @Override
+    public Object getValue(int slot) {
+        return locals[slot];
+    }
+
+    @Override
+    public void clear(int slot) {
+        tags[slot] = FrameSlotKind.Illegal.tag;
+        locals[slot] = null;
+    }
+
+    private void verifyIndexedGet(int slot, FrameSlotKind accessKind) throws FrameSlotTypeException {
+        if (tags[slot] != accessKind.tag) {
+            throw new FrameSlotTypeException();
+        }
+    }
 }
@@ -660,6 +660,34 @@ public class DynamicObjectLibraryTest extends AbstractParametrizedLibraryTest {
         assertTrue(lib.accepts(o1));
     }
 
+    @Test
+    public void testGetMegamorphic() throws UnexpectedResultException {
+        int shapeCount = 20;
+        DynamicObject[] objects = new DynamicObject[shapeCount];
+        for (int i = 0; i < shapeCount; i++) {
+            objects[i] = createEmpty();
+            uncachedPut(objects[i], "shape" + i, i);
+            uncachedPut(objects[i], "common", i);
+        }
+
+        DynamicObjectLibrary lib = createDispatchedLibrary();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < shapeCount; i++) {
+                DynamicObject o = objects[i];
+                assertEquals(i, lib.getIntOrDefault(o, "common", null));
+                assertEquals(i, lib.getOrDefault(o, "shape" + i, null));
+                assertEquals(null, lib.getOrDefault(o, "shape" + (i + 1), null));
+                assertSame(o.getShape().getProperty("common"), lib.getProperty(o, "common"));
+                assertFalse(lib.containsKey(o, "missing"));
+            }
+        }
+
+        // replace the location of a property, making the old shape obsolete
+        uncachedPut(objects[0], "common", "string");
+        assertEquals("string", lib.getOrDefault(objects[0], "common", null));
+        assertSame(objects[0].getShape().getProperty("common"), lib.getProperty(objects[0], "common"));
+    }
+
     @Test
     public void testPutConstant1() {
         DynamicObject o1 = createEmpty();
@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.object.basic.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -53,6 +54,7 @@ import org.junit.Test;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.DynamicObjectLibrary;
 import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.object.ShapeTreeStatistics;
 
 @SuppressWarnings("deprecation")
 public class LeakCheckTest {
@@ -157,6 +159,139 @@ public class LeakCheckTest {
         assertNotNull(shapesToKeepAlive); // keep alive
     }
 
+    /**
+     * Make sure stale transitions are removed from the shape tree on request.
+     */
+    @Test
+    public void expungeStaleTransitions() {
+        Shape emptyShape = LAYOUT.createShape(OBJECT_TYPE);
+        List<Shape> strongShapeRefs = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            DynamicObject obj = emptyShape.newInstance();
+            LIBRARY.putConstant(obj, "a" + i, new Leak(), 0);
+            LIBRARY.put(obj, "b", i);
+            strongShapeRefs.add(obj.getShape());
+        }
+
+        ShapeTreeStatistics before = ShapeTreeStatistics.collect(emptyShape, false);
+        assertEquals(201, before.getShapeCount());
+        assertEquals(200, before.getTransitionCount());
+        assertEquals(100, before.getLeafShapeCount());
+        assertEquals(2, before.getMaxDepth());
+
+        strongShapeRefs.clear();
+        System.gc();
+
+        ShapeTreeStatistics after = ShapeTreeStatistics.collect(emptyShape, true);
+        assertEquals(1, after.getShapeCount());
+        assertEquals(0, after.getTransitionCount());
+        assertEquals(100, after.getExpungedTransitionCount());
+        assertEquals(0, ShapeTreeStatistics.collect(emptyShape, true).getExpungedTransitionCount());
+    }
+
+    /**
+     * Make sure the megamorphic property lookup cache does not keep shapes and constant property
+     * values alive.
+     */
+    @Test
+    public void megamorphicLookupLeakCheck() {
+        Shape emptyShape = LAYOUT.createShape(OBJECT_TYPE);
+        List<WeakReference<Shape>> weakShapeRefs = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            DynamicObject obj = emptyShape.newInstance();
+            Leak leak = new Leak();
+            LIBRARY.putConstant(obj, "a" + i, leak, 0);
+            leak.shape = obj.getShape();
+            assertSame(leak, LIBRARY.getOrDefault(obj, "a" + i, null));
+            assertSame(null, LIBRARY.getOrDefault(obj, "b", null));
+            assertNotNull(LIBRARY.getProperty(obj, "a" + i));
+            weakShapeRefs.add(new WeakReference<>(obj.getShape()));
+        }
+
+        System.gc();
+        for (WeakReference<Shape> shapeRef : weakShapeRefs) {
+            assertNull("Shape should have been garbage-collected", shapeRef.get());
+        }
+        assertNotNull(emptyShape); // keep alive
+    }
+
+    /**
+     * Make sure a megamorphic property lookup cache entry does not keep its shape alive through a
+     * constant location whose value refers back to the shape.
+     */
+    @Test
+    public void megamorphicLookupConstantValueLeakCheck() {
+        Shape emptyShape = LAYOUT.createShape(OBJECT_TYPE);
+        DynamicObject obj = emptyShape.newInstance();
+        Leak leak = new Leak();
+        LIBRARY.putConstant(obj, "self", leak, 0);
+        leak.shape = obj.getShape();
+        assertSame(leak, LIBRARY.getOrDefault(obj, "self", null));
+        assertSame(leak, LIBRARY.getOrDefault(obj, "self", null));
+        WeakReference<Shape> shapeRef = new WeakReference<>(obj.getShape());
+        WeakReference<Leak> leakRef = new WeakReference<>(leak);
+        obj = null;
+        leak = null;
+
+        System.gc();
+        assertNull("Shape should have been garbage-collected", shapeRef.get());
+        assertNull("Constant value should have been garbage-collected", leakRef.get());
+        assertNotNull(emptyShape); // keep alive
+    }
+
+    /**
+     * Make sure the megamorphic property lookup cache does not keep non-String keys alive, neither
+     * of collected shapes nor of failed lookups in shapes that are still alive.
+     */
+    @Test
+    public void megamorphicLookupKeyLeakCheck() {
+        Shape emptyShape = LAYOUT.createShape(OBJECT_TYPE);
+        DynamicObject liveObject = emptyShape.newInstance();
+        List<WeakReference<Key>> weakKeyRefs = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            DynamicObject obj = emptyShape.newInstance();
+            Key key = new Key();
+            LIBRARY.put(obj, key, i);
+            assertEquals(i, LIBRARY.getOrDefault(obj, key, null));
+            assertNull(LIBRARY.getOrDefault(obj, new Key(), null));
+            Key missingKey = new Key();
+            assertNull(LIBRARY.getOrDefault(liveObject, missingKey, null));
+            weakKeyRefs.add(new WeakReference<>(key));
+            weakKeyRefs.add(new WeakReference<>(missingKey));
+        }
+
+        /*
+         * Entries of collected shapes are removed from the cache by later lookups. The transitions
+         * to collected shapes, which also reference the keys, are expunged explicitly.
+         */
+        for (int attempt = 0; attempt < 10 && !allCleared(weakKeyRefs); attempt++) {
+            System.gc();
+            LIBRARY.getOrDefault(emptyShape.newInstance(), "a" + attempt, null);
+            ShapeTreeStatistics.collect(emptyShape, true);
+        }
+        for (WeakReference<Key> keyRef : weakKeyRefs) {
+            assertNull("Key should have been garbage-collected", keyRef.get());
+        }
+        assertNotNull(liveObject); // keep alive
+    }
+
+    private static boolean allCleared(List<? extends WeakReference<?>> refs) {
+        for (WeakReference<?> ref : refs) {
+            if (ref.get() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** A guest-language key with identity equality. */
+    private static final class Key {
+        @SuppressWarnings("unused") byte[] data = new byte[100];
+    }
+
     private static final class Leak {
         @SuppressWarnings("unused") Shape shape;
         @SuppressWarnings("unused") byte[] data = new byte[100];
@@ -604,7 +604,7 @@ abstract class DynamicObjectLibraryImpl {
         @TruffleBoundary
         @Override
         public Object getOrDefault(DynamicObject object, Shape cachedShape, Object key, Object defaultValue) {
-            Property existing = ACCESS.getShape(object).getProperty(key);
+            Property existing = MegamorphicPropertyCache.getProperty(ACCESS.getShape(object), key);
             if (existing != null) {
                 return getLocation(existing).get(object, false);
             } else {
@@ -615,7 +615,7 @@ abstract class DynamicObjectLibraryImpl {
         @TruffleBoundary
         @Override
         public int getIntOrDefault(DynamicObject object, Shape cachedShape, Object key, Object defaultValue) throws UnexpectedResultException {
-            Property existing = ACCESS.getShape(object).getProperty(key);
+            Property existing = MegamorphicPropertyCache.getProperty(ACCESS.getShape(object), key);
             if (existing != null) {
                 return getLocation(existing).getInt(object, false);
             } else {
@@ -626,7 +626,7 @@ abstract class DynamicObjectLibraryImpl {
         @TruffleBoundary
         @Override
         public long getLongOrDefault(DynamicObject object, Shape cachedShape, Object key, Object defaultValue) throws UnexpectedResultException {
-            Property existing = ACCESS.getShape(object).getProperty(key);
+            Property existing = MegamorphicPropertyCache.getProperty(ACCESS.getShape(object), key);
             if (existing != null) {
                 return getLocation(existing).getLong(object, false);
             } else {
@@ -637,7 +637,7 @@ abstract class DynamicObjectLibraryImpl {
         @TruffleBoundary
         @Override
         public double getDoubleOrDefault(DynamicObject object, Shape cachedShape, Object key, Object defaultValue) throws UnexpectedResultException {
-            Property existing = ACCESS.getShape(object).getProperty(key);
+            Property existing = MegamorphicPropertyCache.getProperty(ACCESS.getShape(object), key);
             if (existing != null) {
                 return getLocation(existing).getDouble(object, false);
             } else {
@@ -656,9 +656,10 @@ abstract class DynamicObjectLibraryImpl {
             return existing != null;
         }
 
+        @TruffleBoundary
         @Override
         public Property getProperty(DynamicObject object, Shape cachedShape, Object key) {
-            return ACCESS.getShape(object).getProperty(key);
+            return MegamorphicPropertyCache.getProperty(ACCESS.getShape(object), key);
         }
 
         @TruffleBoundary
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.object;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * Global, fixed-size (shape, key) to property cache used by property accesses that exceeded the
+ * limit of their inline caches. Such megamorphic accesses would otherwise have to look up the key
+ * in the property map of the shape on every access.
+ *
+ * Entries are immutable and replaced without synchronization, so a concurrent lookup observes
+ * either the old or the new entry of a slot. Since the property map of a shape never changes, an
+ * entry stays correct for as long as its shape is alive, but entries of obsolete shapes are treated
+ * as misses and not filled.
+ *
+ * The cache must not keep anything alive, because it is shared by all contexts and engines and
+ * rooted in a static field. Entries therefore reference their shape weakly. The property is
+ * referenced strongly if it has a {@link String} key and its location does not hold a value, which
+ * is the common case, so a miss allocates a single weak reference. Otherwise the property is
+ * referenced weakly as well: a guest object key or the constant value of a location may refer back
+ * to the shape, so a strong reference would keep the shape reachable forever. The property is
+ * strongly reachable from the property map of the shape for as long as the shape is alive. Entries
+ * are removed from their slot once the shape was collected. Failed lookups are only cached for
+ * {@link String} keys: other keys are guest objects that are not reachable from the shape.
+ */
+final class MegamorphicPropertyCache {
+
+    private static final int SIZE = Integer.highestOneBit(Math.max(16, ObjectStorageOptions.MegamorphicPropertyCacheSize));
+
+    private static final Entry[] ENTRIES = ObjectStorageOptions.MegamorphicPropertyCache ? new Entry[SIZE] : null;
+
+    /** Entries whose shape was collected. */
+    private static final ReferenceQueue<Shape> COLLECTED = ObjectStorageOptions.MegamorphicPropertyCache ? new ReferenceQueue<>() : null;
+
+    private MegamorphicPropertyCache() {
+    }
+
+    static Property getProperty(Shape shape, Object key) {
+        if (!ObjectStorageOptions.MegamorphicPropertyCache) {
+            return shape.getProperty(key);
+        }
+        Entry[] entries = ENTRIES;
+        int index = index(shape, key);
+        Entry entry = entries[index];
+        if (entry != null && entry.get() == shape && shape.isValid()) {
+            Object cached = entry.property;
+            if (cached == null) {
+                if (DynamicObjectLibraryImpl.keyEquals(entry.missingKey, key)) {
+                    profile(true);
+                    return null;
+                }
+            } else {
+                Property property = cached instanceof Property ? (Property) cached : ((PropertyReference) cached).get();
+                if (property != null && DynamicObjectLibraryImpl.keyEquals(property.getKey(), key)) {
+                    profile(true);
+                    return property;
+                }
+            }
+        }
+        profile(false);
+        expungeCollectedEntries(entries);
+        Property property = shape.getProperty(key);
+        if (shape.isValid() && (property != null || key instanceof String)) {
+            entries[index] = new Entry(shape, index, property, property == null ? (String) key : null);
+        }
+        return property;
+    }
+
+    private static void expungeCollectedEntries(Entry[] entries) {
+        for (Reference<? extends Shape> ref = COLLECTED.poll(); ref != null; ref = COLLECTED.poll()) {
+            Entry collected = (Entry) ref;
+            if (entries[collected.index] == collected) {
+                entries[collected.index] = null;
+            }
+        }
+    }
+
+    private static int index(Shape shape, Object key) {
+        int hash = System.identityHashCode(shape) * 31 + key.hashCode();
+        hash ^= hash >>> 16;
+        return hash & (SIZE - 1);
+    }
+
+    private static void profile(boolean hit) {
+        if (ObjectStorageOptions.Profile) {
+            ShapeProfiler.getInstance().trackMegamorphicLookup(hit);
+        }
+    }
+
+    private static final class Entry extends WeakReference<Shape> {
+        final int index;
+        /**
+         * The property, a {@link PropertyReference} to it if it may refer to the shape, or
+         * {@code null} if the shape has no property with the key.
+         */
+        final Object property;
+        /** The {@link String} key if the shape has no property with it, otherwise {@code null}. */
+        final String missingKey;
+
+        Entry(Shape shape, int index, Property property, String missingKey) {
+            super(shape, COLLECTED);
+            this.index = index;
+            if (property == null) {
+                this.property = null;
+            } else if (property.getKey() instanceof String && !property.getLocation().isValue()) {
+                this.property = property;
+            } else {
+                this.property = new PropertyReference(property);
+            }
+            this.missingKey = missingKey;
+        }
+    }
+
+    private static final class PropertyReference extends WeakReference<Property> {
+        PropertyReference(Property property) {
+            super(property);
+        }
+    }
+}
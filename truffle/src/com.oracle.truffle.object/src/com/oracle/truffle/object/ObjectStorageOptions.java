@@ -70,6 +70,12 @@ public final class ObjectStorageOptions {
 
     static final boolean TriePropertyMap = booleanOption(OPTION_PREFIX + "TriePropertyMap", true);
 
+    /**
+     * Global (shape, key) lookup cache for property accesses that exceeded their cache limit.
+     */
+    static final boolean MegamorphicPropertyCache = booleanOption(OPTION_PREFIX + "MegamorphicPropertyCache", true);
+    static final int MegamorphicPropertyCacheSize = Integer.getInteger(OPTION_PREFIX + "MegamorphicPropertyCacheSize", 4096);
+
     // Debug options (should be final)
     /** @since 0.17 or earlier */
     public static final boolean TraceReshape = booleanOption(OPTION_PREFIX + "TraceReshape", false);
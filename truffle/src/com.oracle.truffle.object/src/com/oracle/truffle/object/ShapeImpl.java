@@ -518,6 +518,31 @@ public abstract class ShapeImpl extends Shape {
         }
     }
 
+    /**
+     * Removes transitions to shapes that were garbage collected, as well as transitions whose
+     * weakly referenced constant value was garbage collected. Returns the number of removed
+     * transitions.
+     */
+    final int expungeTransitions() {
+        Object trans;
+        do {
+            trans = TRANSITION_MAP_UPDATER.get(this);
+            if (trans == null) {
+                return 0;
+            } else if (isSingleEntry(trans)) {
+                StrongKeyWeakValueEntry<Object, ShapeImpl> entry = asSingleEntry(trans);
+                if (entry.getValue() != null && unwrapKey(entry.getKey()) != null) {
+                    return 0;
+                }
+            } else {
+                assert isTransitionMap(trans);
+                return asTransitionMap(trans).expunge();
+            }
+        } while (!TRANSITION_MAP_UPDATER.compareAndSet(this, trans, null));
+        shapeCacheExpunged.inc();
+        return 1;
+    }
+
     /** @since 0.17 or earlier */
     public final ShapeImpl queryTransition(Transition transition) {
         ShapeImpl cachedShape = queryTransitionImpl(transition);
@@ -48,6 +48,7 @@ import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.api.object.Shape;
@@ -58,15 +59,27 @@ class ShapeProfiler {
     private static final String BULLET = "* ";
     private static final String TOKEN_SEPARATOR = "\t";
     private final ConcurrentLinkedQueue<DynamicObject> queue;
+    private final LongAdder megamorphicHits;
+    private final LongAdder megamorphicMisses;
 
     ShapeProfiler() {
         queue = new ConcurrentLinkedQueue<>();
+        megamorphicHits = new LongAdder();
+        megamorphicMisses = new LongAdder();
     }
 
     public void track(DynamicObject obj) {
         queue.add(obj);
     }
 
+    public void trackMegamorphicLookup(boolean hit) {
+        if (hit) {
+            megamorphicHits.increment();
+        } else {
+            megamorphicMisses.increment();
+        }
+    }
+
     public void dump(PrintWriter out) {
         ShapeStats globalStats = new ShapeStats("Cumulative results for all shapes");
         for (DynamicObject obj : queue) {
@@ -75,6 +88,21 @@ class ShapeProfiler {
         }
 
         globalStats.dump(out);
+        dumpMegamorphicLookups(out);
+    }
+
+    private void dumpMegamorphicLookups(PrintWriter out) {
+        long hits = megamorphicHits.sum();
+        long lookups = hits + megamorphicMisses.sum();
+        DecimalFormat format = new DecimalFormat("###.####");
+        out.println(LINE_SEPARATOR);
+        out.println(BULLET + "Megamorphic property cache");
+        out.println(LINE_SEPARATOR);
+        out.println(BULLET + "Lookups:\t" + lookups);
+        out.println(BULLET + "Hits:\t" + hits);
+        out.println(BULLET + "Hit rate:\t" + (lookups == 0 ? "-" : format.format((double) hits / lookups)));
+        out.println(LINE_SEPARATOR + "\n");
+        out.flush();
     }
 
     public void dump(PrintWriter out, int topResults) {
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.object;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * Memory report of a shape tree, i.e. of all shapes currently reachable through transitions from a
+ * root shape. Collecting the report optionally expunges transitions to shapes that were already
+ * garbage collected, so that long running applications with dynamic property patterns do not
+ * accumulate stale transition entries until the next transition is added to the same shape.
+ *
+ * @since 21.2
+ */
+public final class ShapeTreeStatistics {
+
+    private int shapes;
+    private int obsoleteShapes;
+    private int leafShapes;
+    private int transitions;
+    private int expungedTransitions;
+    private int maxDepth;
+    private long propertyMapEntries;
+
+    private ShapeTreeStatistics() {
+    }
+
+    /**
+     * Collects statistics for the shape tree that contains the given shape. The tree is walked
+     * starting at the root shape. If {@code expunge} is {@code true}, stale transitions are
+     * removed while walking.
+     *
+     * @since 21.2
+     */
+    public static ShapeTreeStatistics collect(Shape shape, boolean expunge) {
+        ShapeTreeStatistics stats = new ShapeTreeStatistics();
+        Set<ShapeImpl> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        ArrayDeque<ShapeImpl> worklist = new ArrayDeque<>();
+        ShapeImpl root = ((ShapeImpl) shape).getRoot();
+        visited.add(root);
+        worklist.push(root);
+        while (!worklist.isEmpty()) {
+            ShapeImpl current = worklist.pop();
+            stats.visit(current, expunge);
+            current.forEachTransition((transition, successor) -> {
+                if (visited.add(successor)) {
+                    worklist.push(successor);
+                }
+            });
+        }
+        return stats;
+    }
+
+    private void visit(ShapeImpl shape, boolean expunge) {
+        shapes++;
+        if (!shape.isValid()) {
+            obsoleteShapes++;
+        }
+        maxDepth = Math.max(maxDepth, shape.getDepth());
+        propertyMapEntries += shape.getPropertyMap().size();
+
+        if (expunge) {
+            expungedTransitions += shape.expungeTransitions();
+        }
+        int live = countTransitions(shape);
+        if (live == 0) {
+            leafShapes++;
+        }
+        transitions += live;
+    }
+
+    private static int countTransitions(ShapeImpl shape) {
+        int[] count = new int[1];
+        shape.forEachTransition((transition, successor) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Number of shapes in the tree.
+     *
+     * @since 21.2
+     */
+    public int getShapeCount() {
+        return shapes;
+    }
+
+    /**
+     * Number of shapes in the tree that are no longer valid.
+     *
+     * @since 21.2
+     */
+    public int getObsoleteShapeCount() {
+        return obsoleteShapes;
+    }
+
+    /**
+     * Number of shapes without any live outgoing transition.
+     *
+     * @since 21.2
+     */
+    public int getLeafShapeCount() {
+        return leafShapes;
+    }
+
+    /**
+     * Number of live transitions in the tree.
+     *
+     * @since 21.2
+     */
+    public int getTransitionCount() {
+        return transitions;
+    }
+
+    /**
+     * Number of stale transitions that were removed while collecting the statistics.
+     *
+     * @since 21.2
+     */
+    public int getExpungedTransitionCount() {
+        return expungedTransitions;
+    }
+
+    /**
+     * Maximum depth of a shape in the tree.
+     *
+     * @since 21.2
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Sum of the property map sizes of all shapes in the tree. Property maps may share structure,
+     * so this is an upper bound of the number of distinct property map entries.
+     *
+     * @since 21.2
+     */
+    public long getPropertyMapEntryCount() {
+        return propertyMapEntries;
+    }
+
+    /** @since 21.2 */
+    @Override
+    public String toString() {
+        return "ShapeTreeStatistics[shapes=" + shapes + ", obsolete=" + obsoleteShapes + ", leaves=" + leafShapes + ", transitions=" + transitions +
+                        ", expunged=" + expungedTransitions + ", maxDepth=" + maxDepth + ", propertyMapEntries=" + propertyMapEntries + "]";
+    }
+}
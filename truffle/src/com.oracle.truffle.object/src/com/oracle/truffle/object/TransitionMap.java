@@ -51,14 +51,15 @@ import org.graalvm.collections.Equivalence;
 import org.graalvm.collections.MapCursor;
 
 /**
- * A synchronized hash map with weakly referenced values. Cleared value references are expunged only
- * when the map is mutated. Keys may be strongly or weakly referenced.
+ * A synchronized hash map with weakly referenced values. Keys may be strongly or weakly referenced.
+ * Entries whose value or weak key was cleared are expunged when the map is mutated or
+ * {@linkplain #expunge() explicitly}.
  */
 final class TransitionMap<K, V> {
 
     /** Key is either {@code K} or {@code WeakKey<K>}. */
     private final EconomicMap<Object, StrongKeyWeakValueEntry<Object, V>> map;
-    private final ReferenceQueue<V> queue;
+    private final ReferenceQueue<Object> queue;
 
     private static final Equivalence WEAK_KEY_EQUIVALENCE = new WeakKeyEquivalence();
 
@@ -99,9 +100,10 @@ final class TransitionMap<K, V> {
     /**
      * Insert with weakly referenced key.
      */
+    @SuppressWarnings("unchecked")
     public V putWeakKey(K key, V value) {
         ShapeImpl.shapeCacheWeakKeys.inc();
-        WeakKey<K> weakKey = new WeakKey<>(key);
+        WeakKey<K> weakKey = new WeakKey<>(key, (ReferenceQueue<K>) queue);
         return putAnyKey(weakKey, value);
     }
 
@@ -112,16 +114,44 @@ final class TransitionMap<K, V> {
         }
     }
 
-    private void expungeStaleEntries() {
-        for (Reference<? extends V> r; (r = queue.poll()) != null;) {
+    /**
+     * Removes all entries whose value or weak key was cleared, including entries whose references
+     * were not enqueued yet, and returns the number of removed entries.
+     */
+    public int expunge() {
+        synchronized (queue) {
+            int removed = expungeStaleEntries();
+            MapCursor<Object, StrongKeyWeakValueEntry<Object, V>> cursor = map.getEntries();
+            while (cursor.advance()) {
+                if (cursor.getValue().get() == null || unwrapKey(cursor.getKey()) == null) {
+                    cursor.remove();
+                    removed++;
+                    ShapeImpl.shapeCacheExpunged.inc();
+                }
+            }
+            return removed;
+        }
+    }
+
+    private int expungeStaleEntries() {
+        int removed = 0;
+        for (Reference<? extends Object> r; (r = queue.poll()) != null;) {
             if (r instanceof StrongKeyWeakValueEntry<?, ?>) {
                 StrongKeyWeakValueEntry<?, ?> entry = (StrongKeyWeakValueEntry<?, ?>) r;
                 if (map.get(entry.getKey()) == entry) {
                     map.removeKey(entry.getKey());
                     ShapeImpl.shapeCacheExpunged.inc();
+                    removed++;
+                }
+            } else if (r instanceof WeakKey<?>) {
+                // cleared weak keys are only equal to themselves
+                if (map.removeKey(r) != null) {
+                    ShapeImpl.shapeCacheExpunged.inc();
+                    removed++;
                 }
             }
         }
+        return removed;
     }
 
     public void clear() {
@@ -41,6 +41,9 @@
 package com.oracle.truffle.polyglot;
 
 import java.lang.reflect.Array;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.ReadOnlyBufferException;
@@ -808,6 +811,113 @@ final class HostObject implements TruffleObject {
 
     }
 
+    @ExportMessage
+    abstract static class ReadArrayElements {
+
+        @Specialization(guards = {"isArray.execute(receiver)", "isPrimitiveArrayCopy(receiver.obj, destination)"}, limit = "1")
+        protected static void doPrimitiveArray(HostObject receiver, long index, Object destination, int destinationOffset, int length,
+                        @Shared("isArray") @Cached IsArrayNode isArray,
+                        @Shared("error") @Cached BranchProfile error) throws InvalidArrayIndexException {
+            Object obj = receiver.obj;
+            int size = Array.getLength(obj);
+            if (index < 0 || index > size - length) {
+                error.enter();
+                throw InvalidArrayIndexException.create(index < 0 ? index : Math.max(index, size));
+            }
+            System.arraycopy(obj, (int) index, destination, destinationOffset, length);
+        }
+
+        @Specialization(guards = "!isArray.execute(receiver) || !isPrimitiveArrayCopy(receiver.obj, destination)", limit = "1")
+        protected static void doOther(HostObject receiver, long index, Object destination, int destinationOffset, int length,
+                        @Shared("isArray") @Cached IsArrayNode isArray,
+                        @CachedLibrary("receiver") InteropLibrary arrays) throws UnsupportedMessageException, InvalidArrayIndexException, UnsupportedTypeException {
+            if (!arrays.hasArrayElements(receiver)) {
+                throw UnsupportedMessageException.create();
+            }
+            for (int i = 0; i < length; i++) {
+                storeArrayElement(destination, destinationOffset + i, arrays.readArrayElement(receiver, index + i));
+            }
+        }
+
+    }
+
+    @ExportMessage
+    abstract static class WriteArrayElements {
+
+        @Specialization(guards = {"isArray.execute(receiver)", "isPrimitiveArrayCopy(receiver.obj, source)"}, limit = "1")
+        protected static void doPrimitiveArray(HostObject receiver, long index, Object source, int sourceOffset, int length,
+                        @Shared("isArray") @Cached IsArrayNode isArray,
+                        @Shared("error") @Cached BranchProfile error) throws InvalidArrayIndexException {
+            Object obj = receiver.obj;
+            int size = Array.getLength(obj);
+            if (index < 0 || index > size - length) {
+                error.enter();
+                throw InvalidArrayIndexException.create(index < 0 ? index : Math.max(index, size));
+            }
+            System.arraycopy(source, sourceOffset, obj, (int) index, length);
+        }
+
+        @Specialization(guards = "!isArray.execute(receiver) || !isPrimitiveArrayCopy(receiver.obj, source)", limit = "1")
+        protected static void doOther(HostObject receiver, long index, Object source, int sourceOffset, int length,
+                        @Shared("isArray") @Cached IsArrayNode isArray,
+                        @CachedLibrary("receiver") InteropLibrary arrays) throws UnsupportedMessageException, InvalidArrayIndexException, UnsupportedTypeException {
+            if (!arrays.hasArrayElements(receiver)) {
+                throw UnsupportedMessageException.create();
+            }
+            for (int i = 0; i < length; i++) {
+                arrays.writeArrayElement(receiver, index + i, loadArrayElement(source, sourceOffset + i));
+            }
+        }
+
+    }
+
+    /**
+     * Returns {@code true} if the host object is a primitive array of the same type as the array
+     * of a bulk array element transfer, which can then be copied directly.
+     */
+    static boolean isPrimitiveArrayCopy(Object hostObject, Object array) {
+        Class<?> arrayClass = array.getClass();
+        return hostObject != null && hostObject.getClass() == arrayClass && arrayClass.getComponentType().isPrimitive();
+    }
+
+    @TruffleBoundary
+    private static void storeArrayElement(Object destination, int destinationIndex, Object element) throws UnsupportedTypeException {
+        InteropLibrary elements = InteropLibrary.getUncached();
+        try {
+            if (destination instanceof Object[]) {
+                ((Object[]) destination)[destinationIndex] = element;
+            } else if (destination instanceof boolean[]) {
+                ((boolean[]) destination)[destinationIndex] = elements.asBoolean(element);
+            } else if (destination instanceof byte[]) {
+                ((byte[]) destination)[destinationIndex] = elements.asByte(element);
+            } else if (destination instanceof short[]) {
+                ((short[]) destination)[destinationIndex] = elements.asShort(element);
+            } else if (destination instanceof int[]) {
+                ((int[]) destination)[destinationIndex] = elements.asInt(element);
+            } else if (destination instanceof long[]) {
+                ((long[]) destination)[destinationIndex] = elements.asLong(element);
+            } else if (destination instanceof float[]) {
+                ((float[]) destination)[destinationIndex] = elements.asFloat(element);
+            } else if (destination instanceof double[]) {
+                ((double[]) destination)[destinationIndex] = elements.asDouble(element);
+            } else {
+                throw CompilerDirectives.shouldNotReachHere("Unsupported array type " + destination.getClass().getName());
+            }
+        } catch (UnsupportedMessageException e) {
+            throw UnsupportedTypeException.create(new Object[]{element}, "Array element does not fit into " + destination.getClass().getComponentType().getName() + ".");
+        }
+    }
+
+    @TruffleBoundary
+    private static Object loadArrayElement(Object source, int sourceIndex) {
+        if (source instanceof Object[]) {
+            return ((Object[]) source)[sourceIndex];
+        } else {
+            // Boxes the primitive element.
+            return Array.get(source, sourceIndex);
+        }
+    }
+
     // region Buffer Messages
 
     @ExportMessage
@@ -1254,6 +1364,75 @@ final class HostObject implements TruffleObject {
         buffer.putDouble(index, value);
     }
 
+    @ExportMessage
+    public void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("error") @Cached BranchProfile error,
+                    @Shared("classProfile") @Cached("createClassProfile()") ValueProfile classProfile) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (!isBuffer.execute(this)) {
+            error.enter();
+            throw UnsupportedMessageException.create();
+        }
+        if (byteOffset < 0 || length < 0 || Integer.MAX_VALUE - length < byteOffset) {
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        try {
+            getBufferBoundary((ByteBuffer) classProfile.profile(obj), (int) byteOffset, destination, destinationOffset, length);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+    }
+
+    @TruffleBoundary
+    private static void getBufferBoundary(ByteBuffer buffer, int byteOffset, byte[] destination, int destinationOffset, int length) {
+        if (byteOffset > buffer.limit() - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        // Copy through a duplicate so that the position of the shared buffer is left untouched.
+        final ByteBuffer duplicate = buffer.duplicate();
+        ((Buffer) duplicate).position(byteOffset);
+        duplicate.get(destination, destinationOffset, length);
+    }
+
+    @ExportMessage
+    public void writeBuffer(long byteOffset, byte[] source, int sourceOffset, int length,
+                    @Shared("isBuffer") @Cached IsBufferNode isBuffer,
+                    @Shared("error") @Cached BranchProfile error,
+                    @Shared("classProfile") @Cached("createClassProfile()") ValueProfile classProfile) throws UnsupportedMessageException, InvalidBufferOffsetException {
+        if (!isBuffer.execute(this)) {
+            error.enter();
+            throw UnsupportedMessageException.create();
+        }
+        if (byteOffset < 0 || length < 0 || Integer.MAX_VALUE - length < byteOffset) {
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        try {
+            putBufferBoundary((ByteBuffer) classProfile.profile(obj), (int) byteOffset, source, sourceOffset, length);
+        } catch (IndexOutOfBoundsException | BufferOverflowException e) {
+            error.enter();
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        } catch (ReadOnlyBufferException e) {
+            error.enter();
+            throw UnsupportedMessageException.create();
+        }
+    }
+
+    @TruffleBoundary
+    private static void putBufferBoundary(ByteBuffer buffer, int byteOffset, byte[] source, int sourceOffset, int length) {
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        if (byteOffset > buffer.limit() - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        final ByteBuffer duplicate = buffer.duplicate();
+        ((Buffer) duplicate).position(byteOffset);
+        duplicate.put(source, sourceOffset, length);
+    }
+
     // endregion
 
     @ExportMessage
@@ -65,6 +65,7 @@ import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 
@@ -221,7 +222,16 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
     boolean inContextPreInitialization; // effectively final
     List<Source> sourcesToInvalidate;  // Non null only during content pre-initialization
 
+    /*
+     * Statements not yet leased to any of the statement stripes. Only used if the context is
+     * accessed by multiple threads.
+     */
     final AtomicLong volatileStatementCounter = new AtomicLong();
+    /*
+     * Statements leased to the threads of the context, created by the first statement that is
+     * counted while multiple threads may access the context.
+     */
+    volatile AtomicLongArray statementStripes;
     long statementCounter;
     final long statementLimit;
     private volatile Object contextBoundLoggers;
@@ -757,7 +767,7 @@ final class PolyglotContextImpl extends AbstractContextImpl implements com.oracl
         if (engine.singleThreadPerContext.isValid()) {
             count = this.statementCounter;
         } else {
-            count = this.volatileStatementCounter.get();
+            count = PolyglotLimits.getStripedStatementsRemaining(this);
         }
         return statementLimit - count;
     }
@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.polyglot;
 
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -50,6 +51,7 @@ import org.graalvm.polyglot.Source;
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
@@ -71,6 +73,24 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
  */
 final class PolyglotLimits {
 
+    /*
+     * Number of statements a thread leases at once from the shared statement budget of a
+     * multi-threaded context. Leased statements are counted down in the stripe of the thread, the
+     * context lock is only taken when a lease is used up.
+     */
+    static final long STATEMENT_LEASE = 1024;
+
+    /*
+     * Number of statement counter stripes per context. Must be a power of two.
+     */
+    private static final int STATEMENT_STRIPES = 16;
+
+    /*
+     * Distance between two stripes in the counter array, such that every stripe uses its own cache
+     * line.
+     */
+    private static final int STRIPE_PADDING = 8;
+
     final long statementLimit;
     final Predicate<Source> statementLimitSourcePredicate;
     final Consumer<ResourceLimitEvent> onEvent;
@@ -84,8 +104,99 @@ final class PolyglotLimits {
     static void reset(PolyglotContextImpl context) {
         synchronized (context) {
             context.statementCounter = context.statementLimit;
-            context.volatileStatementCounter.set(context.statementLimit);
+            resetStriped(context);
+        }
+    }
+
+    /**
+     * Returns the statement stripes of a context and creates them if needed. Single-threaded
+     * contexts and contexts without statement limit never count striped statements, so the
+     * stripes are only allocated once needed.
+     */
+    @TruffleBoundary
+    static AtomicLongArray getStatementStripes(PolyglotContextImpl context) {
+        AtomicLongArray stripes = context.statementStripes;
+        if (stripes == null) {
+            synchronized (context) {
+                stripes = context.statementStripes;
+                if (stripes == null) {
+                    stripes = new AtomicLongArray(STATEMENT_STRIPES * STRIPE_PADDING);
+                    context.statementStripes = stripes;
+                }
+            }
+        }
+        return stripes;
+    }
+
+    static int currentStatementStripe() {
+        return ((int) Thread.currentThread().getId() & (STATEMENT_STRIPES - 1)) * STRIPE_PADDING;
+    }
+
+    /**
+     * Returns the number of statements a multi-threaded context may still execute. Statements that
+     * are concurrently executed by other threads may or may not be accounted for.
+     */
+    static long getStripedStatementsRemaining(PolyglotContextImpl context) {
+        AtomicLongArray stripes = context.statementStripes;
+        long remaining = context.volatileStatementCounter.get();
+        if (stripes == null) {
+            return remaining;
+        }
+        for (int i = 0; i < stripes.length(); i += STRIPE_PADDING) {
+            remaining += stripes.get(i);
         }
+        return remaining;
+    }
+
+    /**
+     * Slow-path of the striped statement counter, invoked if the stripe of the current thread used
+     * up its leased statements. Leases new statements from the shared budget of the context. If the
+     * shared budget is too small for a full lease the statements leased to all other stripes are
+     * returned first, so the limit is enforced exactly. Returns a negative value if the statement
+     * limit was exceeded. The budget then stays exhausted, such that other threads that run out of
+     * leased statements before the cancellation reaches them cannot execute further statements.
+     */
+    @TruffleBoundary
+    static long leaseStatements(PolyglotContextImpl context, int stripe) {
+        AtomicLongArray stripes = getStatementStripes(context);
+        synchronized (context) {
+            long remaining = context.volatileStatementCounter.get();
+            if (remaining < 0) {
+                // the limit was exceeded, possibly after the stripe was collected
+                return remaining;
+            }
+            long current = stripes.get(stripe);
+            if (current >= 0) {
+                // the stripe was refilled by another thread in the meantime
+                return current;
+            }
+            if (remaining < STATEMENT_LEASE) {
+                for (int i = 0; i < stripes.length(); i += STRIPE_PADDING) {
+                    remaining += stripes.getAndSet(i, 0);
+                }
+            } else {
+                remaining += stripes.getAndSet(stripe, 0);
+            }
+            if (remaining < 0) {
+                context.volatileStatementCounter.set(remaining);
+                return remaining;
+            }
+            long lease = Math.min(remaining, STATEMENT_LEASE);
+            context.volatileStatementCounter.set(remaining - lease);
+            // other threads may have decremented the stripe after it was collected
+            return stripes.addAndGet(stripe, lease);
+        }
+    }
+
+    private static void resetStriped(PolyglotContextImpl context) {
+        assert Thread.holdsLock(context);
+        AtomicLongArray stripes = context.statementStripes;
+        if (stripes != null) {
+            for (int i = 0; i < stripes.length(); i += STRIPE_PADDING) {
+                stripes.set(i, 0);
+            }
+        }
+        context.volatileStatementCounter.set(context.statementLimit);
     }
 
     static final Object CACHED_CONTEXT = new Object() {
@@ -143,7 +254,16 @@ final class PolyglotLimits {
             if (engine.singleThreadPerContext.isValid()) {
                 count = --currentContext.statementCounter;
             } else {
-                count = currentContext.volatileStatementCounter.decrementAndGet();
+                int stripe = currentStatementStripe();
+                AtomicLongArray stripes = currentContext.statementStripes;
+                if (stripes == null) {
+                    stripes = getStatementStripes(currentContext);
+                }
+                count = stripes.decrementAndGet(stripe);
+                if (count < 0) {
+                    // lease used up, not necessarily overflowed
+                    count = leaseStatements(currentContext, stripe);
+                }
             }
             if (count < 0) { // overflowed
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -177,10 +297,8 @@ final class PolyglotLimits {
                         limitReached = true;
                     }
                 } else {
-                    if (context.volatileStatementCounter.get() < 0) {
-                        context.volatileStatementCounter.set(limit);
-                        limitReached = true;
-                    }
+                    // the budget stays exhausted until the context is cancelled
+                    limitReached = true;
                 }
             }
             if (limitReached) {
@@ -194,6 +312,9 @@ final class PolyglotLimits {
                         throw e;
                     }
                     throw context.createCancelException(eventContext.getInstrumentedNode());
+                } else if (!limits.engine.singleThreadPerContext.isValid()) {
+                    // another thread reached the limit first
+                    throw context.createCancelException(eventContext.getInstrumentedNode());
                 }
             }
 
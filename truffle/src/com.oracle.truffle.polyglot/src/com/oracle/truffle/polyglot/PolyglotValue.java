@@ -125,6 +125,7 @@ import org.graalvm.polyglot.TypeLiteral;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.impl.AbstractPolyglotImpl.AbstractValueImpl;
 
+import java.lang.reflect.Array;
 import java.nio.ByteOrder;
 import java.time.Duration;
 import java.time.Instant;
@@ -239,6 +240,40 @@ abstract class PolyglotValue extends AbstractValueImpl {
         throw unsupported(context, receiver, "getArraySize()", "hasArrayElements()");
     }
 
+    @Override
+    public void readArrayElements(Object receiver, long index, Object destination, int destinationOffset, int length) {
+        Object prev = hostEnter(languageContext);
+        try {
+            throw readArrayElementsUnsupported(languageContext, receiver);
+        } catch (Throwable e) {
+            throw PolyglotImpl.guestToHostException(languageContext, e, true);
+        } finally {
+            hostLeave(languageContext, prev);
+        }
+    }
+
+    @TruffleBoundary
+    static RuntimeException readArrayElementsUnsupported(PolyglotLanguageContext context, Object receiver) {
+        throw unsupported(context, receiver, "readArrayElements(long, Object, int, int)", "hasArrayElements()");
+    }
+
+    @Override
+    public void writeArrayElements(Object receiver, long index, Object source, int sourceOffset, int length) {
+        Object prev = hostEnter(languageContext);
+        try {
+            throw writeArrayElementsUnsupported(languageContext, receiver);
+        } catch (Throwable e) {
+            throw PolyglotImpl.guestToHostException(languageContext, e, true);
+        } finally {
+            hostLeave(languageContext, prev);
+        }
+    }
+
+    @TruffleBoundary
+    static RuntimeException writeArrayElementsUnsupported(PolyglotLanguageContext context, Object receiver) {
+        throw unsupported(context, receiver, "writeArrayElements(long, Object, int, int)", "hasArrayElements()");
+    }
+
     // region Buffer Methods
 
     @Override
@@ -309,6 +344,40 @@ abstract class PolyglotValue extends AbstractValueImpl {
         return unsupported(context, receiver, "writeBufferByte()", "hasBufferElements()");
     }
 
+    @Override
+    public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedOperationException, IndexOutOfBoundsException {
+        final Object prev = hostEnter(languageContext);
+        try {
+            throw readBufferUnsupported(languageContext, receiver);
+        } catch (Throwable e) {
+            throw PolyglotImpl.guestToHostException(languageContext, e, true);
+        } finally {
+            hostLeave(languageContext, prev);
+        }
+    }
+
+    @TruffleBoundary
+    static RuntimeException readBufferUnsupported(PolyglotLanguageContext context, Object receiver) {
+        return unsupported(context, receiver, "readBuffer()", "hasBufferElements()");
+    }
+
+    @Override
+    public void writeBuffer(Object receiver, long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedOperationException, IndexOutOfBoundsException {
+        final Object prev = hostEnter(languageContext);
+        try {
+            throw writeBufferUnsupported(languageContext, receiver);
+        } catch (Throwable e) {
+            throw PolyglotImpl.guestToHostException(languageContext, e, true);
+        } finally {
+            hostLeave(languageContext, prev);
+        }
+    }
+
+    @TruffleBoundary
+    static RuntimeException writeBufferUnsupported(PolyglotLanguageContext context, Object receiver) {
+        return unsupported(context, receiver, "writeBuffer()", "hasBufferElements()");
+    }
+
     @Override
     public short readBufferShort(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedOperationException, IndexOutOfBoundsException {
         final Object prev = hostEnter(languageContext);
@@ -485,6 +554,12 @@ abstract class PolyglotValue extends AbstractValueImpl {
         throw PolyglotEngineException.bufferIndexOutOfBounds(message);
     }
 
+    @TruffleBoundary
+    protected static RuntimeException invalidArrayRange(byte[] array, int offset, int length) {
+        final String message = String.format("Invalid array range of length %d at offset %d for array of length %d.", length, offset, array.length);
+        throw PolyglotEngineException.arrayIndexOutOfBounds(message);
+    }
+
     // endregion
 
     @Override
@@ -1269,6 +1344,24 @@ abstract class PolyglotValue extends AbstractValueImpl {
         throw PolyglotEngineException.arrayIndexOutOfBounds(message);
     }
 
+    @TruffleBoundary
+    protected static RuntimeException invalidElementArray(Object array) {
+        String type = array == null ? "null" : array.getClass().getTypeName();
+        throw PolyglotEngineException.illegalArgument(String.format("Invalid array type %s. Expected an array of boolean, byte, short, int, long, float or double.", type));
+    }
+
+    @TruffleBoundary
+    protected static RuntimeException invalidElementArrayRange(Object array, int offset, int length) {
+        final String message = String.format("Invalid array range of length %d at offset %d for array of length %d.", length, offset, Array.getLength(array));
+        throw PolyglotEngineException.arrayIndexOutOfBounds(message);
+    }
+
+    @TruffleBoundary
+    protected static RuntimeException invalidArrayElementType(PolyglotLanguageContext context, Object receiver, long identifier, Class<?> componentType) {
+        throw PolyglotEngineException.classCast(
+                        String.format("Array elements starting at index %s of array %s do not fit into %s.", identifier, getValueInfo(context, receiver), componentType.getName()));
+    }
+
     @TruffleBoundary
     protected static RuntimeException invalidArrayValue(PolyglotLanguageContext context, Object receiver, long identifier, Object value) {
         throw PolyglotEngineException.classCast(
@@ -1539,6 +1632,10 @@ abstract class PolyglotValue extends AbstractValueImpl {
         final CallTarget getBufferSize;
         final CallTarget readBufferByte;
         final CallTarget writeBufferByte;
+        final CallTarget readBuffer;
+        final CallTarget writeBuffer;
+        final CallTarget readArrayElements;
+        final CallTarget writeArrayElements;
         final CallTarget readBufferShort;
         final CallTarget writeBufferShort;
         final CallTarget readBufferInt;
@@ -1623,6 +1720,10 @@ abstract class PolyglotValue extends AbstractValueImpl {
             this.getBufferSize = createTarget(GetBufferSizeNodeGen.create(this));
             this.readBufferByte = createTarget(PolyglotValueFactory.InteropCodeCacheFactory.ReadBufferByteNodeGen.create(this));
             this.writeBufferByte = createTarget(WriteBufferByteNodeGen.create(this));
+            this.readBuffer = createTarget(PolyglotValueFactory.InteropCodeCacheFactory.ReadBufferNodeGen.create(this));
+            this.writeBuffer = createTarget(PolyglotValueFactory.InteropCodeCacheFactory.WriteBufferNodeGen.create(this));
+            this.readArrayElements = createTarget(PolyglotValueFactory.InteropCodeCacheFactory.ReadArrayElementsNodeGen.create(this));
+            this.writeArrayElements = createTarget(PolyglotValueFactory.InteropCodeCacheFactory.WriteArrayElementsNodeGen.create(this));
             this.readBufferShort = createTarget(PolyglotValueFactory.InteropCodeCacheFactory.ReadBufferShortNodeGen.create(this));
             this.writeBufferShort = createTarget(WriteBufferShortNodeGen.create(this));
             this.readBufferInt = createTarget(ReadBufferIntNodeGen.create(this));
@@ -2174,6 +2275,111 @@ abstract class PolyglotValue extends AbstractValueImpl {
             }
         }
 
+        abstract static class ReadArrayElementsNode extends InteropNode {
+
+            protected ReadArrayElementsNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, Long.class, null, Integer.class, Integer.class};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "readArrayElements";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary arrays,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile invalidIndex,
+                            @Cached BranchProfile invalidValue) {
+                final long index = (long) args[ARGUMENT_OFFSET];
+                final Object destination = args[ARGUMENT_OFFSET + 1];
+                final int destinationOffset = (int) args[ARGUMENT_OFFSET + 2];
+                final int length = (int) args[ARGUMENT_OFFSET + 3];
+                if (!isPrimitiveElementArray(destination)) {
+                    invalidIndex.enter();
+                    throw invalidElementArray(destination);
+                }
+                if (destinationOffset < 0 || length < 0 || destinationOffset > Array.getLength(destination) - length) {
+                    invalidIndex.enter();
+                    throw invalidElementArrayRange(destination, destinationOffset, length);
+                }
+                try {
+                    arrays.readArrayElements(receiver, index, destination, destinationOffset, length);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw readArrayElementsUnsupported(context, receiver);
+                } catch (InvalidArrayIndexException e) {
+                    invalidIndex.enter();
+                    throw invalidArrayIndex(context, receiver, e.getInvalidIndex());
+                } catch (UnsupportedTypeException e) {
+                    invalidValue.enter();
+                    throw invalidArrayElementType(context, receiver, index, destination.getClass().getComponentType());
+                }
+                return null;
+            }
+        }
+
+        abstract static class WriteArrayElementsNode extends InteropNode {
+
+            protected WriteArrayElementsNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, Long.class, null, Integer.class, Integer.class};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "writeArrayElements";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary arrays,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile invalidIndex,
+                            @Cached BranchProfile invalidValue) {
+                final long index = (long) args[ARGUMENT_OFFSET];
+                final Object source = args[ARGUMENT_OFFSET + 1];
+                final int sourceOffset = (int) args[ARGUMENT_OFFSET + 2];
+                final int length = (int) args[ARGUMENT_OFFSET + 3];
+                if (!isPrimitiveElementArray(source)) {
+                    invalidIndex.enter();
+                    throw invalidElementArray(source);
+                }
+                if (sourceOffset < 0 || length < 0 || sourceOffset > Array.getLength(source) - length) {
+                    invalidIndex.enter();
+                    throw invalidElementArrayRange(source, sourceOffset, length);
+                }
+                try {
+                    arrays.writeArrayElements(receiver, index, source, sourceOffset, length);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw writeArrayElementsUnsupported(context, receiver);
+                } catch (InvalidArrayIndexException e) {
+                    invalidIndex.enter();
+                    throw invalidArrayIndex(context, receiver, e.getInvalidIndex());
+                } catch (UnsupportedTypeException e) {
+                    invalidValue.enter();
+                    throw invalidArrayValue(context, receiver, index, e.getSuppliedValues().length > 0 ? e.getSuppliedValues()[0] : null);
+                }
+                return null;
+            }
+        }
+
+        static boolean isPrimitiveElementArray(Object array) {
+            return array instanceof boolean[] || array instanceof byte[] || array instanceof short[] || array instanceof int[] || array instanceof long[] || array instanceof float[] ||
+                            array instanceof double[];
+        }
+
         abstract static class RemoveArrayElementNode extends InteropNode {
 
             protected RemoveArrayElementNode(InteropCodeCache interop) {
@@ -2404,6 +2610,103 @@ abstract class PolyglotValue extends AbstractValueImpl {
 
         }
 
+        abstract static class ReadBufferNode extends InteropNode {
+
+            protected ReadBufferNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, Long.class, byte[].class, Integer.class, Integer.class};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "readBuffer";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary buffers,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile invalidIndex) {
+                final long byteOffset = (long) args[ARGUMENT_OFFSET];
+                final byte[] destination = (byte[]) args[ARGUMENT_OFFSET + 1];
+                final int destinationOffset = (int) args[ARGUMENT_OFFSET + 2];
+                final int length = (int) args[ARGUMENT_OFFSET + 3];
+                if (destination == null) {
+                    invalidIndex.enter();
+                    throw PolyglotEngineException.nullPointer("The destination array must not be null.");
+                }
+                if (destinationOffset < 0 || length < 0 || destinationOffset > destination.length - length) {
+                    invalidIndex.enter();
+                    throw invalidArrayRange(destination, destinationOffset, length);
+                }
+                try {
+                    buffers.readBuffer(receiver, byteOffset, destination, destinationOffset, length);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    throw readBufferUnsupported(context, receiver);
+                } catch (InvalidBufferOffsetException e) {
+                    invalidIndex.enter();
+                    throw invalidBufferIndex(context, receiver, e.getByteOffset(), e.getLength());
+                }
+                return null;
+            }
+
+        }
+
+        abstract static class WriteBufferNode extends InteropNode {
+
+            protected WriteBufferNode(InteropCodeCache interop) {
+                super(interop);
+            }
+
+            @Override
+            protected Class<?>[] getArgumentTypes() {
+                return new Class<?>[]{PolyglotLanguageContext.class, polyglot.receiverType, Long.class, byte[].class, Integer.class, Integer.class};
+            }
+
+            @Override
+            protected String getOperationName() {
+                return "writeBuffer";
+            }
+
+            @Specialization(limit = "CACHE_LIMIT")
+            static Object doCached(PolyglotLanguageContext context, Object receiver, Object[] args, //
+                            @CachedLibrary("receiver") InteropLibrary buffers,
+                            @Cached BranchProfile unsupported,
+                            @Cached BranchProfile invalidIndex) {
+                final long byteOffset = (long) args[ARGUMENT_OFFSET];
+                final byte[] source = (byte[]) args[ARGUMENT_OFFSET + 1];
+                final int sourceOffset = (int) args[ARGUMENT_OFFSET + 2];
+                final int length = (int) args[ARGUMENT_OFFSET + 3];
+                if (source == null) {
+                    invalidIndex.enter();
+                    throw PolyglotEngineException.nullPointer("The source array must not be null.");
+                }
+                if (sourceOffset < 0 || length < 0 || sourceOffset > source.length - length) {
+                    invalidIndex.enter();
+                    throw invalidArrayRange(source, sourceOffset, length);
+                }
+                try {
+                    buffers.writeBuffer(receiver, byteOffset, source, sourceOffset, length);
+                } catch (UnsupportedMessageException e) {
+                    unsupported.enter();
+                    if (buffers.hasBufferElements(receiver)) {
+                        throw unsupported(context, receiver, "writeBuffer()", "isBufferWritable()");
+                    }
+                    throw writeBufferUnsupported(context, receiver);
+                } catch (InvalidBufferOffsetException e) {
+                    invalidIndex.enter();
+                    throw invalidBufferIndex(context, receiver, e.getByteOffset(), e.getLength());
+                }
+                return null;
+            }
+
+        }
+
         abstract static class ReadBufferShortNode extends InteropNode {
 
             protected ReadBufferShortNode(InteropCodeCache interop) {
@@ -4347,6 +4650,26 @@ abstract class PolyglotValue extends AbstractValueImpl {
             RUNTIME.callProfiled(cache.writeBufferByte, languageContext, receiver, byteOffset, value);
         }
 
+        @Override
+        public void readArrayElements(Object receiver, long index, Object destination, int destinationOffset, int length) {
+            RUNTIME.callProfiled(cache.readArrayElements, languageContext, receiver, index, destination, destinationOffset, length);
+        }
+
+        @Override
+        public void writeArrayElements(Object receiver, long index, Object source, int sourceOffset, int length) {
+            RUNTIME.callProfiled(cache.writeArrayElements, languageContext, receiver, index, source, sourceOffset, length);
+        }
+
+        @Override
+        public void readBuffer(Object receiver, long byteOffset, byte[] destination, int destinationOffset, int length) throws UnsupportedOperationException, IndexOutOfBoundsException {
+            RUNTIME.callProfiled(cache.readBuffer, languageContext, receiver, byteOffset, destination, destinationOffset, length);
+        }
+
+        @Override
+        public void writeBuffer(Object receiver, long byteOffset, byte[] source, int sourceOffset, int length) throws UnsupportedOperationException, IndexOutOfBoundsException {
+            RUNTIME.callProfiled(cache.writeBuffer, languageContext, receiver, byteOffset, source, sourceOffset, length);
+        }
+
         @Override
         public short readBufferShort(Object receiver, ByteOrder order, long byteOffset) throws UnsupportedOperationException, IndexOutOfBoundsException {
             return (short) RUNTIME.callProfiled(cache.readBufferShort, languageContext, receiver, order, byteOffset);
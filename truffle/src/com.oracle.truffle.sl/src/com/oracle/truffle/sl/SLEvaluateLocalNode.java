@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.sl;
 
+import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -58,7 +59,13 @@ final class SLEvaluateLocalNode extends RootNode {
 
     @Override
     public Object execute(VirtualFrame currentFrame) {
-        for (FrameSlot slot : inspectFrame.getFrameDescriptor().getSlots()) {
+        FrameDescriptor frameDescriptor = inspectFrame.getFrameDescriptor();
+        for (int slot = 0; slot < frameDescriptor.getNumberOfSlots(); slot++) {
+            if (variable.equals(frameDescriptor.getSlotName(slot))) {
+                return inspectFrame.getValue(slot);
+            }
+        }
+        for (FrameSlot slot : frameDescriptor.getSlots()) {
             if (variable.equals(slot.getIdentifier())) {
                 return inspectFrame.getValue(slot);
             }
@@ -44,9 +44,11 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameInstance;
 import com.oracle.truffle.api.frame.FrameInstance.FrameAccess;
 import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.nodes.NodeInfo;
 
 /**
@@ -60,7 +62,15 @@ public abstract class SLHelloEqualsWorldBuiltin extends SLBuiltinNode {
     public String change() {
         FrameInstance frameInstance = Truffle.getRuntime().getCallerFrame();
         Frame frame = frameInstance.getFrame(FrameAccess.READ_WRITE);
-        FrameSlot slot = frame.getFrameDescriptor().findOrAddFrameSlot("hello");
+        FrameDescriptor frameDescriptor = frame.getFrameDescriptor();
+        for (int i = 0; i < frameDescriptor.getNumberOfSlots(); i++) {
+            if ("hello".equals(frameDescriptor.getSlotName(i))) {
+                frameDescriptor.setSlotKind(i, FrameSlotKind.Object);
+                frame.setObject(i, "world");
+                return "world";
+            }
+        }
+        FrameSlot slot = frameDescriptor.findOrAddFrameSlot("hello");
         frame.setObject(slot, "world");
         return "world";
     }
@@ -91,6 +91,9 @@ public abstract class SLStackTraceBuiltin extends SLBuiltinNode {
                 }
                 str.append("Frame: ").append(rn.toString());
                 FrameDescriptor frameDescriptor = frame.getFrameDescriptor();
+                for (int i = 0; i < frameDescriptor.getNumberOfSlots(); i++) {
+                    str.append(", ").append(frameDescriptor.getSlotName(i)).append("=").append(frame.getValue(i));
+                }
                 for (FrameSlot s : frameDescriptor.getSlots()) {
                     str.append(", ").append(s.getIdentifier()).append("=").append(frame.getValue(s));
                 }
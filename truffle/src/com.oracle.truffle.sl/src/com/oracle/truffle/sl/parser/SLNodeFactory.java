@@ -52,7 +52,6 @@ import org.antlr.v4.runtime.Token;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.frame.FrameDescriptor;
-import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameSlotKind;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
@@ -108,7 +107,7 @@ public class SLNodeFactory {
      */
     static class LexicalScope {
         protected final LexicalScope outer;
-        protected final Map<String, FrameSlot> locals;
+        protected final Map<String, Integer> locals;
 
         LexicalScope(LexicalScope outer) {
             this.outer = outer;
@@ -128,7 +127,8 @@ public class SLNodeFactory {
     private String functionName;
     private int functionBodyStartPos; // includes parameter list
     private int parameterCount;
-    private FrameDescriptor frameDescriptor;
+    private FrameDescriptor.Builder frameDescriptorBuilder;
+    private Map<String, Integer> frameSlots;
     private List<SLStatementNode> methodNodes;
 
     /* State while parsing a block. */
@@ -150,13 +150,14 @@ public class SLNodeFactory {
         assert functionName == null;
         assert functionBodyStartPos == 0;
         assert parameterCount == 0;
-        assert frameDescriptor == null;
+        assert frameDescriptorBuilder == null;
         assert lexicalScope == null;
 
         functionStartPos = nameToken.getStartIndex();
         functionName = nameToken.getText();
         functionBodyStartPos = bodyStartToken.getStartIndex();
-        frameDescriptor = new FrameDescriptor();
+        frameDescriptorBuilder = FrameDescriptor.newBuilder();
+        frameSlots = new HashMap<>();
         methodNodes = new ArrayList<>();
         startBlock();
     }
@@ -188,7 +189,7 @@ public class SLNodeFactory {
             final SLFunctionBodyNode functionBodyNode = new SLFunctionBodyNode(methodBlock);
             functionBodyNode.setSourceSection(functionSrc.getCharIndex(), functionSrc.getCharLength());
 
-            final SLRootNode rootNode = new SLRootNode(language, frameDescriptor, functionBodyNode, functionSrc, functionName);
+            final SLRootNode rootNode = new SLRootNode(language, frameDescriptorBuilder.build(), functionBodyNode, functionSrc, functionName);
             allFunctions.put(functionName, Truffle.getRuntime().createCallTarget(rootNode));
         }
 
@@ -196,7 +197,8 @@ public class SLNodeFactory {
         functionName = null;
         functionBodyStartPos = 0;
         parameterCount = 0;
-        frameDescriptor = null;
+        frameDescriptorBuilder = null;
+        frameSlots = null;
         lexicalScope = null;
     }
 
@@ -455,11 +457,12 @@ public class SLNodeFactory {
         }
 
         String name = ((SLStringLiteralNode) nameNode).executeGeneric(null);
-        FrameSlot frameSlot = frameDescriptor.findOrAddFrameSlot(
-                        name,
-                        argumentIndex,
-                        FrameSlotKind.Illegal);
-        FrameSlot existingSlot = lexicalScope.locals.put(name, frameSlot);
+        Integer frameSlot = frameSlots.get(name);
+        if (frameSlot == null) {
+            frameSlot = frameDescriptorBuilder.addSlot(FrameSlotKind.Illegal, name, argumentIndex);
+            frameSlots.put(name, frameSlot);
+        }
+        Integer existingSlot = lexicalScope.locals.put(name, frameSlot);
         boolean newVariable = existingSlot == null;
         final SLExpressionNode result = SLWriteLocalVariableNodeGen.create(valueNode, frameSlot, nameNode, newVariable);
 
@@ -495,7 +498,7 @@ public class SLNodeFactory {
 
         String name = ((SLStringLiteralNode) nameNode).executeGeneric(null);
         final SLExpressionNode result;
-        final FrameSlot frameSlot = lexicalScope.locals.get(name);
+        final Integer frameSlot = lexicalScope.locals.get(name);
         if (frameSlot != null) {
             /* Read of a local variable. */
             result = SLReadLocalVariableNodeGen.create(frameSlot);
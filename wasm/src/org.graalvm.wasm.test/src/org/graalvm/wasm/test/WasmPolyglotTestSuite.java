@@ -41,13 +41,18 @@
 package org.graalvm.wasm.test;
 
 import com.oracle.truffle.api.TruffleLanguage;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.InteropLibrary;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.io.ByteSequence;
 import org.graalvm.wasm.WasmContext;
+import org.graalvm.wasm.api.MemoryArrayBuffer;
+import org.graalvm.wasm.memory.ByteArrayWasmMemory;
 import org.graalvm.wasm.memory.UnsafeWasmMemory;
+import org.graalvm.wasm.memory.WasmMemory;
 import org.graalvm.wasm.utils.Assert;
 import org.junit.Test;
 
@@ -102,6 +107,39 @@ public class WasmPolyglotTestSuite {
         Assert.assertTrue("Memory should have been freed.", memory.freed());
     }
 
+    @Test
+    public void memoryArrayRangeChecked() throws InteropException {
+        for (WasmMemory memory : new WasmMemory[]{new UnsafeWasmMemory(1, 1, 1), new ByteArrayWasmMemory(1, 1, 1)}) {
+            final Object buffer = new MemoryArrayBuffer(memory);
+            final InteropLibrary interop = InteropLibrary.getUncached();
+            final byte[] array = new byte[4];
+            try {
+                memory.copyToArray(null, 0, array, 2, 8);
+                Assert.fail("Should have thrown");
+            } catch (ArrayIndexOutOfBoundsException e) {
+            }
+            try {
+                memory.copyFromArray(null, array, -1, 0, 2);
+                Assert.fail("Should have thrown");
+            } catch (ArrayIndexOutOfBoundsException e) {
+            }
+            try {
+                interop.readBuffer(buffer, 0, array, 3, 4);
+                Assert.fail("Should have thrown");
+            } catch (ArrayIndexOutOfBoundsException e) {
+            }
+            try {
+                interop.writeBuffer(buffer, 0, array, 1, 4);
+                Assert.fail("Should have thrown");
+            } catch (ArrayIndexOutOfBoundsException e) {
+            }
+            interop.writeBuffer(buffer, 8, new byte[]{7, 8, 9}, 1, 2);
+            interop.readBuffer(buffer, 8, array, 0, 2);
+            Assert.assertEquals("Should be equal: ", (byte) 8, array[0]);
+            Assert.assertEquals("Should be equal: ", (byte) 9, array[1]);
+        }
+    }
+
     @Test
     public void overwriteElement() throws IOException, InterruptedException {
         final ByteSequence test = ByteSequence.create(compileWat("test", textOverwriteElement));
@@ -86,6 +86,15 @@ public class MemoryArrayBuffer implements TruffleObject {
         return (byte) memory.load_i32_8s(null, (int) byteOffset);
     }
 
+    @ExportMessage
+    final void readBuffer(long byteOffset, byte[] destination, int destinationOffset, int length) throws InvalidBufferOffsetException {
+        if (byteOffset < 0 || length < 0 || getBufferSize() - length < byteOffset) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        WasmMemory.checkArrayRange(destination, destinationOffset, length);
+        memory.copyToArray(null, (int) byteOffset, destination, destinationOffset, length);
+    }
+
     @ExportMessage
     final short readBufferShort(ByteOrder order, long byteOffset) throws InvalidBufferOffsetException {
         checkOffset(byteOffset, Short.BYTES);
@@ -148,6 +157,15 @@ public class MemoryArrayBuffer implements TruffleObject {
         memory.store_i32_8(null, (int) byteOffset, value);
     }
 
+    @ExportMessage
+    final void writeBuffer(long byteOffset, byte[] source, int sourceOffset, int length) throws InvalidBufferOffsetException {
+        if (byteOffset < 0 || length < 0 || getBufferSize() - length < byteOffset) {
+            throw InvalidBufferOffsetException.create(byteOffset, length);
+        }
+        WasmMemory.checkArrayRange(source, sourceOffset, length);
+        memory.copyFromArray(null, source, sourceOffset, (int) byteOffset, length);
+    }
+
     @ExportMessage
     final void writeBufferShort(ByteOrder order, long byteOffset, short value) throws InvalidBufferOffsetException {
         checkOffset(byteOffset, Short.BYTES);
@@ -113,6 +113,22 @@ public final class ByteArrayWasmMemory extends WasmMemory {
         }
     }
 
+    @Override
+    public void copyToArray(Node node, int src, byte[] dst, int dstOffset, int n) {
+        if (src < 0 || src > buffer.length - n) {
+            throw trapOutOfBounds(node, src, n);
+        }
+        System.arraycopy(buffer, src, dst, dstOffset, n);
+    }
+
+    @Override
+    public void copyFromArray(Node node, byte[] src, int srcOffset, int dst, int n) {
+        if (dst < 0 || dst > buffer.length - n) {
+            throw trapOutOfBounds(node, dst, n);
+        }
+        System.arraycopy(src, srcOffset, buffer, dst, n);
+    }
+
     @Override
     public int size() {
         return buffer.length / MEMORY_PAGE_SIZE;
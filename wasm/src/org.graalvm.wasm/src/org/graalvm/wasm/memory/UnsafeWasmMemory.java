@@ -129,6 +129,20 @@ public class UnsafeWasmMemory extends WasmMemory implements AutoCloseable {
         unsafe.copyMemory(startAddress + src, startAddress + dst, n);
     }
 
+    @Override
+    public void copyToArray(Node node, int src, byte[] dst, int dstOffset, int n) {
+        validateAddress(node, src, n);
+        checkArrayRange(dst, dstOffset, n);
+        unsafe.copyMemory(null, startAddress + src, dst, Unsafe.ARRAY_BYTE_BASE_OFFSET + dstOffset, n);
+    }
+
+    @Override
+    public void copyFromArray(Node node, byte[] src, int srcOffset, int dst, int n) {
+        validateAddress(node, dst, n);
+        checkArrayRange(src, srcOffset, n);
+        unsafe.copyMemory(src, Unsafe.ARRAY_BYTE_BASE_OFFSET + srcOffset, null, startAddress + dst, n);
+    }
+
     @Override
     public void reset() {
         size = declaredMinSize;
@@ -64,6 +64,33 @@ public abstract class WasmMemory implements TruffleObject {
 
     public abstract void copy(Node node, int src, int dst, int n);
 
+    /**
+     * Copies {@code n} bytes starting at the address {@code src} of this memory into the array
+     * {@code dst} starting at {@code dstOffset}.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the range is not within the bounds of {@code dst}
+     */
+    public abstract void copyToArray(Node node, int src, byte[] dst, int dstOffset, int n);
+
+    /**
+     * Copies {@code n} bytes of the array {@code src} starting at {@code srcOffset} into this
+     * memory starting at the address {@code dst}.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the range is not within the bounds of {@code src}
+     */
+    public abstract void copyFromArray(Node node, byte[] src, int srcOffset, int dst, int n);
+
+    /**
+     * Checks that {@code length} bytes starting at {@code offset} lie within {@code array}, like
+     * {@link System#arraycopy} does before copying.
+     */
+    public static void checkArrayRange(byte[] array, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > array.length - length) {
+            transferToInterpreter();
+            throw new ArrayIndexOutOfBoundsException("Array range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + array.length);
+        }
+    }
+
     /**
      * The current size of this memory instance (measured in number of {@link Sizes#MEMORY_PAGE_SIZE
      * pages}).